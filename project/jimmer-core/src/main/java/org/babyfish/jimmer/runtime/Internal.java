@@ -64,6 +64,10 @@ public class Internal {
         return ctx;
     }
 
+    public static boolean isDraftContextActive() {
+        return DRAFT_CONTEXT_LOCAL.get() != null;
+    }
+
     private static <T> T usingDraftContext(
             BiFunction<DraftContext, Boolean, T> block
     ) {
@@ -0,0 +1,99 @@
+package org.babyfish.jimmer.sql.meta;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Sequence id generator which fetches a block of ids per sequence access
+ * and hands them out from a lock-free counter shared by all threads,
+ * only the refill of an exhausted block is serialized.
+ *
+ * <ul>
+ *     <li>{@link Optimizer#POOLED_LO}: the increment of the database sequence
+ *     must be the allocation size, the fetched value is the first id of the block</li>
+ *     <li>{@link Optimizer#HI_LO}: the increment of the database sequence is 1,
+ *     the fetched value multiplied by the allocation size is the first id of the block</li>
+ * </ul>
+ *
+ * <p>Ids are unique but not gapless, the unused ids of a block are lost
+ * when the application stops.</p>
+ */
+public class PooledSequenceIdGenerator extends SequenceIdGenerator {
+
+    private final int allocationSize;
+
+    private final Optimizer optimizer;
+
+    private final AtomicReference<Block> blockRef = new AtomicReference<>();
+
+    public PooledSequenceIdGenerator(String sequenceName, int allocationSize) {
+        this(sequenceName, allocationSize, Optimizer.POOLED_LO);
+    }
+
+    public PooledSequenceIdGenerator(String sequenceName, int allocationSize, Optimizer optimizer) {
+        super(sequenceName);
+        if (allocationSize < 1) {
+            throw new IllegalArgumentException("allocationSize cannot be less than 1");
+        }
+        if (optimizer == null) {
+            throw new IllegalArgumentException("optimizer cannot be null");
+        }
+        this.allocationSize = allocationSize;
+        this.optimizer = optimizer;
+    }
+
+    public int getAllocationSize() {
+        return allocationSize;
+    }
+
+    public Optimizer getOptimizer() {
+        return optimizer;
+    }
+
+    /**
+     * Allocates an id.
+     *
+     * @param nextSequenceValue Fetches the next value of the database sequence,
+     *                          only called when the current block is exhausted
+     */
+    public long allocate(LongSupplier nextSequenceValue) {
+        while (true) {
+            Block block = blockRef.get();
+            if (block != null) {
+                long id = block.next.getAndIncrement();
+                if (id < block.end) {
+                    return id;
+                }
+            }
+            synchronized (blockRef) {
+                // Only one thread refills an exhausted block, the others retry with the new one
+                if (blockRef.get() == block) {
+                    long value = nextSequenceValue.getAsLong();
+                    long start = optimizer == Optimizer.HI_LO ? value * allocationSize : value;
+                    Block newBlock = new Block(start, start + allocationSize);
+                    long id = newBlock.next.getAndIncrement();
+                    blockRef.set(newBlock);
+                    return id;
+                }
+            }
+        }
+    }
+
+    public enum Optimizer {
+        POOLED_LO,
+        HI_LO
+    }
+
+    private static class Block {
+
+        final AtomicLong next;
+
+        final long end;
+
+        Block(long start, long end) {
+            this.next = new AtomicLong(start);
+            this.end = end;
+        }
+    }
+}
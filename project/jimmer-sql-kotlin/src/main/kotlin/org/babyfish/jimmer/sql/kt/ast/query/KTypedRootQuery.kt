@@ -3,6 +3,7 @@ package org.babyfish.jimmer.sql.kt.ast.query
 import org.babyfish.jimmer.sql.kt.ast.KExecutable
 import org.babyfish.jimmer.sql.runtime.ExecutionException
 import java.sql.Connection
+import java.util.stream.Stream
 
 interface KTypedRootQuery<R> : KExecutable<List<R>> {
 
@@ -37,4 +38,15 @@ interface KTypedRootQuery<R> : KExecutable<List<R>> {
         batchSize: Int = 0,
         block: (R) -> Unit
     )
+
+    /**
+     * Returns a stream backed by an open cursor, it must be closed.
+     * If the connection is null, the connection opened by
+     * [org.babyfish.jimmer.sql.runtime.ConnectionManager.openConnection]
+     * is released when the stream is closed.
+     */
+    fun stream(
+        con: Connection? = null,
+        fetchSize: Int = 0
+    ): Stream<R>
 }
\ No newline at end of file
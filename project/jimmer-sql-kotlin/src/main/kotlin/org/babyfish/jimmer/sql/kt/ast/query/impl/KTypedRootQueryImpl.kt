@@ -3,6 +3,7 @@ package org.babyfish.jimmer.sql.kt.ast.query.impl
 import org.babyfish.jimmer.sql.ast.query.TypedRootQuery
 import org.babyfish.jimmer.sql.kt.ast.query.KTypedRootQuery
 import java.sql.Connection
+import java.util.stream.Stream
 
 internal open class KTypedRootQueryImpl<R>(
     private val _javaQuery: TypedRootQuery<R>
@@ -29,4 +30,7 @@ internal open class KTypedRootQueryImpl<R>(
     override fun forEach(con: Connection?, batchSize: Int, block: (R) -> Unit) {
         _javaQuery.forEach(con, batchSize, block)
     }
-}
\ No newline at end of file
+
+    override fun stream(con: Connection?, fetchSize: Int): Stream<R> =
+        _javaQuery.stream(con, fetchSize)
+}
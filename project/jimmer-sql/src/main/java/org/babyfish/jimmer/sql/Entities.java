@@ -10,6 +10,7 @@ import java.sql.Connection;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 public interface Entities {
 
@@ -31,6 +32,14 @@ public interface Entities {
 
     <ID, E> Map<ID, E> findMapByIds(Fetcher<E> fetcher, Collection<ID> ids);
 
+    <E> CompletableFuture<E> findByIdAsync(Class<E> entityType, Object id);
+
+    <E> CompletableFuture<List<E>> findByIdsAsync(Class<E> entityType, Collection<?> ids);
+
+    <E> CompletableFuture<E> findByIdAsync(Fetcher<E> fetcher, Object id);
+
+    <E> CompletableFuture<List<E>> findByIdsAsync(Fetcher<E> fetcher, Collection<?> ids);
+
     <E> List<E> findAll(Class<E> type, TypedProp.Scalar<?, ?> ... sortedProps);
 
     <E> List<E> findAll(Fetcher<E> fetcher, TypedProp.Scalar<?, ?> ... sortedProps);
@@ -23,10 +23,18 @@ import org.babyfish.jimmer.sql.ast.query.MutableRootQuery;
 import org.babyfish.jimmer.sql.ast.table.Table;
 import org.babyfish.jimmer.sql.dialect.Dialect;
 import org.babyfish.jimmer.sql.runtime.ConnectionManager;
+import org.babyfish.jimmer.sql.runtime.ExecutionMonitor;
+import org.babyfish.jimmer.sql.runtime.InListPadding;
+import org.babyfish.jimmer.sql.runtime.PropBinding;
+import org.babyfish.jimmer.sql.runtime.QueryResultCache;
+import org.babyfish.jimmer.sql.runtime.TotalRowCountCache;
+import org.babyfish.jimmer.sql.runtime.WriteTracker;
+import org.babyfish.jimmer.sql.runtime.SqlTemplateCache;
 import org.babyfish.jimmer.sql.runtime.Executor;
 import org.babyfish.jimmer.sql.runtime.ScalarProvider;
 
 import java.util.Collection;
+import java.util.concurrent.ExecutorService;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
@@ -48,12 +56,80 @@ public interface JSqlClient {
 
     <T, S> ScalarProvider<T, S> getScalarProvider(Class<T> scalarType);
 
+    /**
+     * @param prop Scalar property or reference property based on foreign key
+     * @return The binding resolved once for the property
+     */
+    PropBinding getPropBinding(ImmutableProp prop);
+
     IdGenerator getIdGenerator(Class<?> entityType);
 
     int getDefaultBatchSize();
 
     int getDefaultListBatchSize();
 
+    /**
+     * Max count of statements sent to database by one JDBC batch when entities are saved,
+     * configured by {@link Builder#setDefaultDmlBatchSize(int)}
+     */
+    int getDefaultDmlBatchSize();
+
+    /**
+     * Executor service of {@link org.babyfish.jimmer.sql.ast.Executable#executeAsync()},
+     * it uses virtual threads if the JVM supports them, otherwise, a bounded thread pool
+     * shared by all sql clients; unless it is configured by
+     * {@link Builder#setAsyncExecutorService(ExecutorService)}
+     */
+    ExecutorService getAsyncExecutorService();
+
+    /**
+     * Monitor configured by {@link Builder#setExecutionMonitor(ExecutionMonitor)}, or null
+     */
+    ExecutionMonitor getExecutionMonitor();
+
+    /**
+     * Cache of the SQL rendered for structurally identical queries,
+     * or null if it is not enabled by {@link Builder#setSqlTemplateCacheSize(int)}
+     */
+    SqlTemplateCache getSqlTemplateCache();
+
+    /**
+     * Padding of in lists configured by {@link Builder#setInListPadding(InListPadding)},
+     * or null if the in lists are not padded
+     */
+    InListPadding getInListPadding();
+
+    /**
+     * Minimum count of values for which the in list is bound as one array variable,
+     * it only takes effect when {@link Dialect#getArrayTypeName(Class)} supports the element type
+     */
+    int getInListArrayThreshold();
+
+    /**
+     * Tracker of the tables written by the sessions, or null if all the queries
+     * which are not for update are executed by the slave connection manager
+     */
+    WriteTracker getWriteTracker();
+
+    /**
+     * Cache of the total row counts of paging queries
+     * configured by {@link Builder#setTotalRowCountCache(TotalRowCountCache)}, or null
+     */
+    TotalRowCountCache getTotalRowCountCache();
+
+    /**
+     * Minimum offset for which the paging queries selecting root entities use deferred join,
+     * {@link Integer#MAX_VALUE} means deferred join is only used by
+     * {@link org.babyfish.jimmer.sql.ast.query.ConfigurableRootQuery#deferredJoin()}
+     */
+    int getDeferredJoinOffsetThreshold();
+
+    /**
+     * Cache of the rows of root queries
+     * configured by {@link Builder#setQueryResultCache(QueryResultCache)}, or null
+     */
+    QueryResultCache getQueryResultCache();
+
     Fluent createFluent();
 
     <T extends Table<?>, R> ConfigurableRootQuery<T, R> createQuery(
@@ -128,6 +204,11 @@ public interface JSqlClient {
         @OldChain
         Builder setConnectionManager(ConnectionManager connectionManager);
 
+        /**
+         * Connection manager of the queries which are not for update,
+         * {@link org.babyfish.jimmer.sql.runtime.ReplicaSetConnectionManager}
+         * spreads them across several replicas.
+         */
         @OldChain
         Builder setSlaveConnectionManager(ConnectionManager connectionManager);
 
@@ -152,9 +233,79 @@ public interface JSqlClient {
         @OldChain
         Builder setDefaultListBatchSize(int size);
 
+        @OldChain
+        Builder setDefaultDmlBatchSize(int size);
+
         @OldChain
         Builder setCaches(Consumer<CacheConfig> block);
 
+        @OldChain
+        Builder setAsyncExecutorService(ExecutorService asyncExecutorService);
+
+        @OldChain
+        Builder setExecutionMonitor(ExecutionMonitor executionMonitor);
+
+        /**
+         * Max count of query shapes whose SQL is cached, default value is 0
+         * which disables the cache.
+         */
+        @OldChain
+        Builder setSqlTemplateCacheSize(int size);
+
+        /**
+         * Pads the variables of in lists, for example, {@link InListPadding#powersOfTwo()},
+         * so that fewer distinct SQL statements are prepared. It is disabled by default.
+         */
+        @OldChain
+        Builder setInListPadding(InListPadding inListPadding);
+
+        /**
+         * When an in list has at least threshold values and the dialect supports arrays,
+         * it is rendered as {@code = any(?)} with one array variable instead of one variable per value.
+         * The default value is 64, {@link Integer#MAX_VALUE} disables it.
+         */
+        @OldChain
+        Builder setInListArrayThreshold(int threshold);
+
+        /**
+         * After a session modifies a table, its queries reading that table are executed
+         * by the master connection manager during the window of the tracker,
+         * so that they can see the modification which has not been replicated to the slave.
+         */
+        @OldChain
+        Builder setWriteTracker(WriteTracker writeTracker);
+
+        /**
+         * Caches the total row counts of
+         * {@link org.babyfish.jimmer.sql.ast.query.ConfigurableRootQuery#fetchPage(int, int)}
+         * for a short time, so that the count query is not executed for every page.
+         */
+        @OldChain
+        Builder setTotalRowCountCache(TotalRowCountCache totalRowCountCache);
+
+        /**
+         * When the offset of a paging query which selects the root entity reaches the threshold,
+         * it selects the ids of the page at first and then the entities by the ids,
+         * so that the skipped rows can be read from index instead of table.
+         * The default value is {@link Integer#MAX_VALUE} which disables it.
+         */
+        @OldChain
+        Builder setDeferredJoinOffsetThreshold(int threshold);
+
+        /**
+         * Caches the rows of root queries until the tables read by them are changed,
+         * it is not configured by default.
+         *
+         * <p>Only the mutations of this sql client evict it automatically, the changes
+         * made by other processes must be forwarded by binlog or database triggers,
+         * see {@link QueryResultCache}. The queries executed by the connection of caller
+         * or in transaction are never cached. The mutations executed in transaction evict
+         * the cache before they are committed, so the rows cached by concurrent queries
+         * before the commit may be stale until they expire.</p>
+         */
+        @OldChain
+        Builder setQueryResultCache(QueryResultCache queryResultCache);
+
         @OldChain
         Builder addDraftInterceptor(DraftInterceptor<?> interceptor);
 
@@ -35,9 +35,16 @@ import org.babyfish.jimmer.sql.meta.IdGenerator;
 import org.babyfish.jimmer.sql.runtime.*;
 import org.jetbrains.annotations.NotNull;
 
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Type;
 import java.sql.Connection;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
@@ -51,6 +58,11 @@ class JSqlClientImpl implements JSqlClient {
         public <R> R execute(Function<Connection, R> block) {
             throw new ExecutionException("ConnectionManager of SqlClient is not configured");
         }
+
+        @Override
+        public Connection openConnection() {
+            throw new ExecutionException("ConnectionManager of SqlClient is not configured");
+        }
     };
 
     private final ConnectionManager connectionManager;
@@ -69,6 +81,8 @@ class JSqlClientImpl implements JSqlClient {
 
     private final int defaultListBatchSize;
 
+    private final int defaultDmlBatchSize;
+
     private final Entities entities;
 
     private final Caches caches;
@@ -79,6 +93,26 @@ class JSqlClientImpl implements JSqlClient {
 
     private final DraftInterceptorManager draftInterceptorManager;
 
+    private final ExecutorService asyncExecutorService;
+
+    private final ExecutionMonitor executionMonitor;
+
+    private final SqlTemplateCache sqlTemplateCache;
+
+    private final InListPadding inListPadding;
+
+    private final int inListArrayThreshold;
+
+    private final WriteTracker writeTracker;
+
+    private final TotalRowCountCache totalRowCountCache;
+
+    private final int deferredJoinOffsetThreshold;
+
+    private final QueryResultCache queryResultCache;
+
+    private final PropBindings propBindings;
+
     private JSqlClientImpl(
             ConnectionManager connectionManager,
             ConnectionManager slaveConnectionManager,
@@ -88,11 +122,27 @@ class JSqlClientImpl implements JSqlClient {
             Map<Class<?>, IdGenerator> idGeneratorMap,
             int defaultBatchSize,
             int defaultListBatchSize,
+            int defaultDmlBatchSize,
             Entities entities,
             Caches caches,
             Triggers triggers,
             TransientResolverManager transientResolverManager,
-            DraftInterceptorManager draftInterceptorManager) {
+            DraftInterceptorManager draftInterceptorManager,
+            ExecutorService asyncExecutorService,
+            ExecutionMonitor executionMonitor,
+            SqlTemplateCache sqlTemplateCache,
+            InListPadding inListPadding,
+            int inListArrayThreshold,
+            WriteTracker writeTracker,
+            TotalRowCountCache totalRowCountCache,
+            int deferredJoinOffsetThreshold,
+            QueryResultCache queryResultCache,
+            PropBindings propBindings) {
+        if (executor instanceof StatementCachingExecutor) {
+            StatementCachingExecutor statementCachingExecutor = (StatementCachingExecutor) executor;
+            connectionManager = statementCachingExecutor.wrap(connectionManager);
+            slaveConnectionManager = statementCachingExecutor.wrap(slaveConnectionManager);
+        }
         this.connectionManager =
                 connectionManager != null ?
                         connectionManager :
@@ -102,14 +152,17 @@ class JSqlClientImpl implements JSqlClient {
                 dialect != null ?
                     dialect :
                     new DefaultDialect();
-        this.executor =
+        this.executor = ExecutionMonitors.wrap(
                 executor != null ?
                         executor :
-                        DefaultExecutor.INSTANCE;
+                        DefaultExecutor.INSTANCE,
+                executionMonitor
+        );
         this.scalarProviderMap = scalarProviderMap;
         this.idGeneratorMap = idGeneratorMap;
         this.defaultBatchSize = defaultBatchSize;
         this.defaultListBatchSize = defaultListBatchSize;
+        this.defaultDmlBatchSize = defaultDmlBatchSize;
         this.entities =
                 entities != null ?
                         entities :
@@ -124,6 +177,18 @@ class JSqlClientImpl implements JSqlClient {
                         transientResolverManager :
                         createTransientResolverManager();
         this.draftInterceptorManager = draftInterceptorManager;
+        this.asyncExecutorService = asyncExecutorService;
+        this.executionMonitor = executionMonitor;
+        this.sqlTemplateCache = sqlTemplateCache;
+        this.inListPadding = inListPadding;
+        this.inListArrayThreshold = inListArrayThreshold;
+        this.writeTracker = writeTracker;
+        this.totalRowCountCache = totalRowCountCache;
+        this.deferredJoinOffsetThreshold = deferredJoinOffsetThreshold;
+        this.queryResultCache = queryResultCache;
+        this.propBindings = propBindings != null ?
+                propBindings :
+                new PropBindings(this::getScalarProvider);
     }
 
     @Override
@@ -159,6 +224,11 @@ class JSqlClientImpl implements JSqlClient {
             (ScalarProvider<T, S>)DefaultScalarProviders.getProvider(scalarType);
     }
 
+    @Override
+    public PropBinding getPropBinding(ImmutableProp prop) {
+        return propBindings.get(prop);
+    }
+
     @Override
     public IdGenerator getIdGenerator(Class<?> entityType) {
         IdGenerator userIdGenerator = idGeneratorMap.get(entityType);
@@ -181,6 +251,57 @@ class JSqlClientImpl implements JSqlClient {
         return defaultListBatchSize;
     }
 
+    @Override
+    public int getDefaultDmlBatchSize() {
+        return defaultDmlBatchSize;
+    }
+
+    @Override
+    public ExecutorService getAsyncExecutorService() {
+        ExecutorService service = asyncExecutorService;
+        return service != null ? service : DefaultAsyncExecutorServiceHolder.INSTANCE;
+    }
+
+    @Override
+    public ExecutionMonitor getExecutionMonitor() {
+        return executionMonitor;
+    }
+
+    @Override
+    public SqlTemplateCache getSqlTemplateCache() {
+        return sqlTemplateCache;
+    }
+
+    @Override
+    public InListPadding getInListPadding() {
+        return inListPadding;
+    }
+
+    @Override
+    public int getInListArrayThreshold() {
+        return inListArrayThreshold;
+    }
+
+    @Override
+    public WriteTracker getWriteTracker() {
+        return writeTracker;
+    }
+
+    @Override
+    public TotalRowCountCache getTotalRowCountCache() {
+        return totalRowCountCache;
+    }
+
+    @Override
+    public int getDeferredJoinOffsetThreshold() {
+        return deferredJoinOffsetThreshold;
+    }
+
+    @Override
+    public QueryResultCache getQueryResultCache() {
+        return queryResultCache;
+    }
+
     @Override
     public Fluent createFluent() {
         return new FluentImpl(this);
@@ -301,11 +422,22 @@ class JSqlClientImpl implements JSqlClient {
                 idGeneratorMap,
                 defaultBatchSize,
                 defaultListBatchSize,
+                defaultDmlBatchSize,
                 entities,
                 new CachesImpl((CachesImpl) caches, cfg),
                 triggers,
                 transientResolverManager,
-                draftInterceptorManager
+                draftInterceptorManager,
+                asyncExecutorService,
+                executionMonitor,
+                sqlTemplateCache,
+                inListPadding,
+                inListArrayThreshold,
+                writeTracker,
+                totalRowCountCache,
+                deferredJoinOffsetThreshold,
+                queryResultCache,
+                propBindings
         );
     }
 
@@ -323,11 +455,22 @@ class JSqlClientImpl implements JSqlClient {
                 idGeneratorMap,
                 defaultBatchSize,
                 defaultListBatchSize,
+                defaultDmlBatchSize,
                 entities,
                 caches,
                 triggers,
                 transientResolverManager,
-                draftInterceptorManager
+                draftInterceptorManager,
+                asyncExecutorService,
+                executionMonitor,
+                sqlTemplateCache,
+                inListPadding,
+                inListArrayThreshold,
+                writeTracker,
+                totalRowCountCache,
+                deferredJoinOffsetThreshold,
+                queryResultCache,
+                propBindings
         );
     }
 
@@ -360,6 +503,37 @@ class JSqlClientImpl implements JSqlClient {
         return manager;
     }
 
+    private static class DefaultAsyncExecutorServiceHolder {
+
+        static final ExecutorService INSTANCE = create();
+
+        private static ExecutorService create() {
+            try {
+                return (ExecutorService) Executors.class
+                        .getMethod("newVirtualThreadPerTaskExecutor")
+                        .invoke(null);
+            } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException ex) {
+                // Virtual threads are unavailable before Java 21 (or not enabled as preview feature)
+            }
+            int threadCount = Math.max(8, Runtime.getRuntime().availableProcessors() * 2);
+            AtomicInteger threadNumber = new AtomicInteger();
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                    threadCount,
+                    threadCount,
+                    60L,
+                    TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "jimmer-async-" + threadNumber.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+            );
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+    }
+
     public static class BuilderImpl implements JSqlClient.Builder {
 
         private ConnectionManager connectionManager;
@@ -378,6 +552,8 @@ class JSqlClientImpl implements JSqlClient {
 
         private int defaultListBatchSize = 16;
 
+        private int defaultDmlBatchSize = 128;
+
         private Caches caches;
 
         private final Triggers triggers = new TriggersImpl();
@@ -385,6 +561,24 @@ class JSqlClientImpl implements JSqlClient {
         private final Map<ImmutableType, List<DraftInterceptor<?>>> draftInterceptorMap =
                 new HashMap<>();
 
+        private ExecutorService asyncExecutorService;
+
+        private ExecutionMonitor executionMonitor;
+
+        private int sqlTemplateCacheSize;
+
+        private InListPadding inListPadding;
+
+        private int inListArrayThreshold = 64;
+
+        private WriteTracker writeTracker;
+
+        private TotalRowCountCache totalRowCountCache;
+
+        private int deferredJoinOffsetThreshold = Integer.MAX_VALUE;
+
+        private QueryResultCache queryResultCache;
+
         public BuilderImpl() {}
 
         @Override
@@ -462,6 +656,16 @@ class JSqlClientImpl implements JSqlClient {
             return this;
         }
 
+        @Override
+        @OldChain
+        public JSqlClient.Builder setDefaultDmlBatchSize(int size) {
+            if (size < 1) {
+                throw new IllegalStateException("size cannot be less than 1");
+            }
+            defaultDmlBatchSize = size;
+            return this;
+        }
+
         @Override
         @OldChain
         public JSqlClient.Builder setCaches(Consumer<CacheConfig> block) {
@@ -469,6 +673,78 @@ class JSqlClientImpl implements JSqlClient {
             return this;
         }
 
+        @Override
+        @OldChain
+        public JSqlClient.Builder setAsyncExecutorService(ExecutorService asyncExecutorService) {
+            this.asyncExecutorService = asyncExecutorService;
+            return this;
+        }
+
+        @Override
+        @OldChain
+        public JSqlClient.Builder setExecutionMonitor(ExecutionMonitor executionMonitor) {
+            this.executionMonitor = executionMonitor;
+            return this;
+        }
+
+        @Override
+        @OldChain
+        public JSqlClient.Builder setSqlTemplateCacheSize(int size) {
+            if (size < 0) {
+                throw new IllegalStateException("size cannot be less than 0");
+            }
+            sqlTemplateCacheSize = size;
+            return this;
+        }
+
+        @Override
+        @OldChain
+        public JSqlClient.Builder setInListPadding(InListPadding inListPadding) {
+            this.inListPadding = inListPadding;
+            return this;
+        }
+
+        @Override
+        @OldChain
+        public JSqlClient.Builder setInListArrayThreshold(int threshold) {
+            if (threshold < 1) {
+                throw new IllegalStateException("threshold cannot be less than 1");
+            }
+            inListArrayThreshold = threshold;
+            return this;
+        }
+
+        @Override
+        @OldChain
+        public JSqlClient.Builder setWriteTracker(WriteTracker writeTracker) {
+            this.writeTracker = writeTracker;
+            return this;
+        }
+
+        @Override
+        @OldChain
+        public JSqlClient.Builder setTotalRowCountCache(TotalRowCountCache totalRowCountCache) {
+            this.totalRowCountCache = totalRowCountCache;
+            return this;
+        }
+
+        @Override
+        @OldChain
+        public JSqlClient.Builder setDeferredJoinOffsetThreshold(int threshold) {
+            if (threshold < 0) {
+                throw new IllegalStateException("threshold cannot be less than 0");
+            }
+            deferredJoinOffsetThreshold = threshold;
+            return this;
+        }
+
+        @Override
+        @OldChain
+        public JSqlClient.Builder setQueryResultCache(QueryResultCache queryResultCache) {
+            this.queryResultCache = queryResultCache;
+            return this;
+        }
+
         @Override
         public Builder addDraftInterceptor(DraftInterceptor<?> interceptor) {
             return addDraftInterceptors(Collections.singletonList(interceptor));
@@ -524,11 +800,22 @@ class JSqlClientImpl implements JSqlClient {
                     idGeneratorMap,
                     defaultBatchSize,
                     defaultListBatchSize,
+                    defaultDmlBatchSize,
                     null,
                     caches,
                     triggers,
                     null,
-                    new DraftInterceptorManager(draftInterceptorMap));
+                    new DraftInterceptorManager(draftInterceptorMap),
+                    asyncExecutorService,
+                    executionMonitor,
+                    sqlTemplateCacheSize != 0 ? new SqlTemplateCache(sqlTemplateCacheSize) : null,
+                    inListPadding,
+                    inListArrayThreshold,
+                    writeTracker,
+                    totalRowCountCache,
+                    deferredJoinOffsetThreshold,
+                    queryResultCache,
+                    null);
         }
     }
 }
@@ -1,6 +1,7 @@
 package org.babyfish.jimmer.sql.ast;
 
 import java.sql.Connection;
+import java.util.concurrent.CompletableFuture;
 
 public interface Executable<R> {
 
@@ -16,4 +17,14 @@ public interface Executable<R> {
      * @return Execution result
      */
     R execute(Connection con);
+
+    /**
+     * Executed in a thread of {@link org.babyfish.jimmer.sql.JSqlClient#getAsyncExecutorService()},
+     * on a JDBC connection determined by jimmer-sql unless a connection has been specified.
+     *
+     * <p>The execution does not take part in the transaction of the calling thread.</p>
+     *
+     * @return Future of execution result
+     */
+    CompletableFuture<R> executeAsync();
 }
@@ -2,6 +2,7 @@ package org.babyfish.jimmer.sql.ast.impl;
 
 import org.babyfish.jimmer.sql.ast.Expression;
 import org.babyfish.jimmer.sql.runtime.SqlBuilder;
+import org.babyfish.jimmer.sql.runtime.SqlShape;
 import org.jetbrains.annotations.NotNull;
 
 import java.math.BigDecimal;
@@ -38,6 +39,12 @@ abstract class AggregationExpression<T> extends AbstractExpression<T> {
         builder.sql(")");
     }
 
+    @Override
+    public boolean renderShape(@NotNull SqlShape shape) {
+        shape.token(getClass());
+        return ((Ast) expression).renderShape(shape);
+    }
+
     @Override
     public int precedence() {
         return 0;
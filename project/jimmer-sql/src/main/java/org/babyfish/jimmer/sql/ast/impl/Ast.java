@@ -5,6 +5,7 @@ import org.babyfish.jimmer.sql.ast.impl.table.TableImplementor;
 import org.babyfish.jimmer.sql.ast.impl.table.TableWrappers;
 import org.babyfish.jimmer.sql.ast.table.Table;
 import org.babyfish.jimmer.sql.runtime.SqlBuilder;
+import org.babyfish.jimmer.sql.runtime.SqlShape;
 import org.jetbrains.annotations.NotNull;
 
 public interface Ast {
@@ -13,6 +14,17 @@ public interface Ast {
 
     void renderTo(@NotNull SqlBuilder builder);
 
+    /**
+     * Appends the structure and the variables of this ast to the shape,
+     * in the same order as {@link #renderTo(SqlBuilder)}.
+     *
+     * @return false if this ast does not support shapes,
+     * so that the statement using it must always be rendered.
+     */
+    default boolean renderShape(@NotNull SqlShape shape) {
+        return false;
+    }
+
     static Ast from(Selection<?> selection) {
         if (selection instanceof Table<?>) {
             return TableWrappers.unwrap((Table<?>) selection);
@@ -21,6 +21,10 @@ public class AstVisitor {
         return sqlBuilder;
     }
 
+    public final boolean isSqlBuilderSupported() {
+        return sqlBuilder != null;
+    }
+
     public void visitTableReference(Table<?> table, ImmutableProp prop) {}
 
     public boolean visitSubQuery(TypedSubQuery<?> subQuery) {
@@ -3,6 +3,7 @@ package org.babyfish.jimmer.sql.ast.impl;
 import org.babyfish.jimmer.sql.ast.Expression;
 import org.babyfish.jimmer.sql.ast.Predicate;
 import org.babyfish.jimmer.sql.runtime.SqlBuilder;
+import org.babyfish.jimmer.sql.runtime.SqlShape;
 import org.jetbrains.annotations.NotNull;
 
 class BetweenPredicate extends AbstractPredicate {
@@ -48,6 +49,14 @@ class BetweenPredicate extends AbstractPredicate {
         renderChild((Ast) max, builder);
     }
 
+    @Override
+    public boolean renderShape(@NotNull SqlShape shape) {
+        shape.token(BetweenPredicate.class).token(negative);
+        return ((Ast) expression).renderShape(shape) &&
+                ((Ast) min).renderShape(shape) &&
+                ((Ast) max).renderShape(shape);
+    }
+
     @Override
     public Predicate not() {
         return new BetweenPredicate(!negative, expression, min, max);
@@ -2,6 +2,7 @@ package org.babyfish.jimmer.sql.ast.impl;
 
 import org.babyfish.jimmer.sql.ast.Expression;
 import org.babyfish.jimmer.sql.runtime.SqlBuilder;
+import org.babyfish.jimmer.sql.runtime.SqlShape;
 import org.jetbrains.annotations.NotNull;
 
 abstract class BinaryExpression<N extends Number> extends AbstractExpression<N> implements NumericExpressionImplementor<N> {
@@ -39,6 +40,12 @@ abstract class BinaryExpression<N extends Number> extends AbstractExpression<N>
         builder.sql(" ");
         renderChild((Ast) right, builder);
     }
+
+    @Override
+    public boolean renderShape(@NotNull SqlShape shape) {
+        shape.token(getClass());
+        return ((Ast) left).renderShape(shape) && ((Ast) right).renderShape(shape);
+    }
     
     static class Plus<N extends Number> extends BinaryExpression<N> {
         
@@ -3,6 +3,7 @@ package org.babyfish.jimmer.sql.ast.impl;
 import org.babyfish.jimmer.sql.ast.Expression;
 import org.babyfish.jimmer.sql.ast.Predicate;
 import org.babyfish.jimmer.sql.runtime.SqlBuilder;
+import org.babyfish.jimmer.sql.runtime.SqlShape;
 import org.jetbrains.annotations.NotNull;
 
 abstract class ComparisonPredicate extends AbstractPredicate {
@@ -36,6 +37,12 @@ abstract class ComparisonPredicate extends AbstractPredicate {
         renderChild((Ast) right, builder);
     }
 
+    @Override
+    public boolean renderShape(@NotNull SqlShape shape) {
+        shape.token(getClass());
+        return ((Ast) left).renderShape(shape) && ((Ast) right).renderShape(shape);
+    }
+
     @Override
     public int precedence() {
         return ExpressionPrecedences.COMPARISON;
@@ -2,6 +2,7 @@ package org.babyfish.jimmer.sql.ast.impl;
 
 import org.babyfish.jimmer.sql.ast.Predicate;
 import org.babyfish.jimmer.sql.runtime.SqlBuilder;
+import org.babyfish.jimmer.sql.runtime.SqlShape;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Arrays;
@@ -60,6 +61,17 @@ public abstract class CompositePredicate extends AbstractPredicate {
         }
     }
 
+    @Override
+    public boolean renderShape(@NotNull SqlShape shape) {
+        shape.token(getClass()).token(predicates.length);
+        for (Predicate predicate : predicates) {
+            if (!((Ast) predicate).renderShape(shape)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     protected abstract String operator();
 
     static class And extends CompositePredicate {
@@ -2,6 +2,7 @@ package org.babyfish.jimmer.sql.ast.impl;
 
 import org.babyfish.jimmer.sql.ast.Expression;
 import org.babyfish.jimmer.sql.runtime.SqlBuilder;
+import org.babyfish.jimmer.sql.runtime.SqlShape;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.List;
@@ -38,6 +39,20 @@ class ConcatExpression
         builder.sql(")");
     }
 
+    @Override
+    public boolean renderShape(@NotNull SqlShape shape) {
+        shape.token(ConcatExpression.class).token(others.size());
+        if (!((Ast) first).renderShape(shape)) {
+            return false;
+        }
+        for (Expression<?> other : others) {
+            if (!((Ast) other).renderShape(shape)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     @Override
     public int precedence() {
         return 0;
@@ -2,6 +2,7 @@ package org.babyfish.jimmer.sql.ast.impl;
 
 import org.babyfish.jimmer.sql.ast.NumericExpression;
 import org.babyfish.jimmer.sql.runtime.SqlBuilder;
+import org.babyfish.jimmer.sql.runtime.SqlShape;
 import org.jetbrains.annotations.NotNull;
 
 public class Constants {
@@ -33,6 +34,12 @@ public class Constants {
             builder.sql(value.toString());
         }
 
+        @Override
+        public boolean renderShape(@NotNull SqlShape shape) {
+            shape.token(Constants.class).token(value);
+            return true;
+        }
+
         @Override
         public int precedence() {
             return 0;
@@ -25,9 +25,11 @@ import org.babyfish.jimmer.sql.fetcher.Fetcher;
 import org.babyfish.jimmer.sql.fetcher.impl.FetcherSelection;
 import org.babyfish.jimmer.sql.fetcher.impl.Fetchers;
 import org.babyfish.jimmer.sql.runtime.Converters;
+import org.babyfish.jimmer.sql.runtime.SqlBuilder;
 
 import java.sql.Connection;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -277,6 +279,24 @@ public class EntitiesImpl implements Entities {
             }
             return entities;
         }
+        List<List<Object>> chunks = SqlBuilder.inListChunks(sqlClient, distinctIds);
+        if (chunks.size() == 1) {
+            return findByIds(immutableType, fetcher, distinctIds, con);
+        }
+        List<E> entities = new ArrayList<>(distinctIds.size());
+        for (List<Object> chunk : chunks) {
+            entities.addAll(findByIds(immutableType, fetcher, chunk, con));
+        }
+        return entities;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <E> List<E> findByIds(
+            ImmutableType immutableType,
+            Fetcher<E> fetcher,
+            Collection<Object> distinctIds,
+            Connection con
+    ) {
         ConfigurableRootQuery<?, E> query = Queries.createQuery(
                 sqlClient, immutableType, (q, table) -> {
                     Expression<Object> idProp = table.get(immutableType.getIdProp().getName());
@@ -294,6 +314,38 @@ public class EntitiesImpl implements Entities {
         return query.execute(con);
     }
 
+    @Override
+    public <E> CompletableFuture<E> findByIdAsync(Class<E> entityType, Object id) {
+        return CompletableFuture.supplyAsync(
+                () -> findById(entityType, id),
+                sqlClient.getAsyncExecutorService()
+        );
+    }
+
+    @Override
+    public <E> CompletableFuture<List<E>> findByIdsAsync(Class<E> entityType, Collection<?> ids) {
+        return CompletableFuture.supplyAsync(
+                () -> findByIds(entityType, ids),
+                sqlClient.getAsyncExecutorService()
+        );
+    }
+
+    @Override
+    public <E> CompletableFuture<E> findByIdAsync(Fetcher<E> fetcher, Object id) {
+        return CompletableFuture.supplyAsync(
+                () -> findById(fetcher, id),
+                sqlClient.getAsyncExecutorService()
+        );
+    }
+
+    @Override
+    public <E> CompletableFuture<List<E>> findByIdsAsync(Fetcher<E> fetcher, Collection<?> ids) {
+        return CompletableFuture.supplyAsync(
+                () -> findByIds(fetcher, ids),
+                sqlClient.getAsyncExecutorService()
+        );
+    }
+
     @Override
     public <E> List<E> findAll(Class<E> type, TypedProp.Scalar<?, ?>... sortedProps) {
         return find(ImmutableType.get(type), null, null, sortedProps);
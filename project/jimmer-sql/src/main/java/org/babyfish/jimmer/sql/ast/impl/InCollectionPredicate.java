@@ -3,6 +3,7 @@ package org.babyfish.jimmer.sql.ast.impl;
 import org.babyfish.jimmer.sql.ast.Expression;
 import org.babyfish.jimmer.sql.ast.Predicate;
 import org.babyfish.jimmer.sql.runtime.SqlBuilder;
+import org.babyfish.jimmer.sql.runtime.SqlShape;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Collection;
@@ -36,19 +37,23 @@ class InCollectionPredicate extends AbstractPredicate {
         if (values.isEmpty()) {
             builder.sql(negative ? "1 = 1" : "1 = 0");
         } else {
-            renderChild((Ast) expression, builder);
-            builder.sql(negative ? " not in " : " in ");
-            builder.sql("(");
-            String separator = "";
-            for (Object value : values) {
-                builder.sql(separator);
-                builder.variable(value);
-                separator = ", ";
-            }
-            builder.sql(")");
+            builder.inList(negative, values, () -> renderChild((Ast) expression, builder));
         }
     }
 
+    @Override
+    public boolean renderShape(@NotNull SqlShape shape) {
+        shape.token(InCollectionPredicate.class).token(negative).token(values.isEmpty());
+        if (values.isEmpty()) {
+            return true;
+        }
+        if (!((Ast) expression).renderShape(shape)) {
+            return false;
+        }
+        shape.inList(negative, values);
+        return true;
+    }
+
     @Override
     public int precedence() {
         return 0;
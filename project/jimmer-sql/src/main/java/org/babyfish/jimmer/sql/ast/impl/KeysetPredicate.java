@@ -0,0 +1,121 @@
+package org.babyfish.jimmer.sql.ast.impl;
+
+import org.babyfish.jimmer.sql.ast.query.Order;
+import org.babyfish.jimmer.sql.ast.query.OrderMode;
+import org.babyfish.jimmer.sql.runtime.SqlBuilder;
+import org.babyfish.jimmer.sql.runtime.SqlShape;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Predicate of keyset pagination which accepts the rows after the key of the last row.
+ *
+ * <p>If all the orders have the same direction and row values are supported,
+ * it is rendered as {@code (a, b) > (?, ?)}, otherwise it is rendered as
+ * {@code a > ? or a = ? and b > ?}</p>
+ */
+public class KeysetPredicate extends AbstractPredicate {
+
+    private final List<Order> orders;
+
+    private final List<Object> keyValues;
+
+    private final boolean rowValue;
+
+    public KeysetPredicate(List<Order> orders, List<Object> keyValues, boolean rowValueComparisonSupported) {
+        if (orders.isEmpty()) {
+            throw new IllegalArgumentException("orders cannot be empty");
+        }
+        if (orders.size() != keyValues.size()) {
+            throw new IllegalArgumentException(
+                    "The count of key values must be " + orders.size() + ", but it is " + keyValues.size()
+            );
+        }
+        OrderMode orderMode = orders.get(0).getOrderMode();
+        boolean sameOrderMode = true;
+        for (Order order : orders) {
+            sameOrderMode &= order.getOrderMode() == orderMode;
+        }
+        this.orders = Collections.unmodifiableList(new ArrayList<>(orders));
+        this.keyValues = Collections.unmodifiableList(new ArrayList<>(keyValues));
+        this.rowValue = rowValueComparisonSupported && sameOrderMode && orders.size() > 1;
+    }
+
+    @Override
+    public int precedence() {
+        return rowValue || orders.size() == 1 ?
+                ExpressionPrecedences.COMPARISON :
+                ExpressionPrecedences.OR;
+    }
+
+    @Override
+    public void accept(@NotNull AstVisitor visitor) {
+        for (Order order : orders) {
+            ((Ast) order.getExpression()).accept(visitor);
+        }
+    }
+
+    @Override
+    public void renderTo(@NotNull SqlBuilder builder) {
+        if (rowValue) {
+            String separator = "(";
+            for (Order order : orders) {
+                builder.sql(separator);
+                renderChild((Ast) order.getExpression(), builder);
+                separator = ", ";
+            }
+            builder.sql(") ").sql(operator(orders.get(0))).sql(" ");
+            separator = "(";
+            for (Object keyValue : keyValues) {
+                builder.sql(separator).variable(keyValue);
+                separator = ", ";
+            }
+            builder.sql(")");
+            return;
+        }
+        int size = orders.size();
+        for (int i = 0; i < size; i++) {
+            if (i != 0) {
+                builder.sql(" or ");
+            }
+            for (int ii = 0; ii < i; ii++) {
+                renderChild((Ast) orders.get(ii).getExpression(), builder);
+                builder.sql(" = ").variable(keyValues.get(ii)).sql(" and ");
+            }
+            Order order = orders.get(i);
+            renderChild((Ast) order.getExpression(), builder);
+            builder.sql(" ").sql(operator(order)).sql(" ").variable(keyValues.get(i));
+        }
+    }
+
+    @Override
+    public boolean renderShape(@NotNull SqlShape shape) {
+        shape.token(KeysetPredicate.class).token(rowValue).token(orders.size());
+        for (Order order : orders) {
+            if (!((Ast) order.getExpression()).renderShape(shape)) {
+                return false;
+            }
+            shape.token(order.getOrderMode());
+        }
+        // Same order as the variables of renderTo
+        if (rowValue) {
+            for (Object keyValue : keyValues) {
+                shape.variable(keyValue);
+            }
+        } else {
+            for (int i = 0; i < keyValues.size(); i++) {
+                for (int ii = 0; ii <= i; ii++) {
+                    shape.variable(keyValues.get(ii));
+                }
+            }
+        }
+        return true;
+    }
+
+    private static String operator(Order order) {
+        return order.getOrderMode() == OrderMode.ASC ? ">" : "<";
+    }
+}
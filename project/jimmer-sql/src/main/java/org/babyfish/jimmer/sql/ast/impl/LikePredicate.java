@@ -4,6 +4,7 @@ import org.babyfish.jimmer.sql.ast.LikeMode;
 import org.babyfish.jimmer.sql.ast.Predicate;
 import org.babyfish.jimmer.sql.ast.StringExpression;
 import org.babyfish.jimmer.sql.runtime.SqlBuilder;
+import org.babyfish.jimmer.sql.runtime.SqlShape;
 import org.jetbrains.annotations.NotNull;
 
 class LikePredicate extends AbstractPredicate {
@@ -78,4 +79,14 @@ class LikePredicate extends AbstractPredicate {
         builder.sql(negative ? " not like " : " like ");
         builder.variable(pattern);
     }
+
+    @Override
+    public boolean renderShape(@NotNull SqlShape shape) {
+        shape.token(LikePredicate.class).token(insensitive).token(negative);
+        if (!((Ast) expression).renderShape(shape)) {
+            return false;
+        }
+        shape.variable(pattern);
+        return true;
+    }
 }
@@ -5,6 +5,7 @@ import org.babyfish.jimmer.sql.ast.Expression;
 import org.babyfish.jimmer.sql.ast.NumericExpression;
 import org.babyfish.jimmer.sql.ast.StringExpression;
 import org.babyfish.jimmer.sql.runtime.SqlBuilder;
+import org.babyfish.jimmer.sql.runtime.SqlShape;
 import org.jetbrains.annotations.NotNull;
 
 class Literals {
@@ -61,6 +62,12 @@ class Literals {
             builder.variable(value);
         }
 
+        @Override
+        public boolean renderShape(@NotNull SqlShape shape) {
+            shape.token(Literals.class).variable(value);
+            return true;
+        }
+
         @Override
         public int precedence() {
             return 0;
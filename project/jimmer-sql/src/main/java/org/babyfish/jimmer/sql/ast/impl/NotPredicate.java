@@ -2,6 +2,7 @@ package org.babyfish.jimmer.sql.ast.impl;
 
 import org.babyfish.jimmer.sql.ast.Predicate;
 import org.babyfish.jimmer.sql.runtime.SqlBuilder;
+import org.babyfish.jimmer.sql.runtime.SqlShape;
 import org.jetbrains.annotations.NotNull;
 
 public class NotPredicate extends AbstractPredicate {
@@ -23,6 +24,12 @@ public class NotPredicate extends AbstractPredicate {
         renderChild((Ast) predicate, builder);
     }
 
+    @Override
+    public boolean renderShape(@NotNull SqlShape shape) {
+        shape.token(NotPredicate.class);
+        return ((Ast) predicate).renderShape(shape);
+    }
+
     @Override
     public int precedence() {
         return ExpressionPrecedences.NOT;
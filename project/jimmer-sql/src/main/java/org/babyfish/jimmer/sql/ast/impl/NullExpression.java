@@ -1,6 +1,7 @@
 package org.babyfish.jimmer.sql.ast.impl;
 
 import org.babyfish.jimmer.sql.runtime.SqlBuilder;
+import org.babyfish.jimmer.sql.runtime.SqlShape;
 import org.jetbrains.annotations.NotNull;
 
 class NullExpression<T> extends AbstractExpression<T> {
@@ -19,6 +20,12 @@ class NullExpression<T> extends AbstractExpression<T> {
         builder.sql("null");
     }
 
+    @Override
+    public boolean renderShape(@NotNull SqlShape shape) {
+        shape.token(NullExpression.class);
+        return true;
+    }
+
     @Override
     public Class<T> getType() {
         return type;
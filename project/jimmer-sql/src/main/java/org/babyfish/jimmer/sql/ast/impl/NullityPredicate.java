@@ -3,6 +3,7 @@ package org.babyfish.jimmer.sql.ast.impl;
 import org.babyfish.jimmer.sql.ast.Expression;
 import org.babyfish.jimmer.sql.ast.Predicate;
 import org.babyfish.jimmer.sql.runtime.SqlBuilder;
+import org.babyfish.jimmer.sql.runtime.SqlShape;
 import org.jetbrains.annotations.NotNull;
 
 class NullityPredicate extends AbstractPredicate {
@@ -31,6 +32,12 @@ class NullityPredicate extends AbstractPredicate {
         }
     }
 
+    @Override
+    public boolean renderShape(@NotNull SqlShape shape) {
+        shape.token(NullityPredicate.class).token(negative);
+        return ((Ast) expression).renderShape(shape);
+    }
+
     @Override
     public int precedence() {
         return 0;
@@ -6,6 +6,7 @@ import org.babyfish.jimmer.sql.ast.*;
 import org.babyfish.jimmer.sql.meta.Column;
 import org.babyfish.jimmer.sql.ast.impl.table.TableImplementor;
 import org.babyfish.jimmer.sql.runtime.SqlBuilder;
+import org.babyfish.jimmer.sql.runtime.SqlShape;
 import org.jetbrains.annotations.NotNull;
 
 public class PropExpressionImpl<T>
@@ -59,6 +60,16 @@ public class PropExpressionImpl<T>
         table.renderSelection(prop, builder);
     }
 
+    @Override
+    public boolean renderShape(@NotNull SqlShape shape) {
+        shape.token(PropExpressionImpl.class);
+        if (!shape.tableReference(table)) {
+            return false;
+        }
+        shape.token(prop);
+        return true;
+    }
+
     @Override
     public int precedence() {
         return 0;
@@ -9,9 +9,12 @@ import org.babyfish.jimmer.sql.ast.tuple.Tuple2;
 import org.babyfish.jimmer.sql.meta.MiddleTable;
 import org.babyfish.jimmer.sql.runtime.Selectors;
 import org.babyfish.jimmer.sql.runtime.SqlBuilder;
+import org.babyfish.jimmer.sql.runtime.ExecutionMonitors;
+import org.babyfish.jimmer.sql.runtime.ExecutionPurpose;
 
 import java.sql.Connection;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 class AssociationExecutable implements Executable<Integer> {
 
@@ -70,6 +73,11 @@ class AssociationExecutable implements Executable<Integer> {
                 .execute(this::executeImpl);
     }
 
+    @Override
+    public CompletableFuture<Integer> executeAsync() {
+        return CompletableFuture.supplyAsync(this::execute, sqlClient.getAsyncExecutorService());
+    }
+
     @Override
     public Integer execute(Connection con) {
         if (con != null) {
@@ -84,25 +92,34 @@ class AssociationExecutable implements Executable<Integer> {
     }
 
     private Integer executeImpl(Connection con) {
-
-        if (idTuples.isEmpty()) {
-            return 0;
-        }
-
-        if (mode == Mode.DELETE) {
-            return getMiddleTypeOperator(con).remove(new TupleReader(idTuples));
-        }
-
-        Set<Tuple2<Object, Object>> addingPairs = idTuples;
-        if (mode == Mode.CHECK_AND_INSERT) {
-            addingPairs = new LinkedHashSet<>(addingPairs);
-            Set<Tuple2<Object, Object>> existingPairs = new HashSet<>(find(con));
-            addingPairs.removeAll(existingPairs);
-            if (addingPairs.isEmpty()) {
+        try (ExecutionMonitors.Scope scope = ExecutionMonitors.enter(
+                sqlClient,
+                mode == Mode.DELETE ? ExecutionPurpose.DELETE : ExecutionPurpose.SAVE
+        )) {
+            if (idTuples.isEmpty()) {
                 return 0;
             }
+
+            int affectedRowCount;
+            if (mode == Mode.DELETE) {
+                affectedRowCount = getMiddleTypeOperator(con).remove(new MiddleTableOperator.TupleReader(idTuples));
+            } else {
+                Set<Tuple2<Object, Object>> addingPairs = idTuples;
+                if (mode == Mode.CHECK_AND_INSERT) {
+                    addingPairs = new LinkedHashSet<>(addingPairs);
+                    Set<Tuple2<Object, Object>> existingPairs = new HashSet<>(find(con));
+                    addingPairs.removeAll(existingPairs);
+                    if (addingPairs.isEmpty()) {
+                        return 0;
+                    }
+                }
+                affectedRowCount = getMiddleTypeOperator(con).add(new MiddleTableOperator.TupleReader(addingPairs));
+            }
+            if (affectedRowCount != 0) {
+                WrittenTables.record(sqlClient, associationType.getTableName());
+            }
+            return affectedRowCount;
         }
-        return getMiddleTypeOperator(con).add(new TupleReader(addingPairs));
     }
 
     public enum Mode {
@@ -130,19 +147,9 @@ class AssociationExecutable implements Executable<Integer> {
                 .sql(middleTable.getJoinColumnName())
                 .sql(", ")
                 .sql(middleTable.getTargetJoinColumnName())
-                .sql(") in(");
-        String separator = "";
-        for (Tuple2<Object, Object> idTuple : idTuples) {
-            builder
-                    .sql(separator)
-                    .sql("(")
-                    .variable(idTuple.get_1())
-                    .sql(", ")
-                    .variable(idTuple.get_2())
-                    .sql(")");
-            separator = ", ";
-        }
-        builder.sql(")");
+                .sql(") in(")
+                .variableList(idTuples)
+                .sql(")");
 
         Tuple2<String, List<Object>> sqlResult = builder.build();
         return Selectors.select(
@@ -181,34 +188,4 @@ class AssociationExecutable implements Executable<Integer> {
                         .getElementClass()
         );
     }
-
-    private static class TupleReader implements MiddleTableOperator.IdPairReader {
-
-        private Iterator<Tuple2<Object, Object>> idTupleItr;
-
-        private Tuple2<Object, Object> currentIdPair;
-
-        TupleReader(Collection<Tuple2<Object, Object>> idTuples) {
-            idTupleItr = idTuples.iterator();
-        }
-
-        @Override
-        public boolean read() {
-            if (idTupleItr.hasNext()) {
-                currentIdPair = idTupleItr.next();
-                return true;
-            }
-            return false;
-        }
-
-        @Override
-        public Object sourceId() {
-            return currentIdPair.get_1();
-        }
-
-        @Override
-        public Object targetId() {
-            return currentIdPair.get_2();
-        }
-    }
 }
@@ -3,6 +3,7 @@ package org.babyfish.jimmer.sql.ast.impl.mutation;
 import org.babyfish.jimmer.sql.ast.mutation.AssociationSaveCommand;
 
 import java.sql.Connection;
+import java.util.concurrent.CompletableFuture;
 
 class AssociationSaveCommandImpl implements AssociationSaveCommand {
 
@@ -20,6 +21,11 @@ class AssociationSaveCommandImpl implements AssociationSaveCommand {
                 .execute(this::executeImpl);
     }
 
+    @Override
+    public CompletableFuture<Integer> executeAsync() {
+        return CompletableFuture.supplyAsync(this::execute, executable.sqlClient.getAsyncExecutorService());
+    }
+
     @Override
     public Integer execute(Connection con) {
         if (con != null) {
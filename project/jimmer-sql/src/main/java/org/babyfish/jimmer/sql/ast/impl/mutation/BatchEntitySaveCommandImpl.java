@@ -2,16 +2,19 @@ package org.babyfish.jimmer.sql.ast.impl.mutation;
 
 import org.babyfish.jimmer.lang.Ref;
 import org.babyfish.jimmer.meta.TypedProp;
+import org.babyfish.jimmer.runtime.DraftSpi;
 import org.babyfish.jimmer.runtime.ImmutableSpi;
 import org.babyfish.jimmer.runtime.Internal;
 import org.babyfish.jimmer.sql.JSqlClient;
 import org.babyfish.jimmer.sql.ast.mutation.*;
+import org.babyfish.jimmer.sql.runtime.ExecutionMonitors;
+import org.babyfish.jimmer.sql.runtime.ExecutionPurpose;
 
 import java.lang.reflect.ReflectPermission;
 import java.sql.Connection;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
 
 public class BatchEntitySaveCommandImpl<E>
         extends AbstractEntitySaveCommandImpl
@@ -52,6 +55,11 @@ public class BatchEntitySaveCommandImpl<E>
                 .execute(this::executeImpl);
     }
 
+    @Override
+    public CompletableFuture<BatchSaveResult<E>> executeAsync() {
+        return CompletableFuture.supplyAsync(this::execute, sqlClient.getAsyncExecutorService());
+    }
+
     @Override
     public BatchSaveResult<E> execute(Connection con) {
         if (con != null) {
@@ -67,36 +75,38 @@ public class BatchEntitySaveCommandImpl<E>
 
     @SuppressWarnings("unchecked")
     private BatchSaveResult<E> executeImpl(Connection con) {
-        if (entities.isEmpty()) {
-            return new BatchSaveResult<>(Collections.emptyList());
-        }
-        SaverCache cache = new SaverCache(data);
-        Map<AffectedTable, Integer> affectedRowCountMap = new LinkedHashMap<>();
-        List<SimpleSaveResult<E>>[] oldResultListRef = new List[1];
-        List<Object> modifiedEntities = Internal.produceList(
-                ((ImmutableSpi) entities.iterator().next()).__type(),
-                entities,
-                list -> {
-                    oldResultListRef[0] =
-                            entities
-                                    .stream()
-                                    .map(
-                                            it -> new Saver(data, con, cache, affectedRowCountMap)
-                                                    .save(it)
-                                    )
-                                    .collect(Collectors.toList());
-                }
-        );
-        int size = oldResultListRef[0].size();
-        List<SimpleSaveResult<E>> results = new ArrayList<>(size);
-        for (int i = 0; i < size; i++) {
-            SimpleSaveResult<E> result = oldResultListRef[0].get(i);
-            results.add(result.copy((E)modifiedEntities.get(i)));
+        try (ExecutionMonitors.Scope scope = ExecutionMonitors.enter(sqlClient, ExecutionPurpose.SAVE)) {
+            if (entities.isEmpty()) {
+                return new BatchSaveResult<>(Collections.emptyList());
+            }
+            Map<AffectedTable, Integer> affectedRowCountMap = new LinkedHashMap<>();
+            List<Object> modifiedEntities = Internal.produceList(
+                    ((ImmutableSpi) entities.iterator().next()).__type(),
+                    entities,
+                    list -> {
+                        Saver saver = new Saver(data, con, new SaverCache(data), affectedRowCountMap);
+                        saver.saveAll((List<DraftSpi>) (List<?>) list);
+                        saver.flush();
+                    }
+            );
+            List<SimpleSaveResult<E>> results = new ArrayList<>(entities.size());
+            Iterator<Object> modifiedItr = modifiedEntities.iterator();
+            for (E entity : entities) {
+                results.add(
+                        new SimpleSaveResult<>(
+                                affectedRowCountMap,
+                                entity,
+                                (E) modifiedItr.next()
+                        )
+                );
+            }
+            BatchSaveResult<E> result = new BatchSaveResult<>(
+                    affectedRowCountMap,
+                    results
+            );
+            WrittenTables.record(sqlClient, result);
+            return result;
         }
-        return new BatchSaveResult<>(
-                affectedRowCountMap,
-                results
-        );
     }
 
     @Override
@@ -50,13 +50,7 @@ class ChildTableOperator {
                 .sql(" where ")
                 .sql(parentProp.getDeclaringType().getIdProp().<Column>getStorage().getName())
                 .sql(" in(");
-        String separator = "";
-        for (Object childId : childIds) {
-            builder.sql(separator);
-            separator = ", ";
-            builder.variable(childId);
-        }
-        builder.sql(")");
+        builder.variableList(childIds).sql(")");
 
         Tuple2<String, List<Object>> sqlResult = builder.build();
         return sqlClient.getExecutor().execute(
@@ -138,13 +132,7 @@ class ChildTableOperator {
                     .sql(" and ")
                     .sql(parentProp.getDeclaringType().getIdProp().<Column>getStorage().getName())
                     .sql(" not in(");
-            String separator = "";
-            for (Object retainedChildId : retainedChildIds) {
-                builder.sql(separator);
-                separator = ", ";
-                builder.variable(retainedChildId);
-            }
-            builder.sql(")");
+            builder.variableList(retainedChildIds).sql(")");
         }
     }
 }
@@ -11,12 +11,15 @@ import org.babyfish.jimmer.sql.ast.mutation.DeleteResult;
 import org.babyfish.jimmer.sql.ast.table.Table;
 import org.babyfish.jimmer.sql.meta.Column;
 import org.babyfish.jimmer.sql.runtime.Converters;
+import org.babyfish.jimmer.sql.runtime.ExecutionMonitors;
+import org.babyfish.jimmer.sql.runtime.ExecutionPurpose;
 
 import java.sql.Connection;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -88,6 +91,11 @@ public class DeleteCommandImpl implements DeleteCommand {
                 .execute(this::executeImpl);
     }
 
+    @Override
+    public CompletableFuture<DeleteResult> executeAsync() {
+        return CompletableFuture.supplyAsync(this::execute, sqlClient.getAsyncExecutorService());
+    }
+
     @Override
     public DeleteResult execute(Connection con) {
         if (con != null) {
@@ -102,9 +110,13 @@ public class DeleteCommandImpl implements DeleteCommand {
     }
 
     private DeleteResult executeImpl(Connection con) {
-        Deleter deleter = new Deleter(data, con);
-        deleter.addPreHandleInput(immutableType, ids);
-        return deleter.execute();
+        try (ExecutionMonitors.Scope scope = ExecutionMonitors.enter(sqlClient, ExecutionPurpose.DELETE)) {
+            Deleter deleter = new Deleter(data, con);
+            deleter.addPreHandleInput(immutableType, ids);
+            DeleteResult result = deleter.execute();
+            WrittenTables.record(sqlClient, result);
+            return result;
+        }
     }
 
     static class Data implements Cfg {
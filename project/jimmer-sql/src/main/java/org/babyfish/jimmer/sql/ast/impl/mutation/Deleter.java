@@ -156,6 +156,16 @@ public class Deleter {
             ImmutableProp middleTableProp,
             MiddleTable middleTable,
             Collection<Object> ids
+    ) {
+        for (List<Object> chunk : SqlBuilder.inListChunks(data.getSqlClient(), ids)) {
+            deleteFromMiddleTableChunk(middleTableProp, middleTable, chunk);
+        }
+    }
+
+    private void deleteFromMiddleTableChunk(
+            ImmutableProp middleTableProp,
+            MiddleTable middleTable,
+            List<Object> ids
     ) {
         SqlBuilder builder = new SqlBuilder(data.getSqlClient());
         builder.sql("delete from ");
@@ -163,13 +173,7 @@ public class Deleter {
         builder.sql(" where ");
         builder.sql(middleTable.getJoinColumnName());
         builder.sql(" in(");
-        String separator = "";
-        for (Object id : ids) {
-            builder.sql(separator);
-            separator = ", ";
-            builder.variable(id);
-        }
-        builder.sql(")");
+        builder.variableList(ids).sql(")");
         Tuple2<String, List<Object>> sqlResult = builder.build();
         int affectedRowCount = data
                 .getSqlClient()
@@ -187,6 +191,15 @@ public class Deleter {
     private void updateChildTable(
             ImmutableProp manyToOneProp,
             Collection<Object> ids
+    ) {
+        for (List<Object> chunk : SqlBuilder.inListChunks(data.getSqlClient(), ids)) {
+            updateChildTableChunk(manyToOneProp, chunk);
+        }
+    }
+
+    private void updateChildTableChunk(
+            ImmutableProp manyToOneProp,
+            List<Object> ids
     ) {
         ImmutableType childType = manyToOneProp.getDeclaringType();
 
@@ -200,13 +213,7 @@ public class Deleter {
                 .sql(" = null where ")
                 .sql(fkColumnName)
                 .sql(" in(");
-        String separator = "";
-        for (Object id : ids) {
-            builder.sql(separator);
-            separator = ", ";
-            builder.variable(id);
-        }
-        builder.sql(")");
+        builder.variableList(ids).sql(")");
         Tuple2<String, List<Object>> sqlResult = builder.build();
         int affectedRowCount = data
                 .getSqlClient()
@@ -221,45 +228,41 @@ public class Deleter {
         addOutput(AffectedTable.of(childType), affectedRowCount);
     }
 
-    private void tryDeleteFromChildTable(ImmutableProp prop, Collection<?> ids) {
+    private void tryDeleteFromChildTable(ImmutableProp prop, Collection<Object> ids) {
         ImmutableProp manyToOneProp = prop.getMappedBy();
         ImmutableType childType = manyToOneProp.getDeclaringType();
         String fkColumnName = ((Column)manyToOneProp.getStorage()).getName();
-        SqlBuilder builder = new SqlBuilder(data.getSqlClient());
-        builder
-                .sql("select ")
-                .sql(childType.getIdProp().<Column>getStorage().getName())
-                .sql(" from ")
-                .sql(childType.getTableName())
-                .sql(" where ")
-                .sql(fkColumnName)
-                .sql(" in(");
-        String separator = "";
-        for (Object id : ids) {
-            builder.sql(separator);
-            separator = ", ";
-            builder.variable(id);
-        }
-        builder.sql(")");
-        Tuple2<String, List<Object>> sqlResult = builder.build();
-        List<Object> childIds = data
-                .getSqlClient()
-                .getExecutor()
-                .execute(
-                        con,
-                        sqlResult.get_1(),
-                        sqlResult.get_2(),
-                        null,
-                        stmt -> {
-                            List<Object> values = new ArrayList<>();
-                            try (ResultSet rs = stmt.executeQuery()) {
-                                while (rs.next()) {
-                                    values.add(rs.getObject(1));
+        List<Object> childIds = new ArrayList<>();
+        for (List<Object> chunk : SqlBuilder.inListChunks(data.getSqlClient(), ids)) {
+            SqlBuilder builder = new SqlBuilder(data.getSqlClient());
+            builder
+                    .sql("select ")
+                    .sql(childType.getIdProp().<Column>getStorage().getName())
+                    .sql(" from ")
+                    .sql(childType.getTableName())
+                    .sql(" where ")
+                    .sql(fkColumnName)
+                    .sql(" in(");
+            builder.variableList(chunk).sql(")");
+            Tuple2<String, List<Object>> sqlResult = builder.build();
+            data
+                    .getSqlClient()
+                    .getExecutor()
+                    .execute(
+                            con,
+                            sqlResult.get_1(),
+                            sqlResult.get_2(),
+                            null,
+                            stmt -> {
+                                try (ResultSet rs = stmt.executeQuery()) {
+                                    while (rs.next()) {
+                                        childIds.add(rs.getObject(1));
+                                    }
                                 }
+                                return null;
                             }
-                            return values;
-                        }
-                );
+                    );
+        }
         if (!childIds.isEmpty()) {
             if (data.getDissociateAction(manyToOneProp) != DissociateAction.DELETE) {
                 throw new ExecutionException(
@@ -291,6 +294,12 @@ public class Deleter {
     }
 
     private void deleteFromSelfTable(ImmutableType type, Collection<Object> ids) {
+        for (List<Object> chunk : SqlBuilder.inListChunks(data.getSqlClient(), ids)) {
+            deleteFromSelfTableChunk(type, chunk);
+        }
+    }
+
+    private void deleteFromSelfTableChunk(ImmutableType type, List<Object> ids) {
         String fkColumnName = ((Column)type.getIdProp().getStorage()).getName();
         SqlBuilder builder = new SqlBuilder(data.getSqlClient());
         builder.sql("delete from ");
@@ -298,13 +307,7 @@ public class Deleter {
         builder.sql(" where ");
         builder.sql(fkColumnName);
         builder.sql(" in(");
-        String separator = "";
-        for (Object id : ids) {
-            builder.sql(separator);
-            separator = ", ";
-            builder.variable(id);
-        }
-        builder.sql(")");
+        builder.variableList(ids).sql(")");
         Tuple2<String, List<Object>> sqlResult = builder.build();
         int affectedRowCount = data
                 .getSqlClient()
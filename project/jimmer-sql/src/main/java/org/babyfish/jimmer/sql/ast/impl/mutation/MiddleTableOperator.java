@@ -115,18 +115,11 @@ class MiddleTableOperator {
                 .sql(", ")
                 .sql(middleTable.getTargetJoinColumnName())
                 .sql(") in (");
-        String separator = "";
+        List<Tuple2<Object, Object>> idPairs = new ArrayList<>();
         while (reader.read()) {
-            builder.sql(separator);
-            separator = ", ";
-            builder
-                    .sql("(")
-                    .variable(reader.sourceId())
-                    .sql(", ")
-                    .variable(reader.targetId())
-                    .sql(")");
+            idPairs.add(new Tuple2<>(reader.sourceId(), reader.targetId()));
         }
-        builder.sql(")");
+        builder.variableList(idPairs).sql(")");
         Tuple2<String, List<Object>> sqlResult = builder.build();
         return sqlClient.getExecutor().execute(
                 con,
@@ -156,6 +149,36 @@ class MiddleTableOperator {
         Object targetId();
     }
 
+    static class TupleReader implements IdPairReader {
+
+        private final Iterator<Tuple2<Object, Object>> idTupleItr;
+
+        private Tuple2<Object, Object> currentIdPair;
+
+        TupleReader(Collection<Tuple2<Object, Object>> idTuples) {
+            idTupleItr = idTuples.iterator();
+        }
+
+        @Override
+        public boolean read() {
+            if (idTupleItr.hasNext()) {
+                currentIdPair = idTupleItr.next();
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public Object sourceId() {
+            return currentIdPair.get_1();
+        }
+
+        @Override
+        public Object targetId() {
+            return currentIdPair.get_2();
+        }
+    }
+
     private static class OneToManyReader implements IdPairReader {
 
         private Object sourceId;
@@ -17,10 +17,13 @@ import org.babyfish.jimmer.sql.ast.table.Table;
 import org.babyfish.jimmer.sql.ast.table.TableEx;
 import org.babyfish.jimmer.sql.ast.tuple.Tuple2;
 import org.babyfish.jimmer.sql.runtime.SqlBuilder;
+import org.babyfish.jimmer.sql.runtime.ExecutionMonitors;
+import org.babyfish.jimmer.sql.runtime.ExecutionPurpose;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public class MutableDeleteImpl
         extends AbstractMutableStatementImpl
@@ -56,6 +59,11 @@ public class MutableDeleteImpl
                 .execute(this::executeImpl);
     }
 
+    @Override
+    public CompletableFuture<Integer> executeAsync() {
+        return CompletableFuture.supplyAsync(this::execute, getSqlClient().getAsyncExecutorService());
+    }
+
     @Override
     public Integer execute(Connection con) {
         if (con != null) {
@@ -68,35 +76,41 @@ public class MutableDeleteImpl
 
     @SuppressWarnings("unchecked")
     private Integer executeImpl(Connection con) {
-        JSqlClient sqlClient = getSqlClient();
-        TableImplementor<?> table = TableWrappers.unwrap(deleteQuery.getTable());
-        if (table.getChildren().isEmpty()) {
-            SqlBuilder builder = new SqlBuilder(sqlClient);
-            Ast ast = (Ast) deleteQuery.getPredicate();
-            if (ast != null) {
-                ast.accept(new UseTableVisitor(builder));
+        try (ExecutionMonitors.Scope scope = ExecutionMonitors.enter(getSqlClient(), ExecutionPurpose.DELETE)) {
+            JSqlClient sqlClient = getSqlClient();
+            TableImplementor<?> table = TableWrappers.unwrap(deleteQuery.getTable());
+            if (table.getChildren().isEmpty()) {
+                SqlBuilder builder = new SqlBuilder(sqlClient);
+                Ast ast = (Ast) deleteQuery.getPredicate();
+                if (ast != null) {
+                    ast.accept(new UseTableVisitor(builder));
+                }
+                renderDirectly(builder);
+                Tuple2<String, List<Object>> sqlResult = builder.build();
+                int affectedRowCount = sqlClient.getExecutor().execute(
+                        con,
+                        sqlResult.get_1(),
+                        sqlResult.get_2(),
+                        null,
+                        PreparedStatement::executeUpdate
+                );
+                if (affectedRowCount != 0) {
+                    WrittenTables.record(sqlClient, table.getImmutableType().getTableName());
+                }
+                return affectedRowCount;
             }
-            renderDirectly(builder);
-            Tuple2<String, List<Object>> sqlResult = builder.build();
-            return sqlClient.getExecutor().execute(
-                    con,
-                    sqlResult.get_1(),
-                    sqlResult.get_2(),
-                    null,
-                    PreparedStatement::executeUpdate
-            );
-        }
-        List<Object> ids = deleteQuery
-                .select((Expression<Object>)table.get(table.getImmutableType().getIdProp().getName()))
-                .distinct()
-                .execute(con);
-        if (ids.isEmpty()) {
-            return 0;
+            List<Object> ids = deleteQuery
+                    .select((Expression<Object>)table.get(table.getImmutableType().getIdProp().getName()))
+                    .distinct()
+                    .execute(con);
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            return getSqlClient().getEntities().batchDeleteCommand(
+                    table.getImmutableType().getJavaClass(),
+                    ids
+            ).execute(con).getTotalAffectedRowCount();
         }
-        return getSqlClient().getEntities().batchDeleteCommand(
-                table.getImmutableType().getJavaClass(),
-                ids
-        ).execute(con).getTotalAffectedRowCount();
     }
 
     private void renderDirectly(SqlBuilder builder) {
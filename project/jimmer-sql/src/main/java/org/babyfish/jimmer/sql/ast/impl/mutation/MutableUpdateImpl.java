@@ -22,11 +22,14 @@ import org.babyfish.jimmer.sql.dialect.UpdateJoin;
 import org.babyfish.jimmer.sql.runtime.ExecutionException;
 import org.babyfish.jimmer.sql.runtime.SqlBuilder;
 import org.babyfish.jimmer.sql.runtime.TableUsedState;
+import org.babyfish.jimmer.sql.runtime.ExecutionMonitors;
+import org.babyfish.jimmer.sql.runtime.ExecutionPurpose;
 import org.jetbrains.annotations.NotNull;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 public class MutableUpdateImpl
         extends AbstractMutableStatementImpl
@@ -96,6 +99,11 @@ public class MutableUpdateImpl
                 .execute(this::executeImpl);
     }
 
+    @Override
+    public CompletableFuture<Integer> executeAsync() {
+        return CompletableFuture.supplyAsync(this::execute, getSqlClient().getAsyncExecutorService());
+    }
+
     @Override
     public Integer execute(Connection con) {
         if (con != null) {
@@ -107,21 +115,29 @@ public class MutableUpdateImpl
     }
 
     private Integer executeImpl(Connection con) {
-        if (assignmentMap.isEmpty()) {
-            return 0;
+        try (ExecutionMonitors.Scope scope = ExecutionMonitors.enter(getSqlClient(), ExecutionPurpose.UPDATE)) {
+            if (assignmentMap.isEmpty()) {
+                return 0;
+            }
+            SqlBuilder builder = new SqlBuilder(getSqlClient());
+            renderTo(builder);
+            Tuple2<String, List<Object>> sqlResult = builder.build();
+            int affectedRowCount = getSqlClient()
+                    .getExecutor()
+                    .execute(
+                            con,
+                            sqlResult.get_1(),
+                            sqlResult.get_2(),
+                            null,
+                            PreparedStatement::executeUpdate
+                    );
+            if (affectedRowCount != 0) {
+                for (Target target : assignmentMap.keySet()) {
+                    WrittenTables.record(getSqlClient(), target.tableImpl.getImmutableType().getTableName());
+                }
+            }
+            return affectedRowCount;
         }
-        SqlBuilder builder = new SqlBuilder(getSqlClient());
-        renderTo(builder);
-        Tuple2<String, List<Object>> sqlResult = builder.build();
-        return getSqlClient()
-                .getExecutor()
-                .execute(
-                        con,
-                        sqlResult.get_1(),
-                        sqlResult.get_2(),
-                        null,
-                        PreparedStatement::executeUpdate
-                );
     }
 
     @Override
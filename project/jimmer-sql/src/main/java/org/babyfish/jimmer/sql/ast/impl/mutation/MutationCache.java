@@ -39,6 +39,35 @@ class MutationCache {
         return keyObjMap.get(key);
     }
 
+    public boolean isResolved(ImmutableSpi example) {
+        ImmutableType type = example.__type();
+        int idPropId = type.getIdProp().getId();
+        if (example.__isLoaded(idPropId)) {
+            Object id = example.__get(idPropId);
+            if (id != null) {
+                return idObjMap.containsKey(new TypedId(type, id));
+            }
+        }
+        TypedKey key = TypedKey.of(example, keyProps(type), false);
+        return key != null && keyObjMap.containsKey(key);
+    }
+
+    public void markAbsent(ImmutableSpi example) {
+        ImmutableType type = example.__type();
+        int idPropId = type.getIdProp().getId();
+        if (example.__isLoaded(idPropId)) {
+            Object id = example.__get(idPropId);
+            if (id != null) {
+                idObjMap.putIfAbsent(new TypedId(type, id), null);
+                return;
+            }
+        }
+        TypedKey key = TypedKey.of(example, keyProps(type), false);
+        if (key != null) {
+            keyObjMap.putIfAbsent(key, null);
+        }
+    }
+
     public ImmutableSpi findById(ImmutableType type, Object id, Connection con) {
         TypedId typedId = new TypedId(type, id);
         ImmutableSpi spi = idObjMap.get(typedId);
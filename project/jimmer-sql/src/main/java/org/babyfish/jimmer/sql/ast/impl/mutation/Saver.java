@@ -11,22 +11,23 @@ import org.babyfish.jimmer.sql.DissociateAction;
 import org.babyfish.jimmer.sql.DraftInterceptor;
 import org.babyfish.jimmer.sql.OptimisticLockException;
 import org.babyfish.jimmer.sql.ast.Expression;
+import org.babyfish.jimmer.sql.ast.Predicate;
 import org.babyfish.jimmer.sql.ast.impl.query.Queries;
 import org.babyfish.jimmer.sql.ast.mutation.AffectedTable;
 import org.babyfish.jimmer.sql.ast.mutation.SaveMode;
 import org.babyfish.jimmer.sql.ast.mutation.SimpleSaveResult;
 import org.babyfish.jimmer.sql.ast.table.Table;
 import org.babyfish.jimmer.sql.ast.tuple.Tuple2;
+import org.babyfish.jimmer.sql.fetcher.Fetcher;
 import org.babyfish.jimmer.sql.meta.*;
 import org.babyfish.jimmer.sql.runtime.Converters;
 import org.babyfish.jimmer.sql.runtime.ExecutionException;
 import org.babyfish.jimmer.sql.runtime.SqlBuilder;
 
 import java.sql.Connection;
-import java.sql.PreparedStatement;
 import java.sql.ResultSet;
-import java.sql.Statement;
 import java.util.*;
+import java.util.function.IntConsumer;
 
 class Saver {
 
@@ -36,6 +37,8 @@ class Saver {
 
     private SaverCache cache;
 
+    private SaverBatch batch;
+
     private Map<AffectedTable, Integer> affectedRowCountMap;
 
     private String path;
@@ -55,6 +58,7 @@ class Saver {
         this.data = data;
         this.con = con;
         this.cache = cache;
+        this.batch = new SaverBatch(data.getSqlClient(), con);
         this.affectedRowCountMap = affectedRowCountMap;
         this.path = "<root>";
     }
@@ -63,6 +67,7 @@ class Saver {
         this.data = data;
         this.con = base.con;
         this.cache = base.cache;
+        this.batch = base.batch;
         this.affectedRowCountMap = base.affectedRowCountMap;
         this.path = base.path + '.' + subPath;
     }
@@ -72,49 +77,78 @@ class Saver {
         ImmutableType immutableType = ImmutableType.get(entity.getClass());
         E newEntity = (E)Internal.produce(immutableType, entity, draft -> {
             saveImpl((DraftSpi) draft);
+            batch.flush();
         });
         return new SimpleSaveResult<>(affectedRowCountMap, entity, newEntity);
     }
 
+    void flush() {
+        batch.flush();
+    }
+
     private void saveImpl(DraftSpi draftSpi) {
-        saveAssociations(draftSpi, ObjectType.EXISTING, true);
-        ObjectType objectType = saveSelf(draftSpi);
-        saveAssociations(draftSpi, objectType, false);
+        saveAll(Collections.singletonList(draftSpi));
+    }
+
+    void saveAll(List<DraftSpi> draftSpis) {
+        saveAssociations(draftSpis, null, true);
+        preload(draftSpis);
+        ObjectType[] objectTypes = new ObjectType[draftSpis.size()];
+        for (int i = 0; i < objectTypes.length; i++) {
+            objectTypes[i] = saveSelf(draftSpis.get(i));
+        }
+        if (batch.isGeneratedKeyPending()) {
+            // Associated objects and referencing objects require the generated ids
+            batch.flush();
+        }
+        saveAssociations(draftSpis, objectTypes, false);
     }
 
     @SuppressWarnings("unchecked")
-    private void saveAssociations(DraftSpi currentDraftSpi, ObjectType currentObjectType, boolean forParent) {
-        for (ImmutableProp prop : currentDraftSpi.__type().getProps().values()) {
-            if (prop.isAssociation(TargetLevel.ENTITY) &&
-                    prop.getStorage() instanceof Column == forParent &&
-                    currentDraftSpi.__isLoaded(prop.getId())
+    private void saveAssociations(
+            List<DraftSpi> currentDraftSpis,
+            ObjectType[] currentObjectTypes,
+            boolean forParent
+    ) {
+        ImmutableType currentType = currentDraftSpis.get(0).__type();
+        int currentIdPropId = currentType.getIdProp().getId();
+        int size = currentDraftSpis.size();
+        for (ImmutableProp prop : currentType.getProps().values()) {
+            if (!prop.isAssociation(TargetLevel.ENTITY) ||
+                    prop.getStorage() instanceof Column != forParent
             ) {
-                ImmutableType targetType = prop.getTargetType();
-                ImmutableType currentType = currentDraftSpi.__type();
-                int currentIdPropId = currentType.getIdProp().getId();
+                continue;
+            }
+            ImmutableType targetType = prop.getTargetType();
+            ImmutableProp mappedBy = prop.getMappedBy();
+            ChildTableOperator childTableOperator = null;
+            if (mappedBy != null && mappedBy.getStorage() instanceof Column) {
+                childTableOperator = new ChildTableOperator(
+                        data.getSqlClient(),
+                        con,
+                        mappedBy
+                );
+            }
+
+            List<List<DraftSpi>> associatedObjectsList = new ArrayList<>(size);
+            boolean loaded = false;
+            for (DraftSpi currentDraftSpi : currentDraftSpis) {
+                if (!currentDraftSpi.__isLoaded(prop.getId())) {
+                    associatedObjectsList.add(null);
+                    continue;
+                }
+                loaded = true;
                 Object currentId = currentDraftSpi.__isLoaded(currentIdPropId) ?
                         currentDraftSpi.__get(currentIdPropId) :
                         null;
-
-                ImmutableProp mappedBy = prop.getMappedBy();
-                ChildTableOperator childTableOperator = null;
-                if (mappedBy != null && mappedBy.getStorage() instanceof Column) {
-                    childTableOperator = new ChildTableOperator(
-                            data.getSqlClient(),
-                            con,
-                            mappedBy
-                    );
-                }
                 Object associatedValue = currentDraftSpi.__get(prop.getId());
-                Set<Object> associatedObjectIds = new LinkedHashSet<>();
+                List<DraftSpi> associatedObjects;
                 if (associatedValue instanceof List<?>) {
-                    List<DraftSpi> associatedObjects = (List<DraftSpi>) associatedValue;
+                    associatedObjects = (List<DraftSpi>) associatedValue;
                     if (childTableOperator != null) {
-                        int targetIdPropId = prop.getTargetType().getIdProp().getId();
-                        Iterator<DraftSpi> itr = new ArrayList<>(associatedObjects).iterator();
+                        int targetIdPropId = targetType.getIdProp().getId();
                         List<Object> updatingTargetIds = new ArrayList<>();
-                        while (itr.hasNext()) {
-                            DraftSpi associatedObject = itr.next();
+                        for (DraftSpi associatedObject : associatedObjects) {
                             if (isNonIdPropLoaded(associatedObject, false)) {
                                 associatedObject.__set(
                                         mappedBy.getId(),
@@ -124,104 +158,283 @@ class Saver {
                                 );
                             } else {
                                 updatingTargetIds.add(associatedObject.__get(targetIdPropId));
-                                itr.remove();
                             }
                         }
                         if (!updatingTargetIds.isEmpty()) {
+                            batch.flush();
                             int rowCount = childTableOperator.setParent(currentId, updatingTargetIds);
                             addOutput(AffectedTable.of(targetType), rowCount);
                         }
                     }
-                    for (DraftSpi associatedObject : associatedObjects) {
-                        associatedObjectIds.add(saveAssociatedObjectAndGetId(prop, associatedObject));
-                    }
                 } else if (associatedValue != null) {
-                    DraftSpi associatedObject = (DraftSpi) associatedValue;
-                    associatedObjectIds.add(saveAssociatedObjectAndGetId(prop, associatedObject));
-                }
-                ImmutableProp middleTableProp = null;
-                MiddleTable middleTable = null;
-                if (prop.getStorage() instanceof MiddleTable) {
-                    middleTableProp = prop;
-                    middleTable = middleTableProp.getStorage();
+                    associatedObjects = Collections.singletonList((DraftSpi) associatedValue);
                 } else {
-                    if (mappedBy != null && mappedBy.getStorage() instanceof MiddleTable) {
-                        middleTableProp = mappedBy;
-                        middleTable = middleTableProp.<MiddleTable>getStorage().getInverse();
-                    }
+                    associatedObjects = Collections.emptyList();
                 }
-                if (middleTable != null) {
-                    MiddleTableOperator middleTableOperator = new MiddleTableOperator(
-                            data.getSqlClient(),
-                            con,
-                            middleTable,
-                            prop.getTargetType().getIdProp().getElementClass()
+                associatedObjectsList.add(associatedObjects);
+            }
+            if (!loaded) {
+                continue;
+            }
+
+            saveAssociatedObjects(prop, associatedObjectsList);
+
+            ImmutableProp middleTableProp = null;
+            MiddleTable middleTable = null;
+            if (prop.getStorage() instanceof MiddleTable) {
+                middleTableProp = prop;
+                middleTable = middleTableProp.getStorage();
+            } else {
+                if (mappedBy != null && mappedBy.getStorage() instanceof MiddleTable) {
+                    middleTableProp = mappedBy;
+                    middleTable = middleTableProp.<MiddleTable>getStorage().getInverse();
+                }
+            }
+            if (middleTable == null && childTableOperator == null) {
+                continue;
+            }
+            batch.flush();
+            MiddleTableOperator middleTableOperator = null;
+            if (middleTable != null) {
+                middleTableOperator = new MiddleTableOperator(
+                        data.getSqlClient(),
+                        con,
+                        middleTable,
+                        targetType.getIdProp().getElementClass()
+                );
+            }
+            List<Tuple2<Object, Object>> addingIdPairs = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                List<DraftSpi> associatedObjects = associatedObjectsList.get(i);
+                if (associatedObjects == null) {
+                    continue;
+                }
+                Object currentId = currentDraftSpis.get(i).__get(currentIdPropId);
+                Set<Object> associatedObjectIds = new LinkedHashSet<>();
+                for (DraftSpi associatedObject : associatedObjects) {
+                    associatedObjectIds.add(
+                            associatedObject.__get(targetType.getIdProp().getId())
                     );
-                    int rowCount;
-                    if (currentObjectType == ObjectType.NEW) {
-                        rowCount = middleTableOperator.addTargetIds(
-                                currentId,
-                                associatedObjectIds
-                        );
+                }
+                if (middleTableOperator != null) {
+                    if (currentObjectTypes[i] == ObjectType.NEW) {
+                        for (Object associatedObjectId : associatedObjectIds) {
+                            addingIdPairs.add(new Tuple2<>(currentId, associatedObjectId));
+                        }
                     } else {
-                        rowCount = middleTableOperator.setTargetIds(
+                        int rowCount = middleTableOperator.setTargetIds(
                                 currentId,
                                 associatedObjectIds
                         );
+                        addOutput(AffectedTable.of(middleTableProp), rowCount);
                     }
-                    addOutput(AffectedTable.of(middleTableProp), rowCount);
-                } else if (childTableOperator != null && currentObjectType != ObjectType.NEW) {
-                    DissociateAction dissociateAction = data.getDissociateAction(prop.getMappedBy());
-                    if (dissociateAction == DissociateAction.DELETE) {
-                        List<Object> detachedTargetIds = childTableOperator.getDetachedChildIds(
-                                currentId,
-                                associatedObjectIds
-                        );
-                        Deleter deleter = new Deleter(
-                                new DeleteCommandImpl.Data(data.getSqlClient(), data.dissociateActionMap()),
-                                con,
-                                affectedRowCountMap
-                        );
-                        deleter.addPreHandleInput(prop.getTargetType(), detachedTargetIds);
-                        deleter.execute();
-                    } else if (dissociateAction == DissociateAction.SET_NULL) {
-                        int rowCount = childTableOperator.unsetParent(currentId, associatedObjectIds);
-                        addOutput(AffectedTable.of(targetType), rowCount);
-                    } else {
-                        throw new ExecutionException(
-                                "Cannot disconnect child objects at the path \"" +
-                                        path +
-                                        "\" by the one-to-many association \"" +
-                                        prop +
-                                        "\" because the many-to-one property \"" +
-                                        mappedBy +
-                                        "\" is not configured as \"on delete set null\" or \"on delete cascade\"." +
-                                        "There are two ways to resolve this issue, configure SaveCommand to automatically detach " +
-                                        "disconnected child objects of the one-to-many property \"" +
-                                        prop +
-                                        "\", or set the delete action of the many-to-one property \"" +
-                                        mappedBy +
-                                        "\" to be \"CASCADE\"."
-                        );
-                    }
+                } else if (currentObjectTypes[i] != ObjectType.NEW) {
+                    dissociate(prop, childTableOperator, currentId, associatedObjectIds);
                 }
             }
+            if (!addingIdPairs.isEmpty()) {
+                int rowCount = middleTableOperator.add(
+                        new MiddleTableOperator.TupleReader(addingIdPairs)
+                );
+                addOutput(AffectedTable.of(middleTableProp), rowCount);
+            }
         }
     }
 
-    private Object saveAssociatedObjectAndGetId(ImmutableProp prop, DraftSpi associatedDraftSpi) {
-        if (isNonIdPropLoaded(associatedDraftSpi, true)) {
+    private void saveAssociatedObjects(ImmutableProp prop, List<List<DraftSpi>> associatedObjectsList) {
+        List<DraftSpi> savingDraftSpis = new ArrayList<>();
+        Set<DraftSpi> savingDraftSpiSet = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (List<DraftSpi> associatedObjects : associatedObjectsList) {
+            if (associatedObjects != null) {
+                for (DraftSpi associatedObject : associatedObjects) {
+                    if (isNonIdPropLoaded(associatedObject, true) &&
+                            savingDraftSpiSet.add(associatedObject)) {
+                        savingDraftSpis.add(associatedObject);
+                    }
+                }
+            }
+        }
+        if (!savingDraftSpis.isEmpty()) {
             AbstractEntitySaveCommandImpl.Data associatedData =
                     new AbstractEntitySaveCommandImpl.Data(data);
-            associatedData.setMode(
-                    data.isAutoAttachingProp(prop) ?
-                            SaveMode.UPSERT :
-                            SaveMode.UPDATE_ONLY
-            );
+            SaveMode associatedMode;
+            if (!data.isAutoAttachingProp(prop)) {
+                associatedMode = SaveMode.UPDATE_ONLY;
+            } else if (data.getMode() == SaveMode.NATIVE_UPSERT) {
+                associatedMode = SaveMode.NATIVE_UPSERT;
+            } else {
+                associatedMode = SaveMode.UPSERT;
+            }
+            associatedData.setMode(associatedMode);
             Saver associatedSaver = new Saver(this, associatedData, prop.getName());
-            associatedSaver.saveImpl(associatedDraftSpi);
+            associatedSaver.saveAll(savingDraftSpis);
         }
-        return associatedDraftSpi.__get(associatedDraftSpi.__type().getIdProp().getId());
+    }
+
+    private void dissociate(
+            ImmutableProp prop,
+            ChildTableOperator childTableOperator,
+            Object currentId,
+            Set<Object> associatedObjectIds
+    ) {
+        ImmutableProp mappedBy = prop.getMappedBy();
+        DissociateAction dissociateAction = data.getDissociateAction(mappedBy);
+        if (dissociateAction == DissociateAction.DELETE) {
+            List<Object> detachedTargetIds = childTableOperator.getDetachedChildIds(
+                    currentId,
+                    associatedObjectIds
+            );
+            Deleter deleter = new Deleter(
+                    new DeleteCommandImpl.Data(data.getSqlClient(), data.dissociateActionMap()),
+                    con,
+                    affectedRowCountMap
+            );
+            deleter.addPreHandleInput(prop.getTargetType(), detachedTargetIds);
+            deleter.execute();
+        } else if (dissociateAction == DissociateAction.SET_NULL) {
+            int rowCount = childTableOperator.unsetParent(currentId, associatedObjectIds);
+            addOutput(AffectedTable.of(prop.getTargetType()), rowCount);
+        } else {
+            throw new ExecutionException(
+                    "Cannot disconnect child objects at the path \"" +
+                            path +
+                            "\" by the one-to-many association \"" +
+                            prop +
+                            "\" because the many-to-one property \"" +
+                            mappedBy +
+                            "\" is not configured as \"on delete set null\" or \"on delete cascade\"." +
+                            "There are two ways to resolve this issue, configure SaveCommand to automatically detach " +
+                            "disconnected child objects of the one-to-many property \"" +
+                            prop +
+                            "\", or set the delete action of the many-to-one property \"" +
+                            mappedBy +
+                            "\" to be \"CASCADE\"."
+            );
+        }
+    }
+
+    /**
+     * Loads the existing rows of many objects by id queries and key queries,
+     * split by {@link org.babyfish.jimmer.sql.dialect.Dialect#getMaxInListSize()},
+     * so that {@link #find(DraftSpi)} can be answered from the cache.
+     */
+    @SuppressWarnings("unchecked")
+    private void preload(List<DraftSpi> draftSpis) {
+        if (draftSpis.size() < 2 || data.getMode() == SaveMode.INSERT_ONLY) {
+            return;
+        }
+        ImmutableType type = draftSpis.get(0).__type();
+        ImmutableProp idProp = type.getIdProp();
+        Set<ImmutableProp> keyProps = data.getKeyProps(type);
+        boolean keyQueryable = keyProps != null && !keyProps.isEmpty();
+        List<DraftSpi> idExamples = new ArrayList<>();
+        List<DraftSpi> keyExamples = new ArrayList<>();
+        for (DraftSpi draftSpi : draftSpis) {
+            if (cache.isSaved(draftSpi) || cache.isResolved(draftSpi)) {
+                continue;
+            }
+            Object id = draftSpi.__isLoaded(idProp.getId()) ? draftSpi.__get(idProp.getId()) : null;
+            if (id != null) {
+                if (data.getMode() != SaveMode.UPDATE_ONLY && !isNativeUpsertable(draftSpi)) {
+                    idExamples.add(draftSpi);
+                }
+            } else if (keyQueryable) {
+                boolean keyLoaded = true;
+                for (ImmutableProp keyProp : keyProps) {
+                    if (!draftSpi.__isLoaded(keyProp.getId())) {
+                        keyLoaded = false;
+                        break;
+                    }
+                }
+                if (keyLoaded) {
+                    keyExamples.add(draftSpi);
+                }
+            }
+        }
+        if (idExamples.size() + keyExamples.size() < 2) {
+            return;
+        }
+        batch.flush();
+        Fetcher<ImmutableSpi> fetcher = IdAndKeyFetchers.getFetcher(type);
+        if (keyProps != null) {
+            for (ImmutableProp keyProp : keyProps) {
+                fetcher = fetcher.add(keyProp.getName());
+            }
+        }
+        Fetcher<ImmutableSpi> finalFetcher = fetcher;
+        if (!idExamples.isEmpty()) {
+            Set<Object> ids = new LinkedHashSet<>();
+            for (DraftSpi idExample : idExamples) {
+                ids.add(idExample.__get(idProp.getId()));
+            }
+            for (List<Object> chunk : SqlBuilder.inListChunks(data.getSqlClient(), ids)) {
+                List<ImmutableSpi> rows = Queries.createQuery(data.getSqlClient(), type, (q, table) -> {
+                    q.where(table.<Expression<Object>>get(idProp.getName()).in(chunk));
+                    return q.select(((Table<ImmutableSpi>)table).fetch(finalFetcher));
+                }).execute(con);
+                for (ImmutableSpi row : rows) {
+                    cache.save(row, false);
+                }
+            }
+        }
+        if (!keyExamples.isEmpty()) {
+            List<ImmutableSpi> rows = new ArrayList<>();
+            for (List<DraftSpi> chunk : SqlBuilder.inListChunks(data.getSqlClient(), keyExamples, keyProps.size())) {
+                rows.addAll(queryByKeys(type, chunk, keyProps, finalFetcher));
+            }
+            Set<List<Object>> foundKeys = new HashSet<>((rows.size() * 4 + 2) / 3);
+            for (ImmutableSpi row : rows) {
+                if (!foundKeys.add(keyValues(row, keyProps))) {
+                    throw new ExecutionException(
+                            "Key properties " +
+                                    keyProps +
+                                    " cannot guarantee uniqueness at the path \"" +
+                                    path +
+                                    "\""
+                    );
+                }
+                cache.save(row, false);
+            }
+            // An example whose key matches a row but whose cache key differs
+            // (e.g. the reference is a full object) simply falls back to find()
+            keyExamples.removeIf(it -> foundKeys.contains(keyValues(it, keyProps)));
+        }
+        for (DraftSpi idExample : idExamples) {
+            cache.markAbsent(idExample);
+        }
+        for (DraftSpi keyExample : keyExamples) {
+            cache.markAbsent(keyExample);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<ImmutableSpi> queryByKeys(
+            ImmutableType type,
+            List<DraftSpi> keyExamples,
+            Set<ImmutableProp> keyProps,
+            Fetcher<ImmutableSpi> fetcher
+    ) {
+        return Queries.createQuery(data.getSqlClient(), type, (q, table) -> {
+            List<Predicate> predicates = new ArrayList<>(keyExamples.size());
+            for (DraftSpi keyExample : keyExamples) {
+                List<Predicate> keyPredicates = new ArrayList<>(keyProps.size());
+                for (ImmutableProp keyProp : keyProps) {
+                    Expression<Object> expression;
+                    if (keyProp.isReference(TargetLevel.ENTITY)) {
+                        expression = table
+                                .<Table<?>>join(keyProp.getName())
+                                .get(keyProp.getTargetType().getIdProp().getName());
+                    } else {
+                        expression = table.get(keyProp.getName());
+                    }
+                    Object value = keyValue(keyExample, keyProp);
+                    keyPredicates.add(value != null ? expression.eq(value) : expression.isNull());
+                }
+                predicates.add(Predicate.and(keyPredicates.toArray(new Predicate[0])));
+            }
+            q.where(Predicate.or(predicates.toArray(new Predicate[0])));
+            return q.select(((Table<ImmutableSpi>)table).fetch(fetcher));
+        }).execute(con);
     }
 
     private ObjectType saveSelf(DraftSpi draftSpi) {
@@ -235,6 +448,11 @@ class Saver {
             return ObjectType.NEW;
         }
 
+        if (isNativeUpsertable(draftSpi)) {
+            upsert(draftSpi);
+            return ObjectType.UNKNOWN;
+        }
+
         if (data.getMode() == SaveMode.UPDATE_ONLY &&
                 draftSpi.__isLoaded(draftSpi.__type().getIdProp().getId())) {
             update(draftSpi, false);
@@ -263,7 +481,6 @@ class Saver {
         return ObjectType.NEW;
     }
 
-    @SuppressWarnings("unchecked")
     private void insert(DraftSpi draftSpi) {
 
         callInterceptor(draftSpi, true);
@@ -282,16 +499,14 @@ class Saver {
                                 path +
                                 "\" because id generator is not specified"
                 );
-            } else if (idGenerator instanceof SequenceIdGenerator) {
-                String sql = data.getSqlClient().getDialect().getSelectIdFromSequenceSql(
-                        ((SequenceIdGenerator)idGenerator).getSequenceName()
+            } else if (idGenerator instanceof PooledSequenceIdGenerator) {
+                String sequenceName = ((PooledSequenceIdGenerator)idGenerator).getSequenceName();
+                id = ((PooledSequenceIdGenerator)idGenerator).allocate(() ->
+                        ((Number) selectIdFromSequence(sequenceName)).longValue()
                 );
-                id = data.getSqlClient().getExecutor().execute(con, sql, Collections.emptyList(), null, stmt -> {
-                    try (ResultSet rs = stmt.executeQuery()) {
-                        rs.next();
-                        return rs.getObject(1);
-                    }
-                });
+                setDraftId(draftSpi, id);
+            } else if (idGenerator instanceof SequenceIdGenerator) {
+                id = selectIdFromSequence(((SequenceIdGenerator)idGenerator).getSequenceName());
                 setDraftId(draftSpi, id);
             } else if (idGenerator instanceof UserIdGenerator) {
                 id = ((UserIdGenerator)idGenerator).generate(type.getJavaClass());
@@ -359,48 +574,87 @@ class Saver {
         for (int i = 0; i < size; i++) {
             builder.sql(separator);
             separator = ", ";
-            Object value = values.get(i);
-            if (value != null) {
-                builder.variable(value);
-            } else {
-                builder.nullVariable(props.get(i));
-            }
+            builder.variable(props.get(i), values.get(i));
         }
         builder.sql(")");
 
         Tuple2<String, List<Object>> sqlResult = builder.build();
-        boolean generateKeys = id == null;
-        Object insertedResult = data.getSqlClient().getExecutor().execute(
-                con,
-                sqlResult.get_1(),
-                sqlResult.get_2(),
-                generateKeys ?
-                        (c, s) ->
-                                c.prepareStatement(s, Statement.RETURN_GENERATED_KEYS) :
-                        null,
-                stmt -> {
-                    if (generateKeys) {
-                        int updateCount = stmt.executeUpdate();
-                        Object generatedId;
-                        try (ResultSet rs = stmt.getGeneratedKeys()) {
-                            rs.next();
-                            generatedId = rs.getObject(1);
-                        }
-                        return new Tuple2<>(updateCount, generatedId);
-                    }
-                    return stmt.executeUpdate();
-                }
-        );
-        int rowCount = insertedResult instanceof Tuple2<?, ?> ?
-                ((Tuple2<Integer, ?>)insertedResult).get_1() :
-                (Integer)insertedResult;
-        addOutput(AffectedTable.of(type), rowCount);
-
-        if (insertedResult instanceof Tuple2<?, ?>) {
-            id = ((Tuple2<?, Object>)insertedResult).get_2();
-            setDraftId(draftSpi, id);
+        if (id != null) {
+            batch.add(
+                    sqlResult.get_1(),
+                    sqlResult.get_2(),
+                    rowCount -> addOutput(AffectedTable.of(type), rowCount)
+            );
+            cache.save(draftSpi, true);
+            return;
         }
+        batch.addReturningGeneratedKey(sqlResult.get_1(), sqlResult.get_2(), generatedId -> {
+            addOutput(AffectedTable.of(type), 1);
+            setDraftId(draftSpi, generatedId);
+            cache.save(draftSpi, true);
+        });
+    }
+
+    private Object selectIdFromSequence(String sequenceName) {
+        String sql = data.getSqlClient().getDialect().getSelectIdFromSequenceSql(sequenceName);
+        return data.getSqlClient().getExecutor().execute(con, sql, Collections.emptyList(), null, stmt -> {
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                return rs.getObject(1);
+            }
+        });
+    }
+
+    /**
+     * Whether the draft is written by one native upsert statement without being queried
+     */
+    private boolean isNativeUpsertable(DraftSpi draftSpi) {
+        ImmutableType type = draftSpi.__type();
+        int idPropId = type.getIdProp().getId();
+        return data.getMode() == SaveMode.NATIVE_UPSERT &&
+                data.getSqlClient().getDialect().isUpsertSupported() &&
+                draftSpi.__isLoaded(idPropId) &&
+                draftSpi.__get(idPropId) != null &&
+                type.getVersionProp() == null &&
+                data.getSqlClient().getDraftInterceptor(type) == null;
+    }
+
+    private void upsert(DraftSpi draftSpi) {
 
+        ImmutableType type = draftSpi.__type();
+
+        List<ImmutableProp> props = new ArrayList<>();
+        List<Object> values = new ArrayList<>();
+        List<ImmutableProp> updatedProps = new ArrayList<>();
+        for (ImmutableProp prop : type.getProps().values()) {
+            if (prop.getStorage() instanceof Column && draftSpi.__isLoaded(prop.getId())) {
+                props.add(prop);
+                Object value = draftSpi.__get(prop.getId());
+                if (value != null && prop.isReference(TargetLevel.ENTITY)) {
+                    value = ((ImmutableSpi)value).__get(prop.getTargetType().getIdProp().getId());
+                }
+                values.add(value);
+                if (!prop.isId()) {
+                    updatedProps.add(prop);
+                }
+            }
+        }
+        SqlBuilder builder = new SqlBuilder(data.getSqlClient());
+        data.getSqlClient().getDialect().upsert(
+                new UpsertContextImpl(
+                        builder,
+                        type.getTableName(),
+                        props,
+                        values,
+                        Collections.singletonList(type.getIdProp()),
+                        updatedProps
+                )
+        );
+        Tuple2<String, List<Object>> sqlResult = builder.build();
+        batch.add(sqlResult.get_1(), sqlResult.get_2(), rowCount -> {
+            // MySQL reports 2 for a row that is updated by "on duplicate key update"
+            addOutput(AffectedTable.of(type), Math.min(rowCount, 1));
+        });
         cache.save(draftSpi, true);
     }
 
@@ -464,12 +718,7 @@ class Saver {
             builder
                     .sql(updatedProps.get(i).<Column>getStorage().getName())
                     .sql(" = ");
-            Object updatedValue = updatedValues.get(i);
-            if (updatedValue != null) {
-                builder.variable(updatedValue);
-            } else {
-                builder.nullVariable(updatedProps.get(i));
-            }
+            builder.variable(updatedProps.get(i), updatedValues.get(i));
         }
         if (version != null) {
             String versionColumName = type.getVersionProp().<Column>getStorage().getName();
@@ -495,26 +744,28 @@ class Saver {
         }
 
         Tuple2<String, List<Object>> sqlResult = builder.build();
-        int rowCount = data.getSqlClient().getExecutor().execute(
-                con,
-                sqlResult.get_1(),
-                sqlResult.get_2(),
-                null,
-                PreparedStatement::executeUpdate
-        );
-        if (rowCount != 0) {
-            addOutput(AffectedTable.of(type), rowCount);
-            if (version != null) {
-                increaseDraftVersion(draftSpi);
+        Integer expectedVersion = version;
+        String currentPath = path;
+        IntConsumer rowCountHandler = rowCount -> {
+            if (rowCount != 0) {
+                addOutput(AffectedTable.of(type), rowCount);
+                if (expectedVersion != null) {
+                    increaseDraftVersion(draftSpi);
+                }
+                cache.save(draftSpi, true);
+            } else if (expectedVersion != null) {
+                throw new OptimisticLockException(
+                        type,
+                        draftSpi.__get(type.getIdProp().getId()),
+                        expectedVersion,
+                        currentPath
+                );
             }
-            cache.save(draftSpi, true);
-        } else if (version != null) {
-            throw new OptimisticLockException(
-                    type,
-                    draftSpi.__get(type.getIdProp().getId()),
-                    version,
-                    path
-            );
+        };
+        if (version != null) {
+            batch.execute(sqlResult.get_1(), sqlResult.get_2(), rowCountHandler);
+        } else {
+            batch.add(sqlResult.get_1(), sqlResult.get_2(), rowCountHandler);
         }
     }
 
@@ -543,7 +794,7 @@ class Saver {
     private ImmutableSpi find(DraftSpi example) {
 
         ImmutableSpi cached = cache.find(example);
-        if (cached != null) {
+        if (cached != null || cache.isResolved(example)) {
             return cached;
         }
 
@@ -551,6 +802,8 @@ class Saver {
 
         Collection<ImmutableProp> actualKeyProps = actualKeyProps(example);
 
+        batch.flush();
+
         List<ImmutableSpi> rows = Queries.createQuery(data.getSqlClient(), type, (q, table) -> {
             for (ImmutableProp keyProp : actualKeyProps) {
                 if (keyProp.isReference(TargetLevel.ENTITY)) {
@@ -598,6 +851,22 @@ class Saver {
         return spi;
     }
 
+    private static List<Object> keyValues(ImmutableSpi spi, Collection<ImmutableProp> keyProps) {
+        List<Object> values = new ArrayList<>(keyProps.size());
+        for (ImmutableProp keyProp : keyProps) {
+            values.add(keyValue(spi, keyProp));
+        }
+        return values;
+    }
+
+    private static Object keyValue(ImmutableSpi spi, ImmutableProp keyProp) {
+        Object value = spi.__get(keyProp.getId());
+        if (value != null && keyProp.isReference(TargetLevel.ENTITY)) {
+            return ((ImmutableSpi) value).__get(keyProp.getTargetType().getIdProp().getId());
+        }
+        return value;
+    }
+
     private Collection<ImmutableProp> actualKeyProps(ImmutableSpi spi) {
 
         ImmutableType type = spi.__type();
@@ -0,0 +1,163 @@
+package org.babyfish.jimmer.sql.ast.impl.mutation;
+
+import org.babyfish.jimmer.sql.JSqlClient;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+class SaverBatch {
+
+    private final JSqlClient sqlClient;
+
+    private final Connection con;
+
+    private String sql;
+
+    private boolean generatedKeysRequired;
+
+    private final List<List<Object>> variablesList = new ArrayList<>();
+
+    private final List<IntConsumer> handlers = new ArrayList<>();
+
+    private final List<Consumer<Object>> generatedKeyHandlers = new ArrayList<>();
+
+    SaverBatch(JSqlClient sqlClient, Connection con) {
+        this.sqlClient = sqlClient;
+        this.con = con;
+    }
+
+    void add(String sql, List<Object> variables, IntConsumer rowCountHandler) {
+        prepare(sql, false);
+        variablesList.add(variables);
+        handlers.add(rowCountHandler);
+        flushIfFull();
+    }
+
+    /**
+     * Executes a statement whose row count must be exact, such as an update
+     * with an optimistic lock predicate. It is never batched because some
+     * drivers report {@link Statement#SUCCESS_NO_INFO} for batched statements.
+     */
+    void execute(String sql, List<Object> variables, IntConsumer rowCountHandler) {
+        flush();
+        this.sql = sql;
+        variablesList.add(variables);
+        handlers.add(rowCountHandler);
+        flush();
+    }
+
+    /**
+     * Queues an insert statement whose generated key is required,
+     * the handler is called with the generated key when the batch is flushed.
+     */
+    void addReturningGeneratedKey(String sql, List<Object> variables, Consumer<Object> generatedKeyHandler) {
+        prepare(sql, true);
+        variablesList.add(variables);
+        generatedKeyHandlers.add(generatedKeyHandler);
+        flushIfFull();
+    }
+
+    boolean isGeneratedKeyPending() {
+        return generatedKeysRequired && !variablesList.isEmpty();
+    }
+
+    void flush() {
+        int size = variablesList.size();
+        if (size == 0) {
+            return;
+        }
+        if (generatedKeysRequired) {
+            flushGeneratedKeys(size);
+            return;
+        }
+        int[] rowCounts;
+        if (size == 1) {
+            rowCounts = new int[] {
+                    sqlClient.getExecutor().execute(
+                            con,
+                            sql,
+                            variablesList.get(0),
+                            null,
+                            PreparedStatement::executeUpdate
+                    )
+            };
+        } else {
+            rowCounts = sqlClient.getExecutor().executeBatch(
+                    con,
+                    sql,
+                    variablesList,
+                    null
+            );
+        }
+        List<IntConsumer> handlers = new ArrayList<>(this.handlers);
+        clear();
+        for (int i = 0; i < size; i++) {
+            int rowCount = rowCounts[i];
+            // Some drivers cannot report the update count of each batched row
+            handlers.get(i).accept(rowCount == Statement.SUCCESS_NO_INFO ? 1 : rowCount);
+        }
+    }
+
+    private void flushGeneratedKeys(int size) {
+        List<Object> generatedKeys;
+        if (size == 1 || !sqlClient.getDialect().isBatchGeneratedKeysSupported()) {
+            generatedKeys = new ArrayList<>(size);
+            for (List<Object> variables : variablesList) {
+                generatedKeys.add(
+                        sqlClient.getExecutor().execute(
+                                con,
+                                sql,
+                                variables,
+                                (c, s) -> c.prepareStatement(s, Statement.RETURN_GENERATED_KEYS),
+                                stmt -> {
+                                    stmt.executeUpdate();
+                                    try (ResultSet rs = stmt.getGeneratedKeys()) {
+                                        rs.next();
+                                        return rs.getObject(1);
+                                    }
+                                }
+                        )
+                );
+            }
+        } else {
+            generatedKeys = sqlClient.getExecutor().executeBatchAndGetGeneratedKeys(
+                    con,
+                    sql,
+                    variablesList
+            );
+        }
+        List<Consumer<Object>> generatedKeyHandlers = new ArrayList<>(this.generatedKeyHandlers);
+        clear();
+        for (int i = 0; i < size; i++) {
+            generatedKeyHandlers.get(i).accept(generatedKeys.get(i));
+        }
+    }
+
+    private void prepare(String sql, boolean generatedKeysRequired) {
+        if (!sql.equals(this.sql) || generatedKeysRequired != this.generatedKeysRequired) {
+            flush();
+            this.sql = sql;
+            this.generatedKeysRequired = generatedKeysRequired;
+        }
+    }
+
+    private void flushIfFull() {
+        if (variablesList.size() >= sqlClient.getDefaultDmlBatchSize()) {
+            flush();
+        }
+    }
+
+    private void clear() {
+        sql = null;
+        generatedKeysRequired = false;
+        variablesList.clear();
+        handlers.clear();
+        generatedKeyHandlers.clear();
+    }
+}
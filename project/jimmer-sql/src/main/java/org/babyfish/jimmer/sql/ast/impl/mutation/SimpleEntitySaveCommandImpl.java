@@ -4,8 +4,11 @@ import org.babyfish.jimmer.runtime.ImmutableSpi;
 import org.babyfish.jimmer.sql.JSqlClient;
 import org.babyfish.jimmer.sql.ast.mutation.SimpleEntitySaveCommand;
 import org.babyfish.jimmer.sql.ast.mutation.SimpleSaveResult;
+import org.babyfish.jimmer.sql.runtime.ExecutionMonitors;
+import org.babyfish.jimmer.sql.runtime.ExecutionPurpose;
 
 import java.sql.Connection;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 public class SimpleEntitySaveCommandImpl<E>
@@ -44,6 +47,11 @@ public class SimpleEntitySaveCommandImpl<E>
                 .execute(this::executeImpl);
     }
 
+    @Override
+    public CompletableFuture<SimpleSaveResult<E>> executeAsync() {
+        return CompletableFuture.supplyAsync(this::execute, sqlClient.getAsyncExecutorService());
+    }
+
     @Override
     public SimpleSaveResult<E> execute(Connection con) {
         if (con != null) {
@@ -58,8 +66,12 @@ public class SimpleEntitySaveCommandImpl<E>
     }
 
     private SimpleSaveResult<E> executeImpl(Connection con) {
-        Saver saver = new Saver(data, con);
-        return saver.save(entity);
+        try (ExecutionMonitors.Scope scope = ExecutionMonitors.enter(sqlClient, ExecutionPurpose.SAVE)) {
+            Saver saver = new Saver(data, con);
+            SimpleSaveResult<E> result = saver.save(entity);
+            WrittenTables.record(sqlClient, result);
+            return result;
+        }
     }
 
     @SuppressWarnings("unchecked")
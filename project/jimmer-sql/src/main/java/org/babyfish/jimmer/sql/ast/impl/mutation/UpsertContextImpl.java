@@ -0,0 +1,129 @@
+package org.babyfish.jimmer.sql.ast.impl.mutation;
+
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.sql.dialect.UpsertContext;
+import org.babyfish.jimmer.sql.meta.Column;
+import org.babyfish.jimmer.sql.runtime.SqlBuilder;
+
+import java.util.List;
+
+class UpsertContextImpl implements UpsertContext {
+
+    private final SqlBuilder builder;
+
+    private final String tableName;
+
+    private final List<ImmutableProp> insertedProps;
+
+    private final List<Object> insertedValues;
+
+    private final List<ImmutableProp> conflictProps;
+
+    private final List<ImmutableProp> updatedProps;
+
+    UpsertContextImpl(
+            SqlBuilder builder,
+            String tableName,
+            List<ImmutableProp> insertedProps,
+            List<Object> insertedValues,
+            List<ImmutableProp> conflictProps,
+            List<ImmutableProp> updatedProps
+    ) {
+        this.builder = builder;
+        this.tableName = tableName;
+        this.insertedProps = insertedProps;
+        this.insertedValues = insertedValues;
+        this.conflictProps = conflictProps;
+        this.updatedProps = updatedProps;
+    }
+
+    @Override
+    public boolean hasUpdatedColumns() {
+        return !updatedProps.isEmpty();
+    }
+
+    @Override
+    public UpsertContext sql(String sql) {
+        builder.sql(sql);
+        return this;
+    }
+
+    @Override
+    public UpsertContext appendTableName() {
+        builder.sql(tableName);
+        return this;
+    }
+
+    @Override
+    public UpsertContext appendInsertedColumns(String prefix) {
+        String separator = "";
+        for (ImmutableProp prop : insertedProps) {
+            builder.sql(separator).sql(prefix).sql(columnName(prop));
+            separator = ", ";
+        }
+        return this;
+    }
+
+    @Override
+    public UpsertContext appendInsertingValues(boolean withAliases) {
+        String separator = "";
+        int size = insertedProps.size();
+        for (int i = 0; i < size; i++) {
+            builder.sql(separator);
+            separator = ", ";
+            builder.variable(insertedProps.get(i), insertedValues.get(i));
+            if (withAliases) {
+                builder.sql(" ").sql(columnName(insertedProps.get(i)));
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public UpsertContext appendConflictColumns() {
+        String separator = "";
+        for (ImmutableProp prop : conflictProps) {
+            builder.sql(separator).sql(columnName(prop));
+            separator = ", ";
+        }
+        return this;
+    }
+
+    @Override
+    public UpsertContext appendConflictCondition(String targetPrefix, String sourcePrefix) {
+        String separator = "";
+        for (ImmutableProp prop : conflictProps) {
+            String columnName = columnName(prop);
+            builder
+                    .sql(separator)
+                    .sql(targetPrefix)
+                    .sql(columnName)
+                    .sql(" = ")
+                    .sql(sourcePrefix)
+                    .sql(columnName);
+            separator = " and ";
+        }
+        return this;
+    }
+
+    @Override
+    public UpsertContext appendUpdatingAssignments(String sourcePrefix, String sourceSuffix) {
+        String separator = "";
+        for (ImmutableProp prop : updatedProps) {
+            String columnName = columnName(prop);
+            builder
+                    .sql(separator)
+                    .sql(columnName)
+                    .sql(" = ")
+                    .sql(sourcePrefix)
+                    .sql(columnName)
+                    .sql(sourceSuffix);
+            separator = ", ";
+        }
+        return this;
+    }
+
+    private static String columnName(ImmutableProp prop) {
+        return prop.<Column>getStorage().getName();
+    }
+}
@@ -0,0 +1,54 @@
+package org.babyfish.jimmer.sql.ast.impl.mutation;
+
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.ast.mutation.AffectedTable;
+import org.babyfish.jimmer.sql.ast.mutation.MutationResult;
+import org.babyfish.jimmer.sql.meta.MiddleTable;
+import org.babyfish.jimmer.sql.runtime.QueryResultCache;
+import org.babyfish.jimmer.sql.runtime.WriteTracker;
+
+import java.util.Map;
+
+/**
+ * Reports the tables written by the mutations of current sql client,
+ * they are recorded by {@link JSqlClient#getWriteTracker()} and the results
+ * reading them are evicted from {@link JSqlClient#getQueryResultCache()}.
+ *
+ * <p>The eviction happens when the statement is executed, even if it is in a
+ * transaction which is not committed yet.</p>
+ */
+class WrittenTables {
+
+    private WrittenTables() {}
+
+    static void record(JSqlClient sqlClient, String tableName) {
+        WriteTracker writeTracker = sqlClient.getWriteTracker();
+        if (writeTracker != null) {
+            writeTracker.record(tableName);
+        }
+        QueryResultCache queryResultCache = sqlClient.getQueryResultCache();
+        if (queryResultCache != null) {
+            queryResultCache.evictByTableName(tableName);
+        }
+    }
+
+    static void record(JSqlClient sqlClient, MutationResult result) {
+        if (sqlClient.getWriteTracker() == null && sqlClient.getQueryResultCache() == null) {
+            return;
+        }
+        for (Map.Entry<AffectedTable, Integer> e : result.getAffectedRowCountMap().entrySet()) {
+            if (e.getValue() == 0) {
+                continue;
+            }
+            AffectedTable affectedTable = e.getKey();
+            if (affectedTable instanceof AffectedTable.Entity) {
+                record(sqlClient, ((AffectedTable.Entity) affectedTable).getType().getTableName());
+            } else {
+                record(
+                        sqlClient,
+                        ((AffectedTable.Middle) affectedTable).getProp().<MiddleTable>getStorage().getTableName()
+                );
+            }
+        }
+    }
+}
@@ -4,12 +4,16 @@ import org.babyfish.jimmer.meta.ImmutableProp;
 import org.babyfish.jimmer.sql.ast.Selection;
 import org.babyfish.jimmer.sql.ast.impl.Ast;
 import org.babyfish.jimmer.sql.ast.impl.AstVisitor;
+import org.babyfish.jimmer.sql.ast.tuple.Tuple2;
+import org.babyfish.jimmer.sql.ast.impl.table.TableImplementor;
 import org.babyfish.jimmer.sql.ast.impl.table.TableSelection;
 import org.babyfish.jimmer.sql.ast.impl.table.TableWrappers;
 import org.babyfish.jimmer.sql.ast.table.Table;
 import org.babyfish.jimmer.sql.runtime.SqlBuilder;
+import org.babyfish.jimmer.sql.runtime.SqlShape;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -47,6 +51,9 @@ class AbstractConfigurableTypedQueryImpl<R> implements TypedQueryImplementor {
             Ast.from(selection).accept(visitor);
         }
         baseQuery.accept(visitor, data.getOldSelections(), data.isWithoutSortingAndPaging());
+        if (data.getKeysetPredicate() != null) {
+            ((Ast) data.getKeysetPredicate()).accept(visitor);
+        }
     }
 
     @Override
@@ -72,6 +79,68 @@ class AbstractConfigurableTypedQueryImpl<R> implements TypedQueryImplementor {
         }
     }
 
+    @Override
+    public boolean renderShape(@NotNull SqlShape shape) {
+        TableImplementor<?> table = TableWrappers.unwrap(baseQuery.getTable());
+        table.renderShape(shape);
+        shape.token(data.isDistinct()).token(data.getSelections().size());
+        for (Selection<?> selection : data.getSelections()) {
+            if (selection instanceof Table<?>) {
+                shape.token(Table.class);
+                if (!shape.tableReference(TableWrappers.unwrap((Table<?>) selection))) {
+                    return false;
+                }
+            } else if (selection instanceof TableSelection<?>) {
+                return false;
+            } else if (!Ast.from(selection).renderShape(shape)) {
+                return false;
+            }
+        }
+        if (!baseQuery.renderShape(shape, data.isWithoutSortingAndPaging(), data.getKeysetPredicate())) {
+            return false;
+        }
+        List<Selection<?>> oldSelections = data.getOldSelections();
+        if (oldSelections != null) {
+            // Old selections are not rendered but decide which joins are rendered
+            shape.token(oldSelections.size());
+            boolean supported = shape.unrendered(() -> {
+                for (Selection<?> selection : oldSelections) {
+                    if (selection instanceof Table<?>) {
+                        shape.token(Table.class);
+                        if (!shape.tableReference(TableWrappers.unwrap((Table<?>) selection))) {
+                            return false;
+                        }
+                    } else if (selection instanceof TableSelection<?> ||
+                            !Ast.from(selection).renderShape(shape)) {
+                        return false;
+                    }
+                }
+                return true;
+            });
+            if (!supported) {
+                return false;
+            }
+        }
+        if (data.isWithoutSortingAndPaging() || data.getLimit() == Integer.MAX_VALUE) {
+            shape.token(null);
+        } else {
+            PaginationContextImpl ctx = new PaginationContextImpl(
+                    data.getLimit(),
+                    data.getOffset(),
+                    "",
+                    Collections.emptyList()
+            );
+            baseQuery.getSqlClient().getDialect().paginate(ctx);
+            Tuple2<String, List<Object>> result = ctx.build();
+            shape.token(result.get_1());
+            for (Object variable : result.get_2()) {
+                shape.rawVariable(variable);
+            }
+        }
+        shape.token(data.isForUpdate());
+        return true;
+    }
+
     private void renderWithoutPaging(SqlBuilder builder) {
         builder.sql("select ");
         if (data.isDistinct()) {
@@ -91,7 +160,7 @@ class AbstractConfigurableTypedQueryImpl<R> implements TypedQueryImplementor {
             }
             separator = ", ";
         }
-        baseQuery.renderTo(builder, data.isWithoutSortingAndPaging());
+        baseQuery.renderTo(builder, data.isWithoutSortingAndPaging(), data.getKeysetPredicate());
     }
 
     private static void renderAllProps(TableSelection<?> table, SqlBuilder builder) {
@@ -14,8 +14,10 @@ import org.babyfish.jimmer.sql.ast.impl.table.TableWrappers;
 import org.babyfish.jimmer.sql.ast.query.*;
 import org.babyfish.jimmer.sql.ast.table.Table;
 import org.babyfish.jimmer.sql.runtime.SqlBuilder;
+import org.babyfish.jimmer.sql.runtime.SqlShape;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public abstract class AbstractMutableQueryImpl
@@ -121,7 +123,7 @@ public abstract class AbstractMutableQueryImpl
             ((Ast)havingPredicate).accept(visitor);
         }
         if (withoutSortingAndPaging) {
-            AstVisitor ignoredVisitor = new UseJoinOfIgnoredClauseVisitor(visitor.getSqlBuilder());
+            AstVisitor ignoredVisitor = ignoredClauseVisitor(visitor);
             for (Order order : orders) {
                 ((Ast)order.getExpression()).accept(ignoredVisitor);
             }
@@ -131,16 +133,27 @@ public abstract class AbstractMutableQueryImpl
             }
         }
         if (overriddenSelections != null) {
-            AstVisitor ignoredVisitor = new UseJoinOfIgnoredClauseVisitor(visitor.getSqlBuilder());
+            AstVisitor ignoredVisitor = ignoredClauseVisitor(visitor);
             for (Selection<?> selection : overriddenSelections) {
                 Ast.from(selection).accept(ignoredVisitor);
             }
         }
     }
 
-    void renderTo(SqlBuilder builder, boolean withoutSortingAndPaging) {
+    /*
+     * Visitors without sql builder, such as the collectors of read tables,
+     * visit the ignored clauses by themselves conservatively.
+     */
+    private static AstVisitor ignoredClauseVisitor(AstVisitor visitor) {
+        if (!visitor.isSqlBuilderSupported()) {
+            return visitor;
+        }
+        return new UseJoinOfIgnoredClauseVisitor(visitor.getSqlBuilder());
+    }
 
-        Predicate predicate = getPredicate();
+    void renderTo(SqlBuilder builder, boolean withoutSortingAndPaging, Predicate keysetPredicate) {
+
+        Predicate predicate = getPredicate(keysetPredicate);
         Predicate havingPredicate = havingPredicates.isEmpty() ? null : havingPredicates.get(0);
 
         TableImplementor<?> table = TableWrappers.unwrap(this.table);
@@ -183,6 +196,57 @@ public abstract class AbstractMutableQueryImpl
         }
     }
 
+    /**
+     * Appends the shape of {@link #renderTo(SqlBuilder, boolean, Predicate)},
+     * except the table whose shape must be appended before the selections.
+     */
+    boolean renderShape(SqlShape shape, boolean withoutSortingAndPaging, Predicate keysetPredicate) {
+        Predicate predicate = getPredicate(keysetPredicate);
+        Predicate havingPredicate = havingPredicates.isEmpty() ? null : havingPredicates.get(0);
+        shape.token(predicate != null);
+        if (predicate != null && !((Ast)predicate).renderShape(shape)) {
+            return false;
+        }
+        shape.token(groupByExpressions.size());
+        for (Expression<?> expression : groupByExpressions) {
+            if (!((Ast)expression).renderShape(shape)) {
+                return false;
+            }
+        }
+        shape.token(havingPredicate != null);
+        if (havingPredicate != null && !((Ast)havingPredicate).renderShape(shape)) {
+            return false;
+        }
+        shape.token(withoutSortingAndPaging).token(orders.size());
+        if (withoutSortingAndPaging) {
+            // Ignored order by clause still decides which joins are rendered
+            return shape.unrendered(() -> renderOrdersShape(shape));
+        }
+        return renderOrdersShape(shape);
+    }
+
+    private boolean renderOrdersShape(SqlShape shape) {
+        for (Order order : orders) {
+            if (!((Ast)order.getExpression()).renderShape(shape)) {
+                return false;
+            }
+            shape.token(order.getOrderMode()).token(order.getNullOrderMode());
+        }
+        return true;
+    }
+
+    private Predicate getPredicate(Predicate keysetPredicate) {
+        Predicate predicate = getPredicate();
+        if (keysetPredicate == null) {
+            return predicate;
+        }
+        return predicate != null ? predicate.and(keysetPredicate) : keysetPredicate;
+    }
+
+    List<Order> getOrders() {
+        return Collections.unmodifiableList(orders);
+    }
+
     protected boolean isGroupByClauseUsed() {
         return !this.groupByExpressions.isEmpty();
     }
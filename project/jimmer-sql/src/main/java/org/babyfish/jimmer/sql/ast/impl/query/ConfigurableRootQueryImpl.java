@@ -1,25 +1,54 @@
 package org.babyfish.jimmer.sql.ast.impl.query;
 
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.runtime.ImmutableSpi;
+import org.babyfish.jimmer.runtime.Internal;
 import org.babyfish.jimmer.sql.JSqlClient;
 import org.babyfish.jimmer.sql.ast.Expression;
 import org.babyfish.jimmer.sql.ast.Selection;
 import org.babyfish.jimmer.sql.ast.impl.Ast;
 import org.babyfish.jimmer.sql.ast.impl.AstVisitor;
+import org.babyfish.jimmer.sql.ast.impl.ExpressionImplementor;
+import org.babyfish.jimmer.sql.ast.impl.KeysetPredicate;
+import org.babyfish.jimmer.sql.ast.impl.PropExpressionImpl;
+import org.babyfish.jimmer.sql.ast.impl.table.TableImplementor;
 import org.babyfish.jimmer.sql.ast.impl.table.TableWrappers;
 import org.babyfish.jimmer.sql.ast.query.ConfigurableRootQuery;
 import org.babyfish.jimmer.sql.ast.query.MutableRootQuery;
+import org.babyfish.jimmer.sql.ast.query.NullOrderMode;
+import org.babyfish.jimmer.sql.ast.query.Order;
+import org.babyfish.jimmer.sql.ast.query.Page;
+import org.babyfish.jimmer.sql.ast.query.Slice;
 import org.babyfish.jimmer.sql.ast.query.TypedRootQuery;
 import org.babyfish.jimmer.sql.ast.query.TypedSubQuery;
 import org.babyfish.jimmer.sql.ast.table.Table;
 import org.babyfish.jimmer.sql.ast.tuple.Tuple2;
+import org.babyfish.jimmer.sql.fetcher.Fetcher;
+import org.babyfish.jimmer.sql.fetcher.impl.Fetchers;
+import org.babyfish.jimmer.sql.fetcher.impl.FetcherSelection;
+import org.babyfish.jimmer.sql.runtime.ConnectionManager;
+import org.babyfish.jimmer.sql.runtime.ExecutionException;
+import org.babyfish.jimmer.sql.runtime.Flow;
+import org.babyfish.jimmer.sql.runtime.QueryResultCache;
 import org.babyfish.jimmer.sql.runtime.Selectors;
 import org.babyfish.jimmer.sql.runtime.SqlBuilder;
+import org.babyfish.jimmer.sql.runtime.SqlShape;
+import org.babyfish.jimmer.sql.runtime.SqlTemplateCache;
+import org.babyfish.jimmer.sql.runtime.TotalRowCountCache;
 
 import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public class ConfigurableRootQueryImpl<T extends Table<?>, R>
         extends AbstractConfigurableTypedQueryImpl<R>
@@ -68,6 +97,124 @@ public class ConfigurableRootQueryImpl<T extends Table<?>, R>
         );
     }
 
+    @Override
+    public ConfigurableRootQuery<T, R> seek(List<?> lastKeyValues) {
+        List<Order> orders = keysetOrders();
+        if (lastKeyValues.size() != orders.size()) {
+            throw new IllegalArgumentException(
+                    "The count of key values must be the count of orders " + orders.size() +
+                            ", but it is " + lastKeyValues.size()
+            );
+        }
+        for (Object keyValue : lastKeyValues) {
+            if (keyValue == null) {
+                throw new IllegalArgumentException("The key values of keyset pagination cannot be null");
+            }
+        }
+        KeysetPredicate predicate = new KeysetPredicate(
+                orders,
+                new ArrayList<>(lastKeyValues),
+                getBaseQuery().getSqlClient().getDialect().isRowValueComparisonSupported()
+        );
+        return new ConfigurableRootQueryImpl<>(
+                getData().keyset(predicate),
+                getBaseQuery()
+        );
+    }
+
+    @Override
+    public Slice<R> fetchSlice(int limit, String continuationToken, Connection con) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("'limit' can not be less than 1");
+        }
+        if (limit == Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("'limit' is too big");
+        }
+        List<Order> orders = keysetOrders();
+        List<Class<?>> types = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            types.add(((ExpressionImplementor<?>) order.getExpression()).getType());
+        }
+        ConfigurableRootQuery<T, R> query = continuationToken != null ?
+                seek(KeysetTokens.decode(continuationToken, types)) :
+                this;
+        // Fetch one more row to know whether there is a next slice
+        List<R> rows = query.limit(limit + 1, 0).execute(con);
+        if (rows.size() <= limit) {
+            return new Slice<>(rows, null);
+        }
+        rows = new ArrayList<>(rows.subList(0, limit));
+        R lastRow = rows.get(limit - 1);
+        List<Object> keyValues = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            keyValues.add(keyValue(lastRow, order.getExpression()));
+        }
+        return new Slice<>(rows, KeysetTokens.encode(keyValues, types));
+    }
+
+    private List<Order> keysetOrders() {
+        TypedQueryData data = getData();
+        if (data.getKeysetPredicate() != null) {
+            throw new IllegalStateException("The keyset of the current query has been specified");
+        }
+        List<Order> orders = getBaseQuery().getOrders();
+        if (data.isWithoutSortingAndPaging() || orders.isEmpty()) {
+            throw new IllegalStateException("Keyset pagination requires order by clause");
+        }
+        for (Order order : orders) {
+            if (order.getNullOrderMode() != NullOrderMode.UNSPECIFIED) {
+                throw new IllegalStateException("Keyset pagination does not support nulls first or nulls last");
+            }
+        }
+        return orders;
+    }
+
+    private Object keyValue(Object row, Expression<?> orderExpression) {
+        List<Selection<?>> selections = getData().getSelections();
+        PropExpressionImpl<?> propExpression = orderExpression instanceof PropExpressionImpl<?> ?
+                (PropExpressionImpl<?>) orderExpression :
+                null;
+        for (int i = 0; i < selections.size(); i++) {
+            Selection<?> selection = selections.get(i);
+            Object value = selections.size() == 1 ? row : Fetchers.column(row, i);
+            if (value == null) {
+                continue;
+            }
+            if (selection == orderExpression || (
+                    propExpression != null &&
+                            selection instanceof PropExpressionImpl<?> &&
+                            ((PropExpressionImpl<?>) selection).getTableImplementor() ==
+                                    propExpression.getTableImplementor() &&
+                            ((PropExpressionImpl<?>) selection).getProp().equals(propExpression.getProp())
+            )) {
+                return value;
+            }
+            if (propExpression != null && isEntityOf(selection, propExpression.getTableImplementor())) {
+                ImmutableSpi spi = (ImmutableSpi) value;
+                int propId = propExpression.getProp().getId();
+                if (spi.__isLoaded(propId) && spi.__get(propId) != null) {
+                    return spi.__get(propId);
+                }
+            }
+        }
+        throw new IllegalStateException(
+                "The value of the order expression cannot be read from the last row, " +
+                        "keyset pagination requires its non-null value to be selected"
+        );
+    }
+
+    private static boolean isEntityOf(Selection<?> selection, TableImplementor<?> table) {
+        if (selection instanceof Table<?>) {
+            return TableWrappers.unwrap((Table<?>) selection) == table;
+        }
+        if (selection instanceof FetcherSelection<?>) {
+            // Fetcher selection does not expose its table, only the root table is matched
+            return table.getParent() == null &&
+                    ((FetcherSelection<?>) selection).getFetcher().getImmutableType() == table.getImmutableType();
+        }
+        return false;
+    }
+
     @Override
     public ConfigurableRootQuery<T, R> distinct() {
         TypedQueryData data = getData();
@@ -113,6 +260,18 @@ public class ConfigurableRootQueryImpl<T extends Table<?>, R>
         );
     }
 
+    @Override
+    public ConfigurableRootQuery<T, R> deferredJoin() {
+        TypedQueryData data = getData();
+        if (data.isDeferredJoin()) {
+            return this;
+        }
+        return new ConfigurableRootQueryImpl<>(
+                data.deferredJoin(),
+                getBaseQuery()
+        );
+    }
+
     @Override
     public ConfigurableRootQuery<T, R> forUpdate() {
         TypedQueryData data = getData();
@@ -127,30 +286,68 @@ public class ConfigurableRootQueryImpl<T extends Table<?>, R>
 
     @Override
     public List<R> execute() {
-        return getBaseQuery()
-                .getSqlClient()
-                .getSlaveConnectionManager(getData().isForUpdate())
-                .execute(this::executeImpl);
+        return ReadRouting
+                .connectionManager(getBaseQuery().getSqlClient(), getData().isForUpdate(), this)
+                .execute(con -> executeImpl(con, true));
+    }
+
+    @Override
+    public CompletableFuture<List<R>> executeAsync() {
+        return CompletableFuture.supplyAsync(this::execute, getBaseQuery().getSqlClient().getAsyncExecutorService());
     }
 
     @Override
     public List<R> execute(Connection con) {
         if (con != null) {
-            return executeImpl(con);
+            // The connection of the caller may be in a transaction
+            return executeImpl(con, false);
         }
-        return getBaseQuery()
-                .getSqlClient()
-                .getSlaveConnectionManager(getData().isForUpdate())
-                .execute(this::executeImpl);
+        return execute();
     }
 
-    private List<R> executeImpl(Connection con) {
+    private List<R> executeImpl(Connection con, boolean resultCacheable) {
         TypedQueryData data = getData();
         if (data.getLimit() == 0) {
             return Collections.emptyList();
         }
         JSqlClient sqlClient = getBaseQuery().getSqlClient();
+        QueryResultCache queryResultCache = resultCacheable && isResultCacheable(con) ?
+                sqlClient.getQueryResultCache() :
+                null;
+        if (queryResultCache == null) {
+            return executeUncached(con, null);
+        }
         Tuple2<String, List<Object>> sqlResult = preExecute(new SqlBuilder(sqlClient));
+        List<R> rows = queryResultCache.get(sqlResult);
+        if (rows != null) {
+            // Same as the uncached rows, they can be modified by the caller
+            return new ArrayList<>(rows);
+        }
+        long version = queryResultCache.getVersion();
+        rows = executeUncached(con, sqlResult);
+        ReadRouting.TableCollector collector = new ReadRouting.TableCollector();
+        accept(collector);
+        collector.types.add(TableWrappers.unwrap(getBaseQuery().getTable()).getImmutableType());
+        queryResultCache.put(
+                sqlResult,
+                rows,
+                version,
+                collector.types,
+                collector.middleTableProps,
+                sqlClient.getTriggers()
+        );
+        return rows;
+    }
+
+    private List<R> executeUncached(Connection con, Tuple2<String, List<Object>> sqlResult) {
+        if (isDeferredJoinApplicable()) {
+            return executeDeferredJoin(con);
+        }
+        JSqlClient sqlClient = getBaseQuery().getSqlClient();
+        if (sqlResult == null) {
+            sqlResult = preExecute(new SqlBuilder(sqlClient));
+        }
+        TypedQueryData data = getData();
         return Selectors.select(
                 sqlClient,
                 con,
@@ -160,6 +357,113 @@ public class ConfigurableRootQueryImpl<T extends Table<?>, R>
         );
     }
 
+    /*
+     * The rows fetching associations are not decided by the SQL only,
+     * and the rows read in a draft context, such as the queries of
+     * fetchers and save commands, are drafts which cannot be shared.
+     * The rows read in a transaction may be uncommitted or rolled back later.
+     */
+    private boolean isResultCacheable(Connection con) {
+        if (getData().isForUpdate() || Internal.isDraftContextActive()) {
+            return false;
+        }
+        try {
+            if (!con.getAutoCommit()) {
+                return false;
+            }
+        } catch (SQLException ex) {
+            throw new ExecutionException("Cannot get the auto commit mode of connection", ex);
+        }
+        for (Selection<?> selection : getData().getSelections()) {
+            if (selection instanceof FetcherSelection<?> &&
+                    !((FetcherSelection<?>) selection).getFetcher().isSimpleFetcher()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isDeferredJoinApplicable() {
+        TypedQueryData data = getData();
+        if (data.getLimit() == Integer.MAX_VALUE ||
+                data.isWithoutSortingAndPaging() ||
+                data.isForUpdate() ||
+                data.isDistinct() ||
+                data.getSelections().size() != 1 ||
+                getBaseQuery().isGroupByClauseUsed()) {
+            return false;
+        }
+        if (!data.isDeferredJoin() &&
+                data.getOffset() < getBaseQuery().getSqlClient().getDeferredJoinOffsetThreshold()) {
+            return false;
+        }
+        Selection<?> selection = data.getSelections().get(0);
+        TableImplementor<?> rootTable = TableWrappers.unwrap(getBaseQuery().getTable());
+        if (selection instanceof Table<?>) {
+            return TableWrappers.unwrap((Table<?>) selection) == rootTable;
+        }
+        if (!(selection instanceof FetcherSelection<?>)) {
+            return false;
+        }
+        boolean[] rootOnly = { true };
+        ((Ast) selection).accept(
+                new AstVisitor(null) {
+                    @Override
+                    public void visitTableReference(Table<?> table, ImmutableProp prop) {
+                        rootOnly[0] &= TableWrappers.unwrap(table) == rootTable;
+                    }
+                }
+        );
+        return rootOnly[0];
+    }
+
+    /*
+     * Late row lookup: the page is located by a query which selects ids only,
+     * so that the skipped rows are not read from the table; then the
+     * entities of that page are loaded by ids and sorted by the order of ids.
+     */
+    @SuppressWarnings("unchecked")
+    private List<R> executeDeferredJoin(Connection con) {
+        JSqlClient sqlClient = getBaseQuery().getSqlClient();
+        ImmutableType type = TableWrappers.unwrap(getBaseQuery().getTable()).getImmutableType();
+        String idPropName = type.getIdProp().getName();
+        // Not `reselect()` which rejects the query that has been reselected
+        List<Selection<?>> idSelections =
+                Collections.singletonList(getBaseQuery().getTable().<Expression<Object>>get(idPropName));
+        List<Object> ids = new ConfigurableRootQueryImpl<T, Object>(
+                getData().reselect(idSelections),
+                getBaseQuery()
+        ).executeUncached(con, null);
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Selection<?> selection = getData().getSelections().get(0);
+        Fetcher<Object> fetcher = selection instanceof FetcherSelection<?> ?
+                ((FetcherSelection<Object>) selection).getFetcher() :
+                null;
+        Map<Object, R> rowMap = new HashMap<>((ids.size() * 4 + 2) / 3);
+        for (List<Object> chunk : SqlBuilder.inListChunks(sqlClient, ids)) {
+            List<Object> rows = ((ConfigurableRootQueryImpl<Table<?>, Object>) Queries.createQuery(
+                    sqlClient, type, (q, table) -> {
+                        Expression<Object> idProp = table.get(idPropName);
+                        q.where(idProp.in(chunk));
+                        return q.select(((Table<Object>) table).fetch(fetcher));
+                    }
+            )).executeUncached(con, null);
+            for (Object row : rows) {
+                rowMap.put(((ImmutableSpi) row).__get(type.getIdProp().getId()), (R) row);
+            }
+        }
+        List<R> result = new ArrayList<>(ids.size());
+        for (Object id : ids) {
+            R row = rowMap.get(id);
+            if (row != null) {
+                result.add(row);
+            }
+        }
+        return result;
+    }
+
     @Override
     public void forEach(Connection con, int batchSize, Consumer<R> consumer) {
         TypedQueryData data = getData();
@@ -171,7 +475,7 @@ public class ConfigurableRootQueryImpl<T extends Table<?>, R>
         if (con != null) {
             forEachImpl(con, finalBatchSize, consumer);
         } else {
-            sqlClient.getSlaveConnectionManager(getData().isForUpdate()).execute(newConn -> {
+            ReadRouting.connectionManager(sqlClient, getData().isForUpdate(), this).execute(newConn -> {
                 forEachImpl(newConn, finalBatchSize, consumer);
                 return (Void) null;
             });
@@ -192,11 +496,201 @@ public class ConfigurableRootQueryImpl<T extends Table<?>, R>
         );
     }
 
+    @Override
+    public Stream<R> stream(Connection con, int fetchSize) {
+        TypedQueryData data = getData();
+        if (data.getLimit() == 0) {
+            return Stream.empty();
+        }
+        JSqlClient sqlClient = getBaseQuery().getSqlClient();
+        Tuple2<String, List<Object>> sqlResult = preExecute(new SqlBuilder(sqlClient));
+        return Selectors.stream(
+                sqlClient,
+                con,
+                ReadRouting.connectionManager(sqlClient, data.isForUpdate(), this),
+                sqlResult.get_1(),
+                sqlResult.get_2(),
+                data.getSelections(),
+                fetchSize
+        );
+    }
+
+    @Override
+    public Flow.Publisher<R> publisher(Connection con, int fetchSize) {
+        TypedQueryData data = getData();
+        if (data.getLimit() == 0) {
+            return Selectors.emptyPublisher();
+        }
+        JSqlClient sqlClient = getBaseQuery().getSqlClient();
+        Tuple2<String, List<Object>> sqlResult = preExecute(new SqlBuilder(sqlClient));
+        return Selectors.publisher(
+                sqlClient,
+                con,
+                ReadRouting.connectionManager(sqlClient, data.isForUpdate(), this),
+                sqlResult.get_1(),
+                sqlResult.get_2(),
+                data.getSelections(),
+                fetchSize
+        );
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Page<R> fetchPage(int pageIndex, int pageSize, Connection con) {
+        if (pageIndex < 0) {
+            throw new IllegalArgumentException("pageIndex cannot be less than 0");
+        }
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("pageSize cannot be less than 1");
+        }
+        if ((long) pageIndex * pageSize > Integer.MAX_VALUE - pageSize) {
+            throw new IllegalArgumentException("pageIndex * pageSize is too big");
+        }
+        JSqlClient sqlClient = getBaseQuery().getSqlClient();
+        int offset = pageIndex * pageSize;
+        ConfigurableRootQueryImpl<T, ?> countQuery;
+        Tuple2<String, List<Object>> countSqlResult;
+        if (isCountedAsDerivedTable()) {
+            countQuery = (ConfigurableRootQueryImpl<T, R>) withoutSortingAndPaging();
+            Tuple2<String, List<Object>> sqlResult = countQuery.preExecute(new SqlBuilder(sqlClient));
+            countSqlResult = new Tuple2<>(
+                    "select count(1) from (" + sqlResult.get_1() + ") tb_count__",
+                    sqlResult.get_2()
+            );
+        } else {
+            // Not `reselect()` which rejects the query that has been reselected
+            List<Selection<?>> countSelections =
+                    Collections.singletonList(getBaseQuery().getTable().count());
+            countQuery = new ConfigurableRootQueryImpl<>(
+                    getData().reselect(countSelections).withoutSortingAndPaging(),
+                    getBaseQuery()
+            );
+            countSqlResult = countQuery.preExecute(new SqlBuilder(sqlClient));
+        }
+        ConfigurableRootQuery<T, R> dataQuery = limit(pageSize, offset);
+        int total;
+        List<R> rows;
+        if (con != null) {
+            // The connection of the caller may be in a transaction, the total row count cache is not used
+            total = countQuery.executeCount(con, countSqlResult);
+            rows = total > offset ? dataQuery.execute(con) : Collections.emptyList();
+        } else {
+            // Choose the connection manager in current thread which is the session of write tracker
+            ConnectionManager connectionManager =
+                    ReadRouting.connectionManager(sqlClient, getData().isForUpdate(), countQuery);
+            CompletableFuture<Integer> future = CompletableFuture.supplyAsync(
+                    () -> connectionManager.execute(newConn -> countQuery.executeCachedCount(newConn, countSqlResult)),
+                    sqlClient.getAsyncExecutorService()
+            );
+            rows = dataQuery.execute();
+            try {
+                total = future.join();
+            } catch (CompletionException ex) {
+                Throwable cause = ex.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new ExecutionException(cause.getMessage(), cause);
+            }
+            // The two queries are not executed in one transaction
+            total = Math.max(total, rows.isEmpty() ? 0 : offset + rows.size());
+        }
+        return new Page<>(rows, total, pageIndex, pageSize);
+    }
+
+    /*
+     * Counting the ids of the root table is wrong when the rows of this query
+     * are not the joined rows, such as distinct rows and groups. For the query
+     * which has been reselected, joins used by its old selections are unknown
+     * after reselecting it again. In these cases, the query without order by
+     * clause and paging is counted as a derived table.
+     */
+    private boolean isCountedAsDerivedTable() {
+        TypedQueryData data = getData();
+        if (data.isDistinct() || data.getOldSelections() != null || getBaseQuery().isGroupByClauseUsed()) {
+            return true;
+        }
+        AggregationDetector detector = new AggregationDetector();
+        for (Selection<?> selection : data.getSelections()) {
+            if (selection instanceof Table<?>) {
+                ((Ast) TableWrappers.unwrap((Table<?>) selection)).accept(detector);
+            } else {
+                ((Ast) selection).accept(detector);
+            }
+        }
+        return detector.aggregated;
+    }
+
+    /*
+     * The total row count read in a transaction may be uncommitted or rolled back later,
+     * so the cache is only used by the connection in auto-commit mode.
+     */
+    private int executeCachedCount(Connection con, Tuple2<String, List<Object>> sqlResult) {
+        JSqlClient sqlClient = getBaseQuery().getSqlClient();
+        TotalRowCountCache totalRowCountCache = sqlClient.getTotalRowCountCache();
+        try {
+            if (totalRowCountCache == null || getData().isForUpdate() || !con.getAutoCommit()) {
+                return executeCount(con, sqlResult);
+            }
+        } catch (SQLException ex) {
+            throw new ExecutionException("Cannot get the auto commit mode of connection", ex);
+        }
+        Integer cachedTotal = totalRowCountCache.get(sqlResult);
+        if (cachedTotal != null) {
+            return cachedTotal;
+        }
+        long version = totalRowCountCache.getVersion();
+        int total = executeCount(con, sqlResult);
+        ReadRouting.TableCollector collector = new ReadRouting.TableCollector();
+        accept(collector);
+        collector.types.add(TableWrappers.unwrap(getBaseQuery().getTable()).getImmutableType());
+        totalRowCountCache.put(
+                sqlResult,
+                total,
+                version,
+                collector.types,
+                collector.middleTableProps,
+                sqlClient.getTriggers()
+        );
+        return total;
+    }
+
+    private int executeCount(Connection con, Tuple2<String, List<Object>> sqlResult) {
+        List<Long> rows = Selectors.select(
+                getBaseQuery().getSqlClient(),
+                con,
+                sqlResult.get_1(),
+                sqlResult.get_2(),
+                Collections.<Selection<?>>singletonList(getBaseQuery().getTable().count())
+        );
+        return rows.get(0).intValue();
+    }
+
     private Tuple2<String, List<Object>> preExecute(SqlBuilder builder) {
+        SqlTemplateCache templateCache = getBaseQuery().getSqlClient().getSqlTemplateCache();
+        SqlShape shape = null;
+        if (templateCache != null) {
+            shape = new SqlShape(getBaseQuery().getSqlClient());
+            if (renderShape(shape)) {
+                Tuple2<String, List<Object>> result = templateCache.get(shape, builder);
+                if (result != null) {
+                    return result;
+                }
+            } else {
+                shape = null;
+            }
+        }
         AstVisitor visitor = new UseTableVisitor(builder);
         accept(visitor);
         renderTo(builder);
-        return builder.build();
+        Tuple2<String, List<Object>> result = builder.build();
+        if (shape != null) {
+            templateCache.put(shape, builder, result);
+        }
+        return result;
     }
 
     @Override
@@ -242,4 +736,23 @@ public class ConfigurableRootQueryImpl<T extends Table<?>, R>
             );
         }
     }
+
+    private static class AggregationDetector extends AstVisitor {
+
+        boolean aggregated;
+
+        AggregationDetector() {
+            super(null);
+        }
+
+        @Override
+        public boolean visitSubQuery(TypedSubQuery<?> subQuery) {
+            return false;
+        }
+
+        @Override
+        public void visitAggregation(String functionName, Expression<?> expression, String prefix) {
+            aggregated = true;
+        }
+    }
 }
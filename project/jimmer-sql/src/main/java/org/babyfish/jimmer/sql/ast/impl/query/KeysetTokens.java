@@ -0,0 +1,168 @@
+package org.babyfish.jimmer.sql.ast.impl.query;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.*;
+import java.time.temporal.Temporal;
+import java.util.*;
+
+/**
+ * Continuation tokens of keyset pagination, each one is the url-safe
+ * base64 text of the key values of the last row.
+ *
+ * <p>The values are written as text and parsed by the types of order expressions,
+ * Java serialization is not used because the tokens are given by clients.</p>
+ */
+class KeysetTokens {
+
+    private static final int VERSION = 1;
+
+    private KeysetTokens() {}
+
+    static String encode(List<Object> keyValues, List<Class<?>> types) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeShort(keyValues.size());
+            for (int i = 0; i < keyValues.size(); i++) {
+                out.writeUTF(format(keyValues.get(i), types.get(i)));
+            }
+        } catch (IOException ex) {
+            throw new AssertionError("Internal bug: " + ex.getMessage(), ex);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    static List<Object> decode(String token, List<Class<?>> types) {
+        List<Object> keyValues;
+        try (DataInputStream in = new DataInputStream(
+                new ByteArrayInputStream(Base64.getUrlDecoder().decode(token))
+        )) {
+            keyValues = read(in, types);
+        } catch (IOException | RuntimeException ex) {
+            throw new IllegalArgumentException("Illegal continuation token \"" + token + "\"", ex);
+        }
+        if (keyValues == null) {
+            throw new IllegalArgumentException(
+                    "The continuation token \"" + token + "\" does not belong to this query"
+            );
+        }
+        return keyValues;
+    }
+
+    private static List<Object> read(DataInputStream in, List<Class<?>> types) throws IOException {
+        if (in.readByte() != VERSION || in.readShort() != types.size()) {
+            return null;
+        }
+        List<Object> keyValues = new ArrayList<>(types.size());
+        for (Class<?> type : types) {
+            keyValues.add(parse(in.readUTF(), type));
+        }
+        return in.read() == -1 ? keyValues : null;
+    }
+
+    private static String format(Object value, Class<?> type) {
+        if (value instanceof java.sql.Timestamp) {
+            // Keep nanoseconds
+            return value.toString();
+        }
+        if (value instanceof java.util.Date) {
+            return Long.toString(((java.util.Date) value).getTime());
+        }
+        if (value instanceof Enum<?>) {
+            return ((Enum<?>) value).name();
+        }
+        if (value instanceof String ||
+                value instanceof Number ||
+                value instanceof Boolean ||
+                value instanceof Character ||
+                value instanceof UUID ||
+                value instanceof Temporal) {
+            return value.toString();
+        }
+        throw new IllegalArgumentException(
+                "The key value \"" + value + "\" of the type \"" + type.getName() +
+                        "\" cannot be written into continuation token"
+        );
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object parse(String text, Class<?> type) {
+        if (type == String.class) {
+            return text;
+        }
+        if (type == Integer.class || type == int.class) {
+            return Integer.parseInt(text);
+        }
+        if (type == Long.class || type == long.class) {
+            return Long.parseLong(text);
+        }
+        if (type == Short.class || type == short.class) {
+            return Short.parseShort(text);
+        }
+        if (type == Byte.class || type == byte.class) {
+            return Byte.parseByte(text);
+        }
+        if (type == Double.class || type == double.class) {
+            return Double.parseDouble(text);
+        }
+        if (type == Float.class || type == float.class) {
+            return Float.parseFloat(text);
+        }
+        if (type == Boolean.class || type == boolean.class) {
+            return Boolean.parseBoolean(text);
+        }
+        if (type == Character.class || type == char.class) {
+            if (text.length() != 1) {
+                throw new IllegalArgumentException("Illegal character \"" + text + "\"");
+            }
+            return text.charAt(0);
+        }
+        if (type == BigDecimal.class) {
+            return new BigDecimal(text);
+        }
+        if (type == BigInteger.class) {
+            return new BigInteger(text);
+        }
+        if (type == UUID.class) {
+            return UUID.fromString(text);
+        }
+        if (type == LocalDate.class) {
+            return LocalDate.parse(text);
+        }
+        if (type == LocalTime.class) {
+            return LocalTime.parse(text);
+        }
+        if (type == LocalDateTime.class) {
+            return LocalDateTime.parse(text);
+        }
+        if (type == OffsetDateTime.class) {
+            return OffsetDateTime.parse(text);
+        }
+        if (type == ZonedDateTime.class) {
+            return ZonedDateTime.parse(text);
+        }
+        if (type == Instant.class) {
+            return Instant.parse(text);
+        }
+        if (type == java.sql.Timestamp.class) {
+            return java.sql.Timestamp.valueOf(text);
+        }
+        if (type == java.sql.Date.class) {
+            return new java.sql.Date(Long.parseLong(text));
+        }
+        if (type == java.sql.Time.class) {
+            return new java.sql.Time(Long.parseLong(text));
+        }
+        if (type == java.util.Date.class) {
+            return new java.util.Date(Long.parseLong(text));
+        }
+        if (type.isEnum()) {
+            return Enum.valueOf((Class<Enum>) type, text);
+        }
+        throw new IllegalArgumentException(
+                "The key value of the type \"" + type.getName() + "\" cannot be read from continuation token"
+        );
+    }
+}
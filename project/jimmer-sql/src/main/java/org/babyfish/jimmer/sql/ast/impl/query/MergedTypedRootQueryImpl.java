@@ -9,13 +9,24 @@ import org.babyfish.jimmer.sql.ast.impl.table.TableWrappers;
 import org.babyfish.jimmer.sql.ast.query.TypedRootQuery;
 import org.babyfish.jimmer.sql.ast.table.Table;
 import org.babyfish.jimmer.sql.ast.tuple.Tuple2;
+import org.babyfish.jimmer.sql.fetcher.Fetcher;
+import org.babyfish.jimmer.sql.fetcher.impl.FetcherSelection;
+import org.babyfish.jimmer.sql.fetcher.impl.Fetchers;
+import org.babyfish.jimmer.sql.runtime.ConnectionManager;
+import org.babyfish.jimmer.sql.runtime.ExecutionException;
+import org.babyfish.jimmer.sql.runtime.Flow;
 import org.babyfish.jimmer.sql.runtime.Selectors;
 import org.babyfish.jimmer.sql.runtime.SqlBuilder;
 import org.jetbrains.annotations.NotNull;
 
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
 import java.sql.Connection;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 class MergedTypedRootQueryImpl<R> implements TypedRootQueryImplementor<R>, TypedQueryImplementor {
 
@@ -31,6 +42,8 @@ class MergedTypedRootQueryImpl<R> implements TypedRootQueryImplementor<R>, Typed
 
     private boolean isForUpdate;
 
+    private boolean parallelBranches;
+
     public MergedTypedRootQueryImpl(
             JSqlClient sqlClient,
             String operator,
@@ -48,20 +61,49 @@ class MergedTypedRootQueryImpl<R> implements TypedRootQueryImplementor<R>, Typed
                 ((TypedRootQueryImplementor<?>)right).isForUpdate();
     }
 
+    private MergedTypedRootQueryImpl(MergedTypedRootQueryImpl<R> base) {
+        this.sqlClient = base.sqlClient;
+        this.operator = base.operator;
+        this.left = base.left;
+        this.right = base.right;
+        this.selections = base.selections;
+        this.isForUpdate = base.isForUpdate;
+        this.parallelBranches = true;
+    }
+
+    @Override
+    public TypedRootQuery<R> parallelBranches() {
+        if (parallelBranches) {
+            return this;
+        }
+        return new MergedTypedRootQueryImpl<>(this);
+    }
+
     @Override
     public List<R> execute() {
-        return sqlClient
-                .getSlaveConnectionManager(isForUpdate)
+        if (isMergedInMemory()) {
+            return executeBranches(null);
+        }
+        return ReadRouting
+                .connectionManager(sqlClient, isForUpdate, this)
                 .execute(this::executeImpl);
     }
 
+    @Override
+    public CompletableFuture<List<R>> executeAsync() {
+        return CompletableFuture.supplyAsync(this::execute, sqlClient.getAsyncExecutorService());
+    }
+
     @Override
     public List<R> execute(Connection con) {
+        if (isMergedInMemory()) {
+            return executeBranches(con);
+        }
         if (con != null) {
             return executeImpl(con);
         }
-        return sqlClient
-                .getSlaveConnectionManager(isForUpdate)
+        return ReadRouting
+                .connectionManager(sqlClient, isForUpdate, this)
                 .execute(this::executeImpl);
     }
 
@@ -70,13 +112,166 @@ class MergedTypedRootQueryImpl<R> implements TypedRootQueryImplementor<R>, Typed
         return Selectors.select(sqlClient, con, sqlResult.get_1(), sqlResult.get_2(), selections);
     }
 
+    /**
+     * The rows of union all are simply concatenated, but the rows of
+     * other operators are compared, so they are only merged in memory
+     * when no entity is selected, because entities cannot be compared
+     * like the columns compared by database.
+     */
+    private boolean isMergedInMemory() {
+        if (!parallelBranches) {
+            return false;
+        }
+        if (operator.equals("union all")) {
+            return true;
+        }
+        for (Selection<?> selection : selections) {
+            if (selection instanceof Table<?> || selection instanceof FetcherSelection<?>) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<R> executeBranches(Connection con) {
+        List<R> rows;
+        if (con != null) {
+            rows = mergeBranches(con);
+        } else {
+            try {
+                rows = mergeBranchesAsync().join();
+            } catch (CompletionException ex) {
+                Throwable cause = ex.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new ExecutionException(cause.getMessage(), cause);
+            }
+        }
+        if (rows.isEmpty() || selections.stream().noneMatch(it -> it instanceof FetcherSelection<?>)) {
+            return rows;
+        }
+        if (con != null) {
+            Fetchers.fetch(sqlClient, con, selections, rows);
+        } else {
+            ReadRouting.connectionManager(sqlClient, isForUpdate, this).execute(newConn -> {
+                Fetchers.fetch(sqlClient, newConn, selections, rows);
+                return (Void) null;
+            });
+        }
+        return rows;
+    }
+
+    private List<R> mergeBranches(Connection con) {
+        return merge(branchRows(left, con), branchRows(right, con));
+    }
+
+    private CompletableFuture<List<R>> mergeBranchesAsync() {
+        return branchRowsAsync(left).thenCombine(branchRowsAsync(right), this::merge);
+    }
+
+    @SuppressWarnings("unchecked")
+    private CompletableFuture<List<R>> branchRowsAsync(TypedQueryImplementor branch) {
+        if (branch instanceof MergedTypedRootQueryImpl<?> &&
+                ((MergedTypedRootQueryImpl<?>) branch).isMergedInMemory()) {
+            return ((MergedTypedRootQueryImpl<R>) branch).mergeBranchesAsync();
+        }
+        // Determined by current thread because the written tables are tracked by thread
+        ConnectionManager connectionManager = ReadRouting.connectionManager(sqlClient, isForUpdate, branch);
+        return CompletableFuture.supplyAsync(
+                () -> connectionManager.execute(con -> branchRows(branch, con)),
+                sqlClient.getAsyncExecutorService()
+        );
+    }
+
+    /**
+     * Rows of branch whose fetchers are not executed
+     */
+    @SuppressWarnings("unchecked")
+    private List<R> branchRows(TypedQueryImplementor branch, Connection con) {
+        if (branch instanceof MergedTypedRootQueryImpl<?> &&
+                ((MergedTypedRootQueryImpl<?>) branch).isMergedInMemory()) {
+            return ((MergedTypedRootQueryImpl<R>) branch).mergeBranches(con);
+        }
+        SqlBuilder builder = new SqlBuilder(sqlClient);
+        branch.accept(new UseTableVisitor(builder));
+        branch.renderTo(builder);
+        Tuple2<String, List<Object>> sqlResult = builder.build();
+        return Selectors.select(sqlClient, con, sqlResult.get_1(), sqlResult.get_2(), selections, false);
+    }
+
+    private List<R> merge(List<R> leftRows, List<R> rightRows) {
+        switch (operator) {
+            case "union all": {
+                List<R> rows = new ArrayList<>(leftRows.size() + rightRows.size());
+                rows.addAll(leftRows);
+                rows.addAll(rightRows);
+                return rows;
+            }
+            case "union": {
+                Map<Object, R> rowMap = rowMap(leftRows);
+                for (R row : rightRows) {
+                    rowMap.putIfAbsent(mergeKey(row), row);
+                }
+                return new ArrayList<>(rowMap.values());
+            }
+            case "minus": {
+                Map<Object, R> rowMap = rowMap(leftRows);
+                rowMap.keySet().removeAll(rowMap(rightRows).keySet());
+                return new ArrayList<>(rowMap.values());
+            }
+            default: {
+                Map<Object, R> rowMap = rowMap(leftRows);
+                rowMap.keySet().retainAll(rowMap(rightRows).keySet());
+                return new ArrayList<>(rowMap.values());
+            }
+        }
+    }
+
+    private Map<Object, R> rowMap(List<R> rows) {
+        Map<Object, R> rowMap = new LinkedHashMap<>();
+        for (R row : rows) {
+            rowMap.putIfAbsent(mergeKey(row), row);
+        }
+        return rowMap;
+    }
+
+    /**
+     * Key which is equal for the rows considered as duplicated by database
+     */
+    private Object mergeKey(R row) {
+        int size = selections.size();
+        if (size == 1) {
+            return mergeKeyColumn(row);
+        }
+        List<Object> key = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            key.add(mergeKeyColumn(Fetchers.column(row, i)));
+        }
+        return key;
+    }
+
+    private static Object mergeKeyColumn(Object value) {
+        if (value instanceof BigDecimal) {
+            // 1.0 and 1.00 are same value for database
+            return ((BigDecimal) value).stripTrailingZeros();
+        }
+        if (value instanceof byte[]) {
+            return ByteBuffer.wrap((byte[]) value);
+        }
+        return value;
+    }
+
     @Override
     public void forEach(Connection con, int batchSize, Consumer<R> consumer) {
         int finalBatchSize = batchSize > 0 ? batchSize : sqlClient.getDefaultBatchSize();
         if (con != null) {
             forEachImpl(con, finalBatchSize, consumer);
         } else {
-            sqlClient.getSlaveConnectionManager(isForUpdate).execute(newConn -> {
+            ReadRouting.connectionManager(sqlClient, isForUpdate, this).execute(newConn -> {
                 forEachImpl(newConn, finalBatchSize, consumer);
                 return (Void) null;
             });
@@ -88,6 +283,34 @@ class MergedTypedRootQueryImpl<R> implements TypedRootQueryImplementor<R>, Typed
         Selectors.forEach(sqlClient, con, sqlResult.get_1(), sqlResult.get_2(), selections, batchSize, consumer);
     }
 
+    @Override
+    public Stream<R> stream(Connection con, int fetchSize) {
+        Tuple2<String, List<Object>> sqlResult = preExecute(new SqlBuilder(sqlClient));
+        return Selectors.stream(
+                sqlClient,
+                con,
+                ReadRouting.connectionManager(sqlClient, isForUpdate, this),
+                sqlResult.get_1(),
+                sqlResult.get_2(),
+                selections,
+                fetchSize
+        );
+    }
+
+    @Override
+    public Flow.Publisher<R> publisher(Connection con, int fetchSize) {
+        Tuple2<String, List<Object>> sqlResult = preExecute(new SqlBuilder(sqlClient));
+        return Selectors.publisher(
+                sqlClient,
+                con,
+                ReadRouting.connectionManager(sqlClient, isForUpdate, this),
+                sqlResult.get_1(),
+                sqlResult.get_2(),
+                selections,
+                fetchSize
+        );
+    }
+
     private Tuple2<String, List<Object>> preExecute(SqlBuilder builder) {
         AstVisitor visitor = new UseTableVisitor(builder);
         accept(visitor);
@@ -156,6 +379,19 @@ class MergedTypedRootQueryImpl<R> implements TypedRootQueryImplementor<R>, Typed
     }
 
     private static boolean isSameType(Selection<?> a, Selection<?> b) {
+        if (a instanceof FetcherSelection<?> && b instanceof FetcherSelection<?>) {
+            Fetcher<?> fetcher1 = ((FetcherSelection<?>) a).getFetcher();
+            Fetcher<?> fetcher2 = ((FetcherSelection<?>) b).getFetcher();
+            if (fetcher1 == fetcher2) {
+                return true;
+            }
+            // The string of simple fetcher describes all its columns, but the string of
+            // other fetchers does not describe the filters and loaders of associations,
+            // and only the fetcher of the left query is used to load associations
+            return fetcher1.isSimpleFetcher() &&
+                    fetcher2.isSimpleFetcher() &&
+                    fetcher1.toString().equals(fetcher2.toString());
+        }
         if (a instanceof Table<?> && b instanceof Table<?>) {
             return TableWrappers.unwrap((Table<?>) a).getImmutableType() ==
                     TableWrappers.unwrap((Table<?>) b).getImmutableType();
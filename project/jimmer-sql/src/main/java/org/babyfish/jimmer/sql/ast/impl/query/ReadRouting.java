@@ -0,0 +1,70 @@
+package org.babyfish.jimmer.sql.ast.impl.query;
+
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.ast.impl.Ast;
+import org.babyfish.jimmer.sql.ast.impl.AstVisitor;
+import org.babyfish.jimmer.sql.ast.impl.table.TableImplementor;
+import org.babyfish.jimmer.sql.ast.impl.table.TableWrappers;
+import org.babyfish.jimmer.sql.ast.table.Table;
+import org.babyfish.jimmer.sql.meta.MiddleTable;
+import org.babyfish.jimmer.sql.runtime.ConnectionManager;
+import org.babyfish.jimmer.sql.runtime.WriteTracker;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Chooses the connection manager of root query, the query is executed by the master
+ * connection manager if it reads a table recently written by current session.
+ */
+class ReadRouting {
+
+    private ReadRouting() {}
+
+    static ConnectionManager connectionManager(JSqlClient sqlClient, boolean forUpdate, Ast query) {
+        ConnectionManager connectionManager = sqlClient.getSlaveConnectionManager(forUpdate);
+        WriteTracker writeTracker = sqlClient.getWriteTracker();
+        if (writeTracker == null || connectionManager == sqlClient.getConnectionManager()) {
+            return connectionManager;
+        }
+        TableCollector collector = new TableCollector();
+        query.accept(collector);
+        if (writeTracker.isWritten(collector.tableNames)) {
+            return sqlClient.getConnectionManager();
+        }
+        return connectionManager;
+    }
+
+    static class TableCollector extends AstVisitor {
+
+        final Set<String> tableNames = new LinkedHashSet<>();
+
+        final Set<ImmutableType> types = new LinkedHashSet<>();
+
+        final Set<ImmutableProp> middleTableProps = new LinkedHashSet<>();
+
+        TableCollector() {
+            super(null);
+        }
+
+        @Override
+        public void visitTableReference(Table<?> table, ImmutableProp prop) {
+            for (TableImplementor<?> t = TableWrappers.unwrap(table); t != null; t = t.getParent()) {
+                tableNames.add(t.getImmutableType().getTableName());
+                types.add(t.getImmutableType());
+                ImmutableProp joinProp = t.getJoinProp();
+                if (joinProp != null) {
+                    ImmutableProp storageProp = joinProp.getMappedBy() != null ?
+                            joinProp.getMappedBy() :
+                            joinProp;
+                    if (storageProp.getStorage() instanceof MiddleTable) {
+                        tableNames.add(storageProp.<MiddleTable>getStorage().getTableName());
+                        middleTableProps.add(storageProp);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package org.babyfish.jimmer.sql.ast.impl.query;
 
+import org.babyfish.jimmer.sql.ast.Predicate;
 import org.babyfish.jimmer.sql.ast.Selection;
 import org.babyfish.jimmer.sql.ast.impl.ExpressionImplementor;
 import org.babyfish.jimmer.sql.ast.tuple.Tuple2;
@@ -25,6 +26,10 @@ class TypedQueryData {
 
     private boolean forUpdate;
 
+    private Predicate keysetPredicate;
+
+    private boolean deferredJoin;
+
     public TypedQueryData(List<Selection<?>> selections) {
         this.selections = processSelections(selections);
         limit = Integer.MAX_VALUE;
@@ -37,7 +42,9 @@ class TypedQueryData {
             int limit,
             int offset,
             boolean withoutSortingAndPaging,
-            boolean forUpdate
+            boolean forUpdate,
+            Predicate keysetPredicate,
+            boolean deferredJoin
     ) {
         this.selections = selections;
         this.oldSelections = oldSelections;
@@ -46,6 +53,8 @@ class TypedQueryData {
         this.offset = offset;
         this.withoutSortingAndPaging = withoutSortingAndPaging;
         this.forUpdate = forUpdate;
+        this.keysetPredicate = keysetPredicate;
+        this.deferredJoin = deferredJoin;
     }
 
     public List<Selection<?>> getSelections() {
@@ -76,6 +85,17 @@ class TypedQueryData {
         return forUpdate;
     }
 
+    /**
+     * Predicate added by keyset pagination, it is combined with the where clause
+     */
+    public Predicate getKeysetPredicate() {
+        return keysetPredicate;
+    }
+
+    public boolean isDeferredJoin() {
+        return deferredJoin;
+    }
+
     public TypedQueryData reselect(List<Selection<?>> selections) {
         return new TypedQueryData(
                 processSelections(selections),
@@ -84,7 +104,9 @@ class TypedQueryData {
                 limit,
                 offset,
                 withoutSortingAndPaging,
-                forUpdate
+                forUpdate,
+                keysetPredicate,
+                deferredJoin
         );
     }
 
@@ -96,7 +118,9 @@ class TypedQueryData {
                 limit,
                 offset,
                 withoutSortingAndPaging,
-                forUpdate
+                forUpdate,
+                keysetPredicate,
+                deferredJoin
         );
     }
 
@@ -108,7 +132,9 @@ class TypedQueryData {
                 limit,
                 offset,
                 withoutSortingAndPaging,
-                forUpdate
+                forUpdate,
+                keysetPredicate,
+                deferredJoin
         );
     }
 
@@ -120,7 +146,9 @@ class TypedQueryData {
                 limit,
                 offset,
                 true,
-                forUpdate
+                forUpdate,
+                keysetPredicate,
+                deferredJoin
         );
     }
 
@@ -132,6 +160,36 @@ class TypedQueryData {
                 limit,
                 offset,
                 withoutSortingAndPaging,
+                true,
+                keysetPredicate,
+                deferredJoin
+        );
+    }
+
+    public TypedQueryData keyset(Predicate keysetPredicate) {
+        return new TypedQueryData(
+                selections,
+                oldSelections,
+                distinct,
+                limit,
+                offset,
+                withoutSortingAndPaging,
+                forUpdate,
+                keysetPredicate,
+                deferredJoin
+        );
+    }
+
+    public TypedQueryData deferredJoin() {
+        return new TypedQueryData(
+                selections,
+                oldSelections,
+                distinct,
+                limit,
+                offset,
+                withoutSortingAndPaging,
+                forUpdate,
+                keysetPredicate,
                 true
         );
     }
@@ -9,6 +9,7 @@ import org.babyfish.jimmer.sql.fetcher.Field;
 import org.babyfish.jimmer.sql.fetcher.impl.FetcherSelection;
 import org.babyfish.jimmer.sql.meta.Column;
 import org.babyfish.jimmer.sql.runtime.SqlBuilder;
+import org.babyfish.jimmer.sql.runtime.SqlShape;
 import org.jetbrains.annotations.NotNull;
 
 class FetcherSelectionImpl<E> implements FetcherSelection<E>, Ast {
@@ -53,6 +54,21 @@ class FetcherSelectionImpl<E> implements FetcherSelection<E>, Ast {
         }
     }
 
+    @Override
+    public boolean renderShape(@NotNull SqlShape shape) {
+        shape.token(FetcherSelectionImpl.class);
+        if (!shape.tableReference(table)) {
+            return false;
+        }
+        for (Field field : fetcher.getFieldMap().values()) {
+            ImmutableProp prop = field.getProp();
+            if (prop.getStorage() instanceof Column) {
+                shape.token(prop);
+            }
+        }
+        return true;
+    }
+
     @Override
     public String toString() {
         return "TableFetcherSelection{" +
@@ -21,6 +21,7 @@ import org.babyfish.jimmer.sql.ast.impl.PropExpressionImpl;
 import org.babyfish.jimmer.sql.ast.table.Table;
 import org.babyfish.jimmer.sql.runtime.ExecutionException;
 import org.babyfish.jimmer.sql.runtime.SqlBuilder;
+import org.babyfish.jimmer.sql.runtime.SqlShape;
 import org.babyfish.jimmer.sql.runtime.TableUsedState;
 import org.jetbrains.annotations.NotNull;
 
@@ -346,6 +347,24 @@ class TableImpl<E> implements TableImplementor<E> {
         }
     }
 
+    @Override
+    public boolean renderShape(@NotNull SqlShape shape) {
+        shape
+                .table(this)
+                .token(getClass())
+                .token(immutableType)
+                .token(joinProp)
+                .token(isInverse)
+                .token(joinType)
+                .token(alias)
+                .token(middleTableAlias)
+                .token(childTableMap.size());
+        for (TableImpl<?> childTable : childTableMap.values()) {
+            childTable.renderShape(shape);
+        }
+        return true;
+    }
+
     private void renderSelf(SqlBuilder sqlBuilder, RenderMode mode) {
         if (isInverse) {
             renderInverseJoin(sqlBuilder, mode);
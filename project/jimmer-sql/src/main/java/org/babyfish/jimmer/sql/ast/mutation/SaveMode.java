@@ -3,5 +3,14 @@ package org.babyfish.jimmer.sql.ast.mutation;
 public enum SaveMode {
     UPSERT,
     INSERT_ONLY,
-    UPDATE_ONLY
+    UPDATE_ONLY,
+
+    /**
+     * Like {@link #UPSERT}, but objects with id are saved by one native upsert
+     * statement of the dialect instead of a query followed by insert or update.
+     *
+     * <p>Objects without id, objects with version, objects handled by draft interceptors
+     * and dialects without upsert support are saved as {@link #UPSERT} does.</p>
+     */
+    NATIVE_UPSERT
 }
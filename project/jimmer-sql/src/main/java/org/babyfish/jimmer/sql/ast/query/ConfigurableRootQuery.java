@@ -4,6 +4,8 @@ import org.babyfish.jimmer.lang.NewChain;
 import org.babyfish.jimmer.sql.ast.table.Table;
 
 import java.sql.Connection;
+import java.util.Collections;
+import java.util.List;
 import java.util.function.BiFunction;
 
 public interface ConfigurableRootQuery<T extends Table<?>, R> extends TypedRootQuery<R> {
@@ -20,6 +22,69 @@ public interface ConfigurableRootQuery<T extends Table<?>, R> extends TypedRootQ
             .intValue();
     }
 
+    default Page<R> fetchPage(int pageIndex, int pageSize) {
+        return fetchPage(pageIndex, pageSize, null);
+    }
+
+    /**
+     * Fetches the rows of a page and the total row count. The count query is derived
+     * from this query without order by clause, paging and fetchers; the joins which are
+     * only used by them are not rendered. If this query is distinct, grouped, selects
+     * aggregations or has been reselected, the count query counts the rows of this query
+     * without order by clause and paging as a derived table.
+     *
+     * <p>If the connection is null, the count query and the data query are executed
+     * concurrently, each one by its own connection, the count query is executed in a thread of
+     * {@link org.babyfish.jimmer.sql.JSqlClient#getAsyncExecutorService()}. Otherwise,
+     * they are executed one by one with the specified connection.</p>
+     *
+     * <p>If {@link org.babyfish.jimmer.sql.JSqlClient#getTotalRowCountCache()} is configured,
+     * the total row count is read from it when possible.</p>
+     *
+     * @param pageIndex Zero-based page index
+     */
+    default Page<R> fetchPage(int pageIndex, int pageSize, Connection con) {
+        if (pageIndex < 0) {
+            throw new IllegalArgumentException("pageIndex cannot be less than 0");
+        }
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("pageSize cannot be less than 1");
+        }
+        if ((long) pageIndex * pageSize > Integer.MAX_VALUE - pageSize) {
+            throw new IllegalArgumentException("pageIndex * pageSize is too big");
+        }
+        int total = count(con);
+        List<R> rows = total > pageIndex * pageSize ?
+                limit(pageSize, pageIndex * pageSize).execute(con) :
+                Collections.emptyList();
+        return new Page<>(rows, total, pageIndex, pageSize);
+    }
+
+    default Slice<R> fetchSlice(int limit, String continuationToken) {
+        return fetchSlice(limit, continuationToken, null);
+    }
+
+    /**
+     * Keyset pagination, fetches at most limit rows after the row
+     * where the continuation token was created, the cost does not depend on
+     * how many rows have been skipped.
+     *
+     * <p>The orders of the query must be a unique key of the rows, such as ending with id,
+     * and their values must be selected, either directly or as properties
+     * of the selected root entity.</p>
+     *
+     * @param continuationToken Null for the first slice,
+     *                          or {@link Slice#getNextToken()} of the previous slice
+     */
+    Slice<R> fetchSlice(int limit, String continuationToken, Connection con);
+
+    /**
+     * Accepts the rows after the key which is specified by the values of order expressions,
+     * it is rendered as row value comparison or expanded comparison according to the dialect.
+     */
+    @NewChain
+    ConfigurableRootQuery<T, R> seek(List<?> lastKeyValues);
+
     @NewChain
     <X> ConfigurableRootQuery<T, X> reselect(
             BiFunction<MutableRootQuery<T>, T, ConfigurableRootQuery<T, X>> block
@@ -34,6 +99,18 @@ public interface ConfigurableRootQuery<T extends Table<?>, R> extends TypedRootQ
     @NewChain
     ConfigurableRootQuery<T, R> withoutSortingAndPaging();
 
+    /**
+     * Late row lookup, only the ids of the page are selected by the filter and order columns,
+     * then the selected entities are loaded by those ids, in the same order.
+     * The skipped rows of big offset are not read from the table.
+     *
+     * <p>It only affects the paging queries which select the root entity,
+     * it is also used automatically when the offset reaches
+     * {@link org.babyfish.jimmer.sql.JSqlClient#getDeferredJoinOffsetThreshold()}.</p>
+     */
+    @NewChain
+    ConfigurableRootQuery<T, R> deferredJoin();
+
     @NewChain
     ConfigurableRootQuery<T, R> forUpdate();
 }
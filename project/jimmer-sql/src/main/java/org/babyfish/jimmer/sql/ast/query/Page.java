@@ -0,0 +1,73 @@
+package org.babyfish.jimmer.sql.ast.query;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Rows of a page and the total row count of the query,
+ * returned by {@link ConfigurableRootQuery#fetchPage(int, int)}
+ */
+public class Page<R> {
+
+    private final List<R> rows;
+
+    private final int totalRowCount;
+
+    private final int pageIndex;
+
+    private final int pageSize;
+
+    public Page(List<R> rows, int totalRowCount, int pageIndex, int pageSize) {
+        this.rows = Collections.unmodifiableList(Objects.requireNonNull(rows, "rows cannot be null"));
+        this.totalRowCount = totalRowCount;
+        this.pageIndex = pageIndex;
+        this.pageSize = pageSize;
+    }
+
+    public List<R> getRows() {
+        return rows;
+    }
+
+    public int getTotalRowCount() {
+        return totalRowCount;
+    }
+
+    public int getPageIndex() {
+        return pageIndex;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public int getTotalPageCount() {
+        return (int) (((long) totalRowCount + pageSize - 1) / pageSize);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(rows, totalRowCount, pageIndex, pageSize);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Page<?> page = (Page<?>) o;
+        return totalRowCount == page.totalRowCount &&
+                pageIndex == page.pageIndex &&
+                pageSize == page.pageSize &&
+                rows.equals(page.rows);
+    }
+
+    @Override
+    public String toString() {
+        return "Page{" +
+                "rows=" + rows +
+                ", totalRowCount=" + totalRowCount +
+                ", pageIndex=" + pageIndex +
+                ", pageSize=" + pageSize +
+                '}';
+    }
+}
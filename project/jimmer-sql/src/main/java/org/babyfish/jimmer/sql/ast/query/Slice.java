@@ -0,0 +1,57 @@
+package org.babyfish.jimmer.sql.ast.query;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Rows returned by {@link ConfigurableRootQuery#fetchSlice(int, String)}
+ * and the opaque token to fetch the next slice.
+ */
+public class Slice<R> {
+
+    private final List<R> rows;
+
+    private final String nextToken;
+
+    public Slice(List<R> rows, String nextToken) {
+        this.rows = Collections.unmodifiableList(Objects.requireNonNull(rows, "rows cannot be null"));
+        this.nextToken = nextToken;
+    }
+
+    public List<R> getRows() {
+        return rows;
+    }
+
+    /**
+     * @return The continuation token of the next slice, or null if there is no more row
+     */
+    public String getNextToken() {
+        return nextToken;
+    }
+
+    public boolean hasNext() {
+        return nextToken != null;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(rows, nextToken);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Slice<?> slice = (Slice<?>) o;
+        return rows.equals(slice.rows) && Objects.equals(nextToken, slice.nextToken);
+    }
+
+    @Override
+    public String toString() {
+        return "Slice{" +
+                "rows=" + rows +
+                ", nextToken='" + nextToken + '\'' +
+                '}';
+    }
+}
@@ -2,6 +2,7 @@ package org.babyfish.jimmer.sql.ast.query;
 
 import org.babyfish.jimmer.sql.ast.Executable;
 import org.babyfish.jimmer.sql.runtime.ExecutionException;
+import org.babyfish.jimmer.sql.runtime.Flow;
 import org.jetbrains.annotations.Nullable;
 
 import javax.validation.constraints.NotNull;
@@ -9,6 +10,7 @@ import java.sql.Connection;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public interface TypedRootQuery<R> extends Executable<List<R>> {
 
@@ -20,6 +22,29 @@ public interface TypedRootQuery<R> extends Executable<List<R>> {
 
     TypedRootQuery<R> intersect(TypedRootQuery<R> other);
 
+    /**
+     * Executes the branches of union, minus and intersect concurrently in threads of
+     * {@link org.babyfish.jimmer.sql.JSqlClient#getAsyncExecutorService()}, each one by its own connection,
+     * and merges their rows in memory, the fetchers are executed once for the merged rows.
+     * It is useful for the expensive branches which are executed serially by the database.
+     *
+     * <p>The rows of union, minus and intersect are compared in memory like database,
+     * decimal values are compared by their numeric values, but other values are compared
+     * by {@link Object#equals(Object)}, for example, the collation of database is ignored.
+     * If entities are selected, these operators still execute one merged statement,
+     * only union all executes the branches concurrently.</p>
+     *
+     * <p>If the connection is specified by {@link #execute(Connection)}, the branches are
+     * executed one by one with it. {@link #forEach(Connection, int, Consumer)},
+     * {@link #stream(Connection, int)} and {@link #publisher(Connection, int)}
+     * still execute one merged statement because they read rows by cursor.</p>
+     *
+     * @return A new query, or this query if it is not merged by other queries
+     */
+    default TypedRootQuery<R> parallelBranches() {
+        return this;
+    }
+
     @NotNull
     default R fetchOne() {
         return fetchOne(null);
@@ -77,4 +102,48 @@ public interface TypedRootQuery<R> extends Executable<List<R>> {
     }
 
     void forEach(Connection con, int batchSize, Consumer<R> consumer);
+
+    default Stream<R> stream() {
+        return stream(null, 0);
+    }
+
+    default Stream<R> stream(Connection con) {
+        return stream(con, 0);
+    }
+
+    default Stream<R> stream(int fetchSize) {
+        return stream(null, fetchSize);
+    }
+
+    /**
+     * Returns a stream backed by an open cursor, rows are read while the stream is consumed
+     * so that huge results do not have to be loaded into memory.
+     *
+     * <p>The stream must be closed, for example, by try-with-resources statement.
+     * If the connection is null, a connection is borrowed by
+     * {@link org.babyfish.jimmer.sql.runtime.ConnectionManager#openConnection()}
+     * and released when the stream is closed.</p>
+     *
+     * @param fetchSize The JDBC fetch size, the default batch size of sql client is used if it is not positive
+     */
+    Stream<R> stream(Connection con, int fetchSize);
+
+    default Flow.Publisher<R> publisher() {
+        return publisher(null, 0);
+    }
+
+    /**
+     * Returns a publisher which reads the cursor only as far as its subscriber demands,
+     * in threads of {@link org.babyfish.jimmer.sql.JSqlClient#getAsyncExecutorService()}.
+     * Associations required by fetchers are loaded for each demanded chunk.
+     *
+     * <p>Each subscription executes the query again. If the connection is null,
+     * a connection is borrowed by
+     * {@link org.babyfish.jimmer.sql.runtime.ConnectionManager#openConnection()}
+     * and released when the subscription is completed or cancelled;
+     * cancellation also cancels the executing statement.</p>
+     *
+     * @param fetchSize The JDBC fetch size, the default batch size of sql client is used if it is not positive
+     */
+    Flow.Publisher<R> publisher(Connection con, int fetchSize);
 }
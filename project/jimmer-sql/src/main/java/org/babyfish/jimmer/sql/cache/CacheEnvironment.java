@@ -27,6 +27,7 @@ public class CacheEnvironment<K, V> {
         this.connection = Objects.requireNonNull(connection, "connection cannot be null");
         this.filter = filter;
         this.loader = CacheLoaderWrapper.wrap(
+                sqlClient,
                 Objects.requireNonNull(loader, "loader cannot be null"),
                 requiresNewDraftContext
         );
@@ -1,6 +1,9 @@
 package org.babyfish.jimmer.sql.cache;
 
 import org.babyfish.jimmer.runtime.Internal;
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.runtime.ExecutionMonitors;
+import org.babyfish.jimmer.sql.runtime.ExecutionPurpose;
 
 import java.util.Collection;
 import java.util.Collections;
@@ -9,20 +12,27 @@ import java.util.Map;
 
 class CacheLoaderWrapper<K, V> implements CacheLoader<K, V> {
 
+    private final JSqlClient sqlClient;
+
     private final CacheLoader<K, V> raw;
 
     private final boolean requiresNewDraftContext;
 
-    CacheLoaderWrapper(CacheLoader<K, V> raw, boolean requiresNewDraftContext) {
+    CacheLoaderWrapper(JSqlClient sqlClient, CacheLoader<K, V> raw, boolean requiresNewDraftContext) {
+        this.sqlClient = sqlClient;
         this.raw = raw;
         this.requiresNewDraftContext = requiresNewDraftContext;
     }
 
-    static <K, V> CacheLoader<K, V> wrap(CacheLoader<K, V> loader, boolean requiresNewDraftContext) {
+    static <K, V> CacheLoader<K, V> wrap(
+            JSqlClient sqlClient,
+            CacheLoader<K, V> loader,
+            boolean requiresNewDraftContext
+    ) {
         if (loader instanceof CacheLoaderWrapper<?, ?>) {
             return loader;
         }
-        return new CacheLoaderWrapper<>(loader, requiresNewDraftContext);
+        return new CacheLoaderWrapper<>(sqlClient, loader, requiresNewDraftContext);
     }
 
     @Override
@@ -30,6 +40,12 @@ class CacheLoaderWrapper<K, V> implements CacheLoader<K, V> {
         if (keys.isEmpty()) {
             return Collections.emptyMap();
         }
+        try (ExecutionMonitors.Scope scope = ExecutionMonitors.enter(sqlClient, ExecutionPurpose.CACHE_LOAD)) {
+            return loadAllImpl(keys);
+        }
+    }
+
+    private Map<K, V> loadAllImpl(Collection<K> keys) {
         if (!requiresNewDraftContext) {
             return raw.loadAll(keys);
         }
@@ -0,0 +1,40 @@
+package org.babyfish.jimmer.sql.dialect;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+class ArrayTypeNames {
+
+    private static final Map<Class<?>, String> NAME_MAP;
+
+    private ArrayTypeNames() {}
+
+    static String of(Class<?> elementType) {
+        return NAME_MAP.get(elementType);
+    }
+
+    static {
+        Map<Class<?>, String> map = new HashMap<>();
+        map.put(String.class, "varchar");
+        map.put(Boolean.class, "bool");
+        map.put(Short.class, "int2");
+        map.put(Integer.class, "int4");
+        map.put(Long.class, "int8");
+        map.put(Float.class, "float4");
+        map.put(Double.class, "float8");
+        map.put(BigDecimal.class, "numeric");
+        map.put(UUID.class, "uuid");
+        map.put(java.sql.Date.class, "date");
+        map.put(LocalDate.class, "date");
+        map.put(LocalTime.class, "time");
+        map.put(Timestamp.class, "timestamp");
+        map.put(LocalDateTime.class, "timestamp");
+        NAME_MAP = map;
+    }
+}
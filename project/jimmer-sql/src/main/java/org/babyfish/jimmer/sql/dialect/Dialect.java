@@ -18,5 +18,51 @@ public interface Dialect {
         return null;
     }
 
+    /**
+     * Maximum count of values in one in list, statements over more values
+     * are split into several statements by the operations which
+     * handle large collections of ids or keys.
+     */
+    default int getMaxInListSize() {
+        return Integer.MAX_VALUE;
+    }
+
     default boolean needDeletedAlias() { return false; }
+
+    /**
+     * SQL type name of the array whose elements are the values of this type,
+     * or null if array variables of this type are not supported.
+     *
+     * <p>If it is supported, large in lists are rendered as {@code = any(?)}
+     * with one array variable.</p>
+     */
+    default String getArrayTypeName(Class<?> elementType) {
+        return null;
+    }
+
+    /**
+     * Whether the JDBC driver returns the generated keys of all the rows
+     * inserted by one batch, otherwise, the rows whose ids are generated
+     * by database are inserted one by one.
+     */
+    default boolean isBatchGeneratedKeysSupported() {
+        return true;
+    }
+
+    /**
+     * Whether row values can be compared, such as {@code (a, b) > (?, ?)},
+     * keyset pagination uses it when all the orders have the same direction,
+     * otherwise it expands the comparison to {@code a > ? or a = ? and b > ?}
+     */
+    default boolean isRowValueComparisonSupported() {
+        return false;
+    }
+
+    default boolean isUpsertSupported() {
+        return false;
+    }
+
+    default void upsert(UpsertContext ctx) {
+        throw new ExecutionException("Upsert is not supported by '" + getClass().getName() + "'");
+    }
 }
@@ -6,4 +6,33 @@ public class H2Dialect extends DefaultDialect {
     public String getSelectIdFromSequenceSql(String sequenceName) {
         return "select nextval('" + sequenceName + "')";
     }
+
+    @Override
+    public String getArrayTypeName(Class<?> elementType) {
+        return ArrayTypeNames.of(elementType);
+    }
+
+    @Override
+    public boolean isRowValueComparisonSupported() {
+        return true;
+    }
+
+    @Override
+    public boolean isUpsertSupported() {
+        return true;
+    }
+
+    @Override
+    public void upsert(UpsertContext ctx) {
+        ctx
+                .sql("merge into ")
+                .appendTableName()
+                .sql("(")
+                .appendInsertedColumns("")
+                .sql(") key(")
+                .appendConflictColumns()
+                .sql(") values(")
+                .appendInsertingValues(false)
+                .sql(")");
+    }
 }
@@ -21,4 +21,32 @@ public class MySqlDialect implements Dialect {
     public boolean needDeletedAlias() {
         return true;
     }
+
+    @Override
+    public boolean isRowValueComparisonSupported() {
+        return true;
+    }
+
+    @Override
+    public boolean isUpsertSupported() {
+        return true;
+    }
+
+    @Override
+    public void upsert(UpsertContext ctx) {
+        ctx
+                .sql("insert into ")
+                .appendTableName()
+                .sql("(")
+                .appendInsertedColumns("")
+                .sql(") values(")
+                .appendInsertingValues(false)
+                .sql(") on duplicate key update ");
+        if (ctx.hasUpdatedColumns()) {
+            ctx.appendUpdatingAssignments("values(", ")");
+        } else {
+            // MySQL has no "do nothing", assign the conflict column to itself
+            ctx.appendConflictCondition("", "");
+        }
+    }
 }
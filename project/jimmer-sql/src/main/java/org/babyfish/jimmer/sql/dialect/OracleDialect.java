@@ -30,4 +30,35 @@ public class OracleDialect implements Dialect {
     public String getSelectIdFromSequenceSql(String sequenceName) {
         return "select " + sequenceName + ".nextval from dual";
     }
+
+    @Override
+    public int getMaxInListSize() {
+        return 1000;
+    }
+
+    @Override
+    public boolean isUpsertSupported() {
+        return true;
+    }
+
+    @Override
+    public void upsert(UpsertContext ctx) {
+        ctx
+                .sql("merge into ")
+                .appendTableName()
+                .sql(" tb_1_ using(select ")
+                .appendInsertingValues(true)
+                .sql(" from dual) excluded on (")
+                .appendConflictCondition("tb_1_.", "excluded.")
+                .sql(")");
+        if (ctx.hasUpdatedColumns()) {
+            ctx.sql(" when matched then update set ").appendUpdatingAssignments("excluded.", "");
+        }
+        ctx
+                .sql(" when not matched then insert(")
+                .appendInsertedColumns("")
+                .sql(") values(")
+                .appendInsertedColumns("excluded.")
+                .sql(")");
+    }
 }
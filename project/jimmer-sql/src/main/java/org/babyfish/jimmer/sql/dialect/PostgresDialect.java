@@ -16,4 +16,38 @@ public class PostgresDialect extends DefaultDialect {
     public String getOverrideIdentityIdSql() {
         return "overriding system value";
     }
+
+    @Override
+    public String getArrayTypeName(Class<?> elementType) {
+        return ArrayTypeNames.of(elementType);
+    }
+
+    @Override
+    public boolean isRowValueComparisonSupported() {
+        return true;
+    }
+
+    @Override
+    public boolean isUpsertSupported() {
+        return true;
+    }
+
+    @Override
+    public void upsert(UpsertContext ctx) {
+        ctx
+                .sql("insert into ")
+                .appendTableName()
+                .sql("(")
+                .appendInsertedColumns("")
+                .sql(") values(")
+                .appendInsertingValues(false)
+                .sql(") on conflict(")
+                .appendConflictColumns()
+                .sql(")");
+        if (ctx.hasUpdatedColumns()) {
+            ctx.sql(" do update set ").appendUpdatingAssignments("excluded.", "");
+        } else {
+            ctx.sql(" do nothing");
+        }
+    }
 }
@@ -12,4 +12,48 @@ public class SqlServerDialect implements Dialect {
                 .variable(ctx.getLimit())
                 .sql(" rows only");
     }
+
+    /**
+     * SQL Server accepts 2100 parameters at most,
+     * some of them are left for the other parts of the statement.
+     */
+    @Override
+    public int getMaxInListSize() {
+        return 2000;
+    }
+
+    /**
+     * The driver of SQL Server returns no generated key, or only the last one, for a batch
+     */
+    @Override
+    public boolean isBatchGeneratedKeysSupported() {
+        return false;
+    }
+
+    @Override
+    public boolean isUpsertSupported() {
+        return true;
+    }
+
+    @Override
+    public void upsert(UpsertContext ctx) {
+        ctx
+                .sql("merge into ")
+                .appendTableName()
+                .sql(" tb_1_ using(values(")
+                .appendInsertingValues(false)
+                .sql(")) excluded(")
+                .appendInsertedColumns("")
+                .sql(") on ")
+                .appendConflictCondition("tb_1_.", "excluded.");
+        if (ctx.hasUpdatedColumns()) {
+            ctx.sql(" when matched then update set ").appendUpdatingAssignments("excluded.", "");
+        }
+        ctx
+                .sql(" when not matched then insert(")
+                .appendInsertedColumns("")
+                .sql(") values(")
+                .appendInsertedColumns("excluded.")
+                .sql(");");
+    }
 }
@@ -0,0 +1,39 @@
+package org.babyfish.jimmer.sql.dialect;
+
+public interface UpsertContext {
+
+    boolean hasUpdatedColumns();
+
+    UpsertContext sql(String sql);
+
+    UpsertContext appendTableName();
+
+    /**
+     * Appends the inserted columns, for example "A, B, C";
+     * or "prefix.A, prefix.B, prefix.C" when the prefix is specified.
+     */
+    UpsertContext appendInsertedColumns(String prefix);
+
+    /**
+     * Appends the parameters of the inserted columns, for example "?, ?, ?";
+     * or "? A, ? B, ? C" when {@code withAliases} is true.
+     */
+    UpsertContext appendInsertingValues(boolean withAliases);
+
+    /**
+     * Appends the columns which can cause conflict, for example "ID".
+     */
+    UpsertContext appendConflictColumns();
+
+    /**
+     * Appends the condition which matches existing rows,
+     * for example "targetPrefix.ID = sourcePrefix.ID".
+     */
+    UpsertContext appendConflictCondition(String targetPrefix, String sourcePrefix);
+
+    /**
+     * Appends the assignments of updated columns,
+     * for example "A = {sourcePrefix}A{sourceSuffix}, B = {sourcePrefix}B{sourceSuffix}".
+     */
+    UpsertContext appendUpdatingAssignments(String sourcePrefix, String sourceSuffix);
+}
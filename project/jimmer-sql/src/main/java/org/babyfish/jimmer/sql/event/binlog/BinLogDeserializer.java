@@ -2,6 +2,7 @@ package org.babyfish.jimmer.sql.event.binlog;
 
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
 import com.fasterxml.jackson.databind.type.SimpleType;
@@ -11,7 +12,9 @@ import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.meta.TargetLevel;
 import org.babyfish.jimmer.runtime.DraftSpi;
 import org.babyfish.jimmer.runtime.Internal;
-import org.babyfish.jimmer.sql.runtime.ScalarProvider;
+import org.babyfish.jimmer.sql.meta.Column;
+import org.babyfish.jimmer.sql.runtime.PropBinding;
+import org.babyfish.jimmer.sql.runtime.PropBindings;
 
 import java.io.IOException;
 import java.text.SimpleDateFormat;
@@ -26,17 +29,43 @@ import java.util.Map;
 
 class BinLogDeserializer extends StdDeserializer<Object> {
 
-    private final Map<Class<?>, ScalarProvider<?, ?>> scalarProviderMap;
-
     private final ImmutableType immutableType;
 
+    // Indexed by property id, resolved once for all the binlog events of the type
+    private final PropBinding[] bindings;
+
+    // Indexed by property id, null means the column is ignored
+    private final JavaType[] jsonTypes;
+
     public BinLogDeserializer(
-            Map<Class<?>, ScalarProvider<?, ?>> scalarProviderMap,
+            PropBindings propBindings,
             ImmutableType immutableType
     ) {
         super(immutableType.getJavaClass());
-        this.scalarProviderMap = scalarProviderMap;
         this.immutableType = immutableType;
+        int maxId = 0;
+        for (ImmutableProp prop : immutableType.getProps().values()) {
+            maxId = Math.max(maxId, prop.getId());
+        }
+        PropBinding[] bindings = new PropBinding[maxId + 1];
+        JavaType[] jsonTypes = new JavaType[maxId + 1];
+        for (ImmutableProp prop : immutableType.getProps().values()) {
+            if (prop.isAssociation(TargetLevel.ENTITY)) {
+                jsonTypes[prop.getId()] = SimpleType.constructUnsafe(
+                        prop.getTargetType().getIdProp().getElementClass()
+                );
+            } else if (prop.getStorage() instanceof Column) {
+                PropBinding binding = propBindings.get(prop);
+                Class<?> jsonDataType = binding.getSqlType();
+                if (!Temporal.class.isAssignableFrom(jsonDataType) &&
+                        !Date.class.isAssignableFrom(jsonDataType)) {
+                    bindings[prop.getId()] = binding;
+                    jsonTypes[prop.getId()] = SimpleType.constructUnsafe(jsonDataType);
+                }
+            }
+        }
+        this.bindings = bindings;
+        this.jsonTypes = jsonTypes;
     }
 
     @SuppressWarnings("unchecked")
@@ -53,16 +82,14 @@ class BinLogDeserializer extends StdDeserializer<Object> {
                 String columnName = fieldEntry.getKey();
                 JsonNode childNode = fieldEntry.getValue();
                 ImmutableProp prop = immutableType.getPropByColumnName(columnName);
+                JavaType jsonType = jsonTypes[prop.getId()];
+                if (jsonType == null) {
+                    continue;
+                }
                 Object value;
                 if (prop.isAssociation(TargetLevel.ENTITY)) {
                     ImmutableProp targetIdProp = prop.getTargetType().getIdProp();
-                    Object valueId = DeserializeUtils.readTreeAsValue(
-                            ctx,
-                            childNode,
-                            SimpleType.constructUnsafe(
-                                    targetIdProp.getElementClass()
-                            )
-                    );
+                    Object valueId = DeserializeUtils.readTreeAsValue(ctx, childNode, jsonType);
                     value = valueId == null ?
                             null :
                             Internal.produce(
@@ -76,22 +103,9 @@ class BinLogDeserializer extends StdDeserializer<Object> {
                                     }
                             );
                 } else {
-                    ScalarProvider<Object, Object> provider =
-                            (ScalarProvider<Object, Object>)
-                                    scalarProviderMap.get(prop.getElementClass());
-                    Class<?> jsonDataType = provider != null ? provider.getSqlType() : prop.getElementClass();
-                    if (Temporal.class.isAssignableFrom(jsonDataType) ||
-                            Date.class.isAssignableFrom(jsonDataType)) {
-                        continue;
-                    }
-                    value = DeserializeUtils.readTreeAsValue(
-                            ctx,
-                            childNode,
-                            SimpleType.constructUnsafe(jsonDataType)
+                    value = bindings[prop.getId()].toScalar(
+                            DeserializeUtils.readTreeAsValue(ctx, childNode, jsonType)
                     );
-                    if (provider != null && value != null) {
-                        value = provider.toScalar(value);
-                    }
                 }
                 ((DraftSpi)draft).__set(prop.getId(), value);
             }
@@ -6,16 +6,17 @@ import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.deser.Deserializers;
 import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.runtime.PropBindings;
 import org.babyfish.jimmer.sql.runtime.ScalarProvider;
 
 import java.util.Map;
 
 class BinLogDeserializers extends Deserializers.Base {
 
-    private final Map<Class<?>, ScalarProvider<?, ?>> scalarProviderMap;
+    private final PropBindings propBindings;
 
     BinLogDeserializers(Map<Class<?>, ScalarProvider<?, ?>> scalarProviderMap) {
-        this.scalarProviderMap = scalarProviderMap;
+        this.propBindings = new PropBindings(scalarProviderMap::get);
     }
 
     @Override
@@ -26,7 +27,7 @@ class BinLogDeserializers extends Deserializers.Base {
     ) {
         ImmutableType immutableType = ImmutableType.tryGet(type.getRawClass());
         if (immutableType != null) {
-            return new BinLogDeserializer(scalarProviderMap, immutableType);
+            return new BinLogDeserializer(propBindings, immutableType);
         }
         return null;
     }
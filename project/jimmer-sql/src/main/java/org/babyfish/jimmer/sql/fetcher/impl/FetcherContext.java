@@ -5,6 +5,7 @@ import org.babyfish.jimmer.sql.JSqlClient;
 import org.babyfish.jimmer.sql.fetcher.Fetcher;
 import org.babyfish.jimmer.sql.fetcher.Field;
 import org.babyfish.jimmer.sql.fetcher.RecursionStrategy;
+import org.babyfish.jimmer.sql.runtime.ExecutionMonitor;
 
 import java.sql.Connection;
 import java.util.Collection;
@@ -35,11 +36,18 @@ class FetcherContext {
             block.accept(ctx, false);
         } else {
             ctx = new FetcherContext(sqlClient, con);
+            ExecutionMonitor monitor = sqlClient.getExecutionMonitor();
+            if (monitor != null) {
+                monitor.onUnitOfWorkStarted();
+            }
             FETCHER_CONTEXT_LOCAL.set(ctx);
             try {
                 block.accept(ctx, true);
             } finally {
                 FETCHER_CONTEXT_LOCAL.remove();
+                if (monitor != null) {
+                    monitor.onUnitOfWorkFinished();
+                }
             }
         }
     }
@@ -9,6 +9,8 @@ import org.babyfish.jimmer.sql.JSqlClient;
 import org.babyfish.jimmer.sql.fetcher.Fetcher;
 import org.babyfish.jimmer.sql.fetcher.Field;
 import org.babyfish.jimmer.sql.fetcher.RecursionStrategy;
+import org.babyfish.jimmer.sql.runtime.ExecutionMonitors;
+import org.babyfish.jimmer.sql.runtime.ExecutionPurpose;
 
 import java.sql.Connection;
 import java.util.*;
@@ -99,13 +101,20 @@ class FetcherTask {
             }
         }
         if (!handledMap.isEmpty()) {
-            Map<ImmutableSpi, ?> loadedMap = dataLoader.load(
-                    handledMap
-                            .values()
-                            .stream()
-                            .map(it -> it.getDrafts().get(0))
-                            .collect(Collectors.toList())
-            );
+            Map<ImmutableSpi, ?> loadedMap;
+            try (ExecutionMonitors.Scope scope = ExecutionMonitors.enter(
+                    sqlClient,
+                    ExecutionPurpose.FETCHER,
+                    field.getProp()
+            )) {
+                loadedMap = dataLoader.load(
+                        handledMap
+                                .values()
+                                .stream()
+                                .map(it -> it.getDrafts().get(0))
+                                .collect(Collectors.toList())
+                );
+            }
             for (Map.Entry<Object, TaskData> e : handledMap.entrySet()) {
                 TaskData taskData = e.getValue();
                 Object value = loadedMap.get(taskData.getDrafts().get(0));
@@ -80,6 +80,14 @@ public class Fetchers {
         }
     }
 
+    /**
+     * Returns the value of the selection at the column index of a row
+     * which is selected by multiple selections.
+     */
+    public static Object column(Object row, int columnIndex) {
+        return ColumnAccessors.get(row, columnIndex);
+    }
+
     private static void fetch(
             JSqlClient sqlClient,
             Connection con,
@@ -5,6 +5,7 @@ import org.babyfish.jimmer.sql.ast.impl.mutation.MutableDeleteImpl;
 import org.babyfish.jimmer.sql.fluent.FluentDelete;
 
 import java.sql.Connection;
+import java.util.concurrent.CompletableFuture;
 
 class FluentDeleteImpl implements FluentDelete {
 
@@ -36,4 +37,11 @@ class FluentDeleteImpl implements FluentDelete {
         onTerminate.run();
         return raw.execute(con);
     }
+
+    @Override
+    public CompletableFuture<Integer> executeAsync() {
+        raw.freeze();
+        onTerminate.run();
+        return raw.executeAsync();
+    }
 }
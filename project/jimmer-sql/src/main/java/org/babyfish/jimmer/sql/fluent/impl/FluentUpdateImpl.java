@@ -7,6 +7,7 @@ import org.babyfish.jimmer.sql.ast.impl.mutation.MutableUpdateImpl;
 import org.babyfish.jimmer.sql.fluent.FluentUpdate;
 
 import java.sql.Connection;
+import java.util.concurrent.CompletableFuture;
 
 class FluentUpdateImpl implements FluentUpdate {
 
@@ -48,4 +49,10 @@ class FluentUpdateImpl implements FluentUpdate {
         onTerminate.run();
         return raw.execute(con);
     }
+
+    @Override
+    public CompletableFuture<Integer> executeAsync() {
+        onTerminate.run();
+        return raw.executeAsync();
+    }
 }
@@ -6,10 +6,13 @@ import org.babyfish.jimmer.sql.JSqlClient;
 import org.babyfish.jimmer.sql.ast.Executable;
 import org.babyfish.jimmer.sql.ast.table.Table;
 import org.babyfish.jimmer.sql.fetcher.Filter;
+import org.babyfish.jimmer.sql.runtime.ExecutionMonitors;
+import org.babyfish.jimmer.sql.runtime.ExecutionPurpose;
 
 import java.sql.Connection;
 import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 class BatchCommand<S, T> implements Executable<Map<S, T>> {
 
@@ -47,6 +50,11 @@ class BatchCommand<S, T> implements Executable<Map<S, T>> {
                 .execute(this::executeImpl);
     }
 
+    @Override
+    public CompletableFuture<Map<S, T>> executeAsync() {
+        return CompletableFuture.supplyAsync(this::execute, sqlClient.getAsyncExecutorService());
+    }
+
     @Override
     public Map<S, T> execute(Connection con) {
         if (con != null) {
@@ -62,11 +70,13 @@ class BatchCommand<S, T> implements Executable<Map<S, T>> {
 
     @SuppressWarnings("unchecked")
     private Map<S, T> executeImpl(Connection con) {
-        return (Map<S, T>) new DataLoader(
-                sqlClient,
-                con,
-                prop,
-                filter
-        ).load(sources);
+        try (ExecutionMonitors.Scope scope = ExecutionMonitors.enter(sqlClient, ExecutionPurpose.FETCHER, prop)) {
+            return (Map<S, T>) new DataLoader(
+                    sqlClient,
+                    con,
+                    prop,
+                    filter
+            ).load(sources);
+        }
     }
 }
@@ -6,9 +6,12 @@ import org.babyfish.jimmer.sql.JSqlClient;
 import org.babyfish.jimmer.sql.ast.Executable;
 import org.babyfish.jimmer.sql.ast.table.Table;
 import org.babyfish.jimmer.sql.fetcher.Filter;
+import org.babyfish.jimmer.sql.runtime.ExecutionMonitors;
+import org.babyfish.jimmer.sql.runtime.ExecutionPurpose;
 
 import java.sql.Connection;
 import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
 
 class SingleCommand<T> implements Executable<T> {
 
@@ -54,6 +57,11 @@ class SingleCommand<T> implements Executable<T> {
                 .execute(this::executeImpl);
     }
 
+    @Override
+    public CompletableFuture<T> executeAsync() {
+        return CompletableFuture.supplyAsync(this::execute, sqlClient.getAsyncExecutorService());
+    }
+
     @Override
     public T execute(Connection con) {
         if (con != null) {
@@ -69,13 +77,15 @@ class SingleCommand<T> implements Executable<T> {
 
     @SuppressWarnings("unchecked")
     private T executeImpl(Connection con) {
-        return (T) new DataLoader(
-                sqlClient,
-                con,
-                prop,
-                filter,
-                limit,
-                offset
-        ).load(Collections.singleton(source)).get(source);
+        try (ExecutionMonitors.Scope scope = ExecutionMonitors.enter(sqlClient, ExecutionPurpose.FETCHER, prop)) {
+            return (T) new DataLoader(
+                    sqlClient,
+                    con,
+                    prop,
+                    filter,
+                    limit,
+                    offset
+            ).load(Collections.singleton(source)).get(source);
+        }
     }
 }
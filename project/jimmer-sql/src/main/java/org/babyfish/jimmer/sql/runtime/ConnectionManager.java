@@ -2,6 +2,7 @@ package org.babyfish.jimmer.sql.runtime;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.function.Function;
 
 @FunctionalInterface
@@ -9,6 +10,22 @@ public interface ConnectionManager {
 
     <R> R execute(Function<Connection, R> block);
 
+    /**
+     * Borrows a connection which outlives the current call, it is given back
+     * by {@link Connection#close()}.
+     *
+     * <p>Only required by query streams created without connection,
+     * because their cursors stay open after the stream is returned.</p>
+     */
+    default Connection openConnection() {
+        throw new ExecutionException(
+                "The connection manager \"" +
+                        getClass().getName() +
+                        "\" cannot open connection out of its \"execute\" method, " +
+                        "please specify the connection explicitly"
+        );
+    }
+
     static ConnectionManager simpleConnectionManager(DataSource dataSource) {
         return new ConnectionManager() {
             @Override
@@ -21,6 +38,15 @@ public interface ConnectionManager {
                     throw new ExecutionException(ex.getMessage(), ex);
                 }
             }
+
+            @Override
+            public Connection openConnection() {
+                try {
+                    return dataSource.getConnection();
+                } catch (SQLException ex) {
+                    throw new ExecutionException(ex.getMessage(), ex);
+                }
+            }
         };
     }
 }
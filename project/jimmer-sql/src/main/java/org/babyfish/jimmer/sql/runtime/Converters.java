@@ -6,125 +6,171 @@ import java.sql.Time;
 import java.sql.Timestamp;
 import java.time.*;
 import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 public class Converters {
 
     private static final ZoneOffset OFFSET = OffsetDateTime.now().getOffset();
 
+    private static final Function<Object, Object> UNCONVERTIBLE = value -> null;
+
+    private static final Map<Class<?>, Map<Class<?>, Function<Object, Object>>> CONVERTER_MAP =
+            new ConcurrentHashMap<>();
+
     private Converters() {}
 
     public static Object tryConvert(Object value, Class<?> expectedType) {
         if (value == null || value.getClass() == expectedType) {
             return value;
         }
-        if (value instanceof Number) {
-            Number num = (Number) value;
-            if (expectedType == boolean.class || expectedType == Boolean.class) {
-                return num.intValue() != 0;
-            }
-            if (expectedType == byte.class || expectedType == Byte.class) {
-                return num.byteValue();
-            }
-            if (expectedType == short.class || expectedType == Short.class) {
-                return num.shortValue();
-            }
-            if (expectedType == int.class || expectedType == Integer.class) {
-                return num.intValue();
-            }
-            if (expectedType == long.class || expectedType == Long.class) {
-                return num.longValue();
+        return converter(value.getClass(), expectedType).apply(value);
+    }
+
+    /**
+     * Gets the converter from values of the source type to the expected type,
+     * the conversion is resolved once for each pair of types.
+     *
+     * <p>The returned converter never returns null for a non-null value
+     * unless the source type cannot be converted to the expected type.</p>
+     */
+    public static Function<Object, Object> converter(Class<?> sourceType, Class<?> expectedType) {
+        if (sourceType == expectedType) {
+            return Function.identity();
+        }
+        return CONVERTER_MAP
+                .computeIfAbsent(sourceType, it -> new ConcurrentHashMap<>())
+                .computeIfAbsent(expectedType, it -> resolve(sourceType, expectedType));
+    }
+
+    private static Function<Object, Object> resolve(Class<?> sourceType, Class<?> expectedType) {
+        if (Number.class.isAssignableFrom(sourceType)) {
+            Function<Object, Object> converter = resolveNumber(sourceType, expectedType);
+            if (converter != null) {
+                return converter;
             }
-            if (expectedType == float.class || expectedType == Float.class) {
-                return num.floatValue();
+        }
+        if (sourceType == Boolean.class && expectedType == boolean.class) {
+            return Function.identity();
+        }
+        if (sourceType == String.class && (expectedType == char.class || expectedType == Character.class)) {
+            return value -> ((String)value).charAt(0);
+        }
+        Function<Object, Instant> toInstant = resolveInstant(sourceType);
+        if (toInstant != null) {
+            Function<Instant, Object> fromInstant = resolveFromInstant(expectedType);
+            if (fromInstant != null) {
+                return value -> fromInstant.apply(toInstant.apply(value));
             }
-            if (expectedType == double.class || expectedType == Double.class) {
-                return num.doubleValue();
+        }
+        return UNCONVERTIBLE;
+    }
+
+    private static Function<Object, Object> resolveNumber(Class<?> sourceType, Class<?> expectedType) {
+        if (expectedType == boolean.class || expectedType == Boolean.class) {
+            return value -> ((Number)value).intValue() != 0;
+        }
+        if (expectedType == byte.class || expectedType == Byte.class) {
+            return value -> ((Number)value).byteValue();
+        }
+        if (expectedType == short.class || expectedType == Short.class) {
+            return value -> ((Number)value).shortValue();
+        }
+        if (expectedType == int.class || expectedType == Integer.class) {
+            return value -> ((Number)value).intValue();
+        }
+        if (expectedType == long.class || expectedType == Long.class) {
+            return value -> ((Number)value).longValue();
+        }
+        if (expectedType == float.class || expectedType == Float.class) {
+            return value -> ((Number)value).floatValue();
+        }
+        if (expectedType == double.class || expectedType == Double.class) {
+            return value -> ((Number)value).doubleValue();
+        }
+        if (expectedType == BigInteger.class) {
+            if (BigDecimal.class.isAssignableFrom(sourceType)) {
+                return value -> ((BigDecimal)value).toBigInteger();
             }
-            if (expectedType == BigInteger.class) {
-                if (value instanceof BigDecimal) {
-                    return ((BigDecimal)value).toBigInteger();
-                }
-                return BigInteger.valueOf(((Number) value).longValue());
+            return value -> BigInteger.valueOf(((Number) value).longValue());
+        }
+        if (expectedType == BigDecimal.class) {
+            if (BigInteger.class.isAssignableFrom(sourceType)) {
+                return value -> new BigDecimal(value.toString());
             }
-            if (expectedType == BigDecimal.class) {
-                if (value instanceof BigInteger) {
-                    return new BigDecimal(value.toString());
-                }
-                if (value instanceof Double || value instanceof Float) {
-                    return BigDecimal.valueOf(((Number) value).longValue());
-                }
-                return BigDecimal.valueOf(num.doubleValue());
+            if (sourceType == Double.class || sourceType == Float.class) {
+                return value -> BigDecimal.valueOf(((Number) value).longValue());
             }
+            return value -> BigDecimal.valueOf(((Number) value).doubleValue());
         }
-        if (value instanceof Boolean && expectedType == boolean.class) {
-            return value;
-        }
-        if (value instanceof String && (expectedType == char.class || expectedType == Character.class)) {
-            return ((String)value).charAt(0);
-        }
-        if (value instanceof Instant) {
-            return tryConvertInstant((Instant) value, expectedType);
+        return null;
+    }
+
+    private static Function<Object, Instant> resolveInstant(Class<?> sourceType) {
+        if (sourceType == Instant.class) {
+            return value -> (Instant) value;
         }
-        if (value instanceof java.sql.Date) {
-            return tryConvertInstant(Instant.ofEpochMilli(((java.sql.Date) value).getTime()), expectedType);
+        if (java.sql.Date.class.isAssignableFrom(sourceType)) {
+            return value -> Instant.ofEpochMilli(((java.sql.Date) value).getTime());
         }
-        if (value instanceof java.sql.Time) {
-            return tryConvertInstant(Instant.ofEpochMilli(((java.sql.Time) value).getTime()), expectedType);
+        if (Time.class.isAssignableFrom(sourceType)) {
+            return value -> Instant.ofEpochMilli(((Time) value).getTime());
         }
-        if (value instanceof Timestamp) {
-            return tryConvertInstant(((Timestamp) value).toInstant(), expectedType);
+        if (Timestamp.class.isAssignableFrom(sourceType)) {
+            return value -> ((Timestamp) value).toInstant();
         }
-        if (value instanceof Date) {
-            return tryConvertInstant(((Date) value).toInstant(), expectedType);
+        if (Date.class.isAssignableFrom(sourceType)) {
+            return value -> ((Date) value).toInstant();
         }
-        if (value instanceof LocalDate) {
-            return tryConvertInstant(((LocalDate) value).atTime(LocalTime.MIN).toInstant(OFFSET), expectedType);
+        if (sourceType == LocalDate.class) {
+            return value -> ((LocalDate) value).atTime(LocalTime.MIN).toInstant(OFFSET);
         }
-        if (value instanceof LocalTime) {
-            return tryConvertInstant(((LocalTime) value).atDate(LocalDate.EPOCH).toInstant(OFFSET), expectedType);
+        if (sourceType == LocalTime.class) {
+            return value -> ((LocalTime) value).atDate(LocalDate.EPOCH).toInstant(OFFSET);
         }
-        if (value instanceof LocalDateTime) {
-            return tryConvertInstant(((LocalDateTime) value).toInstant(OFFSET), expectedType);
+        if (sourceType == LocalDateTime.class) {
+            return value -> ((LocalDateTime) value).toInstant(OFFSET);
         }
-        if (value instanceof OffsetDateTime) {
-            return tryConvertInstant(((OffsetDateTime) value).toInstant(), expectedType);
+        if (sourceType == OffsetDateTime.class) {
+            return value -> ((OffsetDateTime) value).toInstant();
         }
-        if (value instanceof ZonedDateTime) {
-            return tryConvertInstant(((ZonedDateTime) value).toInstant(), expectedType);
+        if (sourceType == ZonedDateTime.class) {
+            return value -> ((ZonedDateTime) value).toInstant();
         }
         return null;
     }
 
-    private static Object tryConvertInstant(Instant instant, Class<?> expectedType) {
+    private static Function<Instant, Object> resolveFromInstant(Class<?> expectedType) {
         if (expectedType == Instant.class) {
-            return instant;
+            return instant -> instant;
         }
         if (expectedType == Date.class) {
-            return new Date(instant.toEpochMilli());
+            return instant -> new Date(instant.toEpochMilli());
         }
         if (expectedType == java.sql.Date.class) {
-            return new java.sql.Date(instant.toEpochMilli());
+            return instant -> new java.sql.Date(instant.toEpochMilli());
         }
         if (expectedType == Time.class) {
-            return new Time(instant.toEpochMilli());
+            return instant -> new Time(instant.toEpochMilli());
         }
         if (expectedType == Timestamp.class) {
-            return new Timestamp(instant.toEpochMilli());
+            return instant -> new Timestamp(instant.toEpochMilli());
         }
         if (expectedType == LocalDate.class) {
-            return instant.atZone(ZoneId.systemDefault()).toLocalDate();
+            return instant -> instant.atZone(ZoneId.systemDefault()).toLocalDate();
         }
         if (expectedType == LocalTime.class) {
-            return instant.atZone(ZoneId.systemDefault()).toLocalTime();
+            return instant -> instant.atZone(ZoneId.systemDefault()).toLocalTime();
         }
         if (expectedType == LocalDateTime.class) {
-            return instant.atZone(ZoneId.systemDefault()).toLocalDateTime();
+            return instant -> instant.atZone(ZoneId.systemDefault()).toLocalDateTime();
         }
         if (expectedType == OffsetDateTime.class) {
-            return instant.atZone(ZoneId.systemDefault()).toOffsetDateTime();
+            return instant -> instant.atZone(ZoneId.systemDefault()).toOffsetDateTime();
         }
         if (expectedType == ZonedDateTime.class) {
-            return instant.atZone(ZoneId.systemDefault()).toOffsetDateTime().toZonedDateTime();
+            return instant -> instant.atZone(ZoneId.systemDefault()).toOffsetDateTime().toZonedDateTime();
         }
         return null;
     }
@@ -0,0 +1,197 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.ast.Selection;
+import org.babyfish.jimmer.sql.fetcher.impl.Fetchers;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Open result set of a query which is read chunk by chunk,
+ * associations required by fetchers are loaded for each chunk.
+ */
+class Cursor<R> {
+
+    private final JSqlClient sqlClient;
+
+    private final Connection con;
+
+    private final boolean ownsConnection;
+
+    private final String sql;
+
+    private final List<Selection<?>> selections;
+
+    private boolean autoCommitChanged;
+
+    private ResultSet resultSet;
+
+    private ResultMapper resultMapper;
+
+    private volatile Statement statement;
+
+    private boolean closed;
+
+    private Cursor(
+            JSqlClient sqlClient,
+            Connection con,
+            boolean ownsConnection,
+            String sql,
+            List<Selection<?>> selections
+    ) {
+        this.sqlClient = sqlClient;
+        this.con = con;
+        this.ownsConnection = ownsConnection;
+        this.sql = sql;
+        this.selections = selections;
+    }
+
+    static <R> Cursor<R> open(
+            JSqlClient sqlClient,
+            Connection con,
+            ConnectionManager connectionManager,
+            String sql,
+            List<Object> variables,
+            List<Selection<?>> selections,
+            int fetchSize
+    ) {
+        Cursor<R> cursor = new Cursor<>(
+                sqlClient,
+                con != null ? con : connectionManager.openConnection(),
+                con == null,
+                sql,
+                selections
+        );
+        try {
+            cursor.open(variables, fetchSize);
+        } catch (RuntimeException | Error ex) {
+            cursor.close();
+            throw ex;
+        }
+        return cursor;
+    }
+
+    private void open(List<Object> variables, int fetchSize) {
+        if (ownsConnection) {
+            try {
+                // Otherwise, PostgreSQL ignores the fetch size
+                if (con.getAutoCommit()) {
+                    con.setAutoCommit(false);
+                    autoCommitChanged = true;
+                }
+            } catch (SQLException ex) {
+                throw new ExecutionException("Cannot disable the auto commit mode of connection", ex);
+            }
+        }
+        resultSet = sqlClient.getExecutor().executeQueryAsCursor(con, sql, variables, fetchSize);
+        try {
+            statement = resultSet.getStatement();
+        } catch (SQLException ex) {
+            throw new ExecutionException("Cannot get the statement of SQL: " + sql, ex);
+        }
+        resultMapper = new ResultMapper(sqlClient, selections, resultSet);
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Reads at most maxCount rows, the cursor is closed
+     * when fewer rows are read because the result is exhausted.
+     */
+    @SuppressWarnings("unchecked")
+    List<R> read(int maxCount) {
+        if (resultSet == null) {
+            return Collections.emptyList();
+        }
+        List<R> rows = new ArrayList<>(maxCount);
+        try {
+            while (rows.size() < maxCount && resultSet.next()) {
+                rows.add((R) resultMapper.map());
+            }
+        } catch (SQLException ex) {
+            close();
+            throw new ExecutionException("Cannot read the cursor of SQL statement: " + sql, ex);
+        }
+        boolean exhausted = rows.size() < maxCount;
+        try {
+            Fetchers.fetch(sqlClient, con, selections, rows);
+        } catch (RuntimeException | Error ex) {
+            close();
+            throw ex;
+        }
+        if (exhausted) {
+            close();
+        }
+        return rows;
+    }
+
+    /**
+     * Cancels the executing statement, can be called by any thread.
+     */
+    void cancel() {
+        Statement stmt = statement;
+        if (stmt != null) {
+            try {
+                stmt.cancel();
+            } catch (SQLException ex) {
+                // The cursor will be closed by its reading thread
+            }
+        }
+    }
+
+    void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        Statement stmt = statement;
+        ResultSet rs = resultSet;
+        statement = null;
+        resultSet = null;
+        resultMapper = null;
+        SQLException exception = null;
+        try {
+            if (stmt != null) {
+                stmt.close();
+            } else if (rs != null) {
+                rs.close();
+            }
+        } catch (SQLException ex) {
+            exception = ex;
+        }
+        if (ownsConnection) {
+            try {
+                if (autoCommitChanged) {
+                    con.commit();
+                    con.setAutoCommit(true);
+                }
+            } catch (SQLException ex) {
+                exception = suppress(exception, ex);
+            }
+            try {
+                con.close();
+            } catch (SQLException ex) {
+                exception = suppress(exception, ex);
+            }
+        }
+        if (exception != null) {
+            throw new ExecutionException("Cannot close the cursor of SQL statement: " + sql, exception);
+        }
+    }
+
+    private static SQLException suppress(SQLException exception, SQLException ex) {
+        if (exception == null) {
+            return ex;
+        }
+        exception.addSuppressed(ex);
+        return exception;
+    }
+}
@@ -0,0 +1,165 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Subscription which reads the cursor as far as the subscriber demands.
+ *
+ * <p>All signals are sent by one drain task at a time in the executor service,
+ * requests and cancellation from other threads only schedule the drain task.</p>
+ */
+class CursorSubscription<R> implements Flow.Subscription, Runnable {
+
+    private final Flow.Subscriber<? super R> subscriber;
+
+    private final ExecutorService executorService;
+
+    private final int batchSize;
+
+    private final Supplier<Cursor<R>> cursorSupplier;
+
+    private final AtomicLong requested = new AtomicLong();
+
+    private final AtomicInteger wip = new AtomicInteger();
+
+    private volatile boolean cancelled;
+
+    private volatile Cursor<R> cursor;
+
+    private Throwable illegalRequest;
+
+    private boolean terminated;
+
+    CursorSubscription(
+            Flow.Subscriber<? super R> subscriber,
+            ExecutorService executorService,
+            int batchSize,
+            Supplier<Cursor<R>> cursorSupplier
+    ) {
+        this.subscriber = subscriber;
+        this.executorService = executorService;
+        this.batchSize = batchSize;
+        this.cursorSupplier = cursorSupplier;
+    }
+
+    @Override
+    public void request(long n) {
+        if (n <= 0) {
+            synchronized (this) {
+                if (illegalRequest == null) {
+                    illegalRequest = new IllegalArgumentException(
+                            "The requested count must be positive, but it is " + n
+                    );
+                }
+            }
+        } else {
+            requested.getAndUpdate(it -> it + n < 0 ? Long.MAX_VALUE : it + n);
+        }
+        schedule();
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+        Cursor<R> cursor = this.cursor;
+        if (cursor != null) {
+            // Interrupt the reading of drain task
+            cursor.cancel();
+        }
+        schedule();
+    }
+
+    private void schedule() {
+        if (wip.getAndIncrement() == 0) {
+            try {
+                executorService.execute(this);
+            } catch (RuntimeException ex) {
+                wip.set(0);
+                cancelled = true;
+                subscriber.onError(ex);
+            }
+        }
+    }
+
+    @Override
+    public void run() {
+        int missed = 1;
+        do {
+            drain();
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void drain() {
+        if (terminated) {
+            return;
+        }
+        Throwable illegalRequest;
+        synchronized (this) {
+            illegalRequest = this.illegalRequest;
+        }
+        if (cancelled || illegalRequest != null) {
+            terminate();
+            if (!cancelled) {
+                cancelled = true;
+                subscriber.onError(illegalRequest);
+            }
+            return;
+        }
+        try {
+            Cursor<R> cursor = this.cursor;
+            if (cursor == null) {
+                if (requested.get() == 0) {
+                    return;
+                }
+                this.cursor = cursor = cursorSupplier.get();
+            }
+            while (!cancelled) {
+                long demand = requested.get();
+                if (demand == 0) {
+                    return;
+                }
+                List<R> rows = cursor.read((int) Math.min(demand, batchSize));
+                for (R row : rows) {
+                    if (cancelled) {
+                        break;
+                    }
+                    requested.decrementAndGet();
+                    subscriber.onNext(row);
+                }
+                if (cursor.isClosed()) {
+                    terminate();
+                    if (!cancelled) {
+                        subscriber.onComplete();
+                    }
+                    return;
+                }
+            }
+            terminate();
+        } catch (RuntimeException | Error ex) {
+            boolean wasCancelled = cancelled;
+            try {
+                terminate();
+            } catch (RuntimeException closeEx) {
+                ex.addSuppressed(closeEx);
+            }
+            // Errors caused by cancellation are not signaled
+            if (!wasCancelled) {
+                cancelled = true;
+                subscriber.onError(ex);
+            }
+        }
+    }
+
+    private void terminate() {
+        terminated = true;
+        Cursor<R> cursor = this.cursor;
+        if (cursor != null) {
+            cursor.close();
+        }
+    }
+}
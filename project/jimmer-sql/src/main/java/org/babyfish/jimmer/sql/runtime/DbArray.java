@@ -0,0 +1,52 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Variable which is bound as one JDBC array,
+ * the elements have been converted by scalar providers.
+ */
+public class DbArray {
+
+    private final String typeName;
+
+    private final Object[] elements;
+
+    public DbArray(String typeName, Object[] elements) {
+        this.typeName = Objects.requireNonNull(typeName, "typeName cannot be null");
+        this.elements = Objects.requireNonNull(elements, "elements cannot be null");
+    }
+
+    /**
+     * SQL type name of elements, it is passed to {@link java.sql.Connection#createArrayOf(String, Object[])}
+     */
+    public String getTypeName() {
+        return typeName;
+    }
+
+    public Object[] getElements() {
+        return elements;
+    }
+
+    @Override
+    public int hashCode() {
+        return typeName.hashCode() * 31 + Arrays.hashCode(elements);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DbArray dbArray = (DbArray) o;
+        return typeName.equals(dbArray.typeName) && Arrays.equals(elements, dbArray.elements);
+    }
+
+    @Override
+    public String toString() {
+        return "DbArray{" +
+                "typeName='" + typeName + '\'' +
+                ", elements=" + Arrays.toString(elements) +
+                '}';
+    }
+}
@@ -1,19 +1,48 @@
 package org.babyfish.jimmer.sql.runtime;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.util.Date;
 import java.util.Objects;
+import java.util.UUID;
 
 public class DbNull {
 
-    private Class<?> type;
+    private static final int UNKNOWN_JDBC_TYPE = Integer.MIN_VALUE;
+
+    private final Class<?> type;
+
+    private final int jdbcType;
 
     public DbNull(Class<?> type) {
         this.type = type;
+        this.jdbcType = jdbcType(type);
     }
 
     public Class<?> getType() {
         return type;
     }
 
+    /**
+     * @return The type code of {@link java.sql.Types} to bind this null value
+     */
+    public int getJdbcType() {
+        if (jdbcType == UNKNOWN_JDBC_TYPE) {
+            throw new IllegalArgumentException(
+                    "Cannot convert '" +
+                            type +
+                            "' to java.sql.Types"
+            );
+        }
+        return jdbcType;
+    }
+
     @Override
     public int hashCode() {
         return Objects.hash(type);
@@ -33,4 +62,59 @@ public class DbNull {
                 "type=" + type +
                 '}';
     }
+
+    private static int jdbcType(Class<?> type) {
+        if (type == String.class) {
+            return Types.VARCHAR;
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return Types.BOOLEAN;
+        }
+        if (type == char.class || type == Character.class) {
+            return Types.CHAR;
+        }
+        if (type == byte.class || type == Byte.class) {
+            return Types.TINYINT;
+        }
+        if (type == short.class || type == Short.class) {
+            return Types.SMALLINT;
+        }
+        if (type == int.class || type == Integer.class) {
+            return Types.INTEGER;
+        }
+        if (type == long.class || type == Long.class) {
+            return Types.BIGINT;
+        }
+        if (type == float.class || type == Float.class) {
+            return Types.FLOAT;
+        }
+        if (type == double.class || type == Double.class) {
+            return Types.DOUBLE;
+        }
+        if (type == BigInteger.class) {
+            return Types.BIGINT;
+        }
+        if (type == BigDecimal.class) {
+            return Types.DECIMAL;
+        }
+        if (type == UUID.class) {
+            return Types.VARCHAR;
+        }
+        if (type == Date.class || type == java.sql.Date.class) {
+            return Types.DATE;
+        }
+        if (type == Timestamp.class) {
+            return Types.TIMESTAMP;
+        }
+        if (type == LocalDate.class) {
+            return Types.DATE;
+        }
+        if (type == LocalTime.class) {
+            return Types.TIME;
+        }
+        if (type == LocalDateTime.class || type == ZonedDateTime.class) {
+            return Types.TIMESTAMP;
+        }
+        return UNKNOWN_JDBC_TYPE;
+    }
 }
@@ -1,12 +1,8 @@
 package org.babyfish.jimmer.sql.runtime;
 
-import java.math.BigDecimal;
-import java.math.BigInteger;
 import java.sql.*;
-import java.time.*;
-import java.util.Date;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
 public class DefaultExecutor implements Executor {
 
@@ -24,18 +20,7 @@ public class DefaultExecutor implements Executor {
                 statementFactory.preparedStatement(con, sql) :
                 con.prepareStatement(sql)
         ) {
-            int size = variables.size();
-            for (int index = 0; index < size; index++) {
-                Object variable = variables.get(index);
-                if (variable instanceof DbNull) {
-                    stmt.setNull(
-                            index + 1,
-                            toJdbcType(((DbNull) variable).getType())
-                    );
-                } else {
-                    stmt.setObject(index + 1, variable);
-                }
-            }
+            setParameters(stmt, variables);
             return block.apply(stmt);
         } catch (SQLException ex) {
             throw new ExecutionException(
@@ -48,62 +33,94 @@ public class DefaultExecutor implements Executor {
         }
     }
 
-    private int toJdbcType(Class<?> type) {
-        if (type == String.class) {
-            return Types.VARCHAR;
-        }
-        if (type == boolean.class || type == Boolean.class) {
-            return Types.BOOLEAN;
-        }
-        if (type == char.class || type == Character.class) {
-            return Types.CHAR;
-        }
-        if (type == byte.class || type == Byte.class) {
-            return Types.TINYINT;
-        }
-        if (type == short.class || type == Short.class) {
-            return Types.SMALLINT;
-        }
-        if (type == int.class || type == Integer.class) {
-            return Types.INTEGER;
-        }
-        if (type == long.class || type == Long.class) {
-            return Types.BIGINT;
-        }
-        if (type == float.class || type == Float.class) {
-            return Types.FLOAT;
-        }
-        if (type == double.class || type == Double.class) {
-            return Types.DOUBLE;
-        }
-        if (type == BigInteger.class) {
-            return Types.BIGINT;
-        }
-        if (type == BigDecimal.class) {
-            return Types.DECIMAL;
-        }
-        if (type == UUID.class) {
-            return Types.VARCHAR;
-        }
-        if (type == Date.class || type == java.sql.Date.class) {
-            return Types.DATE;
+    @Override
+    public int[] executeBatch(
+            Connection con,
+            String sql,
+            List<List<Object>> variablesList,
+            StatementFactory statementFactory
+    ) {
+        try (PreparedStatement stmt = statementFactory != null ?
+                statementFactory.preparedStatement(con, sql) :
+                con.prepareStatement(sql)
+        ) {
+            return executeBatch(stmt, variablesList);
+        } catch (SQLException ex) {
+            throw new ExecutionException(
+                    "Cannot execute batch SQL statement: " +
+                            sql +
+                            ", variables: " +
+                            variablesList,
+                    ex
+            );
         }
-        if (type == Timestamp.class) {
-            return Types.TIMESTAMP;
+    }
+
+    @Override
+    public List<Object> executeBatchAndGetGeneratedKeys(
+            Connection con,
+            String sql,
+            List<List<Object>> variablesList
+    ) {
+        try (PreparedStatement stmt = con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+            executeBatch(stmt, variablesList);
+            return generatedKeys(stmt, variablesList.size());
+        } catch (SQLException ex) {
+            throw new ExecutionException(
+                    "Cannot execute batch SQL statement: " +
+                            sql +
+                            ", variables: " +
+                            variablesList,
+                    ex
+            );
         }
-        if (type == LocalDate.class) {
-            return Types.DATE;
+    }
+
+    static List<Object> generatedKeys(PreparedStatement stmt, int expectedCount) throws SQLException {
+        List<Object> generatedKeys = new ArrayList<>(expectedCount);
+        try (ResultSet rs = stmt.getGeneratedKeys()) {
+            while (rs.next()) {
+                generatedKeys.add(rs.getObject(1));
+            }
         }
-        if (type == LocalTime.class) {
-            return Types.TIME;
+        if (generatedKeys.size() != expectedCount) {
+            throw new ExecutionException(
+                    "The JDBC driver returned " +
+                            generatedKeys.size() +
+                            " generated key(s) for " +
+                            expectedCount +
+                            " inserted row(s)"
+            );
         }
-        if (type == LocalDateTime.class || type == ZonedDateTime.class) {
-            return Types.TIMESTAMP;
+        return generatedKeys;
+    }
+
+    static int[] executeBatch(
+            PreparedStatement stmt,
+            List<List<Object>> variablesList
+    ) throws SQLException {
+        for (List<Object> variables : variablesList) {
+            setParameters(stmt, variables);
+            stmt.addBatch();
+        }
+        return stmt.executeBatch();
+    }
+
+    static void setParameters(PreparedStatement stmt, List<Object> variables) throws SQLException {
+        int size = variables.size();
+        for (int index = 0; index < size; index++) {
+            Object variable = variables.get(index);
+            if (variable instanceof DbNull) {
+                stmt.setNull(index + 1, ((DbNull) variable).getJdbcType());
+            } else if (variable instanceof DbArray) {
+                DbArray dbArray = (DbArray) variable;
+                stmt.setArray(
+                        index + 1,
+                        stmt.getConnection().createArrayOf(dbArray.getTypeName(), dbArray.getElements())
+                );
+            } else {
+                stmt.setObject(index + 1, variable);
+            }
         }
-        throw new IllegalArgumentException(
-                "Cannot convert '" +
-                        type +
-                        "' to java.sql.Types"
-        );
     }
 }
@@ -0,0 +1,73 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Observer of the statements executed by sql client,
+ * it is configured by {@link org.babyfish.jimmer.sql.JSqlClient.Builder#setExecutionMonitor(ExecutionMonitor)}.
+ *
+ * <p>If no monitor is configured, the executor is not decorated and
+ * nothing is measured.</p>
+ *
+ * <p>All methods are called by the thread executing the statements,
+ * so the implementation must be thread safe and should be fast.</p>
+ *
+ * @see InMemoryExecutionMonitor
+ * @see RepeatedQueryDetector
+ */
+@FunctionalInterface
+public interface ExecutionMonitor {
+
+    void onExecuted(StatementMetrics metrics);
+
+    /**
+     * Called when a unit of work begins on current thread,
+     * for example, fetching the associations of query result.
+     * Units of work can be nested.
+     */
+    default void onUnitOfWorkStarted() {}
+
+    default void onUnitOfWorkFinished() {}
+
+    static ExecutionMonitor combine(ExecutionMonitor ... monitors) {
+        List<ExecutionMonitor> list = new ArrayList<>(monitors.length);
+        for (ExecutionMonitor monitor : monitors) {
+            if (monitor != null) {
+                list.add(monitor);
+            }
+        }
+        if (list.isEmpty()) {
+            return null;
+        }
+        if (list.size() == 1) {
+            return list.get(0);
+        }
+        ExecutionMonitor[] arr = list.toArray(new ExecutionMonitor[0]);
+        return new ExecutionMonitor() {
+            @Override
+            public void onExecuted(StatementMetrics metrics) {
+                for (ExecutionMonitor monitor : arr) {
+                    monitor.onExecuted(metrics);
+                }
+            }
+            @Override
+            public void onUnitOfWorkStarted() {
+                for (ExecutionMonitor monitor : arr) {
+                    monitor.onUnitOfWorkStarted();
+                }
+            }
+            @Override
+            public void onUnitOfWorkFinished() {
+                for (ExecutionMonitor monitor : arr) {
+                    monitor.onUnitOfWorkFinished();
+                }
+            }
+            @Override
+            public String toString() {
+                return "CombinedExecutionMonitor" + Arrays.toString(arr);
+            }
+        };
+    }
+}
@@ -0,0 +1,375 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.sql.JSqlClient;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Thread-bound state of {@link ExecutionMonitor}.
+ *
+ * <p>All methods do nothing if the sql client has no execution monitor,
+ * {@link #enter(JSqlClient, ExecutionPurpose)} returns null in that case,
+ * which is allowed by try-with-resources statement.</p>
+ *
+ * <p>The thread-bound state is removed as soon as no scope or statement
+ * of current thread is open, so that pooled threads do not keep it.
+ * The build time of a statement is not thread-bound, it is carried by
+ * the variables built by {@link SqlBuilder}.</p>
+ */
+public final class ExecutionMonitors {
+
+    static final long NOT_MONITORED = Long.MIN_VALUE;
+
+    private static final ThreadLocal<Context> CONTEXT_LOCAL = new ThreadLocal<>();
+
+    private ExecutionMonitors() {}
+
+    /**
+     * Sets the purpose of the statements executed by current thread
+     * until the returned scope is closed, the property is inherited.
+     */
+    public static Scope enter(JSqlClient sqlClient, ExecutionPurpose purpose) {
+        if (sqlClient.getExecutionMonitor() == null) {
+            return null;
+        }
+        Context ctx = context();
+        return enter(ctx, purpose, ctx.prop);
+    }
+
+    /**
+     * Sets the purpose and the loaded property of the statements
+     * executed by current thread until the returned scope is closed.
+     */
+    public static Scope enter(JSqlClient sqlClient, ExecutionPurpose purpose, ImmutableProp prop) {
+        if (sqlClient.getExecutionMonitor() == null) {
+            return null;
+        }
+        return enter(context(), purpose, prop);
+    }
+
+    private static Scope enter(Context ctx, ExecutionPurpose purpose, ImmutableProp prop) {
+        Scope scope = new Scope(ctx, ctx.purpose, ctx.prop);
+        ctx.purpose = purpose;
+        ctx.prop = prop;
+        ctx.depth++;
+        return scope;
+    }
+
+    /**
+     * Decorates the executor if the monitor is not null
+     */
+    public static Executor wrap(Executor executor, ExecutionMonitor monitor) {
+        return MonitoringExecutor.wrap(executor, monitor);
+    }
+
+    static long buildStarted(JSqlClient sqlClient) {
+        if (sqlClient == null || sqlClient.getExecutionMonitor() == null) {
+            return NOT_MONITORED;
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * @return The variables which carry the build time of their statement,
+     * or the variables themselves if the build is not monitored
+     */
+    static List<Object> buildFinished(long startNanos, List<Object> variables) {
+        if (startNanos == NOT_MONITORED) {
+            return variables;
+        }
+        return new BuiltVariables(variables, System.nanoTime() - startNanos);
+    }
+
+    /**
+     * @return The build time carried by the variables, or 0 if they are not built by a monitored {@link SqlBuilder}
+     */
+    static long buildNanos(List<Object> variables) {
+        return variables instanceof BuiltVariables ? ((BuiltVariables) variables).buildNanos : 0L;
+    }
+
+    static Recorder begin(
+            ExecutionMonitor monitor,
+            String sql,
+            List<Object> variables,
+            int batchSize,
+            long buildNanos
+    ) {
+        Context ctx = context();
+        Recorder recorder = new Recorder(
+                monitor,
+                ctx,
+                ctx.recorder,
+                ctx.purpose,
+                ctx.prop,
+                sql,
+                variables,
+                batchSize,
+                buildNanos
+        );
+        ctx.recorder = recorder;
+        ctx.depth++;
+        return recorder;
+    }
+
+    /**
+     * Returns the recorder of the statement being executed by current thread,
+     * its metrics are not reported until {@link Recorder#complete(boolean)} is called.
+     */
+    static Recorder defer() {
+        Context ctx = CONTEXT_LOCAL.get();
+        if (ctx == null || ctx.recorder == null) {
+            return null;
+        }
+        ctx.recorder.deferred = true;
+        ctx.recorder.lapNanos = System.nanoTime();
+        return ctx.recorder;
+    }
+
+    private static Context context() {
+        Context ctx = CONTEXT_LOCAL.get();
+        if (ctx == null) {
+            ctx = new Context();
+            CONTEXT_LOCAL.set(ctx);
+        }
+        return ctx;
+    }
+
+    private static void leave(Context ctx) {
+        if (--ctx.depth == 0) {
+            CONTEXT_LOCAL.remove();
+        }
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final Context ctx;
+
+        private final ExecutionPurpose oldPurpose;
+
+        private final ImmutableProp oldProp;
+
+        private Scope(Context ctx, ExecutionPurpose oldPurpose, ImmutableProp oldProp) {
+            this.ctx = ctx;
+            this.oldPurpose = oldPurpose;
+            this.oldProp = oldProp;
+        }
+
+        @Override
+        public void close() {
+            ctx.purpose = oldPurpose;
+            ctx.prop = oldProp;
+            leave(ctx);
+        }
+    }
+
+    private static class Context {
+
+        ExecutionPurpose purpose = ExecutionPurpose.QUERY;
+
+        ImmutableProp prop;
+
+        Recorder recorder;
+
+        /**
+         * Count of the open scopes and statements
+         */
+        int depth;
+    }
+
+    static class Recorder {
+
+        private final ExecutionMonitor monitor;
+
+        private final Context ctx;
+
+        private final Recorder parent;
+
+        private final ExecutionPurpose purpose;
+
+        private final ImmutableProp prop;
+
+        private final String sql;
+
+        private final List<Object> variables;
+
+        private final int batchSize;
+
+        private final long buildNanos;
+
+        private final long startNanos;
+
+        private long blockStartNanos = NOT_MONITORED;
+
+        // End of the last measured period of the deferred recorder
+        private long lapNanos;
+
+        private long bindNanos;
+
+        private long executeNanos;
+
+        private long mappingNanos;
+
+        private long fetchNanos;
+
+        private long pausedNanos;
+
+        private int rowCount = -1;
+
+        private boolean failed;
+
+        private boolean reported;
+
+        boolean deferred;
+
+        private Recorder(
+                ExecutionMonitor monitor,
+                Context ctx,
+                Recorder parent,
+                ExecutionPurpose purpose,
+                ImmutableProp prop,
+                String sql,
+                List<Object> variables,
+                int batchSize,
+                long buildNanos
+        ) {
+            this.monitor = monitor;
+            this.ctx = ctx;
+            this.parent = parent;
+            this.purpose = purpose;
+            this.prop = prop;
+            this.sql = sql;
+            this.variables = variables;
+            this.batchSize = batchSize;
+            this.buildNanos = buildNanos;
+            this.startNanos = System.nanoTime();
+        }
+
+        void blockStarted() {
+            blockStartNanos = System.nanoTime();
+            bindNanos = blockStartNanos - startNanos;
+        }
+
+        /*
+         * The methods of the deferred recorder measure the time since the previous one,
+         * the first period starts when the recorder is deferred.
+         */
+
+        void mapped(int rowCount) {
+            mappingNanos += lap();
+            this.rowCount = this.rowCount == -1 ? rowCount : this.rowCount + rowCount;
+        }
+
+        void fetched() {
+            fetchNanos += lap();
+        }
+
+        /**
+         * Time spent on user code while the statement is open
+         */
+        void paused() {
+            pausedNanos += lap();
+        }
+
+        void executed(int rowCount) {
+            measureExecution();
+            if (this.rowCount == -1) {
+                this.rowCount = rowCount;
+            }
+            ctx.recorder = parent;
+            leave(ctx);
+            if (deferred) {
+                lapNanos = System.nanoTime();
+            } else {
+                report();
+            }
+        }
+
+        /**
+         * Reports the failed statement immediately, even if it is deferred
+         */
+        void failed() {
+            measureExecution();
+            failed = true;
+            ctx.recorder = parent;
+            leave(ctx);
+            report();
+        }
+
+        /**
+         * Reports the deferred metrics with the time spent on
+         * fetchers after the statement is executed.
+         *
+         * @param failed Whether the fetchers failed
+         */
+        void complete(boolean failed) {
+            fetchNanos += lap();
+            this.failed |= failed;
+            report();
+        }
+
+        private long lap() {
+            long now = System.nanoTime();
+            long nanos = now - lapNanos;
+            lapNanos = now;
+            return nanos;
+        }
+
+        private void measureExecution() {
+            long start = blockStartNanos != NOT_MONITORED ? blockStartNanos : startNanos;
+            executeNanos = System.nanoTime() - start - mappingNanos - fetchNanos - pausedNanos;
+        }
+
+        private void report() {
+            if (reported) {
+                return;
+            }
+            reported = true;
+            monitor.onExecuted(
+                    new StatementMetrics(
+                            purpose,
+                            prop,
+                            sql,
+                            variables,
+                            batchSize,
+                            buildNanos,
+                            bindNanos,
+                            executeNanos,
+                            mappingNanos,
+                            fetchNanos,
+                            rowCount,
+                            failed
+                    )
+            );
+        }
+    }
+
+    /**
+     * Variables built by a monitored {@link SqlBuilder}, the build time is passed
+     * with the statement so that it is never charged to another statement,
+     * even if the statement is executed by another thread or not executed at all.
+     */
+    private static class BuiltVariables extends AbstractList<Object> implements RandomAccess {
+
+        private final List<Object> raw;
+
+        final long buildNanos;
+
+        BuiltVariables(List<Object> raw, long buildNanos) {
+            this.raw = raw;
+            this.buildNanos = buildNanos;
+        }
+
+        @Override
+        public Object get(int index) {
+            return raw.get(index);
+        }
+
+        @Override
+        public int size() {
+            return raw.size();
+        }
+    }
+}
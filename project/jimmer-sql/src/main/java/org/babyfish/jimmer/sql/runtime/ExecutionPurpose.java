@@ -0,0 +1,13 @@
+package org.babyfish.jimmer.sql.runtime;
+
+/**
+ * The API which caused the execution of statement
+ */
+public enum ExecutionPurpose {
+    QUERY,
+    FETCHER,
+    SAVE,
+    UPDATE,
+    DELETE,
+    CACHE_LOAD
+}
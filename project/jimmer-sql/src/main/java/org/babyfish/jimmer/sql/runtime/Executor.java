@@ -2,6 +2,10 @@ package org.babyfish.jimmer.sql.runtime;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.List;
 
 public interface Executor {
@@ -13,4 +17,105 @@ public interface Executor {
             StatementFactory statementFactory,
             SqlFunction<PreparedStatement, R> block
     );
+
+    /**
+     * Execute one DML statement for several groups of variables.
+     *
+     * <p>The default implementation executes the statement once per variable group,
+     * {@link DefaultExecutor} sends all of them as one JDBC batch.</p>
+     *
+     * @return The update count of each variable group
+     */
+    default int[] executeBatch(
+            Connection con,
+            String sql,
+            List<List<Object>> variablesList,
+            StatementFactory statementFactory
+    ) {
+        int[] rowCounts = new int[variablesList.size()];
+        int index = 0;
+        for (List<Object> variables : variablesList) {
+            rowCounts[index++] = execute(
+                    con,
+                    sql,
+                    variables,
+                    statementFactory,
+                    PreparedStatement::executeUpdate
+            );
+        }
+        return rowCounts;
+    }
+
+    /**
+     * Execute one insert statement for several groups of variables
+     * and return the generated key of each group, in order.
+     *
+     * <p>The default implementation executes the statement once per variable group,
+     * {@link DefaultExecutor} sends all of them as one JDBC batch and reads
+     * all generated keys at once.</p>
+     *
+     * <p>It is not called for the dialects whose
+     * {@link org.babyfish.jimmer.sql.dialect.Dialect#isBatchGeneratedKeysSupported()}
+     * is false, such as SQL Server.</p>
+     */
+    default List<Object> executeBatchAndGetGeneratedKeys(
+            Connection con,
+            String sql,
+            List<List<Object>> variablesList
+    ) {
+        List<Object> generatedKeys = new ArrayList<>(variablesList.size());
+        for (List<Object> variables : variablesList) {
+            generatedKeys.add(
+                    execute(
+                            con,
+                            sql,
+                            variables,
+                            (c, s) -> c.prepareStatement(s, Statement.RETURN_GENERATED_KEYS),
+                            stmt -> {
+                                stmt.executeUpdate();
+                                return DefaultExecutor.generatedKeys(stmt, 1).get(0);
+                            }
+                    )
+            );
+        }
+        return generatedKeys;
+    }
+
+    /**
+     * Execute a query whose result set is read after this method returns,
+     * the caller must close the statement of the returned result set.
+     *
+     * <p>The fetch size lets drivers such as PostgreSQL read the rows incrementally
+     * instead of loading the whole result into memory, PostgreSQL only does it
+     * when the connection is not in auto-commit mode.</p>
+     */
+    default ResultSet executeQueryAsCursor(
+            Connection con,
+            String sql,
+            List<Object> variables,
+            int fetchSize
+    ) {
+        PreparedStatement stmt = null;
+        try {
+            stmt = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            DefaultExecutor.setParameters(stmt, variables);
+            stmt.setFetchSize(fetchSize);
+            return stmt.executeQuery();
+        } catch (SQLException ex) {
+            if (stmt != null) {
+                try {
+                    stmt.close();
+                } catch (SQLException closeEx) {
+                    ex.addSuppressed(closeEx);
+                }
+            }
+            throw new ExecutionException(
+                    "Cannot execute SQL statement: " +
+                            sql +
+                            ", variables: " +
+                            variables,
+                    ex
+            );
+        }
+    }
 }
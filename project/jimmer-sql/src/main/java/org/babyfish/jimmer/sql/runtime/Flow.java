@@ -0,0 +1,37 @@
+package org.babyfish.jimmer.sql.runtime;
+
+/**
+ * Reactive streams interfaces with the same contract as {@code java.util.concurrent.Flow},
+ * which is not available in Java 8.
+ *
+ * <p>Each interface maps one-to-one to its counterpart of {@code java.util.concurrent.Flow}
+ * and {@code org.reactivestreams}, so that adapting them only forwards method calls.</p>
+ */
+public final class Flow {
+
+    private Flow() {}
+
+    @FunctionalInterface
+    public interface Publisher<T> {
+
+        void subscribe(Subscriber<? super T> subscriber);
+    }
+
+    public interface Subscriber<T> {
+
+        void onSubscribe(Subscription subscription);
+
+        void onNext(T item);
+
+        void onError(Throwable throwable);
+
+        void onComplete();
+    }
+
+    public interface Subscription {
+
+        void request(long n);
+
+        void cancel();
+    }
+}
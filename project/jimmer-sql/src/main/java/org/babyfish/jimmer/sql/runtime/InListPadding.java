@@ -0,0 +1,59 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import java.util.Arrays;
+
+/**
+ * Rounds the count of variables in the list of in predicate up to a bucket,
+ * the last value is repeated for the padded variables.
+ *
+ * <p>Lists of different sizes in the same bucket share the same SQL,
+ * so that the statement caches of driver and database are not defeated by
+ * queries such as batch loading whose lists have many sizes.</p>
+ */
+@FunctionalInterface
+public interface InListPadding {
+
+    /**
+     * @param size The count of values, it is greater than 0
+     * @return The padded count, it cannot be less than size
+     */
+    int pad(int size);
+
+    /**
+     * Pads the list to the nearest power of two
+     */
+    static InListPadding powersOfTwo() {
+        return size -> {
+            int highest = Integer.highestOneBit(size);
+            if (highest == size || highest == 1 << 30) {
+                return size;
+            }
+            return highest << 1;
+        };
+    }
+
+    /**
+     * Pads the list to the nearest step, lists longer than the last step
+     * are padded to the multiple of the last step.
+     */
+    static InListPadding steps(int ... steps) {
+        if (steps.length == 0) {
+            throw new IllegalArgumentException("steps cannot be empty");
+        }
+        int[] sortedSteps = steps.clone();
+        Arrays.sort(sortedSteps);
+        if (sortedSteps[0] < 1) {
+            throw new IllegalArgumentException("step cannot be less than 1");
+        }
+        int lastStep = sortedSteps[sortedSteps.length - 1];
+        return size -> {
+            for (int step : sortedSteps) {
+                if (step >= size) {
+                    return step;
+                }
+            }
+            long padded = (size + lastStep - 1L) / lastStep * lastStep;
+            return padded > Integer.MAX_VALUE ? size : (int) padded;
+        };
+    }
+}
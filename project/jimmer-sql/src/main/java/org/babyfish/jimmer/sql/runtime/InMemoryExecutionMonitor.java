@@ -0,0 +1,307 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import org.babyfish.jimmer.meta.ImmutableProp;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Execution monitor which aggregates the metrics of statements
+ * by purpose, property and SQL fingerprint in memory.
+ *
+ * <p>Counts and totals cover all executions since creation or the last {@link #clear()},
+ * percentiles are calculated from the most recent executions of each shape,
+ * their count is limited by the sample size.</p>
+ */
+public class InMemoryExecutionMonitor implements ExecutionMonitor {
+
+    private static final int DEFAULT_SAMPLE_SIZE = 1024;
+
+    private final int sampleSize;
+
+    private final ConcurrentMap<Key, Aggregator> aggregatorMap = new ConcurrentHashMap<>();
+
+    public InMemoryExecutionMonitor() {
+        this(DEFAULT_SAMPLE_SIZE);
+    }
+
+    public InMemoryExecutionMonitor(int sampleSize) {
+        if (sampleSize < 1) {
+            throw new IllegalArgumentException("sampleSize cannot be less than 1");
+        }
+        this.sampleSize = sampleSize;
+    }
+
+    @Override
+    public void onExecuted(StatementMetrics metrics) {
+        Key key = new Key(metrics.getPurpose(), metrics.getProp(), metrics.getFingerprint());
+        aggregatorMap
+                .computeIfAbsent(key, it -> new Aggregator(sampleSize))
+                .add(metrics);
+    }
+
+    /**
+     * Returns the statistics of all statement shapes, ordered by total time descending.
+     */
+    public List<Statistics> getStatistics() {
+        List<Statistics> list = new ArrayList<>(aggregatorMap.size());
+        for (Map.Entry<Key, Aggregator> e : aggregatorMap.entrySet()) {
+            list.add(e.getValue().statistics(e.getKey()));
+        }
+        list.sort(Comparator.comparingLong(Statistics::getTotalNanos).reversed());
+        return list;
+    }
+
+    public void clear() {
+        aggregatorMap.clear();
+    }
+
+    public static class Statistics {
+
+        private final ExecutionPurpose purpose;
+
+        private final ImmutableProp prop;
+
+        private final String fingerprint;
+
+        private final long count;
+
+        private final long failedCount;
+
+        private final long rowCount;
+
+        private final long buildNanos;
+
+        private final long bindNanos;
+
+        private final long executeNanos;
+
+        private final long mappingNanos;
+
+        private final long fetchNanos;
+
+        private final long maxNanos;
+
+        private final long[] sortedSamples;
+
+        Statistics(
+                ExecutionPurpose purpose,
+                ImmutableProp prop,
+                String fingerprint,
+                long count,
+                long failedCount,
+                long rowCount,
+                long buildNanos,
+                long bindNanos,
+                long executeNanos,
+                long mappingNanos,
+                long fetchNanos,
+                long maxNanos,
+                long[] sortedSamples
+        ) {
+            this.purpose = purpose;
+            this.prop = prop;
+            this.fingerprint = fingerprint;
+            this.count = count;
+            this.failedCount = failedCount;
+            this.rowCount = rowCount;
+            this.buildNanos = buildNanos;
+            this.bindNanos = bindNanos;
+            this.executeNanos = executeNanos;
+            this.mappingNanos = mappingNanos;
+            this.fetchNanos = fetchNanos;
+            this.maxNanos = maxNanos;
+            this.sortedSamples = sortedSamples;
+        }
+
+        public ExecutionPurpose getPurpose() {
+            return purpose;
+        }
+
+        public ImmutableProp getProp() {
+            return prop;
+        }
+
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * The count of statements which are included by {@link #getCount()} but failed
+         */
+        public long getFailedCount() {
+            return failedCount;
+        }
+
+        /**
+         * The sum of known row counts
+         */
+        public long getRowCount() {
+            return rowCount;
+        }
+
+        public long getBuildNanos() {
+            return buildNanos;
+        }
+
+        public long getBindNanos() {
+            return bindNanos;
+        }
+
+        public long getExecuteNanos() {
+            return executeNanos;
+        }
+
+        public long getMappingNanos() {
+            return mappingNanos;
+        }
+
+        public long getFetchNanos() {
+            return fetchNanos;
+        }
+
+        public long getTotalNanos() {
+            return buildNanos + bindNanos + executeNanos + mappingNanos + fetchNanos;
+        }
+
+        public long getMeanNanos() {
+            return count == 0 ? 0 : getTotalNanos() / count;
+        }
+
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        /**
+         * Returns the total time of statement at the percentile by nearest-rank method
+         *
+         * @param percentile Between 0 (exclusive) and 100 (inclusive), for example, 99
+         */
+        public long getPercentileNanos(double percentile) {
+            if (percentile <= 0 || percentile > 100) {
+                throw new IllegalArgumentException("percentile must be in (0, 100]");
+            }
+            if (sortedSamples.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100 * sortedSamples.length);
+            return sortedSamples[Math.max(rank, 1) - 1];
+        }
+
+        @Override
+        public String toString() {
+            return "Statistics{" +
+                    "purpose=" + purpose +
+                    ", prop=" + prop +
+                    ", fingerprint='" + fingerprint + '\'' +
+                    ", count=" + count +
+                    ", failedCount=" + failedCount +
+                    ", rowCount=" + rowCount +
+                    ", totalNanos=" + getTotalNanos() +
+                    ", p50Nanos=" + getPercentileNanos(50) +
+                    ", p99Nanos=" + getPercentileNanos(99) +
+                    ", maxNanos=" + maxNanos +
+                    '}';
+        }
+    }
+
+    private static class Key {
+
+        final ExecutionPurpose purpose;
+
+        final ImmutableProp prop;
+
+        final String fingerprint;
+
+        Key(ExecutionPurpose purpose, ImmutableProp prop, String fingerprint) {
+            this.purpose = purpose;
+            this.prop = prop;
+            this.fingerprint = fingerprint;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(purpose, prop, fingerprint);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Key key = (Key) o;
+            return purpose == key.purpose &&
+                    Objects.equals(prop, key.prop) &&
+                    fingerprint.equals(key.fingerprint);
+        }
+    }
+
+    private static class Aggregator {
+
+        private final long[] samples;
+
+        private long count;
+
+        private long failedCount;
+
+        private long rowCount;
+
+        private long buildNanos;
+
+        private long bindNanos;
+
+        private long executeNanos;
+
+        private long mappingNanos;
+
+        private long fetchNanos;
+
+        private long maxNanos;
+
+        Aggregator(int sampleSize) {
+            this.samples = new long[sampleSize];
+        }
+
+        synchronized void add(StatementMetrics metrics) {
+            long totalNanos = metrics.getTotalNanos();
+            samples[(int) (count % samples.length)] = totalNanos;
+            count++;
+            if (metrics.isFailed()) {
+                failedCount++;
+            }
+            if (metrics.getRowCount() > 0) {
+                rowCount += metrics.getRowCount();
+            }
+            buildNanos += metrics.getBuildNanos();
+            bindNanos += metrics.getBindNanos();
+            executeNanos += metrics.getExecuteNanos();
+            mappingNanos += metrics.getMappingNanos();
+            fetchNanos += metrics.getFetchNanos();
+            maxNanos = Math.max(maxNanos, totalNanos);
+        }
+
+        synchronized Statistics statistics(Key key) {
+            long[] sortedSamples = Arrays.copyOf(samples, (int) Math.min(count, samples.length));
+            Arrays.sort(sortedSamples);
+            return new Statistics(
+                    key.purpose,
+                    key.prop,
+                    key.fingerprint,
+                    count,
+                    failedCount,
+                    rowCount,
+                    buildNanos,
+                    bindNanos,
+                    executeNanos,
+                    mappingNanos,
+                    fetchNanos,
+                    maxNanos,
+                    sortedSamples
+            );
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+
+/**
+ * Decorator of the configured executor which reports the metrics
+ * of each statement to the execution monitor.
+ */
+class MonitoringExecutor implements Executor {
+
+    private final Executor raw;
+
+    private final ExecutionMonitor monitor;
+
+    private MonitoringExecutor(Executor raw, ExecutionMonitor monitor) {
+        this.raw = raw;
+        this.monitor = monitor;
+    }
+
+    static Executor wrap(Executor executor, ExecutionMonitor monitor) {
+        if (monitor == null) {
+            return executor;
+        }
+        if (executor instanceof MonitoringExecutor) {
+            MonitoringExecutor monitoringExecutor = (MonitoringExecutor) executor;
+            if (monitoringExecutor.monitor == monitor) {
+                return executor;
+            }
+            executor = monitoringExecutor.raw;
+        }
+        return new MonitoringExecutor(executor, monitor);
+    }
+
+    @Override
+    public <R> R execute(
+            Connection con,
+            String sql,
+            List<Object> variables,
+            StatementFactory statementFactory,
+            SqlFunction<PreparedStatement, R> block
+    ) {
+        ExecutionMonitors.Recorder recorder =
+                ExecutionMonitors.begin(monitor, sql, variables, 1, ExecutionMonitors.buildNanos(variables));
+        R result;
+        try {
+            result = raw.execute(con, sql, variables, statementFactory, stmt -> {
+                recorder.blockStarted();
+                return block.apply(stmt);
+            });
+        } catch (RuntimeException | Error ex) {
+            recorder.failed();
+            throw ex;
+        }
+        recorder.executed(result instanceof Integer ? (Integer) result : -1);
+        return result;
+    }
+
+    @Override
+    public int[] executeBatch(
+            Connection con,
+            String sql,
+            List<List<Object>> variablesList,
+            StatementFactory statementFactory
+    ) {
+        ExecutionMonitors.Recorder recorder =
+                ExecutionMonitors.begin(monitor, sql, null, variablesList.size(), buildNanos(variablesList));
+        int[] rowCounts;
+        try {
+            rowCounts = raw.executeBatch(con, sql, variablesList, statementFactory);
+        } catch (RuntimeException | Error ex) {
+            recorder.failed();
+            throw ex;
+        }
+        int sum = 0;
+        for (int rowCount : rowCounts) {
+            if (rowCount > 0) {
+                sum += rowCount;
+            }
+        }
+        recorder.executed(sum);
+        return rowCounts;
+    }
+
+    @Override
+    public List<Object> executeBatchAndGetGeneratedKeys(
+            Connection con,
+            String sql,
+            List<List<Object>> variablesList
+    ) {
+        ExecutionMonitors.Recorder recorder =
+                ExecutionMonitors.begin(monitor, sql, null, variablesList.size(), buildNanos(variablesList));
+        List<Object> generatedKeys;
+        try {
+            generatedKeys = raw.executeBatchAndGetGeneratedKeys(con, sql, variablesList);
+        } catch (RuntimeException | Error ex) {
+            recorder.failed();
+            throw ex;
+        }
+        recorder.executed(generatedKeys.size());
+        return generatedKeys;
+    }
+
+    /**
+     * Only the time of opening the cursor is measured,
+     * rows are read after this method returns.
+     */
+    @Override
+    public ResultSet executeQueryAsCursor(
+            Connection con,
+            String sql,
+            List<Object> variables,
+            int fetchSize
+    ) {
+        ExecutionMonitors.Recorder recorder =
+                ExecutionMonitors.begin(monitor, sql, variables, 1, ExecutionMonitors.buildNanos(variables));
+        ResultSet resultSet;
+        try {
+            resultSet = raw.executeQueryAsCursor(con, sql, variables, fetchSize);
+        } catch (RuntimeException | Error ex) {
+            recorder.failed();
+            throw ex;
+        }
+        recorder.executed(-1);
+        return resultSet;
+    }
+
+    private static long buildNanos(List<List<Object>> variablesList) {
+        long buildNanos = 0;
+        for (List<Object> variables : variablesList) {
+            buildNanos += ExecutionMonitors.buildNanos(variables);
+        }
+        return buildNanos;
+    }
+}
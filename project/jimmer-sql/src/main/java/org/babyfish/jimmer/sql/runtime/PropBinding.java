@@ -0,0 +1,128 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
+
+/**
+ * How the value of a column property is bound to statements and read from result sets,
+ * it is resolved once for each property by {@link PropBindings}.
+ *
+ * <p>For reference property based on foreign key, the value is the id of the target object.</p>
+ */
+public final class PropBinding {
+
+    private final ImmutableProp prop;
+
+    private final Class<?> scalarType;
+
+    private final ScalarProvider<Object, Object> scalarProvider;
+
+    private final Class<?> boxedScalarType;
+
+    private final Class<?> sqlType;
+
+    private final DbNull dbNull;
+
+    PropBinding(ImmutableProp prop, ScalarProvider<Object, Object> scalarProvider) {
+        ImmutableType targetType = prop.getTargetType();
+        this.prop = prop;
+        this.scalarType = targetType != null ?
+                targetType.getIdProp().getElementClass() :
+                prop.getElementClass();
+        this.boxedScalarType = boxedType(scalarType);
+        this.scalarProvider = scalarProvider;
+        this.sqlType = scalarProvider != null ? scalarProvider.getSqlType() : scalarType;
+        this.dbNull = new DbNull(sqlType);
+    }
+
+    public ImmutableProp getProp() {
+        return prop;
+    }
+
+    public Class<?> getScalarType() {
+        return scalarType;
+    }
+
+    /**
+     * @return The scalar provider of {@link #getScalarType()}, or null if it is not required
+     */
+    public ScalarProvider<Object, Object> getScalarProvider() {
+        return scalarProvider;
+    }
+
+    public Class<?> getSqlType() {
+        return sqlType;
+    }
+
+    public int getJdbcType() {
+        return dbNull.getJdbcType();
+    }
+
+    /**
+     * @return The shared null variable of this property
+     */
+    public DbNull getDbNull() {
+        return dbNull;
+    }
+
+    /**
+     * @return Whether the runtime type of the non-null value is the type of this binding,
+     * otherwise, the value should be converted by the scalar provider of its runtime type
+     */
+    public boolean accepts(Object value) {
+        return value.getClass() == boxedScalarType;
+    }
+
+    public Object toSql(Object scalarValue) {
+        if (scalarValue == null || scalarProvider == null) {
+            return scalarValue;
+        }
+        return scalarProvider.toSql(scalarValue);
+    }
+
+    public Object toScalar(Object sqlValue) {
+        if (sqlValue == null || scalarProvider == null) {
+            return sqlValue;
+        }
+        return scalarProvider.toScalar(sqlValue);
+    }
+
+    private static Class<?> boxedType(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        }
+        if (type == int.class) {
+            return Integer.class;
+        }
+        if (type == long.class) {
+            return Long.class;
+        }
+        if (type == boolean.class) {
+            return Boolean.class;
+        }
+        if (type == double.class) {
+            return Double.class;
+        }
+        if (type == float.class) {
+            return Float.class;
+        }
+        if (type == short.class) {
+            return Short.class;
+        }
+        if (type == byte.class) {
+            return Byte.class;
+        }
+        if (type == char.class) {
+            return Character.class;
+        }
+        return type;
+    }
+
+    @Override
+    public String toString() {
+        return "PropBinding{" +
+                "prop=" + prop +
+                ", sqlType=" + sqlType.getName() +
+                '}';
+    }
+}
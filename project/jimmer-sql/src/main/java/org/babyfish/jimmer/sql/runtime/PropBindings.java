@@ -0,0 +1,65 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.meta.Column;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * The {@link PropBinding}s of a sql client, they are resolved
+ * for all the column properties of a type when any one of them is required
+ * and then found by property id.
+ */
+public final class PropBindings {
+
+    private final Function<Class<?>, ScalarProvider<?, ?>> scalarProviderResolver;
+
+    private final ConcurrentMap<ImmutableType, PropBinding[]> bindingMap = new ConcurrentHashMap<>();
+
+    public PropBindings(Function<Class<?>, ScalarProvider<?, ?>> scalarProviderResolver) {
+        this.scalarProviderResolver = scalarProviderResolver;
+    }
+
+    /**
+     * @param prop Scalar property or reference property based on foreign key
+     */
+    public PropBinding get(ImmutableProp prop) {
+        PropBinding[] bindings = bindingMap.get(prop.getDeclaringType());
+        if (bindings == null) {
+            bindings = bindingMap.computeIfAbsent(prop.getDeclaringType(), this::createBindings);
+        }
+        int id = prop.getId();
+        PropBinding binding = id < bindings.length ? bindings[id] : null;
+        if (binding == null) {
+            throw new IllegalArgumentException(
+                    "The property \"" + prop + "\" is not based on column"
+            );
+        }
+        return binding;
+    }
+
+    @SuppressWarnings("unchecked")
+    private PropBinding[] createBindings(ImmutableType type) {
+        int maxId = 0;
+        for (ImmutableProp prop : type.getProps().values()) {
+            maxId = Math.max(maxId, prop.getId());
+        }
+        PropBinding[] bindings = new PropBinding[maxId + 1];
+        for (ImmutableProp prop : type.getProps().values()) {
+            if (prop.getStorage() instanceof Column) {
+                ImmutableType targetType = prop.getTargetType();
+                Class<?> scalarType = targetType != null ?
+                        targetType.getIdProp().getElementClass() :
+                        prop.getElementClass();
+                bindings[prop.getId()] = new PropBinding(
+                        prop,
+                        (ScalarProvider<Object, Object>) scalarProviderResolver.apply(scalarType)
+                );
+            }
+        }
+        return bindings;
+    }
+}
@@ -0,0 +1,108 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.Triggers;
+import org.babyfish.jimmer.sql.ast.tuple.Tuple2;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Cache of the rows of root queries, the key is the SQL and variables of the query.
+ *
+ * <p>Only the queries which are not executed for update and do not fetch
+ * associations are cached, because their rows are fully decided by the SQL.
+ * The queries executed by the connection of caller are neither cached nor served
+ * from cache, nor the queries executed by a connection which is not in auto-commit mode,
+ * because the rows read in a transaction may be uncommitted or rolled back later.</p>
+ *
+ * <p>A result expires after the time to live, and it is evicted when the
+ * {@link Triggers} of the sql client report a change of any table read by the query,
+ * including the changes reported by
+ * {@link org.babyfish.jimmer.sql.cache.Caches#invalidateByBinLog(String, com.fasterxml.jackson.databind.JsonNode, com.fasterxml.jackson.databind.JsonNode)}.
+ * The binlog events of the tables which are not managed by caches
+ * should be forwarded to {@link #evictByTableName(String)}.</p>
+ *
+ * <p>The mutations executed by the sql client itself evict the tables written by them,
+ * but the changes made by other processes or by native SQL are invisible to this cache
+ * unless the binlog or database triggers are wired as described above.</p>
+ *
+ * <p>A mutation evicts the written tables when it is executed, not when its transaction
+ * is committed. If the mutation is executed in a transaction, a concurrent query can
+ * cache the old rows again before the commit, and they are returned until they expire,
+ * so the time to live bounds the staleness of transactional mutations unless the
+ * binlog or database triggers report the committed changes.</p>
+ */
+public final class QueryResultCache {
+
+    private final TableDependentCache<List<?>> cache;
+
+    public QueryResultCache(long ttlMillis, int maxSize) {
+        this.cache = new TableDependentCache<>(ttlMillis, maxSize);
+    }
+
+    public long getTtlMillis() {
+        return cache.getTtlMillis();
+    }
+
+    public int getMaxSize() {
+        return cache.getMaxSize();
+    }
+
+    /**
+     * @return The cached unmodifiable rows, or null if they are not cached or have expired
+     */
+    @SuppressWarnings("unchecked")
+    public <R> List<R> get(Tuple2<String, List<Object>> sqlResult) {
+        return (List<R>) cache.get(sqlResult);
+    }
+
+    /**
+     * Version which is changed by each eviction, it must be read before the query is executed
+     * and be passed to {@link #put(Tuple2, List, long, Collection, Collection, Triggers)}
+     */
+    public long getVersion() {
+        return cache.getVersion();
+    }
+
+    /**
+     * Caches the rows of a query, it is ignored if any result has been evicted
+     * since the version was read, because the query may have read the evicted data.
+     */
+    public void put(
+            Tuple2<String, List<Object>> sqlResult,
+            List<?> rows,
+            long version,
+            Collection<ImmutableType> types,
+            Collection<ImmutableProp> middleTableProps,
+            Triggers triggers
+    ) {
+        cache.put(
+                sqlResult,
+                Collections.unmodifiableList(new ArrayList<>(rows)),
+                version,
+                types,
+                middleTableProps,
+                triggers
+        );
+    }
+
+    public void evict(ImmutableType type) {
+        cache.evict(type);
+    }
+
+    public void evict(ImmutableProp middleTableProp) {
+        cache.evict(middleTableProp);
+    }
+
+    public void evictByTableName(String tableName) {
+        cache.evictByTableName(tableName);
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+}
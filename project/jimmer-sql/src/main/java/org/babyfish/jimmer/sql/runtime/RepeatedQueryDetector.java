@@ -0,0 +1,237 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Execution monitor which detects the statement shapes executed
+ * too many times by one unit of work, such as {@code Entities.findById}
+ * called in a loop or loaders whose batch size is 1.
+ *
+ * <p>A unit of work is the scope opened by {@link #begin()}, for example, a web request;
+ * outside of it, each fetching of the associations of query result is a unit of work.
+ * Statements executed outside of any unit of work are ignored.</p>
+ *
+ * <p>A shape is reported once when its unit of work is finished,
+ * with the stack trace of the execution which exceeded the threshold.</p>
+ */
+public class RepeatedQueryDetector implements ExecutionMonitor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RepeatedQueryDetector.class);
+
+    private final int threshold;
+
+    private final Consumer<Report> handler;
+
+    private final ThreadLocal<Unit> unitLocal = new ThreadLocal<>();
+
+    /**
+     * Creates a detector which logs the reports as warnings
+     */
+    public RepeatedQueryDetector(int threshold) {
+        this(threshold, null);
+    }
+
+    public RepeatedQueryDetector(int threshold, Consumer<Report> handler) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("threshold cannot be less than 1");
+        }
+        this.threshold = threshold;
+        this.handler = handler != null ? handler : RepeatedQueryDetector::log;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Begins a unit of work on current thread, which is finished when the returned scope is closed
+     */
+    public Scope begin() {
+        onUnitOfWorkStarted();
+        return new Scope();
+    }
+
+    @Override
+    public void onUnitOfWorkStarted() {
+        Unit unit = unitLocal.get();
+        if (unit != null) {
+            unit.depth++;
+        } else {
+            unitLocal.set(new Unit());
+        }
+    }
+
+    @Override
+    public void onUnitOfWorkFinished() {
+        Unit unit = unitLocal.get();
+        if (unit == null) {
+            return;
+        }
+        if (--unit.depth >= 0) {
+            return;
+        }
+        unitLocal.remove();
+        for (Counter counter : unit.counterMap.values()) {
+            if (counter.stackTrace != null) {
+                handler.accept(
+                        new Report(
+                                counter.metrics.getPurpose(),
+                                counter.metrics.getProp(),
+                                counter.metrics.getFingerprint(),
+                                counter.count,
+                                counter.variablesSet.size(),
+                                counter.stackTrace
+                        )
+                );
+            }
+        }
+    }
+
+    @Override
+    public void onExecuted(StatementMetrics metrics) {
+        Unit unit = unitLocal.get();
+        if (unit == null) {
+            return;
+        }
+        Counter counter = unit.counterMap.computeIfAbsent(
+                metrics.getFingerprint(),
+                it -> new Counter(metrics)
+        );
+        counter.count++;
+        if (metrics.getVariables() != null) {
+            counter.variablesSet.add(metrics.getVariables());
+        }
+        if (counter.count == threshold + 1) {
+            counter.stackTrace = Thread.currentThread().getStackTrace();
+        }
+    }
+
+    private static void log(Report report) {
+        Throwable location = new Throwable("Location of repeated statement");
+        location.setStackTrace(report.getStackTrace());
+        LOGGER.warn(report.toString(), location);
+    }
+
+    public class Scope implements AutoCloseable {
+
+        private boolean closed;
+
+        private Scope() {}
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                onUnitOfWorkFinished();
+            }
+        }
+    }
+
+    public static class Report {
+
+        private final ExecutionPurpose purpose;
+
+        private final ImmutableProp prop;
+
+        private final String fingerprint;
+
+        private final int count;
+
+        private final int distinctVariablesCount;
+
+        private final StackTraceElement[] stackTrace;
+
+        Report(
+                ExecutionPurpose purpose,
+                ImmutableProp prop,
+                String fingerprint,
+                int count,
+                int distinctVariablesCount,
+                StackTraceElement[] stackTrace
+        ) {
+            this.purpose = purpose;
+            this.prop = prop;
+            this.fingerprint = fingerprint;
+            this.count = count;
+            this.distinctVariablesCount = distinctVariablesCount;
+            this.stackTrace = stackTrace;
+        }
+
+        /**
+         * The purpose of the first execution of the shape
+         */
+        public ExecutionPurpose getPurpose() {
+            return purpose;
+        }
+
+        /**
+         * The property loaded by the first execution of the shape if it is executed by fetcher or loader
+         */
+        public ImmutableProp getProp() {
+            return prop;
+        }
+
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * The count of different variables, it is less than {@link #getCount()}
+         * if some statements are executed with the same variables
+         */
+        public int getDistinctVariablesCount() {
+            return distinctVariablesCount;
+        }
+
+        /**
+         * The stack trace of the execution which exceeded the threshold
+         */
+        public StackTraceElement[] getStackTrace() {
+            return stackTrace;
+        }
+
+        @Override
+        public String toString() {
+            return "Statement is executed " +
+                    count +
+                    " times(" +
+                    distinctVariablesCount +
+                    " different variables) by one unit of work, purpose: " +
+                    purpose +
+                    (prop != null ? ", prop: " + prop : "") +
+                    ", sql: " +
+                    fingerprint;
+        }
+    }
+
+    private static class Unit {
+
+        int depth;
+
+        final Map<String, Counter> counterMap = new LinkedHashMap<>();
+    }
+
+    private static class Counter {
+
+        final StatementMetrics metrics;
+
+        final Set<List<Object>> variablesSet = new HashSet<>();
+
+        int count;
+
+        StackTraceElement[] stackTrace;
+
+        Counter(StatementMetrics metrics) {
+            this.metrics = metrics;
+        }
+    }
+}
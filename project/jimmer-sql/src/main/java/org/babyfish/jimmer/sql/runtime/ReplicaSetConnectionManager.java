@@ -0,0 +1,333 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Connection manager which routes the reads across several replicas,
+ * it is designed to be used as the slave connection manager of sql client.
+ *
+ * <p>A replica is ejected when it fails {@link Builder#setFailureThreshold(int)} times
+ * continuously, it is re-admitted after {@link Builder#setEjectionMillis(long)}
+ * and ejected again by its next failure. If no replica is available,
+ * the master connection manager is used.</p>
+ *
+ * <p>A failure is an exception raised before the connection is given to the block,
+ * or a connection exception (SQL state "08xxx") raised by the block. The block is retried
+ * on another replica or the master only if it has not been executed.</p>
+ */
+public final class ReplicaSetConnectionManager implements ConnectionManager {
+
+    private static final double EWMA_DECAY = 0.3;
+
+    private final ConnectionManager master;
+
+    private final List<Replica> replicas;
+
+    private final Strategy strategy;
+
+    private final int failureThreshold;
+
+    private final long ejectionNanos;
+
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    private ReplicaSetConnectionManager(Builder builder) {
+        this.master = builder.master;
+        this.replicas = Collections.unmodifiableList(new ArrayList<>(builder.replicas));
+        this.strategy = builder.strategy;
+        this.failureThreshold = builder.failureThreshold;
+        this.ejectionNanos = builder.ejectionMillis * 1_000_000L;
+    }
+
+    public static Builder newBuilder(ConnectionManager master) {
+        return new Builder(master);
+    }
+
+    public ConnectionManager getMaster() {
+        return master;
+    }
+
+    public Strategy getStrategy() {
+        return strategy;
+    }
+
+    public int getReplicaCount() {
+        return replicas.size();
+    }
+
+    /**
+     * @return Whether the replica specified by the index
+     * of {@link Builder#addReplica(ConnectionManager, int)} is ejected now.
+     */
+    public boolean isEjected(int index) {
+        return !replicas.get(index).isAvailable(System.nanoTime());
+    }
+
+    @Override
+    public <R> R execute(Function<Connection, R> block) {
+        List<Replica> tried = new ArrayList<>();
+        Replica replica;
+        while ((replica = select(tried)) != null) {
+            tried.add(replica);
+            boolean[] executed = new boolean[1];
+            long start = System.nanoTime();
+            replica.outstandingCount.incrementAndGet();
+            try {
+                R result = replica.connectionManager.execute(con -> {
+                    executed[0] = true;
+                    return block.apply(con);
+                });
+                replica.succeed(System.nanoTime() - start);
+                return result;
+            } catch (RuntimeException | Error ex) {
+                if (!executed[0] || isConnectionFailure(ex)) {
+                    replica.fail(System.nanoTime(), failureThreshold, ejectionNanos);
+                } else {
+                    replica.succeed(System.nanoTime() - start);
+                }
+                if (executed[0]) {
+                    throw ex;
+                }
+            } finally {
+                replica.outstandingCount.decrementAndGet();
+            }
+        }
+        return master.execute(block);
+    }
+
+    @Override
+    public Connection openConnection() {
+        List<Replica> tried = new ArrayList<>();
+        Replica replica;
+        while ((replica = select(tried)) != null) {
+            tried.add(replica);
+            long start = System.nanoTime();
+            try {
+                Connection con = replica.connectionManager.openConnection();
+                replica.succeed(System.nanoTime() - start);
+                return con;
+            } catch (RuntimeException ex) {
+                replica.fail(System.nanoTime(), failureThreshold, ejectionNanos);
+            }
+        }
+        return master.openConnection();
+    }
+
+    private Replica select(List<Replica> excluded) {
+        long now = System.nanoTime();
+        List<Replica> candidates = new ArrayList<>(replicas.size());
+        for (Replica replica : replicas) {
+            if (replica.isAvailable(now) && !excluded.contains(replica)) {
+                candidates.add(replica);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        int offset = Math.floorMod(sequence.getAndIncrement(), candidates.size());
+        switch (strategy) {
+            case WEIGHTED:
+                return selectWeighted(candidates);
+            case LEAST_OUTSTANDING_REQUESTS:
+                return selectMin(candidates, offset, r -> (double) r.outstandingCount.get());
+            case LATENCY_EWMA:
+                return selectMin(candidates, offset, r -> r.ewmaNanos);
+            default:
+                return candidates.get(offset);
+        }
+    }
+
+    /**
+     * Smooth weighted round-robin, replicas are interleaved by their weights
+     */
+    private synchronized Replica selectWeighted(List<Replica> candidates) {
+        int totalWeight = 0;
+        Replica selected = null;
+        for (Replica replica : candidates) {
+            replica.currentWeight += replica.weight;
+            totalWeight += replica.weight;
+            if (selected == null || replica.currentWeight > selected.currentWeight) {
+                selected = replica;
+            }
+        }
+        selected.currentWeight -= totalWeight;
+        return selected;
+    }
+
+    private static Replica selectMin(
+            List<Replica> candidates,
+            int offset,
+            Function<Replica, Double> metric
+    ) {
+        Replica selected = null;
+        double min = 0;
+        int size = candidates.size();
+        for (int i = 0; i < size; i++) {
+            Replica replica = candidates.get((offset + i) % size);
+            double value = metric.apply(replica);
+            if (selected == null || value < min) {
+                selected = replica;
+                min = value;
+            }
+        }
+        return selected;
+    }
+
+    private static boolean isConnectionFailure(Throwable ex) {
+        for (Throwable t = ex; t != null; t = t.getCause()) {
+            if (t instanceof SQLException) {
+                String state = ((SQLException) t).getSQLState();
+                if (state != null && state.startsWith("08")) {
+                    return true;
+                }
+            }
+            if (t.getCause() == t) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    public enum Strategy {
+
+        ROUND_ROBIN,
+
+        /**
+         * Round-robin in proportion to the weights of replicas
+         */
+        WEIGHTED,
+
+        /**
+         * The replica with the fewest executing blocks
+         */
+        LEAST_OUTSTANDING_REQUESTS,
+
+        /**
+         * The replica with the lowest exponentially weighted moving average of latency,
+         * replicas which have not been used are preferred.
+         */
+        LATENCY_EWMA
+    }
+
+    public static class Builder {
+
+        private final ConnectionManager master;
+
+        private final List<Replica> replicas = new ArrayList<>();
+
+        private Strategy strategy = Strategy.ROUND_ROBIN;
+
+        private int failureThreshold = 3;
+
+        private long ejectionMillis = 30_000L;
+
+        private Builder(ConnectionManager master) {
+            if (master == null) {
+                throw new IllegalArgumentException("master cannot be null");
+            }
+            this.master = master;
+        }
+
+        public Builder addReplica(ConnectionManager replica) {
+            return addReplica(replica, 1);
+        }
+
+        public Builder addReplica(ConnectionManager replica, int weight) {
+            if (replica == null) {
+                throw new IllegalArgumentException("replica cannot be null");
+            }
+            if (weight < 1) {
+                throw new IllegalArgumentException("weight cannot be less than 1");
+            }
+            replicas.add(new Replica(replica, weight));
+            return this;
+        }
+
+        public Builder setStrategy(Strategy strategy) {
+            if (strategy == null) {
+                throw new IllegalArgumentException("strategy cannot be null");
+            }
+            this.strategy = strategy;
+            return this;
+        }
+
+        /**
+         * Count of continuous failures which ejects a replica, default value is 3
+         */
+        public Builder setFailureThreshold(int failureThreshold) {
+            if (failureThreshold < 1) {
+                throw new IllegalArgumentException("failureThreshold cannot be less than 1");
+            }
+            this.failureThreshold = failureThreshold;
+            return this;
+        }
+
+        /**
+         * How long an ejected replica is not used, default value is 30 seconds
+         */
+        public Builder setEjectionMillis(long ejectionMillis) {
+            if (ejectionMillis < 0) {
+                throw new IllegalArgumentException("ejectionMillis cannot be less than 0");
+            }
+            this.ejectionMillis = ejectionMillis;
+            return this;
+        }
+
+        public ReplicaSetConnectionManager build() {
+            if (replicas.isEmpty()) {
+                throw new IllegalStateException("No replica is added");
+            }
+            return new ReplicaSetConnectionManager(this);
+        }
+    }
+
+    private static class Replica {
+
+        final ConnectionManager connectionManager;
+
+        final int weight;
+
+        final AtomicInteger outstandingCount = new AtomicInteger();
+
+        // Guarded by ReplicaSetConnectionManager.this
+        int currentWeight;
+
+        volatile double ewmaNanos;
+
+        private int failureCount;
+
+        private long ejectedUntil;
+
+        private boolean ejected;
+
+        Replica(ConnectionManager connectionManager, int weight) {
+            this.connectionManager = connectionManager;
+            this.weight = weight;
+        }
+
+        synchronized boolean isAvailable(long now) {
+            return !ejected || now - ejectedUntil >= 0;
+        }
+
+        synchronized void succeed(long latencyNanos) {
+            failureCount = 0;
+            ejected = false;
+            double ewma = ewmaNanos;
+            ewmaNanos = ewma == 0 ? latencyNanos : ewma + EWMA_DECAY * (latencyNanos - ewma);
+        }
+
+        synchronized void fail(long now, int failureThreshold, long ejectionNanos) {
+            // A re-admitted replica is ejected again by its first failure
+            if (ejected || ++failureCount >= failureThreshold) {
+                ejected = true;
+                ejectedUntil = now + ejectionNanos;
+            }
+        }
+    }
+}
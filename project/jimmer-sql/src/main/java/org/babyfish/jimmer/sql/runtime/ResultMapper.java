@@ -15,22 +15,28 @@ import org.babyfish.jimmer.sql.ast.impl.table.TableWrappers;
 import org.babyfish.jimmer.sql.ast.table.Table;
 import org.babyfish.jimmer.sql.ast.tuple.*;
 import org.babyfish.jimmer.sql.fetcher.Fetcher;
+import org.babyfish.jimmer.sql.fetcher.Field;
 import org.babyfish.jimmer.sql.fetcher.impl.FetcherSelection;
 import org.babyfish.jimmer.sql.meta.Column;
 
+import java.math.BigDecimal;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
+/**
+ * Maps the rows of a result set by a plan compiled before the first row is read,
+ * so that the per-row path neither builds property lists nor looks up scalar providers.
+ */
 class ResultMapper {
 
-    private JSqlClient sqlClient;
+    private final ResultSet resultSet;
 
-    private List<Selection<?>> selections;
-
-    private ResultSet resultSet;
+    private final Reader[] readers;
 
     private int index;
 
@@ -42,191 +48,183 @@ class ResultMapper {
         if (selections.isEmpty() || selections.size() > 9) {
             throw new IllegalArgumentException("selection count must between 1 and 9");
         }
-        this.sqlClient = sqlClient;
-        this.selections = selections;
         this.resultSet = resultSet;
+        Reader[] readers = new Reader[selections.size()];
+        for (int i = 0; i < readers.length; i++) {
+            readers[i] = reader(sqlClient, selections.get(i));
+        }
+        this.readers = readers;
     }
 
     public Object map() throws SQLException {
         index = 1;
-        switch (selections.size()) {
+        Reader[] readers = this.readers;
+        switch (readers.length) {
             case 1:
-                return map(selections.get(0));
+                return readers[0].read(this);
             case 2:
                 return new Tuple2<>(
-                        map(selections.get(0)),
-                        map(selections.get(1))
+                        readers[0].read(this),
+                        readers[1].read(this)
                 );
             case 3:
                 return new Tuple3<>(
-                        map(selections.get(0)),
-                        map(selections.get(1)),
-                        map(selections.get(2))
+                        readers[0].read(this),
+                        readers[1].read(this),
+                        readers[2].read(this)
                 );
             case 4:
                 return new Tuple4<>(
-                        map(selections.get(0)),
-                        map(selections.get(1)),
-                        map(selections.get(2)),
-                        map(selections.get(3))
+                        readers[0].read(this),
+                        readers[1].read(this),
+                        readers[2].read(this),
+                        readers[3].read(this)
                 );
             case 5:
                 return new Tuple5<>(
-                        map(selections.get(0)),
-                        map(selections.get(1)),
-                        map(selections.get(2)),
-                        map(selections.get(3)),
-                        map(selections.get(4))
+                        readers[0].read(this),
+                        readers[1].read(this),
+                        readers[2].read(this),
+                        readers[3].read(this),
+                        readers[4].read(this)
                 );
             case 6:
                 return new Tuple6<>(
-                        map(selections.get(0)),
-                        map(selections.get(1)),
-                        map(selections.get(2)),
-                        map(selections.get(3)),
-                        map(selections.get(4)),
-                        map(selections.get(5))
+                        readers[0].read(this),
+                        readers[1].read(this),
+                        readers[2].read(this),
+                        readers[3].read(this),
+                        readers[4].read(this),
+                        readers[5].read(this)
                 );
             case 7:
                 return new Tuple7<>(
-                        map(selections.get(0)),
-                        map(selections.get(1)),
-                        map(selections.get(2)),
-                        map(selections.get(3)),
-                        map(selections.get(4)),
-                        map(selections.get(5)),
-                        map(selections.get(6))
+                        readers[0].read(this),
+                        readers[1].read(this),
+                        readers[2].read(this),
+                        readers[3].read(this),
+                        readers[4].read(this),
+                        readers[5].read(this),
+                        readers[6].read(this)
                 );
             case 8:
                 return new Tuple8<>(
-                        map(selections.get(0)),
-                        map(selections.get(1)),
-                        map(selections.get(2)),
-                        map(selections.get(3)),
-                        map(selections.get(4)),
-                        map(selections.get(5)),
-                        map(selections.get(6)),
-                        map(selections.get(7))
+                        readers[0].read(this),
+                        readers[1].read(this),
+                        readers[2].read(this),
+                        readers[3].read(this),
+                        readers[4].read(this),
+                        readers[5].read(this),
+                        readers[6].read(this),
+                        readers[7].read(this)
                 );
             case 9:
                 return new Tuple9<>(
-                        map(selections.get(0)),
-                        map(selections.get(1)),
-                        map(selections.get(2)),
-                        map(selections.get(3)),
-                        map(selections.get(4)),
-                        map(selections.get(5)),
-                        map(selections.get(6)),
-                        map(selections.get(7)),
-                        map(selections.get(8))
+                        readers[0].read(this),
+                        readers[1].read(this),
+                        readers[2].read(this),
+                        readers[3].read(this),
+                        readers[4].read(this),
+                        readers[5].read(this),
+                        readers[6].read(this),
+                        readers[7].read(this),
+                        readers[8].read(this)
                 );
             default:
                 throw new AssertionError("Internal bug: selection count must between 1 and 9");
         }
     }
 
-    private Object map(Selection<?> selection) throws SQLException {
+    private static Reader reader(JSqlClient sqlClient, Selection<?> selection) {
         if (selection instanceof TableSelection<?>) {
             ImmutableType immutableType =
                     ((TableSelection<?>)selection).getImmutableType();
             if (immutableType instanceof AssociationType) {
-                return map((AssociationType)immutableType);
+                return new AssociationReader(sqlClient, (AssociationType)immutableType);
             }
-            return map(immutableType, null);
+            return new EntityReader(sqlClient, immutableType, null);
         }
         if (selection instanceof Table<?>) {
             ImmutableType immutableType = TableWrappers
                     .unwrap((Table<?>)selection)
                     .getImmutableType();
             if (immutableType instanceof AssociationType) {
-                return map((AssociationType)immutableType);
+                return new AssociationReader(sqlClient, (AssociationType)immutableType);
             }
-            return map(immutableType, null);
+            return new EntityReader(sqlClient, immutableType, null);
         }
         if (selection instanceof FetcherSelection<?>) {
             Fetcher<?> fetcher = ((FetcherSelection<?>) selection).getFetcher();
-            return map(fetcher.getImmutableType(), fetcher);
+            return new EntityReader(sqlClient, fetcher.getImmutableType(), fetcher);
         }
-        return read(((ExpressionImplementor<?>)selection).getType());
+        return new ColumnReader(sqlClient, ((ExpressionImplementor<?>)selection).getType());
     }
 
-    private Association<?, ?> map(AssociationType associationType) throws SQLException {
+    private interface Reader {
+        Object read(ResultMapper mapper) throws SQLException;
+    }
 
-        ImmutableType sourceType = associationType.getSourceType();
-        ImmutableType targetType = associationType.getTargetType();
-        ImmutableProp sourceIdProp = sourceType.getIdProp();
-        ImmutableProp targetIdProp = targetType.getIdProp();
+    private static class ColumnReader implements Reader {
 
-        Object sourceId = read(sourceIdProp.getElementClass());
-        Object targetId = read(targetIdProp.getElementClass());
+        private final Class<?> type;
 
-        Object source = Internal.produce(sourceType, null, srcDraft -> {
-            ((DraftSpi) srcDraft).__set(sourceIdProp.getId(), sourceId);
-        });
-        Object target = Internal.produce(targetType, null, tgtDraft -> {
-            ((DraftSpi) tgtDraft).__set(targetIdProp.getId(), targetId);
-        });
-        return new Association<>(source, target);
-    }
+        private final ScalarProvider<Object, Object> scalarProvider;
 
-    private Object map(ImmutableType immutableType, Fetcher<?> fetcher) throws SQLException {
-        Object id = read(immutableType.getIdProp().getElementClass());
-        Collection<ImmutableProp> props;
-        if (fetcher != null) {
-            props = fetcher
-                    .getFieldMap()
-                    .values()
-                    .stream()
-                    .map(it -> it.getProp())
-                    .filter(it -> it.getStorage() instanceof Column)
-                    .collect(Collectors.toList());
-        } else {
-            props = immutableType.getSelectableProps().values();
-        }
-        if (id == null) {
-            index += props.size() - 1;
-            return null;
+        private final Class<?> expectedType;
+
+        private final Getter getter;
+
+        // Converter of the last seen value type, the value type of a column hardly ever changes
+        private Class<?> sourceType;
+
+        private Function<Object, Object> converter;
+
+        @SuppressWarnings("unchecked")
+        ColumnReader(JSqlClient sqlClient, Class<?> type) {
+            this(type, sqlClient.getScalarProvider((Class<Object>)type));
         }
-        return Internal.produce(immutableType, null, draft -> {
-            DraftSpi spi = (DraftSpi) draft;
-            spi.__set(immutableType.getIdProp().getId(), id);
-            for (ImmutableProp prop : props) {
-                if (prop.isId()) {
-                    continue;
-                }
-                ImmutableType targetType = prop.getTargetType();
-                if (targetType != null) {
-                    Object targetId = read(targetType.getIdProp().getElementClass());
-                    Object target =
-                            targetId != null ?
-                                    Internal.produce(targetType, null, targetDraft -> {
-                                        DraftSpi targetSpi = (DraftSpi) targetDraft;
-                                        targetSpi.__set(targetType.getIdProp().getId(), targetId);
-                                    }) :
-                                    null;
-                    spi.__set(prop.getId(), target);
-                } else {
-                    spi.__set(prop.getId(), read(prop.getElementClass()));
-                }
+
+        ColumnReader(PropBinding binding) {
+            this(binding.getScalarType(), binding.getScalarProvider());
+        }
+
+        private ColumnReader(Class<?> type, ScalarProvider<Object, Object> scalarProvider) {
+            this.type = type;
+            this.scalarProvider = scalarProvider;
+            this.expectedType = scalarProvider != null ? scalarProvider.getSqlType() : type;
+            this.getter = getter(expectedType);
+        }
+
+        @Override
+        public Object read(ResultMapper mapper) throws SQLException {
+            int index = mapper.index++;
+            Getter getter = this.getter;
+            Object sqlValue;
+            if (getter != null) {
+                sqlValue = getter.get(mapper.resultSet, index);
+            } else {
+                sqlValue = convert(mapper.resultSet.getObject(index), index);
             }
-        });
-    }
+            return scalarProvider != null ? scalarProvider.toScalar(sqlValue) : sqlValue;
+        }
 
-    @SuppressWarnings("unchecked")
-    private Object read(Class<?> type) throws SQLException {
-        Object value = resultSet.getObject(index++);
-        ScalarProvider<Object, Object> scalarProvider =
-                sqlClient.getScalarProvider((Class<Object>)type);
-        Class<?> expectedType = scalarProvider != null ? scalarProvider.getSqlType() : type;
-        Object sqlValue;
-        if (value == null) {
-            sqlValue = null;
-        } else {
-            sqlValue = Converters.tryConvert(value, expectedType);
+        private Object convert(Object value, int index) {
+            if (value == null) {
+                return null;
+            }
+            Class<?> valueType = value.getClass();
+            if (valueType == expectedType) {
+                return value;
+            }
+            if (valueType != sourceType) {
+                converter = Converters.converter(valueType, expectedType);
+                sourceType = valueType;
+            }
+            Object sqlValue = converter.apply(value);
             if (sqlValue == null) {
                 throw new ExecutionException(
                         "Failed the convert the result value at column $" +
-                                (index - 1) +
+                                index +
                                 ", the expected type is '" +
                                 type.getName() +
                                 "', " +
@@ -235,7 +233,190 @@ class ResultMapper {
                                 "'"
                 );
             }
+            return sqlValue;
+        }
+
+        private static Getter getter(Class<?> expectedType) {
+            if (expectedType == long.class || expectedType == Long.class) {
+                return (rs, index) -> {
+                    long value = rs.getLong(index);
+                    return rs.wasNull() ? null : value;
+                };
+            }
+            if (expectedType == int.class || expectedType == Integer.class) {
+                return (rs, index) -> {
+                    int value = rs.getInt(index);
+                    return rs.wasNull() ? null : value;
+                };
+            }
+            if (expectedType == short.class || expectedType == Short.class) {
+                return (rs, index) -> {
+                    short value = rs.getShort(index);
+                    return rs.wasNull() ? null : value;
+                };
+            }
+            if (expectedType == byte.class || expectedType == Byte.class) {
+                return (rs, index) -> {
+                    byte value = rs.getByte(index);
+                    return rs.wasNull() ? null : value;
+                };
+            }
+            if (expectedType == double.class || expectedType == Double.class) {
+                return (rs, index) -> {
+                    double value = rs.getDouble(index);
+                    return rs.wasNull() ? null : value;
+                };
+            }
+            if (expectedType == float.class || expectedType == Float.class) {
+                return (rs, index) -> {
+                    float value = rs.getFloat(index);
+                    return rs.wasNull() ? null : value;
+                };
+            }
+            if (expectedType == boolean.class || expectedType == Boolean.class) {
+                return (rs, index) -> {
+                    boolean value = rs.getBoolean(index);
+                    return rs.wasNull() ? null : value;
+                };
+            }
+            if (expectedType == BigDecimal.class) {
+                return ResultSet::getBigDecimal;
+            }
+            if (expectedType == String.class) {
+                return ResultSet::getString;
+            }
+            if (expectedType == Timestamp.class) {
+                return ResultSet::getTimestamp;
+            }
+            // Other types, especially the temporal ones, depend on the driver specific
+            // value types returned by getObject, they are converted by resolved converters
+            return null;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Getter {
+        Object get(ResultSet rs, int index) throws SQLException;
+    }
+
+    private static class AssociationReader implements Reader {
+
+        private final ImmutableType sourceType;
+
+        private final ImmutableType targetType;
+
+        private final int sourceIdPropId;
+
+        private final int targetIdPropId;
+
+        private final ColumnReader sourceIdReader;
+
+        private final ColumnReader targetIdReader;
+
+        AssociationReader(JSqlClient sqlClient, AssociationType associationType) {
+            ImmutableProp sourceIdProp = associationType.getSourceType().getIdProp();
+            ImmutableProp targetIdProp = associationType.getTargetType().getIdProp();
+            this.sourceType = associationType.getSourceType();
+            this.targetType = associationType.getTargetType();
+            this.sourceIdPropId = sourceIdProp.getId();
+            this.targetIdPropId = targetIdProp.getId();
+            this.sourceIdReader = new ColumnReader(sqlClient.getPropBinding(sourceIdProp));
+            this.targetIdReader = new ColumnReader(sqlClient.getPropBinding(targetIdProp));
+        }
+
+        @Override
+        public Object read(ResultMapper mapper) throws SQLException {
+            Object sourceId = sourceIdReader.read(mapper);
+            Object targetId = targetIdReader.read(mapper);
+            Object source = Internal.produce(sourceType, null, srcDraft -> {
+                ((DraftSpi) srcDraft).__set(sourceIdPropId, sourceId);
+            });
+            Object target = Internal.produce(targetType, null, tgtDraft -> {
+                ((DraftSpi) tgtDraft).__set(targetIdPropId, targetId);
+            });
+            return new Association<>(source, target);
+        }
+    }
+
+    private static class EntityReader implements Reader {
+
+        private final ImmutableType immutableType;
+
+        private final int idPropId;
+
+        private final ColumnReader idReader;
+
+        // Non-id column properties, in the order of the selected columns
+        private final int[] propIds;
+
+        // Element of reference property is the produced target type, otherwise null
+        private final ImmutableType[] targetTypes;
+
+        private final int[] targetIdPropIds;
+
+        private final ColumnReader[] readers;
+
+        EntityReader(JSqlClient sqlClient, ImmutableType immutableType, Fetcher<?> fetcher) {
+            Collection<ImmutableProp> props;
+            if (fetcher != null) {
+                props = new ArrayList<>();
+                for (Field field : fetcher.getFieldMap().values()) {
+                    if (field.getProp().getStorage() instanceof Column) {
+                        props.add(field.getProp());
+                    }
+                }
+            } else {
+                props = immutableType.getSelectableProps().values();
+            }
+            List<ImmutableProp> nonIdProps = new ArrayList<>(props.size());
+            for (ImmutableProp prop : props) {
+                if (!prop.isId()) {
+                    nonIdProps.add(prop);
+                }
+            }
+            int size = nonIdProps.size();
+            this.immutableType = immutableType;
+            this.idPropId = immutableType.getIdProp().getId();
+            this.idReader = new ColumnReader(sqlClient.getPropBinding(immutableType.getIdProp()));
+            this.propIds = new int[size];
+            this.targetTypes = new ImmutableType[size];
+            this.targetIdPropIds = new int[size];
+            this.readers = new ColumnReader[size];
+            for (int i = 0; i < size; i++) {
+                ImmutableProp prop = nonIdProps.get(i);
+                ImmutableType targetType = prop.getTargetType();
+                propIds[i] = prop.getId();
+                if (targetType != null) {
+                    targetTypes[i] = targetType;
+                    targetIdPropIds[i] = targetType.getIdProp().getId();
+                }
+                readers[i] = new ColumnReader(sqlClient.getPropBinding(prop));
+            }
+        }
+
+        @Override
+        public Object read(ResultMapper mapper) throws SQLException {
+            Object id = idReader.read(mapper);
+            if (id == null) {
+                mapper.index += readers.length;
+                return null;
+            }
+            return Internal.produce(immutableType, null, draft -> {
+                DraftSpi spi = (DraftSpi) draft;
+                spi.__set(idPropId, id);
+                for (int i = 0; i < readers.length; i++) {
+                    Object value = readers[i].read(mapper);
+                    ImmutableType targetType = targetTypes[i];
+                    if (targetType != null && value != null) {
+                        int targetIdPropId = targetIdPropIds[i];
+                        spi.__set(propIds[i], Internal.produce(targetType, null, targetDraft -> {
+                            ((DraftSpi) targetDraft).__set(targetIdPropId, value);
+                        }));
+                    } else {
+                        spi.__set(propIds[i], value);
+                    }
+                }
+            });
         }
-        return scalarProvider != null ? scalarProvider.toScalar(sqlValue) : sqlValue;
     }
 }
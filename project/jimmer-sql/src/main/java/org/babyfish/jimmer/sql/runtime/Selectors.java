@@ -5,16 +5,18 @@ import org.babyfish.jimmer.sql.ast.Selection;
 import org.babyfish.jimmer.sql.fetcher.impl.Fetchers;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
-import java.util.ArrayList;
-import java.util.List;
+import java.sql.SQLException;
+import java.util.*;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class Selectors {
 
     private Selectors() {}
 
-    @SuppressWarnings("unchecked")
     public static <R> List<R> select(
             JSqlClient sqlClient,
             Connection con,
@@ -22,20 +24,30 @@ public class Selectors {
             List<Object> variables,
             List<Selection<?>> selections
     ) {
-        return sqlClient.getExecutor().execute(con, sql, variables, null, stmt -> {
-            List<R> results = new ArrayList<>();
-            try (ResultSet resultSet = stmt.executeQuery()) {
-                ResultMapper resultMapper = new ResultMapper(sqlClient, selections, resultSet);
-                while (resultSet.next()) {
-                    results.add((R)resultMapper.map());
-                }
-            }
-            Fetchers.fetch(sqlClient, con, selections, results);
-            return results;
-        });
+        return select(sqlClient, con, sql, variables, selections, true);
+    }
+
+    /**
+     * @param fetch Whether the fetchers of selections are executed, if it is false,
+     *              the caller executes them by {@link Fetchers#fetch} later,
+     *              for example, after merging the rows of several queries
+     */
+    public static <R> List<R> select(
+            JSqlClient sqlClient,
+            Connection con,
+            String sql,
+            List<Object> variables,
+            List<Selection<?>> selections,
+            boolean fetch
+    ) {
+        ExecutionMonitors.Recorder[] recorders = new ExecutionMonitors.Recorder[1];
+        List<R> rows = sqlClient.getExecutor().execute(con, sql, variables, null, stmt ->
+                map(sqlClient, con, stmt, selections, null, 0, recorders)
+        );
+        fetchAfterStatement(sqlClient, con, selections, rows, fetch, recorders[0]);
+        return rows;
     }
 
-    @SuppressWarnings("unchecked")
     public static <R> void forEach(
             JSqlClient sqlClient,
             Connection con,
@@ -45,26 +57,198 @@ public class Selectors {
             int batchSize,
             Consumer<R> consumer
     ) {
-        sqlClient.getExecutor().execute(con, sql, variables, null, stmt -> {
-            List<R> results = new ArrayList<>();
-            try (ResultSet resultSet = stmt.executeQuery()) {
-                ResultMapper resultMapper = new ResultMapper(sqlClient, selections, resultSet);
-                while (resultSet.next()) {
-                    results.add((R)resultMapper.map());
-                    if (results.size() >= batchSize) {
-                        Fetchers.fetch(sqlClient, con, selections, results);
-                        for (R result : results) {
-                            consumer.accept(result);
-                        }
-                        results.clear();
+        ExecutionMonitors.Recorder[] recorders = new ExecutionMonitors.Recorder[1];
+        List<R> rows = sqlClient.getExecutor().execute(con, sql, variables, null, stmt ->
+                map(sqlClient, con, stmt, selections, consumer, batchSize, recorders)
+        );
+        fetchAfterStatement(sqlClient, con, selections, rows, true, recorders[0]);
+        for (R result : rows) {
+            consumer.accept(result);
+        }
+    }
+
+    /*
+     * Maps the rows of the statement. If the consumer is not null, each full batch
+     * is fetched and consumed while the statement is open, and the rows of the last
+     * incomplete batch are returned.
+     */
+    @SuppressWarnings("unchecked")
+    private static <R> List<R> map(
+            JSqlClient sqlClient,
+            Connection con,
+            PreparedStatement stmt,
+            List<Selection<?>> selections,
+            Consumer<R> consumer,
+            int batchSize,
+            ExecutionMonitors.Recorder[] recorders
+    ) throws SQLException {
+        List<R> results = new ArrayList<>();
+        try (ResultSet resultSet = stmt.executeQuery()) {
+            ExecutionMonitors.Recorder recorder = ExecutionMonitors.defer();
+            recorders[0] = recorder;
+            ResultMapper resultMapper = new ResultMapper(sqlClient, selections, resultSet);
+            while (resultSet.next()) {
+                results.add((R)resultMapper.map());
+                if (consumer != null && results.size() >= batchSize) {
+                    if (recorder != null) {
+                        recorder.mapped(results.size());
+                    }
+                    Fetchers.fetch(sqlClient, con, selections, results);
+                    if (recorder != null) {
+                        recorder.fetched();
+                    }
+                    for (R result : results) {
+                        consumer.accept(result);
+                    }
+                    results.clear();
+                    if (recorder != null) {
+                        recorder.paused();
                     }
                 }
             }
-            Fetchers.fetch(sqlClient, con, selections, results);
-            for (R result : results) {
-                consumer.accept(result);
+            if (recorder != null) {
+                recorder.mapped(results.size());
+            }
+        }
+        return results;
+    }
+
+    /*
+     * Fetchers are executed after the statement, so that the time of
+     * the statement does not include the statements of fetchers
+     */
+    private static <R> void fetchAfterStatement(
+            JSqlClient sqlClient,
+            Connection con,
+            List<Selection<?>> selections,
+            List<R> rows,
+            boolean fetch,
+            ExecutionMonitors.Recorder recorder
+    ) {
+        boolean fetched = false;
+        try {
+            if (fetch) {
+                Fetchers.fetch(sqlClient, con, selections, rows);
+            }
+            fetched = true;
+        } finally {
+            if (recorder != null) {
+                recorder.complete(!fetched);
+            }
+        }
+    }
+
+    /**
+     * Creates a stream backed by an open cursor, associations required by
+     * fetchers are loaded for each micro batch of the default batch size.
+     *
+     * <p>If the connection is null, a connection is opened by the connection manager,
+     * it is released when the stream is closed or all rows have been read.</p>
+     */
+    public static <R> Stream<R> stream(
+            JSqlClient sqlClient,
+            Connection con,
+            ConnectionManager connectionManager,
+            String sql,
+            List<Object> variables,
+            List<Selection<?>> selections,
+            int fetchSize
+    ) {
+        int batchSize = sqlClient.getDefaultBatchSize();
+        Cursor<R> cursor = Cursor.open(
+                sqlClient,
+                con,
+                connectionManager,
+                sql,
+                variables,
+                selections,
+                fetchSize > 0 ? fetchSize : batchSize
+        );
+        Iterator<R> itr = new Iterator<R>() {
+
+            private List<R> rows = Collections.emptyList();
+
+            private int position;
+
+            @Override
+            public boolean hasNext() {
+                if (position < rows.size()) {
+                    return true;
+                }
+                if (cursor.isClosed()) {
+                    return false;
+                }
+                rows = cursor.read(batchSize);
+                position = 0;
+                return !rows.isEmpty();
+            }
+
+            @Override
+            public R next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return rows.get(position++);
             }
-            return (Void) null;
-        });
+        };
+        return StreamSupport
+                .stream(Spliterators.spliteratorUnknownSize(itr, Spliterator.ORDERED), false)
+                .onClose(cursor::close);
+    }
+
+    /**
+     * Creates a publisher which opens a cursor for each subscriber and reads it
+     * only as far as the subscriber demands, in the async executor service of sql client.
+     * Associations required by fetchers are loaded for each demanded chunk,
+     * a chunk is never larger than the default batch size.
+     *
+     * <p>If the connection is null, a connection is opened by the connection manager for each subscriber,
+     * it is released when the subscription is completed or cancelled.</p>
+     */
+    public static <R> Flow.Publisher<R> publisher(
+            JSqlClient sqlClient,
+            Connection con,
+            ConnectionManager connectionManager,
+            String sql,
+            List<Object> variables,
+            List<Selection<?>> selections,
+            int fetchSize
+    ) {
+        int batchSize = sqlClient.getDefaultBatchSize();
+        int finalFetchSize = fetchSize > 0 ? fetchSize : batchSize;
+        return subscriber -> {
+            if (subscriber == null) {
+                throw new NullPointerException("subscriber cannot be null");
+            }
+            CursorSubscription<R> subscription = new CursorSubscription<>(
+                    subscriber,
+                    sqlClient.getAsyncExecutorService(),
+                    batchSize,
+                    () -> Cursor.open(
+                            sqlClient,
+                            con,
+                            connectionManager,
+                            sql,
+                            variables,
+                            selections,
+                            finalFetchSize
+                    )
+            );
+            subscriber.onSubscribe(subscription);
+        };
+    }
+
+    public static <R> Flow.Publisher<R> emptyPublisher() {
+        return subscriber -> {
+            subscriber.onSubscribe(
+                    new Flow.Subscription() {
+                        @Override
+                        public void request(long n) {}
+                        @Override
+                        public void cancel() {}
+                    }
+            );
+            subscriber.onComplete();
+        };
     }
 }
@@ -1,7 +1,6 @@
 package org.babyfish.jimmer.sql.runtime;
 
 import org.babyfish.jimmer.meta.ImmutableProp;
-import org.babyfish.jimmer.meta.ImmutableType;
 import org.babyfish.jimmer.sql.JSqlClient;
 import org.babyfish.jimmer.sql.ast.impl.table.TableImplementor;
 import org.babyfish.jimmer.sql.ast.table.Table;
@@ -12,6 +11,8 @@ import java.util.function.Function;
 
 public class SqlBuilder {
 
+    private static final Package TUPLE_PACKAGE = Tuple2.class.getPackage();
+
     private JSqlClient sqlClient;
 
     private Map<Table<?>, TableUsedState> tableUsedStateMap;
@@ -26,9 +27,12 @@ public class SqlBuilder {
 
     private boolean terminated;
 
+    private final long buildStartNanos;
+
     public SqlBuilder(JSqlClient sqlClient) {
         this.sqlClient = sqlClient;
         this.tableUsedStateMap = new HashMap<>();
+        this.buildStartNanos = ExecutionMonitors.buildStarted(sqlClient);
     }
 
     private SqlBuilder(SqlBuilder parent) {
@@ -36,6 +40,7 @@ public class SqlBuilder {
         this.tableUsedStateMap = parent.tableUsedStateMap;
         this.parent = parent;
         parent.childBuilderCount++;
+        this.buildStartNanos = ExecutionMonitors.NOT_MONITORED;
     }
 
     public void useTableId(Table<?> table) {
@@ -191,33 +196,173 @@ public class SqlBuilder {
         return this;
     }
 
-    @SuppressWarnings("unchecked")
     private SqlBuilder singleVariable(Object value) {
         if (value instanceof DbNull) {
             throw new ExecutionException(
                     "Cannot add variable whose type is " + DbNull.class.getName()
             );
         }
+        builder.append('?');
+        variables.add(toSql(sqlClient, value));
+        return this;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object toSql(JSqlClient sqlClient, Object value) {
         ScalarProvider<Object, Object> scalarProvider =
                 sqlClient.getScalarProvider((Class<Object>)value.getClass());
-        Object finalValue;
         if (scalarProvider != null) {
-            finalValue = scalarProvider.toSql(value);
-        } else {
-            finalValue = value;
+            return scalarProvider.toSql(value);
+        }
+        return value;
+    }
+
+    /**
+     * Renders the in predicate of the expression,
+     * it is {@code = any(?)} with one array variable if the count of values reaches
+     * {@link JSqlClient#getInListArrayThreshold()} and the dialect supports the array,
+     * otherwise, it is {@code in (?, ...)}
+     */
+    public SqlBuilder inList(boolean negative, Collection<?> values, Runnable expressionRenderer) {
+        DbArray array = arrayVariable(sqlClient, values);
+        if (array == null) {
+            expressionRenderer.run();
+            return sql(negative ? " not in (" : " in (").variableList(values).sql(")");
+        }
+        if (negative) {
+            sql("not (");
+        }
+        expressionRenderer.run();
+        validate();
+        builder.append(" = any(?)");
+        variables.add(array);
+        if (negative) {
+            sql(")");
+        }
+        return this;
+    }
+
+    static DbArray arrayVariable(JSqlClient sqlClient, Collection<?> values) {
+        if (values.isEmpty() || values.size() < sqlClient.getInListArrayThreshold()) {
+            return null;
+        }
+        Object[] elements = new Object[values.size()];
+        Class<?> elementType = null;
+        int index = 0;
+        for (Object value : values) {
+            if (value == null || value.getClass().getPackage() == TUPLE_PACKAGE) {
+                return null;
+            }
+            Object finalValue = toSql(sqlClient, value);
+            if (elementType == null) {
+                elementType = finalValue.getClass();
+            } else if (elementType != finalValue.getClass()) {
+                return null;
+            }
+            elements[index++] = finalValue;
+        }
+        String typeName = sqlClient.getDialect().getArrayTypeName(elementType);
+        return typeName != null ? new DbArray(typeName, elements) : null;
+    }
+
+    /**
+     * Renders the values as variables separated by comma, the last value is repeated
+     * until the count of variables is padded by {@link JSqlClient#getInListPadding()}
+     */
+    public SqlBuilder variableList(Collection<?> values) {
+        int paddedSize = paddedSize(sqlClient, values.size());
+        String separator = "";
+        Object lastValue = null;
+        for (Object value : values) {
+            sql(separator);
+            variable(value);
+            separator = ", ";
+            lastValue = value;
+        }
+        for (int i = values.size(); i < paddedSize; i++) {
+            sql(", ");
+            variable(lastValue);
+        }
+        return this;
+    }
+
+    static int paddedSize(JSqlClient sqlClient, int size) {
+        InListPadding padding = sqlClient.getInListPadding();
+        if (padding == null || size == 0) {
+            return size;
+        }
+        int maxSize = sqlClient.getDialect().getMaxInListSize();
+        if (size >= maxSize) {
+            return size;
+        }
+        return Math.min(Math.max(padding.pad(size), size), maxSize);
+    }
+
+    /**
+     * Splits the values into chunks which do not exceed
+     * {@link org.babyfish.jimmer.sql.dialect.Dialect#getMaxInListSize()},
+     * one statement is executed for each chunk.
+     */
+    public static <E> List<List<E>> inListChunks(JSqlClient sqlClient, Collection<E> values) {
+        return inListChunks(sqlClient, values, 1);
+    }
+
+    /**
+     * Splits the values into chunks, each value of which is rendered
+     * as the specified count of variables, such as a composite key
+     * compared by `or`
+     */
+    public static <E> List<List<E>> inListChunks(
+            JSqlClient sqlClient,
+            Collection<E> values,
+            int variableCountPerValue
+    ) {
+        int maxSize = Math.max(sqlClient.getDialect().getMaxInListSize() / variableCountPerValue, 1);
+        if (values.size() <= maxSize) {
+            return Collections.singletonList(
+                    values instanceof List<?> ? (List<E>) values : new ArrayList<>(values)
+            );
+        }
+        List<List<E>> chunks = new ArrayList<>((values.size() + maxSize - 1) / maxSize);
+        List<E> chunk = new ArrayList<>(maxSize);
+        for (E value : values) {
+            if (chunk.size() == maxSize) {
+                chunks.add(chunk);
+                chunk = new ArrayList<>(maxSize);
+            }
+            chunk.add(value);
+        }
+        chunks.add(chunk);
+        return chunks;
+    }
+
+    /**
+     * Adds the value of a column property, it is converted by the
+     * {@link JSqlClient#getPropBinding(ImmutableProp)} of the property.
+     * For reference property based on foreign key, the value is the id of the target object.
+     */
+    public SqlBuilder variable(ImmutableProp prop, Object value) {
+        validate();
+        PropBinding binding = sqlClient.getPropBinding(prop);
+        if (value == null) {
+            builder.append('?');
+            variables.add(binding.getDbNull());
+            return this;
+        }
+        if (!binding.accepts(value)) {
+            // Such as the constant of enum with body, it is resolved by the runtime type
+            return variable(value);
         }
         builder.append('?');
-        variables.add(finalValue);
+        variables.add(binding.toSql(value));
         return this;
     }
 
     public SqlBuilder nullVariable(ImmutableProp prop) {
         validate();
-        ImmutableType targetType = prop.getTargetType();
-        if (targetType == null) {
-            return nullVariable(prop.getElementClass());
-        }
-        return nullVariable(targetType.getIdProp().getElementClass());
+        builder.append('?');
+        variables.add(sqlClient.getPropBinding(prop).getDbNull());
+        return this;
     }
 
     @SuppressWarnings("unchecked")
@@ -262,9 +407,39 @@ public class SqlBuilder {
             }
         }
         terminated = true;
+        if (buildStartNanos != ExecutionMonitors.NOT_MONITORED) {
+            result = new Tuple2<>(
+                    result.get_1(),
+                    ExecutionMonitors.buildFinished(buildStartNanos, result.get_2())
+            );
+        }
         return result;
     }
 
+    Tuple2<String, List<Object>> build(SqlShape shape, String sql) {
+        bind(shape);
+        builder.setLength(0);
+        builder.append(sql);
+        return build();
+    }
+
+    List<Object> variables(SqlShape shape) {
+        SqlBuilder builder = new SqlBuilder(sqlClient);
+        builder.bind(shape);
+        return builder.variables;
+    }
+
+    private void bind(SqlShape shape) {
+        for (Object value : shape.getValues()) {
+            if (value instanceof SqlShape.Raw) {
+                validate();
+                variables.add(((SqlShape.Raw) value).value);
+            } else {
+                variable(value);
+            }
+        }
+    }
+
     private void validate() {
         if (childBuilderCount != 0) {
             throw new IllegalStateException(
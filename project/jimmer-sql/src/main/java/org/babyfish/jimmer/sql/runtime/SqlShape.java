@@ -0,0 +1,141 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.ast.table.Table;
+
+import java.util.*;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Structure of a statement which determines its SQL, together with the values
+ * bound to the parameters of that SQL in rendering order.
+ *
+ * <p>Statements with equal shapes render the same SQL, so the SQL rendered for one
+ * of them can be reused by the others, only their values need to be bound.</p>
+ */
+public final class SqlShape {
+
+    private final JSqlClient sqlClient;
+
+    private final List<Object> tokens = new ArrayList<>();
+
+    private final List<Object> values = new ArrayList<>();
+
+    private final Map<Table<?>, Integer> tableIndexMap = new IdentityHashMap<>();
+
+    private int unrenderedDepth;
+
+    public SqlShape(JSqlClient sqlClient) {
+        this.sqlClient = sqlClient;
+    }
+
+    public SqlShape token(Object token) {
+        tokens.add(token);
+        return this;
+    }
+
+    /**
+     * Value which is rendered by {@link SqlBuilder#variable(Object)},
+     * null is a token which differs from the types of all other values.
+     */
+    public SqlShape variable(Object value) {
+        tokens.add(value != null ? value.getClass() : null);
+        if (unrenderedDepth == 0) {
+            values.add(value);
+        }
+        return this;
+    }
+
+    /**
+     * Values which are rendered by {@link SqlBuilder#variableList(Collection)}
+     */
+    public SqlShape variableList(Collection<?> values) {
+        int paddedSize = SqlBuilder.paddedSize(sqlClient, values.size());
+        tokens.add(paddedSize);
+        Object lastValue = null;
+        for (Object value : values) {
+            variable(value);
+            lastValue = value;
+        }
+        for (int i = values.size(); i < paddedSize; i++) {
+            variable(lastValue);
+        }
+        return this;
+    }
+
+    /**
+     * Values which are rendered by {@link SqlBuilder#inList(boolean, Collection, Runnable)}
+     */
+    public SqlShape inList(boolean negative, Collection<?> values) {
+        tokens.add(negative);
+        DbArray array = SqlBuilder.arrayVariable(sqlClient, values);
+        if (array != null) {
+            tokens.add(array.getTypeName());
+            return rawVariable(array);
+        }
+        return variableList(values);
+    }
+
+    /**
+     * Value which is added to the variables as it is, such as the variables of pagination
+     */
+    public SqlShape rawVariable(Object value) {
+        tokens.add(Raw.class);
+        if (unrenderedDepth == 0) {
+            values.add(new Raw(value));
+        }
+        return this;
+    }
+
+    public SqlShape table(Table<?> table) {
+        int index = tableIndexMap.size();
+        if (tableIndexMap.putIfAbsent(table, index) != null) {
+            throw new IllegalStateException("Internal bug: table is added into shape twice");
+        }
+        tokens.add(index);
+        return this;
+    }
+
+    /**
+     * @return false if the table has not been added into this shape,
+     * for example, it belongs to the parent query.
+     */
+    public boolean tableReference(Table<?> table) {
+        Integer index = tableIndexMap.get(table);
+        if (index == null) {
+            return false;
+        }
+        tokens.add(index);
+        return true;
+    }
+
+    /**
+     * Appends the structure of a clause which affects the SQL but is not rendered,
+     * such as the order by clause of count query, its values are ignored.
+     */
+    public boolean unrendered(BooleanSupplier block) {
+        unrenderedDepth++;
+        try {
+            return block.getAsBoolean();
+        } finally {
+            unrenderedDepth--;
+        }
+    }
+
+    List<Object> getTokens() {
+        return tokens;
+    }
+
+    List<Object> getValues() {
+        return values;
+    }
+
+    static final class Raw {
+
+        final Object value;
+
+        Raw(Object value) {
+            this.value = value;
+        }
+    }
+}
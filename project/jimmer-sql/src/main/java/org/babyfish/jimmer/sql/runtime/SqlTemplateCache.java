@@ -0,0 +1,92 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import org.babyfish.jimmer.sql.ast.tuple.Tuple2;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LRU cache of the SQL rendered for query shapes, shared by a sql client
+ * and the clients derived from it.
+ *
+ * <p>The SQL of a shape is cached only if the variables of its first rendering
+ * are the values of the shape in the same order, otherwise the shape is
+ * remembered as uncacheable and its queries are always rendered.</p>
+ */
+public final class SqlTemplateCache {
+
+    private static final String UNCACHEABLE = new String("<uncacheable>");
+
+    private final int maxSize;
+
+    private final LinkedHashMap<List<Object>, String> map;
+
+    private final AtomicLong hitCount = new AtomicLong();
+
+    private final AtomicLong missCount = new AtomicLong();
+
+    public SqlTemplateCache(int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize cannot be less than 1");
+        }
+        this.maxSize = maxSize;
+        this.map = new LinkedHashMap<List<Object>, String>(16, .75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<List<Object>, String> eldest) {
+                return size() > SqlTemplateCache.this.maxSize;
+            }
+        };
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Binds the values of shape to the cached SQL.
+     *
+     * @return The SQL and variables, or null if the shape has not been cached
+     * so that the statement must be rendered by the builder.
+     */
+    public Tuple2<String, List<Object>> get(SqlShape shape, SqlBuilder builder) {
+        String sql;
+        synchronized (this) {
+            sql = map.get(shape.getTokens());
+        }
+        if (sql == null || sql == UNCACHEABLE) {
+            missCount.incrementAndGet();
+            return null;
+        }
+        hitCount.incrementAndGet();
+        return builder.build(shape, sql);
+    }
+
+    /**
+     * Caches the result rendered for a shape which is not returned by {@link #get(SqlShape, SqlBuilder)}
+     */
+    public void put(SqlShape shape, SqlBuilder builder, Tuple2<String, List<Object>> result) {
+        synchronized (this) {
+            if (map.containsKey(shape.getTokens())) {
+                return;
+            }
+        }
+        String sql = builder.variables(shape).equals(result.get_2()) ?
+                result.get_1() :
+                UNCACHEABLE;
+        synchronized (this) {
+            map.put(shape.getTokens(), sql);
+        }
+    }
+
+    public synchronized void clear() {
+        map.clear();
+    }
+}
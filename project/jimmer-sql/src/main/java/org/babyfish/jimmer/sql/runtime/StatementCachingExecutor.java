@@ -0,0 +1,293 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Executor which caches prepared statements per connection, keyed by SQL text.
+ *
+ * <p>A connection only has a cache while it is borrowed from a connection manager
+ * returned by {@link #wrap(ConnectionManager)}, the cached statements are closed
+ * when the connection is returned. JSqlClient wraps its connection managers automatically.</p>
+ */
+public class StatementCachingExecutor implements Executor {
+
+    private final int maxStatementCount;
+
+    private final Map<Connection, StatementCache> cacheMap = new IdentityHashMap<>();
+
+    private final AtomicLong hitCount = new AtomicLong();
+
+    private final AtomicLong missCount = new AtomicLong();
+
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    public StatementCachingExecutor() {
+        this(64);
+    }
+
+    public StatementCachingExecutor(int maxStatementCount) {
+        if (maxStatementCount < 1) {
+            throw new IllegalArgumentException("maxStatementCount cannot be less than 1");
+        }
+        this.maxStatementCount = maxStatementCount;
+    }
+
+    public int getMaxStatementCount() {
+        return maxStatementCount;
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    public ConnectionManager wrap(ConnectionManager connectionManager) {
+        if (connectionManager == null) {
+            return null;
+        }
+        if (connectionManager instanceof ScopedConnectionManager &&
+                ((ScopedConnectionManager) connectionManager).executor == this) {
+            return connectionManager;
+        }
+        return new ScopedConnectionManager(this, connectionManager);
+    }
+
+    @Override
+    public <R> R execute(
+            Connection con,
+            String sql,
+            List<Object> variables,
+            StatementFactory statementFactory,
+            SqlFunction<PreparedStatement, R> block
+    ) {
+        StatementCache cache = statementFactory == null ? cacheOf(con) : null;
+        CachedStatement cachedStatement = cache != null ? acquire(cache, con, sql) : null;
+        if (cachedStatement == null) {
+            return DefaultExecutor.INSTANCE.execute(con, sql, variables, statementFactory, block);
+        }
+        boolean broken = true;
+        try {
+            DefaultExecutor.setParameters(cachedStatement.statement, variables);
+            R result = block.apply(cachedStatement.statement);
+            broken = false;
+            return result;
+        } catch (SQLException ex) {
+            throw new ExecutionException(
+                    "Cannot execute SQL statement: " +
+                            sql +
+                            ", variables: " +
+                            variables,
+                    ex
+            );
+        } finally {
+            cache.release(cachedStatement, broken);
+        }
+    }
+
+    @Override
+    public int[] executeBatch(
+            Connection con,
+            String sql,
+            List<List<Object>> variablesList,
+            StatementFactory statementFactory
+    ) {
+        StatementCache cache = statementFactory == null ? cacheOf(con) : null;
+        CachedStatement cachedStatement = cache != null ? acquire(cache, con, sql) : null;
+        if (cachedStatement == null) {
+            return DefaultExecutor.INSTANCE.executeBatch(con, sql, variablesList, statementFactory);
+        }
+        boolean broken = true;
+        try {
+            int[] rowCounts = DefaultExecutor.executeBatch(cachedStatement.statement, variablesList);
+            broken = false;
+            return rowCounts;
+        } catch (SQLException ex) {
+            throw new ExecutionException(
+                    "Cannot execute batch SQL statement: " +
+                            sql +
+                            ", variables: " +
+                            variablesList,
+                    ex
+            );
+        } finally {
+            cache.release(cachedStatement, broken);
+        }
+    }
+
+    @Override
+    public List<Object> executeBatchAndGetGeneratedKeys(
+            Connection con,
+            String sql,
+            List<List<Object>> variablesList
+    ) {
+        // Statements returning generated keys are prepared differently, never cache them
+        return DefaultExecutor.INSTANCE.executeBatchAndGetGeneratedKeys(con, sql, variablesList);
+    }
+
+    private StatementCache cacheOf(Connection con) {
+        synchronized (cacheMap) {
+            return cacheMap.get(con);
+        }
+    }
+
+    private static CachedStatement acquire(StatementCache cache, Connection con, String sql) {
+        try {
+            return cache.acquire(con, sql);
+        } catch (SQLException ex) {
+            throw new ExecutionException(
+                    "Cannot prepare SQL statement: " + sql,
+                    ex
+            );
+        }
+    }
+
+    private void open(Connection con) {
+        synchronized (cacheMap) {
+            cacheMap.computeIfAbsent(con, it -> new StatementCache()).depth++;
+        }
+    }
+
+    private void close(Connection con) {
+        StatementCache cache;
+        synchronized (cacheMap) {
+            cache = cacheMap.get(con);
+            if (cache == null || --cache.depth != 0) {
+                return;
+            }
+            cacheMap.remove(con);
+        }
+        cache.clear();
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException ex) {
+            // The statement is discarded, nothing else can be done
+        }
+    }
+
+    private class StatementCache {
+
+        int depth;
+
+        private final LinkedHashMap<String, CachedStatement> map =
+                new LinkedHashMap<String, CachedStatement>(16, .75F, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+                        if (size() <= maxStatementCount) {
+                            return false;
+                        }
+                        CachedStatement cachedStatement = eldest.getValue();
+                        if (cachedStatement.busy) {
+                            cachedStatement.evicted = true;
+                        } else {
+                            closeQuietly(cachedStatement.statement);
+                        }
+                        evictionCount.incrementAndGet();
+                        return true;
+                    }
+                };
+
+        synchronized CachedStatement acquire(Connection con, String sql) throws SQLException {
+            CachedStatement cachedStatement = map.get(sql);
+            if (cachedStatement != null) {
+                if (cachedStatement.busy) {
+                    return null;
+                }
+                if (!cachedStatement.statement.isClosed()) {
+                    hitCount.incrementAndGet();
+                    cachedStatement.busy = true;
+                    return cachedStatement;
+                }
+                map.remove(sql);
+            }
+            missCount.incrementAndGet();
+            cachedStatement = new CachedStatement(sql, con.prepareStatement(sql));
+            cachedStatement.busy = true;
+            map.put(sql, cachedStatement);
+            return cachedStatement;
+        }
+
+        synchronized void release(CachedStatement cachedStatement, boolean broken) {
+            cachedStatement.busy = false;
+            if (!broken && !cachedStatement.evicted) {
+                try {
+                    cachedStatement.statement.clearParameters();
+                    return;
+                } catch (SQLException ex) {
+                    // Discard it
+                }
+            }
+            if (map.get(cachedStatement.sql) == cachedStatement) {
+                map.remove(cachedStatement.sql);
+            }
+            closeQuietly(cachedStatement.statement);
+        }
+
+        synchronized void clear() {
+            for (CachedStatement cachedStatement : map.values()) {
+                closeQuietly(cachedStatement.statement);
+            }
+            map.clear();
+        }
+    }
+
+    private static class CachedStatement {
+
+        final String sql;
+
+        final PreparedStatement statement;
+
+        boolean busy;
+
+        boolean evicted;
+
+        CachedStatement(String sql, PreparedStatement statement) {
+            this.sql = sql;
+            this.statement = statement;
+        }
+    }
+
+    private static class ScopedConnectionManager implements ConnectionManager {
+
+        final StatementCachingExecutor executor;
+
+        private final ConnectionManager raw;
+
+        ScopedConnectionManager(StatementCachingExecutor executor, ConnectionManager raw) {
+            this.executor = executor;
+            this.raw = raw;
+        }
+
+        @Override
+        public <R> R execute(Function<Connection, R> block) {
+            return raw.execute(con -> {
+                executor.open(con);
+                try {
+                    return block.apply(con);
+                } finally {
+                    executor.close(con);
+                }
+            });
+        }
+
+        @Override
+        public Connection openConnection() {
+            // Statements are not cached for connections borrowed by cursors
+            return raw.openConnection();
+        }
+    }
+}
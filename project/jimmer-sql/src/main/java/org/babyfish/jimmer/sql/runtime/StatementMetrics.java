@@ -0,0 +1,191 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import org.babyfish.jimmer.meta.ImmutableProp;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Measured phases of one executed statement, all durations are in nanoseconds.
+ */
+public final class StatementMetrics {
+
+    private static final Pattern VARIABLE_LIST_PATTERN =
+            Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)");
+
+    private static final Pattern VARIABLE_TUPLE_LIST_PATTERN =
+            Pattern.compile("(\\([^()]*\\))(\\s*,\\s*\\1)+");
+
+    private final ExecutionPurpose purpose;
+
+    private final ImmutableProp prop;
+
+    private final String sql;
+
+    private final List<Object> variables;
+
+    private final int batchSize;
+
+    private final long buildNanos;
+
+    private final long bindNanos;
+
+    private final long executeNanos;
+
+    private final long mappingNanos;
+
+    private final long fetchNanos;
+
+    private final int rowCount;
+
+    private final boolean failed;
+
+    private String fingerprint;
+
+    public StatementMetrics(
+            ExecutionPurpose purpose,
+            ImmutableProp prop,
+            String sql,
+            List<Object> variables,
+            int batchSize,
+            long buildNanos,
+            long bindNanos,
+            long executeNanos,
+            long mappingNanos,
+            long fetchNanos,
+            int rowCount,
+            boolean failed
+    ) {
+        this.purpose = purpose;
+        this.prop = prop;
+        this.sql = sql;
+        this.variables = variables;
+        this.batchSize = batchSize;
+        this.buildNanos = buildNanos;
+        this.bindNanos = bindNanos;
+        this.executeNanos = executeNanos;
+        this.mappingNanos = mappingNanos;
+        this.fetchNanos = fetchNanos;
+        this.rowCount = rowCount;
+        this.failed = failed;
+    }
+
+    public ExecutionPurpose getPurpose() {
+        return purpose;
+    }
+
+    /**
+     * The property whose association or calculated value is loaded by fetcher or loader,
+     * null for other purposes.
+     */
+    public ImmutableProp getProp() {
+        return prop;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * Variables of statement, null for batch statements
+     */
+    public List<Object> getVariables() {
+        return variables;
+    }
+
+    /**
+     * The shape of the SQL, lists of variables such as
+     * {@code in(?, ?, ?)} or {@code values(?, ?), (?, ?)} are collapsed,
+     * so that statements which only differ in the count of variables share it.
+     */
+    public String getFingerprint() {
+        String fp = fingerprint;
+        if (fp == null) {
+            fingerprint = fp = fingerprint(sql);
+        }
+        return fp;
+    }
+
+    /**
+     * The count of variable groups of batch statement, 1 for other statements
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Time spent on rendering SQL by {@link SqlBuilder}, 0 if the statement is not built by it
+     */
+    public long getBuildNanos() {
+        return buildNanos;
+    }
+
+    /**
+     * Time spent on preparing statement and binding variables,
+     * it is included by execute time for batch statements.
+     */
+    public long getBindNanos() {
+        return bindNanos;
+    }
+
+    public long getExecuteNanos() {
+        return executeNanos;
+    }
+
+    /**
+     * Time spent on mapping rows by {@link ResultMapper}
+     */
+    public long getMappingNanos() {
+        return mappingNanos;
+    }
+
+    /**
+     * Time spent on loading associations of objects fetchers,
+     * which includes the time of the statements executed by those fetchers.
+     */
+    public long getFetchNanos() {
+        return fetchNanos;
+    }
+
+    public long getTotalNanos() {
+        return buildNanos + bindNanos + executeNanos + mappingNanos + fetchNanos;
+    }
+
+    /**
+     * The count of selected rows of query or the count of affected rows of DML,
+     * -1 if it is unknown.
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Whether the statement, or the fetchers executed after it, threw an exception
+     */
+    public boolean isFailed() {
+        return failed;
+    }
+
+    @Override
+    public String toString() {
+        return "StatementMetrics{" +
+                "purpose=" + purpose +
+                ", prop=" + prop +
+                ", sql='" + sql + '\'' +
+                ", variables=" + variables +
+                ", batchSize=" + batchSize +
+                ", buildNanos=" + buildNanos +
+                ", bindNanos=" + bindNanos +
+                ", executeNanos=" + executeNanos +
+                ", mappingNanos=" + mappingNanos +
+                ", fetchNanos=" + fetchNanos +
+                ", rowCount=" + rowCount +
+                ", failed=" + failed +
+                '}';
+    }
+
+    static String fingerprint(String sql) {
+        String fp = VARIABLE_LIST_PATTERN.matcher(sql).replaceAll("(?...)");
+        return VARIABLE_TUPLE_LIST_PATTERN.matcher(fp).replaceAll("$1...");
+    }
+}
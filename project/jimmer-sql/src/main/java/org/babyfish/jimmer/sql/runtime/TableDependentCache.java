@@ -0,0 +1,147 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.meta.impl.DatabaseIdentifiers;
+import org.babyfish.jimmer.sql.Triggers;
+import org.babyfish.jimmer.sql.ast.tuple.Tuple2;
+import org.babyfish.jimmer.sql.meta.MiddleTable;
+
+import java.util.*;
+
+/**
+ * LRU map with time to live, each value depends on some entity types and
+ * middle table properties, it is evicted when {@link Triggers} report their changes.
+ */
+final class TableDependentCache<V> {
+
+    private final long ttlNanos;
+
+    private final int maxSize;
+
+    private final LinkedHashMap<Tuple2<String, List<Object>>, CacheEntry<V>> map;
+
+    private final Map<Triggers, Set<Object>> listenedMap = new WeakHashMap<>();
+
+    private long version;
+
+    TableDependentCache(long ttlMillis, int maxSize) {
+        if (ttlMillis < 1) {
+            throw new IllegalArgumentException("ttlMillis cannot be less than 1");
+        }
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize cannot be less than 1");
+        }
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.maxSize = maxSize;
+        this.map = new LinkedHashMap<Tuple2<String, List<Object>>, CacheEntry<V>>(16, .75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Tuple2<String, List<Object>>, CacheEntry<V>> eldest) {
+                return size() > TableDependentCache.this.maxSize;
+            }
+        };
+    }
+
+    long getTtlMillis() {
+        return ttlNanos / 1_000_000L;
+    }
+
+    int getMaxSize() {
+        return maxSize;
+    }
+
+    synchronized V get(Tuple2<String, List<Object>> sqlResult) {
+        CacheEntry<V> entry = map.get(sqlResult);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiration - System.nanoTime() <= 0) {
+            map.remove(sqlResult);
+            return null;
+        }
+        return entry.value;
+    }
+
+    synchronized long getVersion() {
+        return version;
+    }
+
+    void put(
+            Tuple2<String, List<Object>> sqlResult,
+            V value,
+            long version,
+            Collection<ImmutableType> types,
+            Collection<ImmutableProp> middleTableProps,
+            Triggers triggers
+    ) {
+        Set<Object> dependencies = new HashSet<>(types);
+        dependencies.addAll(middleTableProps);
+        listen(dependencies, triggers);
+        synchronized (this) {
+            if (this.version != version) {
+                return;
+            }
+            map.put(sqlResult, new CacheEntry<>(value, System.nanoTime() + ttlNanos, dependencies));
+        }
+    }
+
+    synchronized void evict(Object dependency) {
+        version++;
+        map.values().removeIf(entry -> entry.dependencies.contains(dependency));
+    }
+
+    synchronized void evictByTableName(String tableName) {
+        String standardTableName = DatabaseIdentifiers.standardIdentifier(tableName);
+        version++;
+        map.values().removeIf(entry -> {
+            for (Object dependency : entry.dependencies) {
+                String dependencyTableName = dependency instanceof ImmutableType ?
+                        ((ImmutableType) dependency).getTableName() :
+                        ((ImmutableProp) dependency).<MiddleTable>getStorage().getTableName();
+                if (DatabaseIdentifiers.standardIdentifier(dependencyTableName).equals(standardTableName)) {
+                    return true;
+                }
+            }
+            return false;
+        });
+    }
+
+    synchronized void clear() {
+        version++;
+        map.clear();
+    }
+
+    private void listen(Set<Object> dependencies, Triggers triggers) {
+        List<Object> newDependencies = new ArrayList<>();
+        synchronized (listenedMap) {
+            Set<Object> listened = listenedMap.computeIfAbsent(triggers, it -> new HashSet<>());
+            for (Object dependency : dependencies) {
+                if (listened.add(dependency)) {
+                    newDependencies.add(dependency);
+                }
+            }
+        }
+        for (Object dependency : newDependencies) {
+            if (dependency instanceof ImmutableType) {
+                triggers.addEntityListener((ImmutableType) dependency, e -> evict(dependency));
+            } else {
+                triggers.addAssociationListener((ImmutableProp) dependency, e -> evict(dependency));
+            }
+        }
+    }
+
+    private static class CacheEntry<V> {
+
+        final V value;
+
+        final long expiration;
+
+        final Set<Object> dependencies;
+
+        CacheEntry(V value, long expiration, Set<Object> dependencies) {
+            this.value = value;
+            this.expiration = expiration;
+            this.dependencies = dependencies;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import org.babyfish.jimmer.meta.ImmutableProp;
+import org.babyfish.jimmer.meta.ImmutableType;
+import org.babyfish.jimmer.sql.Triggers;
+import org.babyfish.jimmer.sql.ast.tuple.Tuple2;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Short-lived cache of the total row counts of
+ * {@link org.babyfish.jimmer.sql.ast.query.ConfigurableRootQuery#fetchPage(int, int)},
+ * the key is the SQL and variables of the count query.
+ *
+ * <p>A total row count expires after the time to live, and it is evicted
+ * when the {@link Triggers} of the sql client report a change of any table read by
+ * the count query. The modifications which are not reported by triggers
+ * are visible after the time to live.</p>
+ *
+ * <p>The paging queries executed by the connection of caller, or by a connection
+ * which is not in auto-commit mode, neither read nor write this cache.</p>
+ */
+public final class TotalRowCountCache {
+
+    private final TableDependentCache<Integer> cache;
+
+    public TotalRowCountCache(long ttlMillis, int maxSize) {
+        this.cache = new TableDependentCache<>(ttlMillis, maxSize);
+    }
+
+    public long getTtlMillis() {
+        return cache.getTtlMillis();
+    }
+
+    public int getMaxSize() {
+        return cache.getMaxSize();
+    }
+
+    /**
+     * @return The cached total row count, or null if it is not cached or has expired
+     */
+    public Integer get(Tuple2<String, List<Object>> sqlResult) {
+        return cache.get(sqlResult);
+    }
+
+    /**
+     * Version which is changed by each eviction, it must be read before the count query is executed
+     * and be passed to {@link #put(Tuple2, int, long, Collection, Collection, Triggers)}
+     */
+    public long getVersion() {
+        return cache.getVersion();
+    }
+
+    /**
+     * Caches a total row count, it is ignored if any total row count has been evicted
+     * since the version was read, because the count query may have read the evicted data.
+     */
+    public void put(
+            Tuple2<String, List<Object>> sqlResult,
+            int totalRowCount,
+            long version,
+            Collection<ImmutableType> types,
+            Collection<ImmutableProp> middleTableProps,
+            Triggers triggers
+    ) {
+        cache.put(sqlResult, totalRowCount, version, types, middleTableProps, triggers);
+    }
+
+    public void evict(ImmutableType type) {
+        cache.evict(type);
+    }
+
+    public void evict(ImmutableProp middleTableProp) {
+        cache.evict(middleTableProp);
+    }
+
+    /**
+     * Evicts the total row counts which depend on a table, such as the table of a
+     * binlog event which is not reported by triggers.
+     */
+    public void evictByTableName(String tableName) {
+        cache.evictByTableName(tableName);
+    }
+
+    public void clear() {
+        cache.clear();
+    }
+}
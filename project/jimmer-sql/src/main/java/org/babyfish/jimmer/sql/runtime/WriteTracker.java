@@ -0,0 +1,111 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import org.babyfish.jimmer.meta.impl.DatabaseIdentifiers;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the tables written by each session for a while, so that the queries
+ * reading them in the same session are executed by the master connection manager
+ * instead of the slave connection manager, whose data may be stale.
+ *
+ * <p>The session is current thread by default, web applications can
+ * specify the session key supplier, such as the id of http session.
+ * Expired sessions are purged by both writing and reading, so that
+ * the keys of finished sessions are not retained.</p>
+ */
+public final class WriteTracker {
+
+    /**
+     * Session key of current thread, it is not the thread itself
+     * so that the threads which have died are not retained by this tracker.
+     */
+    private static final ThreadLocal<Object> THREAD_SESSION_KEY_LOCAL = ThreadLocal.withInitial(Object::new);
+
+    private final long windowNanos;
+
+    private final Supplier<?> sessionKeySupplier;
+
+    private final Map<Object, Map<String, Long>> sessionMap = new ConcurrentHashMap<>();
+
+    private volatile long lastPurgeTime = System.nanoTime();
+
+    public WriteTracker(long windowMillis) {
+        this(windowMillis, THREAD_SESSION_KEY_LOCAL::get);
+    }
+
+    public WriteTracker(long windowMillis, Supplier<?> sessionKeySupplier) {
+        if (windowMillis < 1) {
+            throw new IllegalArgumentException("windowMillis cannot be less than 1");
+        }
+        if (sessionKeySupplier == null) {
+            throw new IllegalArgumentException("sessionKeySupplier cannot be null");
+        }
+        this.windowNanos = windowMillis * 1_000_000L;
+        this.sessionKeySupplier = sessionKeySupplier;
+    }
+
+    public long getWindowMillis() {
+        return windowNanos / 1_000_000L;
+    }
+
+    public void record(String tableName) {
+        Object sessionKey = sessionKeySupplier.get();
+        if (sessionKey == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        String key = DatabaseIdentifiers.standardIdentifier(tableName);
+        sessionMap.compute(sessionKey, (k, expirationMap) -> {
+            if (expirationMap == null) {
+                expirationMap = new ConcurrentHashMap<>();
+            }
+            expirationMap.put(key, now + windowNanos);
+            return expirationMap;
+        });
+        purgeIfNecessary(now);
+    }
+
+    /**
+     * @return Whether any of the tables has been written by current session in the window
+     */
+    public boolean isWritten(Collection<String> tableNames) {
+        long now = System.nanoTime();
+        purgeIfNecessary(now);
+        Object sessionKey = sessionKeySupplier.get();
+        Map<String, Long> expirationMap = sessionKey != null ? sessionMap.get(sessionKey) : null;
+        if (expirationMap == null) {
+            return false;
+        }
+        for (String tableName : tableNames) {
+            Long expiration = expirationMap.get(DatabaseIdentifiers.standardIdentifier(tableName));
+            if (expiration != null && expiration - now > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    int getSessionCount() {
+        return sessionMap.size();
+    }
+
+    private void purgeIfNecessary(long now) {
+        if (now - lastPurgeTime > windowNanos) {
+            lastPurgeTime = now;
+            purge(now);
+        }
+    }
+
+    private void purge(long now) {
+        for (Object sessionKey : sessionMap.keySet()) {
+            sessionMap.computeIfPresent(sessionKey, (k, expirationMap) -> {
+                expirationMap.values().removeIf(expiration -> expiration - now <= 0);
+                return expirationMap.isEmpty() ? null : expirationMap;
+            });
+        }
+    }
+}
@@ -16,6 +16,7 @@ import java.io.InputStreamReader;
 import java.io.Reader;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.*;
 import java.util.function.Consumer;
@@ -56,6 +57,46 @@ public class AbstractTest {
             executions.add(new Execution(sql, variables));
             return DefaultExecutor.INSTANCE.execute(con, sql, variables, statementFactory, block);
         }
+
+        @Override
+        public int[] executeBatch(
+                Connection con,
+                String sql,
+                List<List<Object>> variablesList,
+                StatementFactory statementFactory
+        ) {
+            List<Object> variables = new ArrayList<>();
+            for (List<Object> batchVariables : variablesList) {
+                variables.addAll(batchVariables);
+            }
+            executions.add(new Execution(sql, variables));
+            return DefaultExecutor.INSTANCE.executeBatch(con, sql, variablesList, statementFactory);
+        }
+
+        @Override
+        public List<Object> executeBatchAndGetGeneratedKeys(
+                Connection con,
+                String sql,
+                List<List<Object>> variablesList
+        ) {
+            List<Object> variables = new ArrayList<>();
+            for (List<Object> batchVariables : variablesList) {
+                variables.addAll(batchVariables);
+            }
+            executions.add(new Execution(sql, variables));
+            return DefaultExecutor.INSTANCE.executeBatchAndGetGeneratedKeys(con, sql, variablesList);
+        }
+
+        @Override
+        public ResultSet executeQueryAsCursor(
+                Connection con,
+                String sql,
+                List<Object> variables,
+                int fetchSize
+        ) {
+            executions.add(new Execution(sql, variables));
+            return DefaultExecutor.INSTANCE.executeQueryAsCursor(con, sql, variables, fetchSize);
+        }
     }
 
     protected JSqlClient getSqlClient() {
@@ -99,6 +140,10 @@ public class AbstractTest {
         }
     }
 
+    protected static Connection newConnection() throws SQLException {
+        return new Driver().connect(JDBC_URL, null);
+    }
+
     protected static void jdbc(SqlConsumer<Connection> block) {
         jdbc(null, false, block);
     }
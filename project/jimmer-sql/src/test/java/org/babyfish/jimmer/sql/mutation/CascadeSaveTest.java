@@ -182,25 +182,17 @@ public class CascadeSaveTest extends AbstractMutationTest {
                         it.sql(
                                 "select tb_1_.ID, tb_1_.NAME, tb_1_.EDITION " +
                                         "from BOOK as tb_1_ " +
-                                        "where tb_1_.NAME = ? and tb_1_.EDITION = ?"
+                                        "where tb_1_.NAME = ? and tb_1_.EDITION = ? " +
+                                        "or tb_1_.NAME = ? and tb_1_.EDITION = ?"
                         );
-                        it.variables("SQL Cookbook", 1);
+                        it.variables("SQL Cookbook", 1, "Learning SQL", 1);
                     });
                     ctx.statement(it -> {
                         it.sql("insert into BOOK(ID, NAME, EDITION, PRICE, STORE_ID) values(?, ?, ?, ?, ?)");
-                        it.variables(newBookId1, "SQL Cookbook", 1, new BigDecimal(50), newId);
-                    });
-                    ctx.statement(it -> {
-                        it.sql(
-                                "select tb_1_.ID, tb_1_.NAME, tb_1_.EDITION " +
-                                        "from BOOK as tb_1_ " +
-                                        "where tb_1_.NAME = ? and tb_1_.EDITION = ?"
+                        it.variables(
+                                newBookId1, "SQL Cookbook", 1, new BigDecimal(50), newId,
+                                newBookId2, "Learning SQL", 1, new BigDecimal(40), newId
                         );
-                        it.variables("Learning SQL", 1);
-                    });
-                    ctx.statement(it -> {
-                        it.sql("insert into BOOK(ID, NAME, EDITION, PRICE, STORE_ID) values(?, ?, ?, ?, ?)");
-                        it.variables(newBookId2, "Learning SQL", 1, new BigDecimal(40), newId);
                     });
                     ctx.entity(it -> {
                         it.original(
@@ -281,25 +273,17 @@ public class CascadeSaveTest extends AbstractMutationTest {
                         it.sql(
                                 "select tb_1_.ID, tb_1_.NAME, tb_1_.EDITION " +
                                         "from BOOK as tb_1_ " +
-                                        "where tb_1_.NAME = ? and tb_1_.EDITION = ?"
+                                        "where tb_1_.NAME = ? and tb_1_.EDITION = ? " +
+                                        "or tb_1_.NAME = ? and tb_1_.EDITION = ?"
                         );
-                        it.variables("Learning GraphQL", 3);
+                        it.variables("Learning GraphQL", 3, "GraphQL in Action", 3);
                     });
                     ctx.statement(it -> {
                         it.sql("update BOOK set PRICE = ?, STORE_ID = ? where ID = ?");
-                        it.variables(new BigDecimal(45), oreillyId, learningGraphQLId3);
-                    });
-                    ctx.statement(it -> {
-                        it.sql(
-                                "select tb_1_.ID, tb_1_.NAME, tb_1_.EDITION " +
-                                        "from BOOK as tb_1_ " +
-                                        "where tb_1_.NAME = ? and tb_1_.EDITION = ?"
+                        it.variables(
+                                new BigDecimal(45), oreillyId, learningGraphQLId3,
+                                new BigDecimal(42), oreillyId, graphQLInActionId3
                         );
-                        it.variables("GraphQL in Action", 3);
-                    });
-                    ctx.statement(it -> {
-                        it.sql("update BOOK set PRICE = ?, STORE_ID = ? where ID = ?");
-                        it.variables(new BigDecimal(42), oreillyId, graphQLInActionId3);
                     });
                     ctx.statement(it -> {
                         it.sql("update BOOK set STORE_ID = null where STORE_ID = ? and ID not in(?, ?)");
@@ -384,25 +368,17 @@ public class CascadeSaveTest extends AbstractMutationTest {
                         it.sql(
                                 "select tb_1_.ID, tb_1_.FIRST_NAME, tb_1_.LAST_NAME " +
                                         "from AUTHOR as tb_1_ " +
-                                        "where tb_1_.FIRST_NAME = ? and tb_1_.LAST_NAME = ?"
+                                        "where tb_1_.FIRST_NAME = ? and tb_1_.LAST_NAME = ? " +
+                                        "or tb_1_.FIRST_NAME = ? and tb_1_.LAST_NAME = ?"
                         );
-                        it.variables("Andrey", "Breslav");
+                        it.variables("Andrey", "Breslav", "Pierre-Yves", "Saumont");
                     });
                     ctx.statement(it -> {
                         it.sql("insert into AUTHOR(ID, FIRST_NAME, LAST_NAME, GENDER) values(?, ?, ?, ?)");
-                        it.variables(newAuthorId1, "Andrey", "Breslav", "M");
-                    });
-                    ctx.statement(it -> {
-                        it.sql(
-                                "select tb_1_.ID, tb_1_.FIRST_NAME, tb_1_.LAST_NAME " +
-                                        "from AUTHOR as tb_1_ " +
-                                        "where tb_1_.FIRST_NAME = ? and tb_1_.LAST_NAME = ?"
+                        it.variables(
+                                newAuthorId1, "Andrey", "Breslav", "M",
+                                newAuthorId2, "Pierre-Yves", "Saumont", "M"
                         );
-                        it.variables("Pierre-Yves", "Saumont");
-                    });
-                    ctx.statement(it -> {
-                        it.sql("insert into AUTHOR(ID, FIRST_NAME, LAST_NAME, GENDER) values(?, ?, ?, ?)");
-                        it.variables(newAuthorId2, "Pierre-Yves", "Saumont", "M");
                     });
                     ctx.statement(it -> {
                         it.sql("insert into BOOK_AUTHOR_MAPPING(BOOK_ID, AUTHOR_ID) values (?, ?), (?, ?)");
@@ -474,25 +450,17 @@ public class CascadeSaveTest extends AbstractMutationTest {
                         it.sql(
                                 "select tb_1_.ID, tb_1_.FIRST_NAME, tb_1_.LAST_NAME " +
                                         "from AUTHOR as tb_1_ " +
-                                        "where tb_1_.FIRST_NAME = ? and tb_1_.LAST_NAME = ?"
+                                        "where tb_1_.FIRST_NAME = ? and tb_1_.LAST_NAME = ? " +
+                                        "or tb_1_.FIRST_NAME = ? and tb_1_.LAST_NAME = ?"
                         );
-                        it.variables("Dan", "Vanderkam");
+                        it.variables("Dan", "Vanderkam", "Boris", "Cherny");
                     });
                     ctx.statement(it -> {
                         it.sql("update AUTHOR set GENDER = ? where ID = ?");
-                        it.variables("F", danId);
-                    });
-                    ctx.statement(it -> {
-                        it.sql(
-                                "select tb_1_.ID, tb_1_.FIRST_NAME, tb_1_.LAST_NAME " +
-                                        "from AUTHOR as tb_1_ " +
-                                        "where tb_1_.FIRST_NAME = ? and tb_1_.LAST_NAME = ?"
+                        it.variables(
+                                "F", danId,
+                                "F", borisId
                         );
-                        it.variables("Boris", "Cherny");
-                    });
-                    ctx.statement(it -> {
-                        it.sql("update AUTHOR set GENDER = ? where ID = ?");
-                        it.variables("F", borisId);
                     });
                     ctx.statement(it -> {
                         it.sql("select AUTHOR_ID from BOOK_AUTHOR_MAPPING where BOOK_ID = ?");
@@ -577,29 +545,19 @@ public class CascadeSaveTest extends AbstractMutationTest {
                         it.sql(
                                 "select tb_1_.ID, tb_1_.NAME, tb_1_.EDITION " +
                                         "from BOOK as tb_1_ " +
-                                        "where tb_1_.NAME = ? and tb_1_.EDITION = ?"
+                                        "where tb_1_.NAME = ? and tb_1_.EDITION = ? " +
+                                        "or tb_1_.NAME = ? and tb_1_.EDITION = ?"
                         );
-                        it.variables("Learning SQL", 1);
+                        it.variables("Learning SQL", 1, "SQL Cookbook", 1);
                     });
                     ctx.statement(it -> {
                         it.sql(
                                 "insert into BOOK(ID, NAME, EDITION, PRICE) values(?, ?, ?, ?)"
                         );
-                        it.variables(newBookId1, "Learning SQL", 1, new BigDecimal(30));
-                    });
-                    ctx.statement(it -> {
-                        it.sql(
-                                "select tb_1_.ID, tb_1_.NAME, tb_1_.EDITION " +
-                                        "from BOOK as tb_1_ " +
-                                        "where tb_1_.NAME = ? and tb_1_.EDITION = ?"
-                        );
-                        it.variables("SQL Cookbook", 1);
-                    });
-                    ctx.statement(it -> {
-                        it.sql(
-                                "insert into BOOK(ID, NAME, EDITION, PRICE) values(?, ?, ?, ?)"
+                        it.variables(
+                                newBookId1, "Learning SQL", 1, new BigDecimal(30),
+                                newBookId2, "SQL Cookbook", 1, new BigDecimal(40)
                         );
-                        it.variables(newBookId2, "SQL Cookbook", 1, new BigDecimal(40));
                     });
                     ctx.statement(it -> {
                         it.sql("insert into BOOK_AUTHOR_MAPPING(AUTHOR_ID, BOOK_ID) values (?, ?), (?, ?)");
@@ -667,25 +625,17 @@ public class CascadeSaveTest extends AbstractMutationTest {
                         it.sql(
                                 "select tb_1_.ID, tb_1_.NAME, tb_1_.EDITION " +
                                         "from BOOK as tb_1_ " +
-                                        "where tb_1_.NAME = ? and tb_1_.EDITION = ?"
+                                        "where tb_1_.NAME = ? and tb_1_.EDITION = ? " +
+                                        "or tb_1_.NAME = ? and tb_1_.EDITION = ?"
                         );
-                        it.variables("Learning GraphQL", 3);
+                        it.variables("Learning GraphQL", 3, "GraphQL in Action", 3);
                     });
                     ctx.statement(it -> {
                         it.sql("update BOOK set PRICE = ? where ID = ?");
-                        it.variables(new BigDecimal(35), learningGraphQLId3);
-                    });
-                    ctx.statement(it -> {
-                        it.sql(
-                                "select tb_1_.ID, tb_1_.NAME, tb_1_.EDITION " +
-                                        "from BOOK as tb_1_ " +
-                                        "where tb_1_.NAME = ? and tb_1_.EDITION = ?"
+                        it.variables(
+                                new BigDecimal(35), learningGraphQLId3,
+                                new BigDecimal(28), graphQLInActionId3
                         );
-                        it.variables("GraphQL in Action", 3);
-                    });
-                    ctx.statement(it -> {
-                        it.sql("update BOOK set PRICE = ? where ID = ?");
-                        it.variables(new BigDecimal(28), graphQLInActionId3);
                     });
                     ctx.statement(it -> {
                         it.sql("select BOOK_ID from BOOK_AUTHOR_MAPPING where AUTHOR_ID = ?");
@@ -770,25 +720,17 @@ public class CascadeSaveTest extends AbstractMutationTest {
                         it.sql(
                                 "select tb_1_.NODE_ID, tb_1_.NAME, tb_1_.PARENT_ID " +
                                         "from TREE_NODE as tb_1_ " +
-                                        "where tb_1_.NAME = ? and tb_1_.PARENT_ID = ?"
+                                        "where tb_1_.NAME = ? and tb_1_.PARENT_ID = ? " +
+                                        "or tb_1_.NAME = ? and tb_1_.PARENT_ID = ?"
                         );
-                        it.variables("Child-1", 100L);
+                        it.variables("Child-1", 100L, "Child-2", 100L);
                     });
                     ctx.statement(it -> {
                         it.sql("insert into TREE_NODE(NODE_ID, NAME, PARENT_ID) values(?, ?, ?)");
-                        it.variables(101L, "Child-1", 100L);
-                    });
-                    ctx.statement(it -> {
-                        it.sql(
-                                "select tb_1_.NODE_ID, tb_1_.NAME, tb_1_.PARENT_ID " +
-                                        "from TREE_NODE as tb_1_ " +
-                                        "where tb_1_.NAME = ? and tb_1_.PARENT_ID = ?"
+                        it.variables(
+                                101L, "Child-1", 100L,
+                                102L, "Child-2", 100L
                         );
-                        it.variables("Child-2", 100L);
-                    });
-                    ctx.statement(it -> {
-                        it.sql("insert into TREE_NODE(NODE_ID, NAME, PARENT_ID) values(?, ?, ?)");
-                        it.variables(102L, "Child-2", 100L);
                     });
                     ctx.entity(it -> {
                         it.original(
@@ -870,20 +812,8 @@ public class CascadeSaveTest extends AbstractMutationTest {
                         it.sql(
                                 "select tb_1_.ID, tb_1_.NAME, tb_1_.EDITION " +
                                         "from BOOK as tb_1_ " +
-                                        "where tb_1_.NAME = ? and tb_1_.EDITION = ?"
-                        );
-                    });
-                    ctx.statement(it -> {
-                        it.sql(
-                                "insert into BOOK(ID, NAME, EDITION, PRICE, STORE_ID) " +
-                                        "values(?, ?, ?, ?, ?)"
-                        );
-                    });
-                    ctx.statement(it -> {
-                        it.sql(
-                                "select tb_1_.ID, tb_1_.NAME, tb_1_.EDITION " +
-                                        "from BOOK as tb_1_ " +
-                                        "where tb_1_.NAME = ? and tb_1_.EDITION = ?"
+                                        "where tb_1_.NAME = ? and tb_1_.EDITION = ? " +
+                                        "or tb_1_.NAME = ? and tb_1_.EDITION = ?"
                         );
                     });
                     ctx.statement(it -> {
@@ -897,7 +827,7 @@ public class CascadeSaveTest extends AbstractMutationTest {
                                 "{\"name\":\"A\",\"edition\":1,\"price\":48,\"store\":{\"id\":\"6057bec2-df8d-48f1-b31e-fdd36861cccb\",\"name\":\"TURING\",\"version\":0}}"
                         );
                         it.modified(
-                                "{\"name\":\"A\",\"edition\":1,\"price\":48,\"store\":{\"id\":\"6057bec2-df8d-48f1-b31e-fdd36861cccb\",\"name\":\"TURING\",\"version\":0}}"
+                                "{\"id\":\"e1d34561-17df-4c08-9959-1c6cb33cdafb\",\"name\":\"A\",\"edition\":1,\"price\":48,\"store\":{\"id\":\"6057bec2-df8d-48f1-b31e-fdd36861cccb\",\"name\":\"TURING\",\"version\":0}}"
                         );
                     });
                     ctx.entity(it -> {
@@ -905,7 +835,7 @@ public class CascadeSaveTest extends AbstractMutationTest {
                                 "{\"name\":\"B\",\"edition\":1,\"price\":49,\"store\":{\"id\":\"6057bec2-df8d-48f1-b31e-fdd36861cccb\",\"name\":\"TURING\",\"version\":0}}"
                         );
                         it.modified(
-                                "{\"name\":\"B\",\"edition\":1,\"price\":49,\"store\":{\"id\":\"6057bec2-df8d-48f1-b31e-fdd36861cccb\",\"name\":\"TURING\",\"version\":0}}"
+                                "{\"id\":\"3d1d7676-5258-41c0-8e21-02110af07e90\",\"name\":\"B\",\"edition\":1,\"price\":49,\"store\":{\"id\":\"6057bec2-df8d-48f1-b31e-fdd36861cccb\",\"name\":\"TURING\",\"version\":0}}"
                         );
                     });
                 }
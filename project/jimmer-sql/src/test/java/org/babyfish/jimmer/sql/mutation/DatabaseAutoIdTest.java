@@ -11,6 +11,9 @@ import org.babyfish.jimmer.sql.model.TreeNode;
 import org.babyfish.jimmer.sql.model.TreeNodeDraft;
 import org.junit.jupiter.api.Test;
 
+import java.sql.ResultSet;
+import java.util.Arrays;
+
 public class DatabaseAutoIdTest extends AbstractMutationTest {
 
     @Test
@@ -73,6 +76,96 @@ public class DatabaseAutoIdTest extends AbstractMutationTest {
         );
     }
 
+    @Test
+    public void testIdentityBatchByH2() {
+
+        useIdentity();
+
+        executeAndExpectResult(
+                getSqlClient(
+                        it -> it
+                                .setDialect(new H2Dialect())
+                                .setIdGenerator(TreeNode.class, IdentityIdGenerator.INSTANCE)
+                ).getEntities().saveCommand(
+                        TreeNodeDraft.$.produce(treeNode -> {
+                            treeNode
+                                    .setName("Computer")
+                                    .addIntoChildNodes(child -> child.setName("Laptop"))
+                                    .addIntoChildNodes(child -> child.setName("Desktop"));
+                        })
+                ).configure(it -> it.setMode(SaveMode.INSERT_ONLY).setAutoAttachingAll()),
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql("insert into TREE_NODE(NAME) values(?)");
+                        it.variables("Computer");
+                    });
+                    ctx.statement(it -> {
+                        it.sql(
+                                "select tb_1_.NODE_ID, tb_1_.NAME, tb_1_.PARENT_ID " +
+                                        "from TREE_NODE as tb_1_ " +
+                                        "where tb_1_.NAME = ? and tb_1_.PARENT_ID = ? " +
+                                        "or tb_1_.NAME = ? and tb_1_.PARENT_ID = ?"
+                        );
+                        it.variables("Laptop", 100L, "Desktop", 100L);
+                    });
+                    ctx.statement(it -> {
+                        it.sql("insert into TREE_NODE(NAME, PARENT_ID) values(?, ?)");
+                        it.variables("Laptop", 100L, "Desktop", 100L);
+                    });
+                    ctx.entity(it -> {
+                        it.modified(
+                                "{\"id\":100,\"name\":\"Computer\",\"childNodes\":[" +
+                                        "{\"id\":101,\"name\":\"Laptop\",\"parent\":{\"id\":100}}," +
+                                        "{\"id\":102,\"name\":\"Desktop\",\"parent\":{\"id\":100}}" +
+                                        "]}"
+                        );
+                    });
+                }
+        );
+    }
+
+    @Test
+    public void testIdentityWithoutBatchGeneratedKeys() {
+
+        useIdentity();
+
+        executeAndExpectResult(
+                getSqlClient(
+                        it -> it
+                                .setDialect(
+                                        new H2Dialect() {
+                                            @Override
+                                            public boolean isBatchGeneratedKeysSupported() {
+                                                return false;
+                                            }
+                                        }
+                                )
+                                .setIdGenerator(TreeNode.class, IdentityIdGenerator.INSTANCE)
+                ).getEntities().batchSaveCommand(
+                        Arrays.asList(
+                                TreeNodeDraft.$.produce(treeNode -> treeNode.setName("Laptop")),
+                                TreeNodeDraft.$.produce(treeNode -> treeNode.setName("Desktop"))
+                        )
+                ).configure(it -> it.setMode(SaveMode.INSERT_ONLY)),
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql("insert into TREE_NODE(NAME) values(?)");
+                        it.variables("Laptop");
+                    });
+                    ctx.statement(it -> {
+                        it.sql("insert into TREE_NODE(NAME) values(?)");
+                        it.variables("Desktop");
+                    });
+                    ctx.entity(it -> {
+                        it.modified("{\"id\":100,\"name\":\"Laptop\"}");
+                    });
+                    ctx.entity(it -> {
+                        it.modified("{\"id\":101,\"name\":\"Desktop\"}");
+                    });
+                }
+        );
+    }
+
     @Test
     public void testIdentityByMySql() {
 
@@ -109,4 +202,27 @@ public class DatabaseAutoIdTest extends AbstractMutationTest {
                 }
         );
     }
+
+    private void useIdentity() {
+        jdbc(con -> {
+            try (ResultSet rs = con.createStatement().executeQuery(
+                    "select is_identity from information_schema.columns " +
+                            "where table_name = 'TREE_NODE' and column_name = 'NODE_ID'"
+            )) {
+                rs.next();
+                if ("YES".equals(rs.getString(1))) {
+                    con
+                            .createStatement()
+                            .executeUpdate("alter table tree_node alter column node_id restart with 100");
+                    return;
+                }
+            }
+            con
+                    .createStatement()
+                    .executeUpdate(
+                            "alter table tree_node alter column node_id " +
+                                    "bigint generated by default as identity(start with 100)"
+                    );
+        });
+    }
 }
@@ -3,10 +3,13 @@ package org.babyfish.jimmer.sql.mutation;
 import org.babyfish.jimmer.sql.DissociateAction;
 import org.babyfish.jimmer.sql.ast.mutation.AffectedTable;
 import org.babyfish.jimmer.sql.common.AbstractMutationTest;
+import org.babyfish.jimmer.sql.dialect.DefaultDialect;
 import static org.babyfish.jimmer.sql.common.Constants.*;
 
 import org.babyfish.jimmer.sql.model.*;
 import org.babyfish.jimmer.sql.runtime.ExecutionException;
+import org.babyfish.jimmer.sql.runtime.InListPadding;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
@@ -69,6 +72,89 @@ public class DeleteTest extends AbstractMutationTest {
         );
     }
 
+    @Test
+    public void testDeleteBookStoreWithPaddedInList() {
+        executeAndExpectResult(
+                getSqlClient(it -> it.setInListPadding(InListPadding.steps(4))).getEntities().deleteCommand(
+                        BookStore.class,
+                        manningId
+                ).configure(cfg -> {
+                    cfg.setDissociateAction(
+                            BookTable.class,
+                            it -> it.store(),
+                            DissociateAction.SET_NULL
+                    );
+                }),
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql("update BOOK set STORE_ID = null where STORE_ID in(?, ?, ?, ?)");
+                        it.variables(manningId, manningId, manningId, manningId);
+                    });
+                    ctx.statement(it -> {
+                        it.sql("delete from BOOK_STORE where ID in(?, ?, ?, ?)");
+                        it.variables(manningId, manningId, manningId, manningId);
+                    });
+                    ctx
+                            .totalRowCount(4)
+                            .rowCount(AffectedTable.of(Book.class), 3)
+                            .rowCount(AffectedTable.of(BookStore.class), 1);
+                }
+        );
+    }
+
+    @Test
+    public void testDeleteBookStoreInChunks() {
+        executeAndExpectResult(
+                getSqlClient(it -> it.setDialect(
+                        new DefaultDialect() {
+                            @Override
+                            public int getMaxInListSize() {
+                                return 2;
+                            }
+                        }
+                )).getEntities().deleteCommand(
+                        BookStore.class,
+                        manningId
+                ).configure(cfg -> {
+                    cfg.setDissociateAction(
+                            BookTable.class,
+                            it -> it.store(),
+                            DissociateAction.DELETE
+                    );
+                }),
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql("select ID from BOOK where STORE_ID in(?)");
+                        it.variables(manningId);
+                    });
+                    ctx.statement(it -> {
+                        it.sql("delete from BOOK_AUTHOR_MAPPING where BOOK_ID in(?, ?)");
+                        it.variables(variables -> Assertions.assertEquals(2, variables.size()));
+                    });
+                    ctx.statement(it -> {
+                        it.sql("delete from BOOK_AUTHOR_MAPPING where BOOK_ID in(?)");
+                        it.variables(variables -> Assertions.assertEquals(1, variables.size()));
+                    });
+                    ctx.statement(it -> {
+                        it.sql("delete from BOOK where ID in(?, ?)");
+                        it.variables(variables -> Assertions.assertEquals(2, variables.size()));
+                    });
+                    ctx.statement(it -> {
+                        it.sql("delete from BOOK where ID in(?)");
+                        it.variables(variables -> Assertions.assertEquals(1, variables.size()));
+                    });
+                    ctx.statement(it -> {
+                        it.sql("delete from BOOK_STORE where ID in(?)");
+                        it.variables(manningId);
+                    });
+                    ctx.totalRowCount(7);
+                    ctx.rowCount(AffectedTable.of(BookStore.class), 1);
+                    ctx.rowCount(AffectedTable.of(Book.class), 3);
+                    ctx.rowCount(AffectedTable.of(BookTableEx.class, BookTableEx::authors), 3);
+                }
+        );
+    }
+
     @Test
     public void testDeleteBookStoreOnDissociateDelete() {
         executeAndExpectResult(
@@ -82,20 +82,7 @@ public class InheritanceMutationTest extends AbstractMutationTest {
                         it.sql(
                                 "select tb_1_.ID, tb_1_.NAME " +
                                         "from PERMISSION as tb_1_ " +
-                                        "where tb_1_.NAME = ?"
-                        );
-                    });
-                    ctx.statement(it -> {
-                        it.sql(
-                                "insert into PERMISSION(NAME, CREATED_TIME, MODIFIED_TIME, ROLE_ID, ID) " +
-                                        "values(?, ?, ?, ?, ?)"
-                        );
-                    });
-                    ctx.statement(it -> {
-                        it.sql(
-                                "select tb_1_.ID, tb_1_.NAME " +
-                                        "from PERMISSION as tb_1_ " +
-                                        "where tb_1_.NAME = ?"
+                                        "where tb_1_.NAME = ? or tb_1_.NAME = ?"
                         );
                     });
                     ctx.statement(it -> {
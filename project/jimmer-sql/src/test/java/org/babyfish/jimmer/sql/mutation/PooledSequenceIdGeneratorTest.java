@@ -0,0 +1,134 @@
+package org.babyfish.jimmer.sql.mutation;
+
+import org.babyfish.jimmer.sql.ast.mutation.SaveMode;
+import org.babyfish.jimmer.sql.common.AbstractMutationTest;
+import org.babyfish.jimmer.sql.dialect.H2Dialect;
+import org.babyfish.jimmer.sql.meta.PooledSequenceIdGenerator;
+import org.babyfish.jimmer.sql.model.TreeNode;
+import org.babyfish.jimmer.sql.model.TreeNodeDraft;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+public class PooledSequenceIdGeneratorTest extends AbstractMutationTest {
+
+    private static final int THREAD_COUNT = 8;
+
+    private static final int ID_COUNT_PER_THREAD = 20000;
+
+    @Test
+    public void testPooledLoByH2() {
+
+        jdbc(con -> {
+            con
+                    .createStatement()
+                    .executeUpdate("alter sequence tree_node_id_seq restart with 100 increment by 10");
+        });
+
+        executeAndExpectResult(
+                getSqlClient(
+                        it -> it
+                                .setDialect(new H2Dialect())
+                                .setIdGenerator(
+                                        TreeNode.class,
+                                        new PooledSequenceIdGenerator("tree_node_id_seq", 10)
+                                )
+                ).getEntities().batchSaveCommand(
+                        Arrays.asList(
+                                TreeNodeDraft.$.produce(treeNode -> treeNode.setName("Computer")),
+                                TreeNodeDraft.$.produce(treeNode -> treeNode.setName("Phone")),
+                                TreeNodeDraft.$.produce(treeNode -> treeNode.setName("Tablet"))
+                        )
+                ).configure(it -> it.setMode(SaveMode.INSERT_ONLY)),
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql("select nextval('tree_node_id_seq')");
+                    });
+                    ctx.statement(it -> {
+                        it.sql("insert into TREE_NODE(NODE_ID, NAME) values(?, ?)");
+                        it.variables(100L, "Computer", 101L, "Phone", 102L, "Tablet");
+                    });
+                    ctx.entity(it -> {
+                        it.modified("{\"id\":100,\"name\":\"Computer\"}");
+                    });
+                    ctx.entity(it -> {
+                        it.modified("{\"id\":101,\"name\":\"Phone\"}");
+                    });
+                    ctx.entity(it -> {
+                        it.modified("{\"id\":102,\"name\":\"Tablet\"}");
+                    });
+                }
+        );
+    }
+
+    @Test
+    public void testPooledLoUnderContention() throws Exception {
+        AtomicLong sequence = new AtomicLong(1);
+        AtomicInteger fetchCount = new AtomicInteger();
+        PooledSequenceIdGenerator generator = new PooledSequenceIdGenerator("seq", 16);
+        assertUniqueUnderContention(generator, () -> {
+            fetchCount.incrementAndGet();
+            return sequence.getAndAdd(16);
+        });
+        assertFetchCount(fetchCount.get(), 16);
+    }
+
+    @Test
+    public void testHiLoUnderContention() throws Exception {
+        AtomicLong sequence = new AtomicLong(1);
+        AtomicInteger fetchCount = new AtomicInteger();
+        PooledSequenceIdGenerator generator = new PooledSequenceIdGenerator(
+                "seq",
+                16,
+                PooledSequenceIdGenerator.Optimizer.HI_LO
+        );
+        assertUniqueUnderContention(generator, () -> {
+            fetchCount.incrementAndGet();
+            return sequence.getAndIncrement();
+        });
+        assertFetchCount(fetchCount.get(), 16);
+    }
+
+    private static void assertUniqueUnderContention(
+            PooledSequenceIdGenerator generator,
+            LongSupplier nextSequenceValue
+    ) throws Exception {
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        AtomicInteger duplicatedCount = new AtomicInteger();
+        CountDownLatch startLatch = new CountDownLatch(1);
+        ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+        try {
+            Future<?>[] futures = new Future<?>[THREAD_COUNT];
+            for (int i = 0; i < THREAD_COUNT; i++) {
+                futures[i] = executorService.submit(() -> {
+                    startLatch.await();
+                    for (int j = 0; j < ID_COUNT_PER_THREAD; j++) {
+                        if (!ids.add(generator.allocate(nextSequenceValue))) {
+                            duplicatedCount.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            startLatch.countDown();
+            for (Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+        Assertions.assertEquals(0, duplicatedCount.get());
+        Assertions.assertEquals(THREAD_COUNT * ID_COUNT_PER_THREAD, ids.size());
+    }
+
+    private static void assertFetchCount(int fetchCount, int allocationSize) {
+        // Every fetched block is used up before the next one is fetched
+        Assertions.assertEquals(THREAD_COUNT * ID_COUNT_PER_THREAD / allocationSize, fetchCount);
+    }
+}
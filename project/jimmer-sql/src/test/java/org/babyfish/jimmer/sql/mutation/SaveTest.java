@@ -5,13 +5,19 @@ import org.babyfish.jimmer.sql.OptimisticLockException;
 import org.babyfish.jimmer.sql.ast.mutation.AffectedTable;
 import org.babyfish.jimmer.sql.ast.mutation.SaveMode;
 import org.babyfish.jimmer.sql.common.AbstractMutationTest;
+import org.babyfish.jimmer.sql.common.NativeDatabases;
 import static org.babyfish.jimmer.sql.common.Constants.*;
 
+import org.babyfish.jimmer.sql.dialect.DefaultDialect;
+import org.babyfish.jimmer.sql.dialect.H2Dialect;
+import org.babyfish.jimmer.sql.dialect.PostgresDialect;
+import org.babyfish.jimmer.sql.meta.UserIdGenerator;
 import org.babyfish.jimmer.sql.model.*;
 import org.babyfish.jimmer.sql.runtime.DbNull;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.util.Arrays;
 import java.util.UUID;
 
 public class SaveTest extends AbstractMutationTest {
@@ -135,6 +141,448 @@ public class SaveTest extends AbstractMutationTest {
         );
     }
 
+    @Test
+    public void testBatchInsert() {
+        UUID newId1 = UUID.fromString("56506a3c-801b-4f7d-a41d-e889cdc3d67d");
+        UUID newId2 = UUID.fromString("4f33a7a1-0d3b-4c4b-9d38-7f8f4b4a3c25");
+        executeAndExpectResult(
+                getSqlClient().getEntities().batchSaveCommand(
+                        Arrays.asList(
+                                BookStoreDraft.$.produce(store -> {
+                                    store.setId(newId1);
+                                    store.setName("TURING");
+                                }),
+                                BookStoreDraft.$.produce(store -> {
+                                    store.setId(newId2);
+                                    store.setName("PACKT");
+                                })
+                        )
+                ).configure(cfg -> cfg.setMode(SaveMode.INSERT_ONLY)),
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql("insert into BOOK_STORE(ID, NAME, VERSION) values(?, ?, ?)");
+                        it.variables(newId1, "TURING", 0, newId2, "PACKT", 0);
+                    });
+                    ctx.entity(it -> {
+                        it.original("{\"id\":\"56506a3c-801b-4f7d-a41d-e889cdc3d67d\",\"name\":\"TURING\"}");
+                        it.modified("{\"id\":\"56506a3c-801b-4f7d-a41d-e889cdc3d67d\",\"name\":\"TURING\",\"version\":0}");
+                    });
+                    ctx.entity(it -> {
+                        it.original("{\"id\":\"4f33a7a1-0d3b-4c4b-9d38-7f8f4b4a3c25\",\"name\":\"PACKT\"}");
+                        it.modified("{\"id\":\"4f33a7a1-0d3b-4c4b-9d38-7f8f4b4a3c25\",\"name\":\"PACKT\",\"version\":0}");
+                    });
+                    ctx.totalRowCount(2);
+                    ctx.rowCount(AffectedTable.of(BookStore.class), 2);
+                }
+        );
+    }
+
+    @Test
+    public void testBatchInsertByDmlBatchSize() {
+        UUID newId1 = UUID.fromString("56506a3c-801b-4f7d-a41d-e889cdc3d67d");
+        UUID newId2 = UUID.fromString("4f33a7a1-0d3b-4c4b-9d38-7f8f4b4a3c25");
+        executeAndExpectResult(
+                getSqlClient(it -> it.setDefaultDmlBatchSize(1)).getEntities().batchSaveCommand(
+                        Arrays.asList(
+                                BookStoreDraft.$.produce(store -> {
+                                    store.setId(newId1);
+                                    store.setName("TURING");
+                                }),
+                                BookStoreDraft.$.produce(store -> {
+                                    store.setId(newId2);
+                                    store.setName("PACKT");
+                                })
+                        )
+                ).configure(cfg -> cfg.setMode(SaveMode.INSERT_ONLY)),
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql("insert into BOOK_STORE(ID, NAME, VERSION) values(?, ?, ?)");
+                        it.variables(newId1, "TURING", 0);
+                    });
+                    ctx.statement(it -> {
+                        it.sql("insert into BOOK_STORE(ID, NAME, VERSION) values(?, ?, ?)");
+                        it.variables(newId2, "PACKT", 0);
+                    });
+                    ctx.entity(it -> {
+                        it.original("{\"id\":\"56506a3c-801b-4f7d-a41d-e889cdc3d67d\",\"name\":\"TURING\"}");
+                        it.modified("{\"id\":\"56506a3c-801b-4f7d-a41d-e889cdc3d67d\",\"name\":\"TURING\",\"version\":0}");
+                    });
+                    ctx.entity(it -> {
+                        it.original("{\"id\":\"4f33a7a1-0d3b-4c4b-9d38-7f8f4b4a3c25\",\"name\":\"PACKT\"}");
+                        it.modified("{\"id\":\"4f33a7a1-0d3b-4c4b-9d38-7f8f4b4a3c25\",\"name\":\"PACKT\",\"version\":0}");
+                    });
+                    ctx.totalRowCount(2);
+                    ctx.rowCount(AffectedTable.of(BookStore.class), 2);
+                }
+        );
+    }
+
+    @Test
+    public void testBatchUpdate() {
+        executeAndExpectResult(
+                getSqlClient().getEntities().batchSaveCommand(
+                        Arrays.asList(
+                                BookDraft.$.produce(book -> {
+                                    book.setId(learningGraphQLId1);
+                                    book.setPrice(new BigDecimal(40));
+                                }),
+                                BookDraft.$.produce(book -> {
+                                    book.setId(learningGraphQLId2);
+                                    book.setPrice(new BigDecimal(50));
+                                })
+                        )
+                ).configure(cfg -> cfg.setMode(SaveMode.UPDATE_ONLY)),
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql("update BOOK set PRICE = ? where ID = ?");
+                        it.variables(new BigDecimal(40), learningGraphQLId1, new BigDecimal(50), learningGraphQLId2);
+                    });
+                    ctx.entity(it -> {
+                        it.original("{\"id\":\"e110c564-23cc-4811-9e81-d587a13db634\",\"price\":40}");
+                        it.modified("{\"id\":\"e110c564-23cc-4811-9e81-d587a13db634\",\"price\":40}");
+                    });
+                    ctx.entity(it -> {
+                        it.original("{\"id\":\"b649b11b-1161-4ad2-b261-af0112fdd7c8\",\"price\":50}");
+                        it.modified("{\"id\":\"b649b11b-1161-4ad2-b261-af0112fdd7c8\",\"price\":50}");
+                    });
+                    ctx.totalRowCount(2);
+                    ctx.rowCount(AffectedTable.of(Book.class), 2);
+                }
+        );
+    }
+
+    @Test
+    public void testBatchUpsertByIdOnUpsertSupportedDialect() {
+        executeAndExpectResult(
+                getSqlClient(it -> it.setDialect(new H2Dialect())).getEntities().batchSaveCommand(
+                        Arrays.asList(
+                                BookDraft.$.produce(book -> {
+                                    book.setId(learningGraphQLId1);
+                                    book.setPrice(new BigDecimal(40));
+                                }),
+                                BookDraft.$.produce(book -> {
+                                    book.setId(learningGraphQLId2);
+                                    book.setPrice(new BigDecimal(50));
+                                })
+                        )
+                ).configure(cfg -> cfg.setMode(SaveMode.UPSERT)),
+                ctx -> {
+                    // Only NATIVE_UPSERT skips the preload
+                    ctx.statement(it -> {
+                        it.sql(
+                                "select tb_1_.ID, tb_1_.NAME, tb_1_.EDITION " +
+                                        "from BOOK as tb_1_ " +
+                                        "where tb_1_.ID in (?, ?)"
+                        );
+                        it.variables(learningGraphQLId1, learningGraphQLId2);
+                    });
+                    ctx.statement(it -> {
+                        it.sql("update BOOK set PRICE = ? where ID = ?");
+                        it.variables(new BigDecimal(40), learningGraphQLId1, new BigDecimal(50), learningGraphQLId2);
+                    });
+                    ctx.entity(it -> {
+                        it.original("{\"id\":\"e110c564-23cc-4811-9e81-d587a13db634\",\"price\":40}");
+                        it.modified("{\"id\":\"e110c564-23cc-4811-9e81-d587a13db634\",\"price\":40}");
+                    });
+                    ctx.entity(it -> {
+                        it.original("{\"id\":\"b649b11b-1161-4ad2-b261-af0112fdd7c8\",\"price\":50}");
+                        it.modified("{\"id\":\"b649b11b-1161-4ad2-b261-af0112fdd7c8\",\"price\":50}");
+                    });
+                    ctx.totalRowCount(2);
+                    ctx.rowCount(AffectedTable.of(Book.class), 2);
+                }
+        );
+    }
+
+    @Test
+    public void testVersionedUpdateIsNotBatched() {
+        executeAndExpectResult(
+                getSqlClient().getEntities().batchSaveCommand(
+                        Arrays.asList(
+                                BookStoreDraft.$.produce(store -> {
+                                    store.setId(oreillyId);
+                                    store.setName("TURING");
+                                    store.setVersion(0);
+                                }),
+                                BookStoreDraft.$.produce(store -> {
+                                    store.setId(manningId);
+                                    store.setName("PACKT");
+                                    store.setVersion(0);
+                                })
+                        )
+                ).configure(cfg -> cfg.setMode(SaveMode.UPDATE_ONLY)),
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql("update BOOK_STORE set NAME = ?, VERSION = VERSION + 1 where ID = ? and VERSION = ?");
+                        it.variables("TURING", oreillyId, 0);
+                    });
+                    ctx.statement(it -> {
+                        it.sql("update BOOK_STORE set NAME = ?, VERSION = VERSION + 1 where ID = ? and VERSION = ?");
+                        it.variables("PACKT", manningId, 0);
+                    });
+                    ctx.entity(it -> {
+                        it.original("{\"id\":\"d38c10da-6be8-4924-b9b9-5e81899612a0\",\"name\":\"TURING\",\"version\":0}");
+                        it.modified("{\"id\":\"d38c10da-6be8-4924-b9b9-5e81899612a0\",\"name\":\"TURING\",\"version\":1}");
+                    });
+                    ctx.entity(it -> {
+                        it.original("{\"id\":\"2fa3955e-3e83-49b9-902e-0465c109c779\",\"name\":\"PACKT\",\"version\":0}");
+                        it.modified("{\"id\":\"2fa3955e-3e83-49b9-902e-0465c109c779\",\"name\":\"PACKT\",\"version\":1}");
+                    });
+                    ctx.totalRowCount(2);
+                    ctx.rowCount(AffectedTable.of(BookStore.class), 2);
+                }
+        );
+    }
+
+    @Test
+    public void testBatchUpsertByKeyProps() {
+        UUID newId = UUID.fromString("56506a3c-801b-4f7d-a41d-e889cdc3d67d");
+        setAutoIds(BookStore.class, newId);
+        executeAndExpectResult(
+                getSqlClient().getEntities().batchSaveCommand(
+                        Arrays.asList(
+                                BookStoreDraft.$.produce(store -> {
+                                    store.setName("O'REILLY");
+                                    store.setWebsite("http://www.oreilly.com");
+                                    store.setVersion(0);
+                                }),
+                                BookStoreDraft.$.produce(store -> {
+                                    store.setName("MANNING");
+                                    store.setWebsite("http://www.manning.com");
+                                    store.setVersion(0);
+                                }),
+                                BookStoreDraft.$.produce(store -> {
+                                    store.setName("TURING");
+                                    store.setWebsite("http://www.turing.com");
+                                })
+                        )
+                ),
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql(
+                                "select tb_1_.ID, tb_1_.NAME " +
+                                        "from BOOK_STORE as tb_1_ " +
+                                        "where tb_1_.NAME = ? or tb_1_.NAME = ? or tb_1_.NAME = ?"
+                        );
+                        it.variables("O'REILLY", "MANNING", "TURING");
+                    });
+                    ctx.statement(it -> {
+                        it.sql(
+                                "update BOOK_STORE set WEBSITE = ?, VERSION = VERSION + 1 " +
+                                        "where ID = ? and VERSION = ?"
+                        );
+                        it.variables("http://www.oreilly.com", oreillyId, 0);
+                    });
+                    ctx.statement(it -> {
+                        it.sql(
+                                "update BOOK_STORE set WEBSITE = ?, VERSION = VERSION + 1 " +
+                                        "where ID = ? and VERSION = ?"
+                        );
+                        it.variables("http://www.manning.com", manningId, 0);
+                    });
+                    ctx.statement(it -> {
+                        it.sql("insert into BOOK_STORE(ID, NAME, WEBSITE, VERSION) values(?, ?, ?, ?)");
+                        it.variables(newId, "TURING", "http://www.turing.com", 0);
+                    });
+                    ctx.entity(it -> {
+                        it.original("{\"name\":\"O'REILLY\",\"website\":\"http://www.oreilly.com\",\"version\":0}");
+                        it.modified("{\"id\":\"d38c10da-6be8-4924-b9b9-5e81899612a0\",\"name\":\"O'REILLY\",\"website\":\"http://www.oreilly.com\",\"version\":1}");
+                    });
+                    ctx.entity(it -> {
+                        it.original("{\"name\":\"MANNING\",\"website\":\"http://www.manning.com\",\"version\":0}");
+                        it.modified("{\"id\":\"2fa3955e-3e83-49b9-902e-0465c109c779\",\"name\":\"MANNING\",\"website\":\"http://www.manning.com\",\"version\":1}");
+                    });
+                    ctx.entity(it -> {
+                        it.original("{\"name\":\"TURING\",\"website\":\"http://www.turing.com\"}");
+                        it.modified("{\"id\":\"56506a3c-801b-4f7d-a41d-e889cdc3d67d\",\"name\":\"TURING\",\"website\":\"http://www.turing.com\",\"version\":0}");
+                    });
+                    ctx.totalRowCount(3);
+                    ctx.rowCount(AffectedTable.of(BookStore.class), 3);
+                }
+        );
+    }
+
+    @Test
+    public void testBatchUpsertByKeyPropsInChunks() {
+        UUID newId = UUID.fromString("56506a3c-801b-4f7d-a41d-e889cdc3d67d");
+        setAutoIds(BookStore.class, newId);
+        executeAndExpectResult(
+                getSqlClient(it -> {
+                    UserIdGenerator idGenerator = this::autoId;
+                    it.setIdGenerator(idGenerator);
+                    it.setDialect(
+                            new DefaultDialect() {
+                                @Override
+                                public int getMaxInListSize() {
+                                    return 2;
+                                }
+                            }
+                    );
+                }).getEntities().batchSaveCommand(
+                        Arrays.asList(
+                                BookStoreDraft.$.produce(store -> {
+                                    store.setName("O'REILLY");
+                                    store.setWebsite("http://www.oreilly.com");
+                                    store.setVersion(0);
+                                }),
+                                BookStoreDraft.$.produce(store -> {
+                                    store.setName("MANNING");
+                                    store.setWebsite("http://www.manning.com");
+                                    store.setVersion(0);
+                                }),
+                                BookStoreDraft.$.produce(store -> {
+                                    store.setName("TURING");
+                                    store.setWebsite("http://www.turing.com");
+                                })
+                        )
+                ),
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql(
+                                "select tb_1_.ID, tb_1_.NAME " +
+                                        "from BOOK_STORE as tb_1_ " +
+                                        "where tb_1_.NAME = ? or tb_1_.NAME = ?"
+                        );
+                        it.variables("O'REILLY", "MANNING");
+                    });
+                    ctx.statement(it -> {
+                        it.sql(
+                                "select tb_1_.ID, tb_1_.NAME " +
+                                        "from BOOK_STORE as tb_1_ " +
+                                        "where tb_1_.NAME = ?"
+                        );
+                        it.variables("TURING");
+                    });
+                    ctx.statement(it -> {
+                        it.sql(
+                                "update BOOK_STORE set WEBSITE = ?, VERSION = VERSION + 1 " +
+                                        "where ID = ? and VERSION = ?"
+                        );
+                        it.variables("http://www.oreilly.com", oreillyId, 0);
+                    });
+                    ctx.statement(it -> {
+                        it.sql(
+                                "update BOOK_STORE set WEBSITE = ?, VERSION = VERSION + 1 " +
+                                        "where ID = ? and VERSION = ?"
+                        );
+                        it.variables("http://www.manning.com", manningId, 0);
+                    });
+                    ctx.statement(it -> {
+                        it.sql("insert into BOOK_STORE(ID, NAME, WEBSITE, VERSION) values(?, ?, ?, ?)");
+                        it.variables(newId, "TURING", "http://www.turing.com", 0);
+                    });
+                    ctx.entity(it -> {
+                        it.original("{\"name\":\"O'REILLY\",\"website\":\"http://www.oreilly.com\",\"version\":0}");
+                        it.modified("{\"id\":\"d38c10da-6be8-4924-b9b9-5e81899612a0\",\"name\":\"O'REILLY\",\"website\":\"http://www.oreilly.com\",\"version\":1}");
+                    });
+                    ctx.entity(it -> {
+                        it.original("{\"name\":\"MANNING\",\"website\":\"http://www.manning.com\",\"version\":0}");
+                        it.modified("{\"id\":\"2fa3955e-3e83-49b9-902e-0465c109c779\",\"name\":\"MANNING\",\"website\":\"http://www.manning.com\",\"version\":1}");
+                    });
+                    ctx.entity(it -> {
+                        it.original("{\"name\":\"TURING\",\"website\":\"http://www.turing.com\"}");
+                        it.modified("{\"id\":\"56506a3c-801b-4f7d-a41d-e889cdc3d67d\",\"name\":\"TURING\",\"website\":\"http://www.turing.com\",\"version\":0}");
+                    });
+                    ctx.totalRowCount(3);
+                    ctx.rowCount(AffectedTable.of(BookStore.class), 3);
+                }
+        );
+    }
+
+    @Test
+    public void testNativeUpsert() {
+        UUID newId = UUID.fromString("56506a3c-801b-4f7d-a41d-e889cdc3d67d");
+        executeAndExpectResult(
+                getSqlClient(it -> it.setDialect(new H2Dialect())).getEntities().batchSaveCommand(
+                        Arrays.asList(
+                                BookDraft.$.produce(book -> {
+                                    book.setId(learningGraphQLId1);
+                                    book.setName("Learning GraphQL");
+                                    book.setEdition(1);
+                                    book.setPrice(new BigDecimal(50));
+                                }),
+                                BookDraft.$.produce(book -> {
+                                    book.setId(newId);
+                                    book.setName("Kotlin in Action");
+                                    book.setEdition(1);
+                                    book.setPrice(new BigDecimal(49));
+                                })
+                        )
+                ).configure(cfg -> cfg.setMode(SaveMode.NATIVE_UPSERT)),
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql(
+                                "merge into BOOK(ID, NAME, EDITION, PRICE) " +
+                                        "key(ID) values(?, ?, ?, ?)"
+                        );
+                        it.variables(
+                                learningGraphQLId1, "Learning GraphQL", 1, new BigDecimal(50),
+                                newId, "Kotlin in Action", 1, new BigDecimal(49)
+                        );
+                    });
+                    ctx.entity(it -> {
+                        it.original("{\"id\":\"e110c564-23cc-4811-9e81-d587a13db634\",\"name\":\"Learning GraphQL\",\"edition\":1,\"price\":50}");
+                        it.modified("{\"id\":\"e110c564-23cc-4811-9e81-d587a13db634\",\"name\":\"Learning GraphQL\",\"edition\":1,\"price\":50}");
+                    });
+                    ctx.entity(it -> {
+                        it.original("{\"id\":\"56506a3c-801b-4f7d-a41d-e889cdc3d67d\",\"name\":\"Kotlin in Action\",\"edition\":1,\"price\":49}");
+                        it.modified("{\"id\":\"56506a3c-801b-4f7d-a41d-e889cdc3d67d\",\"name\":\"Kotlin in Action\",\"edition\":1,\"price\":49}");
+                    });
+                    ctx.totalRowCount(2);
+                    ctx.rowCount(AffectedTable.of(Book.class), 2);
+                }
+        );
+    }
+
+    @Test
+    public void testNativeUpsertByPostgres() {
+        NativeDatabases.assumeNativeDatabase();
+
+        UUID newId = UUID.fromString("56506a3c-801b-4f7d-a41d-e889cdc3d67d");
+        executeAndExpectResult(
+                NativeDatabases.POSTGRES_DATA_SOURCE,
+                getSqlClient(it -> it.setDialect(new PostgresDialect())).getEntities().batchSaveCommand(
+                        Arrays.asList(
+                                BookDraft.$.produce(book -> {
+                                    book.setId(learningGraphQLId1);
+                                    book.setName("Learning GraphQL");
+                                    book.setEdition(1);
+                                    book.setPrice(new BigDecimal(50));
+                                }),
+                                BookDraft.$.produce(book -> {
+                                    book.setId(newId);
+                                    book.setName("Kotlin in Action");
+                                    book.setEdition(1);
+                                    book.setPrice(new BigDecimal(49));
+                                })
+                        )
+                ).configure(cfg -> cfg.setMode(SaveMode.NATIVE_UPSERT)),
+                ctx -> {
+                    ctx.statement(it -> {
+                        it.sql(
+                                "insert into BOOK(ID, NAME, EDITION, PRICE) values(?, ?, ?, ?) " +
+                                        "on conflict(ID) do update set " +
+                                        "NAME = excluded.NAME, EDITION = excluded.EDITION, PRICE = excluded.PRICE"
+                        );
+                        it.variables(
+                                learningGraphQLId1, "Learning GraphQL", 1, new BigDecimal(50),
+                                newId, "Kotlin in Action", 1, new BigDecimal(49)
+                        );
+                    });
+                    ctx.entity(it -> {
+                        it.original("{\"id\":\"e110c564-23cc-4811-9e81-d587a13db634\",\"name\":\"Learning GraphQL\",\"edition\":1,\"price\":50}");
+                        it.modified("{\"id\":\"e110c564-23cc-4811-9e81-d587a13db634\",\"name\":\"Learning GraphQL\",\"edition\":1,\"price\":50}");
+                    });
+                    ctx.entity(it -> {
+                        it.original("{\"id\":\"56506a3c-801b-4f7d-a41d-e889cdc3d67d\",\"name\":\"Kotlin in Action\",\"edition\":1,\"price\":49}");
+                        it.modified("{\"id\":\"56506a3c-801b-4f7d-a41d-e889cdc3d67d\",\"name\":\"Kotlin in Action\",\"edition\":1,\"price\":49}");
+                    });
+                    ctx.totalRowCount(2);
+                    ctx.rowCount(AffectedTable.of(Book.class), 2);
+                }
+        );
+    }
+
     @Test
     public void testInsertByKeyProps() {
         UUID newId = UUID.fromString("56506a3c-801b-4f7d-a41d-e889cdc3d67d");
@@ -0,0 +1,85 @@
+package org.babyfish.jimmer.sql.query;
+
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.common.AbstractQueryTest;
+import org.babyfish.jimmer.sql.dialect.H2Dialect;
+import org.babyfish.jimmer.sql.model.BookTable;
+import org.babyfish.jimmer.sql.runtime.DbArray;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class ArrayInListTest extends AbstractQueryTest {
+
+    @Test
+    public void testArray() {
+        JSqlClient sqlClient = getSqlClient(it -> it.setDialect(new H2Dialect()).setInListArrayThreshold(2));
+        executeAndExpect(
+                sqlClient.createQuery(BookTable.class, (q, book) -> {
+                    q.where(book.edition().in(Arrays.asList(1, 2)));
+                    return q.select(book.count());
+                }),
+                ctx -> {
+                    ctx.sql(
+                            "select count(tb_1_.ID) from BOOK as tb_1_ " +
+                                    "where tb_1_.EDITION = any(?)"
+                    );
+                    ctx.variables(new DbArray("int4", new Object[] { 1, 2 }));
+                    ctx.rows("[8]");
+                }
+        );
+        executeAndExpect(
+                sqlClient.createQuery(BookTable.class, (q, book) -> {
+                    q.where(book.edition().notIn(Arrays.asList(1, 2)));
+                    return q.select(book.count());
+                }),
+                ctx -> {
+                    ctx.sql(
+                            "select count(tb_1_.ID) from BOOK as tb_1_ " +
+                                    "where not (tb_1_.EDITION = any(?))"
+                    );
+                    ctx.variables(new DbArray("int4", new Object[] { 1, 2 }));
+                    ctx.rows("[4]");
+                }
+        );
+    }
+
+    @Test
+    public void testBelowThreshold() {
+        JSqlClient sqlClient = getSqlClient(it -> it.setDialect(new H2Dialect()).setInListArrayThreshold(2));
+        executeAndExpect(
+                sqlClient.createQuery(BookTable.class, (q, book) -> {
+                    q.where(book.edition().in(Collections.singletonList(3)));
+                    return q.select(book.count());
+                }),
+                ctx -> {
+                    ctx.sql(
+                            "select count(tb_1_.ID) from BOOK as tb_1_ " +
+                                    "where tb_1_.EDITION in (?)"
+                    );
+                    ctx.variables(3);
+                    ctx.rows("[4]");
+                }
+        );
+    }
+
+    @Test
+    public void testUnsupportedDialect() {
+        JSqlClient sqlClient = getSqlClient(it -> it.setInListArrayThreshold(2));
+        executeAndExpect(
+                sqlClient.createQuery(BookTable.class, (q, book) -> {
+                    q.where(book.edition().in(Arrays.asList(1, 2)));
+                    return q.select(book.count());
+                }),
+                ctx -> {
+                    ctx.sql(
+                            "select count(tb_1_.ID) from BOOK as tb_1_ " +
+                                    "where tb_1_.EDITION in (?, ?)"
+                    );
+                    ctx.variables(1, 2);
+                    ctx.rows("[8]");
+                }
+        );
+    }
+}
@@ -1,11 +1,22 @@
 package org.babyfish.jimmer.sql.query;
 
+import org.babyfish.jimmer.sql.JSqlClient;
 import org.babyfish.jimmer.sql.common.AbstractQueryTest;
+import org.babyfish.jimmer.sql.ast.query.ConfigurableRootQuery;
 import org.babyfish.jimmer.sql.model.*;
+import org.babyfish.jimmer.sql.runtime.ConnectionManager;
+import org.babyfish.jimmer.sql.runtime.ExecutionException;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class CursorTest extends AbstractQueryTest {
 
@@ -152,4 +163,104 @@ public class CursorTest extends AbstractQueryTest {
                 }
         );
     }
+
+    @Test
+    public void stream() {
+        JSqlClient sqlClient = getSqlClient(it -> it.setDefaultBatchSize(3));
+        connectAndExpect(
+                con -> {
+                    try (Stream<Book> stream = bookQuery(sqlClient).stream(con)) {
+                        return stream.map(Book::name).collect(Collectors.toList());
+                    }
+                },
+                ctx -> {
+                    ctx.sql(
+                            "select tb_1_.ID, tb_1_.NAME, tb_1_.EDITION, tb_1_.PRICE, tb_1_.STORE_ID " +
+                                    "from BOOK as tb_1_ " +
+                                    "where tb_1_.EDITION = ? " +
+                                    "order by tb_1_.NAME asc"
+                    );
+                    ctx.statement(1).sql(
+                            "select tb_1_.ID, tb_1_.NAME, tb_1_.WEBSITE, tb_1_.VERSION " +
+                                    "from BOOK_STORE as tb_1_ " +
+                                    "where tb_1_.ID in (?, ?)"
+                    );
+                    ctx.statement(2).sql(
+                            "select tb_2_.BOOK_ID, tb_1_.ID, tb_1_.FIRST_NAME, tb_1_.LAST_NAME, tb_1_.GENDER " +
+                                    "from AUTHOR as tb_1_ " +
+                                    "inner join BOOK_AUTHOR_MAPPING as tb_2_ on tb_1_.ID = tb_2_.AUTHOR_ID " +
+                                    "where tb_2_.BOOK_ID in (?, ?, ?)"
+                    );
+                    ctx.statement(3).sql(
+                            "select tb_1_.ID, tb_1_.NAME, tb_1_.WEBSITE, tb_1_.VERSION " +
+                                    "from BOOK_STORE as tb_1_ " +
+                                    "where tb_1_.ID = ?"
+                    );
+                    ctx.statement(4).sql(
+                            "select tb_1_.ID, tb_1_.FIRST_NAME, tb_1_.LAST_NAME, tb_1_.GENDER " +
+                                    "from AUTHOR as tb_1_ " +
+                                    "inner join BOOK_AUTHOR_MAPPING as tb_2_ on tb_1_.ID = tb_2_.AUTHOR_ID " +
+                                    "where tb_2_.BOOK_ID = ?"
+                    );
+                    ctx.rows(
+                            "[" +
+                                    "--->\"Effective TypeScript\"," +
+                                    "--->\"GraphQL in Action\"," +
+                                    "--->\"Learning GraphQL\"," +
+                                    "--->\"Programming TypeScript\"" +
+                                    "]"
+                    );
+                }
+        );
+    }
+
+    @Test
+    public void streamReleasesOpenedConnection() throws SQLException {
+        List<Connection> openedConnections = new ArrayList<>();
+        JSqlClient sqlClient = getSqlClient(it -> {
+            it.setDefaultBatchSize(2);
+            it.setConnectionManager(new ConnectionManager() {
+                @Override
+                public <R> R execute(Function<Connection, R> block) {
+                    throw new AssertionError("Stream must open its own connection");
+                }
+                @Override
+                public Connection openConnection() {
+                    try {
+                        Connection con = newConnection();
+                        openedConnections.add(con);
+                        return con;
+                    } catch (SQLException ex) {
+                        throw new ExecutionException(ex.getMessage(), ex);
+                    }
+                }
+            });
+        });
+        try (Stream<Book> stream = bookQuery(sqlClient).stream(2)) {
+            Iterator<Book> itr = stream.iterator();
+            Assertions.assertEquals("Effective TypeScript", itr.next().name());
+            Assertions.assertEquals(1, openedConnections.size());
+            Assertions.assertFalse(openedConnections.get(0).isClosed());
+        }
+        Assertions.assertTrue(openedConnections.get(0).isClosed());
+    }
+
+    private static ConfigurableRootQuery<BookTable, Book> bookQuery(JSqlClient sqlClient) {
+        return sqlClient.createQuery(BookTable.class, (q, book) -> {
+            return q
+                    .where(book.edition().eq(3))
+                    .orderBy(book.name().asc())
+                    .select(
+                            book.fetch(
+                                    BookFetcher.$.allScalarFields()
+                                            .store(
+                                                    BookStoreFetcher.$.allScalarFields()
+                                            )
+                                            .authors(
+                                                    AuthorFetcher.$.allScalarFields()
+                                            )
+                            )
+                    );
+        });
+    }
 }
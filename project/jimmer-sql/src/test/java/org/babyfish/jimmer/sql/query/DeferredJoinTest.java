@@ -0,0 +1,160 @@
+package org.babyfish.jimmer.sql.query;
+
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.ast.query.ConfigurableRootQuery;
+import org.babyfish.jimmer.sql.common.AbstractQueryTest;
+import org.babyfish.jimmer.sql.model.Book;
+import org.babyfish.jimmer.sql.model.BookFetcher;
+import org.babyfish.jimmer.sql.model.BookTable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.babyfish.jimmer.sql.common.Constants.*;
+
+public class DeferredJoinTest extends AbstractQueryTest {
+
+    @Test
+    public void testDeferredJoin() {
+        ConfigurableRootQuery<BookTable, Book> query = getSqlClient().createQuery(BookTable.class, (q, book) -> {
+            q.where(book.name().like("GraphQL"));
+            q.orderBy(book.name().desc(), book.edition().desc());
+            return q.select(book);
+        });
+        executeAndExpect(
+                query.deferredJoin().limit(2, 1),
+                ctx -> {
+                    ctx.sql(
+                            "select tb_1_.ID " +
+                                    "from BOOK as tb_1_ " +
+                                    "where tb_1_.NAME like ? " +
+                                    "order by tb_1_.NAME desc, tb_1_.EDITION desc " +
+                                    "limit ? offset ?"
+                    );
+                    ctx.variables("%GraphQL%", 2, 1);
+                    ctx.statement(1).sql(
+                            "select tb_1_.ID, tb_1_.NAME, tb_1_.EDITION, tb_1_.PRICE, tb_1_.STORE_ID " +
+                                    "from BOOK as tb_1_ " +
+                                    "where tb_1_.ID in (?, ?)"
+                    );
+                    ctx.statement(1).variables(learningGraphQLId2, learningGraphQLId1);
+                    ctx.rows(rows ->
+                        Assertions.assertEquals(
+                                Arrays.asList(learningGraphQLId2, learningGraphQLId1),
+                                ids(rows)
+                        )
+                    );
+                }
+        );
+    }
+
+    @Test
+    public void testDeferredJoinOfReselectedQuery() {
+        ConfigurableRootQuery<BookTable, Book> query = getSqlClient().createQuery(BookTable.class, (q, book) -> {
+            q.where(book.name().like("GraphQL"));
+            q.orderBy(book.name().desc(), book.edition().desc());
+            return q.select(book.name());
+        }).reselect((q, book) -> q.select(book.fetch(BookFetcher.$.name())));
+        executeAndExpect(
+                query.deferredJoin().limit(2, 1),
+                ctx -> {
+                    ctx.sql(
+                            "select tb_1_.ID " +
+                                    "from BOOK as tb_1_ " +
+                                    "where tb_1_.NAME like ? " +
+                                    "order by tb_1_.NAME desc, tb_1_.EDITION desc " +
+                                    "limit ? offset ?"
+                    );
+                    ctx.variables("%GraphQL%", 2, 1);
+                    ctx.statement(1).sql(
+                            "select tb_1_.ID, tb_1_.NAME " +
+                                    "from BOOK as tb_1_ " +
+                                    "where tb_1_.ID in (?, ?)"
+                    );
+                    ctx.statement(1).variables(learningGraphQLId2, learningGraphQLId1);
+                    ctx.rows(rows ->
+                            Assertions.assertEquals(
+                                    Arrays.asList(learningGraphQLId2, learningGraphQLId1),
+                                    ids(rows)
+                            )
+                    );
+                }
+        );
+    }
+
+    @Test
+    public void testDeferredJoinByOffsetThreshold() {
+        JSqlClient sqlClient = getSqlClient(it -> it.setDeferredJoinOffsetThreshold(3));
+        ConfigurableRootQuery<BookTable, Book> query = sqlClient.createQuery(BookTable.class, (q, book) -> {
+            q.where(book.name().like("GraphQL"));
+            q.orderBy(book.name().asc(), book.edition().asc());
+            return q.select(book.fetch(BookFetcher.$.name()));
+        });
+        executeAndExpect(
+                query.limit(2, 2),
+                ctx -> {
+                    ctx.sql(
+                            "select tb_1_.ID, tb_1_.NAME " +
+                                    "from BOOK as tb_1_ " +
+                                    "where tb_1_.NAME like ? " +
+                                    "order by tb_1_.NAME asc, tb_1_.EDITION asc " +
+                                    "limit ? offset ?"
+                    );
+                    ctx.variables("%GraphQL%", 2, 2);
+                }
+        );
+        executeAndExpect(
+                query.limit(2, 3),
+                ctx -> {
+                    ctx.sql(
+                            "select tb_1_.ID " +
+                                    "from BOOK as tb_1_ " +
+                                    "where tb_1_.NAME like ? " +
+                                    "order by tb_1_.NAME asc, tb_1_.EDITION asc " +
+                                    "limit ? offset ?"
+                    );
+                    ctx.variables("%GraphQL%", 2, 3);
+                    ctx.statement(1).sql(
+                            "select tb_1_.ID, tb_1_.NAME " +
+                                    "from BOOK as tb_1_ " +
+                                    "where tb_1_.ID in (?, ?)"
+                    );
+                    ctx.statement(1).variables(learningGraphQLId1, learningGraphQLId2);
+                    ctx.rows(rows ->
+                            Assertions.assertEquals(
+                                    Arrays.asList(learningGraphQLId1, learningGraphQLId2),
+                                    ids(rows)
+                            )
+                    );
+                }
+        );
+    }
+
+    @Test
+    public void testSameRowsAsNormalPaging() {
+        ConfigurableRootQuery<BookTable, Book> query = getSqlClient().createQuery(BookTable.class, (q, book) -> {
+            q.orderBy(book.price().desc(), book.id().asc());
+            return q.select(book);
+        });
+        jdbc(con -> {
+            for (int offset = 0; offset < 12; offset += 5) {
+                Assertions.assertEquals(
+                        query.limit(5, offset).execute(con),
+                        query.deferredJoin().limit(5, offset).execute(con)
+                );
+            }
+        });
+    }
+
+    private static List<UUID> ids(List<?> rows) {
+        List<UUID> ids = new ArrayList<>();
+        for (Object row : rows) {
+            ids.add(((Book) row).id());
+        }
+        return ids;
+    }
+}
@@ -2,6 +2,7 @@ package org.babyfish.jimmer.sql.query;
 
 import org.babyfish.jimmer.sql.JSqlClient;
 import org.babyfish.jimmer.sql.common.AbstractQueryTest;
+import org.babyfish.jimmer.sql.dialect.DefaultDialect;
 import org.babyfish.jimmer.sql.model.AuthorFetcher;
 import org.babyfish.jimmer.sql.model.Book;
 import static org.babyfish.jimmer.sql.common.Constants.*;
@@ -81,6 +82,49 @@ public class EntityTest extends AbstractQueryTest {
                 });
     }
 
+    @Test
+    public void testFindByIdsInChunks() {
+        connectAndExpect(
+                con -> getSqlClient(builder -> {
+                    builder.setDialect(
+                            new DefaultDialect() {
+                                @Override
+                                public int getMaxInListSize() {
+                                    return 2;
+                                }
+                            }
+                    );
+                    builder.setConnectionManager(new ConnectionManager() {
+                        @Override
+                        public <R> R execute(Function<Connection, R> block) {
+                            return block.apply(con);
+                        }
+                    });
+                })
+                        .getEntities()
+                        .findByIds(
+                                Book.class,
+                                Arrays.asList(
+                                        graphQLInActionId3,
+                                        effectiveTypeScriptId3,
+                                        learningGraphQLId3
+                                )
+                        ),
+                ctx -> {
+                    ctx.sql(
+                            "select tb_1_.ID, tb_1_.NAME, tb_1_.EDITION, tb_1_.PRICE, tb_1_.STORE_ID " +
+                                    "from BOOK as tb_1_ " +
+                                    "where tb_1_.ID in (?, ?)"
+                    ).variables(graphQLInActionId3, effectiveTypeScriptId3);
+                    ctx.statement(1).sql(
+                            "select tb_1_.ID, tb_1_.NAME, tb_1_.EDITION, tb_1_.PRICE, tb_1_.STORE_ID " +
+                                    "from BOOK as tb_1_ " +
+                                    "where tb_1_.ID = ?"
+                    ).variables(learningGraphQLId3);
+                    ctx.rows(3);
+                });
+    }
+
     @Test
     public void testFindMapByIds() {
         connectAndExpect(
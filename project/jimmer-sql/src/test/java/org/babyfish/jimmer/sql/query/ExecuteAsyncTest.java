@@ -0,0 +1,107 @@
+package org.babyfish.jimmer.sql.query;
+
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.common.AbstractTest;
+import org.babyfish.jimmer.sql.model.Book;
+import org.babyfish.jimmer.sql.model.BookStore;
+import org.babyfish.jimmer.sql.model.BookStoreTable;
+import org.babyfish.jimmer.sql.model.BookTable;
+import org.babyfish.jimmer.sql.runtime.ConnectionManager;
+import org.babyfish.jimmer.sql.runtime.ExecutionException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+public class ExecuteAsyncTest extends AbstractTest {
+
+    private static final ConnectionManager CONNECTION_MANAGER = new ConnectionManager() {
+        @Override
+        public <R> R execute(Function<Connection, R> block) {
+            try (Connection con = newConnection()) {
+                return block.apply(con);
+            } catch (SQLException ex) {
+                throw new ExecutionException(ex.getMessage(), ex);
+            }
+        }
+    };
+
+    @Test
+    public void testFanOut() {
+        JSqlClient sqlClient = getSqlClient(it -> it.setConnectionManager(CONNECTION_MANAGER));
+        CompletableFuture<List<String>> storeNames = sqlClient
+                .createQuery(BookStoreTable.class, (q, store) -> {
+                    q.orderBy(store.name());
+                    return q.select(store.name());
+                })
+                .executeAsync();
+        CompletableFuture<List<Long>> bookCount = sqlClient
+                .createQuery(BookTable.class, (q, book) -> q.select(book.count()))
+                .executeAsync();
+        CompletableFuture<List<BookStore>> stores = sqlClient
+                .getEntities()
+                .findByIdsAsync(
+                        BookStore.class,
+                        Arrays.asList(
+                                UUID.fromString("d38c10da-6be8-4924-b9b9-5e81899612a0"),
+                                UUID.fromString("2fa3955e-3e83-49b9-902e-0465c109c779")
+                        )
+                );
+        Assertions.assertEquals(Arrays.asList("MANNING", "O'REILLY"), storeNames.join());
+        Assertions.assertEquals(12L, bookCount.join().get(0));
+        Assertions.assertEquals(2, stores.join().size());
+    }
+
+    @Test
+    public void testConfiguredExecutorService() {
+        ExecutorService executorService = Executors.newSingleThreadExecutor(
+                runnable -> new Thread(runnable, "custom-async")
+        );
+        try {
+            JSqlClient sqlClient = getSqlClient(it ->
+                    it
+                            .setConnectionManager(CONNECTION_MANAGER)
+                            .setAsyncExecutorService(executorService)
+            );
+            Assertions.assertSame(executorService, sqlClient.getAsyncExecutorService());
+            String threadName = sqlClient
+                    .createQuery(BookTable.class, (q, book) -> {
+                        q.where(book.name().eq("GraphQL in Action"));
+                        q.where(book.edition().eq(3));
+                        return q.select(book);
+                    })
+                    .executeAsync()
+                    .thenApply(books -> {
+                        Assertions.assertEquals(1, books.size());
+                        return Thread.currentThread().getName();
+                    })
+                    .join();
+            Assertions.assertEquals("custom-async", threadName);
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void testDefaultExecutorService() {
+        JSqlClient sqlClient = getSqlClient(it -> it.setConnectionManager(CONNECTION_MANAGER));
+        Assertions.assertNotNull(sqlClient.getAsyncExecutorService());
+        Assertions.assertSame(
+                sqlClient.getAsyncExecutorService(),
+                getSqlClient().getAsyncExecutorService()
+        );
+        Book book = sqlClient
+                .getEntities()
+                .findByIdAsync(Book.class, UUID.fromString("9eded40f-6d2e-41de-b4e7-33a28b11c8b6"))
+                .join();
+        Assertions.assertEquals("Effective TypeScript", book.name());
+    }
+}
@@ -0,0 +1,64 @@
+package org.babyfish.jimmer.sql.query;
+
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.common.AbstractQueryTest;
+import org.babyfish.jimmer.sql.model.BookTable;
+import org.babyfish.jimmer.sql.runtime.InListPadding;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+public class InListPaddingTest extends AbstractQueryTest {
+
+    @Test
+    public void testPowersOfTwo() {
+        InListPadding padding = InListPadding.powersOfTwo();
+        Assertions.assertEquals(1, padding.pad(1));
+        Assertions.assertEquals(4, padding.pad(3));
+        Assertions.assertEquals(8, padding.pad(8));
+        Assertions.assertEquals(16, padding.pad(9));
+    }
+
+    @Test
+    public void testSteps() {
+        InListPadding padding = InListPadding.steps(10, 5);
+        Assertions.assertEquals(5, padding.pad(1));
+        Assertions.assertEquals(10, padding.pad(6));
+        Assertions.assertEquals(20, padding.pad(11));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> InListPadding.steps(0, 5));
+    }
+
+    @Test
+    public void testQuery() {
+        JSqlClient sqlClient = getSqlClient(it -> it.setInListPadding(InListPadding.powersOfTwo()));
+        executeAndExpect(
+                sqlClient.createQuery(BookTable.class, (q, book) -> {
+                    q.where(book.edition().in(Arrays.asList(1, 2, 3)));
+                    return q.select(book.count());
+                }),
+                ctx -> {
+                    ctx.sql(
+                            "select count(tb_1_.ID) from BOOK as tb_1_ " +
+                                    "where tb_1_.EDITION in (?, ?, ?, ?)"
+                    );
+                    ctx.variables(1, 2, 3, 3);
+                    ctx.rows("[12]");
+                }
+        );
+        executeAndExpect(
+                sqlClient.createQuery(BookTable.class, (q, book) -> {
+                    q.where(book.edition().notIn(Arrays.asList(1, 2)));
+                    return q.select(book.count());
+                }),
+                ctx -> {
+                    ctx.sql(
+                            "select count(tb_1_.ID) from BOOK as tb_1_ " +
+                                    "where tb_1_.EDITION not in (?, ?)"
+                    );
+                    ctx.variables(1, 2);
+                    ctx.rows("[4]");
+                }
+        );
+    }
+}
@@ -0,0 +1,144 @@
+package org.babyfish.jimmer.sql.query;
+
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.ast.query.ConfigurableRootQuery;
+import org.babyfish.jimmer.sql.ast.query.Slice;
+import org.babyfish.jimmer.sql.ast.tuple.Tuple2;
+import org.babyfish.jimmer.sql.common.AbstractQueryTest;
+import org.babyfish.jimmer.sql.dialect.H2Dialect;
+import org.babyfish.jimmer.sql.model.Book;
+import org.babyfish.jimmer.sql.model.BookTable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class KeysetTest extends AbstractQueryTest {
+
+    @Test
+    public void testExpandedComparison() {
+        ConfigurableRootQuery<BookTable, Book> query = getSqlClient().createQuery(BookTable.class, (q, book) -> {
+            q.where(book.name().like("GraphQL"));
+            q.orderBy(book.name());
+            q.orderBy(book.edition().desc());
+            return q.select(book);
+        });
+        Slice<?>[] slices = new Slice<?>[1];
+        connectAndExpect(
+                con -> slices[0] = query.fetchSlice(2, null, con),
+                ctx -> {
+                    ctx.sql(
+                            "select tb_1_.ID, tb_1_.NAME, tb_1_.EDITION, tb_1_.PRICE, tb_1_.STORE_ID " +
+                                    "from BOOK as tb_1_ " +
+                                    "where tb_1_.NAME like ? " +
+                                    "order by tb_1_.NAME asc, tb_1_.EDITION desc " +
+                                    "limit ?"
+                    );
+                    ctx.variables("%GraphQL%", 3);
+                }
+        );
+        Assertions.assertEquals(Arrays.asList("GraphQL in Action", "GraphQL in Action"), names(slices[0]));
+        Assertions.assertTrue(slices[0].hasNext());
+        connectAndExpect(
+                con -> slices[0] = query.fetchSlice(2, slices[0].getNextToken(), con),
+                ctx -> {
+                    ctx.sql(
+                            "select tb_1_.ID, tb_1_.NAME, tb_1_.EDITION, tb_1_.PRICE, tb_1_.STORE_ID " +
+                                    "from BOOK as tb_1_ " +
+                                    "where tb_1_.NAME like ? and (" +
+                                    "tb_1_.NAME > ? or " +
+                                    "tb_1_.NAME = ? and tb_1_.EDITION < ?" +
+                                    ") " +
+                                    "order by tb_1_.NAME asc, tb_1_.EDITION desc " +
+                                    "limit ?"
+                    );
+                    ctx.variables("%GraphQL%", "GraphQL in Action", "GraphQL in Action", 2, 3);
+                }
+        );
+        Assertions.assertEquals(Arrays.asList("GraphQL in Action", "Learning GraphQL"), names(slices[0]));
+        Assertions.assertTrue(slices[0].hasNext());
+    }
+
+    @Test
+    public void testRowValueComparison() {
+        JSqlClient sqlClient = getSqlClient(it -> it.setDialect(new H2Dialect()));
+        ConfigurableRootQuery<BookTable, Tuple2<String, Integer>> query =
+                sqlClient.createQuery(BookTable.class, (q, book) -> {
+                    q.orderBy(book.name(), book.edition());
+                    return q.select(book.name(), book.edition());
+                });
+        executeAndExpect(
+                query.seek(Arrays.asList("GraphQL in Action", 2)).limit(2, 0),
+                ctx -> {
+                    ctx.sql(
+                            "select tb_1_.NAME, tb_1_.EDITION " +
+                                    "from BOOK as tb_1_ " +
+                                    "where (tb_1_.NAME, tb_1_.EDITION) > (?, ?) " +
+                                    "order by tb_1_.NAME asc, tb_1_.EDITION asc " +
+                                    "limit ?"
+                    );
+                    ctx.variables("GraphQL in Action", 2, 2);
+                    ctx.rows(
+                            Arrays.asList(
+                                    new Tuple2<>("GraphQL in Action", 3),
+                                    new Tuple2<>("Learning GraphQL", 1)
+                            )
+                    );
+                }
+        );
+    }
+
+    @Test
+    public void testScrollAllSlices() {
+        ConfigurableRootQuery<BookTable, Tuple2<String, Integer>> query =
+                getSqlClient().createQuery(BookTable.class, (q, book) -> {
+                    q.orderBy(book.name().desc(), book.edition().asc());
+                    return q.select(book.name(), book.edition());
+                });
+        jdbc(con -> {
+            List<Tuple2<String, Integer>> rows = new ArrayList<>();
+            List<Integer> sliceSizes = new ArrayList<>();
+            String token = null;
+            do {
+                Slice<Tuple2<String, Integer>> slice = query.fetchSlice(5, token, con);
+                rows.addAll(slice.getRows());
+                sliceSizes.add(slice.getRows().size());
+                token = slice.getNextToken();
+            } while (token != null);
+            Assertions.assertEquals(Arrays.asList(5, 5, 2), sliceSizes);
+            Assertions.assertEquals(query.execute(con), rows);
+        });
+    }
+
+    @Test
+    public void testIllegalToken() {
+        ConfigurableRootQuery<BookTable, Book> query = getSqlClient().createQuery(BookTable.class, (q, book) -> {
+            q.orderBy(book.id());
+            return q.select(book);
+        });
+        ConfigurableRootQuery<BookTable, Book> otherQuery = getSqlClient().createQuery(BookTable.class, (q, book) -> {
+            q.orderBy(book.name(), book.id());
+            return q.select(book);
+        });
+        ConfigurableRootQuery<BookTable, String> unorderedQuery = getSqlClient().createQuery(BookTable.class, (q, book) ->
+            q.select(book.name())
+        );
+        jdbc(con -> {
+            String token = query.fetchSlice(1, null, con).getNextToken();
+            Assertions.assertNotNull(token);
+            Assertions.assertThrows(IllegalArgumentException.class, () -> query.fetchSlice(1, "not-a-token", con));
+            Assertions.assertThrows(IllegalArgumentException.class, () -> otherQuery.fetchSlice(1, token, con));
+            Assertions.assertThrows(IllegalStateException.class, () -> unorderedQuery.fetchSlice(1, null, con));
+        });
+    }
+
+    private static List<String> names(Slice<?> slice) {
+        List<String> names = new ArrayList<>();
+        for (Object row : slice.getRows()) {
+            names.add(((Book) row).name());
+        }
+        return names;
+    }
+}
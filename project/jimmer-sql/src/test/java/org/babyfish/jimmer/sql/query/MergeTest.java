@@ -1,10 +1,31 @@
 package org.babyfish.jimmer.sql.query;
 
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.ast.query.TypedRootQuery;
 import org.babyfish.jimmer.sql.common.AbstractQueryTest;
+import org.babyfish.jimmer.sql.fetcher.Fetcher;
 import org.babyfish.jimmer.sql.model.AuthorTableEx;
+import org.babyfish.jimmer.sql.model.Book;
+import org.babyfish.jimmer.sql.model.BookFetcher;
+import org.babyfish.jimmer.sql.model.BookStoreFetcher;
 import org.babyfish.jimmer.sql.model.BookTable;
+import org.babyfish.jimmer.sql.runtime.ConnectionManager;
+import org.babyfish.jimmer.sql.runtime.DefaultExecutor;
+import org.babyfish.jimmer.sql.runtime.ExecutionException;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.babyfish.jimmer.sql.common.Constants.*;
+
 public class MergeTest extends AbstractQueryTest {
 
     @Test
@@ -61,4 +82,197 @@ public class MergeTest extends AbstractQueryTest {
                 }
         );
     }
+
+    @Test
+    public void testIntersectFetchers() {
+        Fetcher<Book> fetcher = BookFetcher.$.name().store(BookStoreFetcher.$.name());
+        executeAndExpect(
+                getSqlClient().createQuery(BookTable.class, (q, book) -> {
+                    q.where(book.name().ilike("GraphQL"), book.edition().eq(3));
+                    return q.select(book.fetch(fetcher));
+                }).intersect(
+                        getSqlClient().createQuery(BookTable.class, (q, book) -> {
+                            q.where(book.store().name().eq("MANNING"));
+                            return q.select(book.fetch(fetcher));
+                        })
+                ).parallelBranches(),
+                ctx -> {
+                    // Entities are compared by database even if the branches are parallel
+                    ctx.sql(
+                            "select tb_1_.ID, tb_1_.NAME, tb_1_.STORE_ID " +
+                                    "from BOOK as tb_1_ " +
+                                    "where lower(tb_1_.NAME) like ? and tb_1_.EDITION = ? " +
+                                    "intersect " +
+                                    "select tb_1_.ID, tb_1_.NAME, tb_1_.STORE_ID " +
+                                    "from BOOK as tb_1_ " +
+                                    "inner join BOOK_STORE as tb_2_ on tb_1_.STORE_ID = tb_2_.ID " +
+                                    "where tb_2_.NAME = ?"
+                    ).variables("%graphql%", 3, "MANNING");
+                    ctx.statement(1).sql(
+                            "select tb_1_.ID, tb_1_.NAME " +
+                                    "from BOOK_STORE as tb_1_ " +
+                                    "where tb_1_.ID = ?"
+                    ).variables(manningId);
+                    ctx.rows(
+                            "[" +
+                                    "--->{" +
+                                    "--->--->\"id\":\"780bdf07-05af-48bf-9be9-f8c65236fecc\"," +
+                                    "--->--->\"name\":\"GraphQL in Action\"," +
+                                    "--->--->\"store\":{\"id\":\"2fa3955e-3e83-49b9-902e-0465c109c779\",\"name\":\"MANNING\"}" +
+                                    "--->}" +
+                                    "]"
+                    );
+                }
+        );
+    }
+
+    @Test
+    public void testDifferentFetchersOfAssociationsAreNotMerged() {
+        // Their filters and loaders cannot be compared
+        TypedRootQuery<Book> query = getSqlClient().createQuery(BookTable.class, (q, book) ->
+                q.select(book.fetch(BookFetcher.$.name().store(BookStoreFetcher.$.name())))
+        );
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            query.union(
+                    getSqlClient().createQuery(BookTable.class, (q, book) ->
+                            q.select(book.fetch(BookFetcher.$.name().store(BookStoreFetcher.$.name())))
+                    )
+            );
+        });
+    }
+
+    @Test
+    public void testParallelBranches() {
+        Fetcher<Book> fetcher = BookFetcher.$.name().store(BookStoreFetcher.$.name());
+        executeAndExpect(
+                getSqlClient().createQuery(BookTable.class, (q, book) -> {
+                    q.where(book.name().ilike("GraphQL"), book.edition().eq(3));
+                    q.orderBy(book.name());
+                    return q.select(book.fetch(fetcher));
+                }).unionAll(
+                        getSqlClient().createQuery(BookTable.class, (q, book) -> {
+                            q.where(book.store().name().eq("MANNING"), book.edition().eq(3));
+                            return q.select(book.fetch(fetcher));
+                        })
+                ).parallelBranches(),
+                ctx -> {
+                    ctx.sql(
+                            "select tb_1_.ID, tb_1_.NAME, tb_1_.STORE_ID " +
+                                    "from BOOK as tb_1_ " +
+                                    "where lower(tb_1_.NAME) like ? and tb_1_.EDITION = ? " +
+                                    "order by tb_1_.NAME asc"
+                    ).variables("%graphql%", 3);
+                    ctx.statement(1).sql(
+                            "select tb_1_.ID, tb_1_.NAME, tb_1_.STORE_ID " +
+                                    "from BOOK as tb_1_ " +
+                                    "inner join BOOK_STORE as tb_2_ on tb_1_.STORE_ID = tb_2_.ID " +
+                                    "where tb_2_.NAME = ? and tb_1_.EDITION = ?"
+                    ).variables("MANNING", 3);
+                    ctx.statement(2).sql(
+                            "select tb_1_.ID, tb_1_.NAME " +
+                                    "from BOOK_STORE as tb_1_ " +
+                                    "where tb_1_.ID in (?, ?)"
+                    ).variables(manningId, oreillyId);
+                    ctx.rows(
+                            "[" +
+                                    "--->{" +
+                                    "--->--->\"id\":\"780bdf07-05af-48bf-9be9-f8c65236fecc\"," +
+                                    "--->--->\"name\":\"GraphQL in Action\"," +
+                                    "--->--->\"store\":{\"id\":\"2fa3955e-3e83-49b9-902e-0465c109c779\",\"name\":\"MANNING\"}" +
+                                    "--->},{" +
+                                    "--->--->\"id\":\"64873631-5d82-4bae-8eb8-72dd955bfc56\"," +
+                                    "--->--->\"name\":\"Learning GraphQL\"," +
+                                    "--->--->\"store\":{\"id\":\"d38c10da-6be8-4924-b9b9-5e81899612a0\",\"name\":\"O'REILLY\"}" +
+                                    "--->},{" +
+                                    "--->--->\"id\":\"780bdf07-05af-48bf-9be9-f8c65236fecc\"," +
+                                    "--->--->\"name\":\"GraphQL in Action\"," +
+                                    "--->--->\"store\":{\"id\":\"2fa3955e-3e83-49b9-902e-0465c109c779\",\"name\":\"MANNING\"}" +
+                                    "--->}" +
+                                    "]"
+                    );
+                }
+        );
+    }
+
+    @Test
+    public void testParallelBranchesByConnectionManager() {
+        JSqlClient sqlClient = connectionManagedSqlClient();
+        TypedRootQuery<String> oreillyQuery = sqlClient.createQuery(BookTable.class, (q, book) -> {
+            q.where(book.store().name().eq("O'REILLY"));
+            return q.select(book.name());
+        });
+        TypedRootQuery<String> graphQLQuery = sqlClient.createQuery(BookTable.class, (q, book) -> {
+            q.where(book.name().ilike("GraphQL"));
+            return q.select(book.name());
+        });
+        Assertions.assertEquals(
+                15,
+                oreillyQuery.unionAll(graphQLQuery).parallelBranches().execute().size()
+        );
+        Assertions.assertEquals(
+                Arrays.asList("Effective TypeScript", "GraphQL in Action", "Learning GraphQL", "Programming TypeScript"),
+                sorted(oreillyQuery.union(graphQLQuery).parallelBranches().execute())
+        );
+        Assertions.assertEquals(
+                Arrays.asList("Effective TypeScript", "Programming TypeScript"),
+                sorted(oreillyQuery.minus(graphQLQuery).parallelBranches().execute())
+        );
+        Assertions.assertEquals(
+                Collections.singletonList("GraphQL in Action"),
+                sorted(
+                        graphQLQuery
+                                .minus(oreillyQuery.intersect(graphQLQuery).parallelBranches())
+                                .parallelBranches()
+                                .execute()
+                )
+        );
+    }
+
+    @Test
+    public void testParallelBranchesOfDecimals() {
+        JSqlClient sqlClient = connectionManagedSqlClient();
+        TypedRootQuery<BigDecimal> priceQuery = sqlClient.createQuery(BookTable.class, (q, book) -> {
+            q.where(book.id().eq(graphQLInActionId3));
+            return q.select(book.price());
+        });
+        // Same price with greater scale
+        TypedRootQuery<BigDecimal> scaledPriceQuery = sqlClient.createQuery(BookTable.class, (q, book) -> {
+            q.where(book.id().eq(graphQLInActionId3));
+            return q.select(book.price().times(new BigDecimal("1.000")));
+        });
+        Assertions.assertEquals(
+                1,
+                priceQuery.union(scaledPriceQuery).parallelBranches().execute().size()
+        );
+        Assertions.assertEquals(
+                1,
+                priceQuery.intersect(scaledPriceQuery).parallelBranches().execute().size()
+        );
+        Assertions.assertEquals(
+                0,
+                priceQuery.minus(scaledPriceQuery).parallelBranches().execute().size()
+        );
+    }
+
+    private JSqlClient connectionManagedSqlClient() {
+        return getSqlClient(it -> {
+            it.setExecutor(DefaultExecutor.INSTANCE);
+            it.setConnectionManager(new ConnectionManager() {
+                @Override
+                public <R> R execute(Function<Connection, R> block) {
+                    try (Connection con = newConnection()) {
+                        return block.apply(con);
+                    } catch (SQLException ex) {
+                        throw new ExecutionException(ex.getMessage(), ex);
+                    }
+                }
+            });
+        });
+    }
+
+    private static List<String> sorted(List<String> list) {
+        List<String> sortedList = new ArrayList<>(list);
+        Collections.sort(sortedList);
+        return sortedList;
+    }
 }
@@ -1,21 +1,42 @@
 package org.babyfish.jimmer.sql.query;
 
+import org.babyfish.jimmer.sql.JSqlClient;
 import org.babyfish.jimmer.sql.JoinType;
 import org.babyfish.jimmer.sql.ast.query.ConfigurableRootQuery;
+import org.babyfish.jimmer.sql.ast.query.Page;
 import org.babyfish.jimmer.sql.ast.tuple.Tuple2;
 import org.babyfish.jimmer.sql.common.AbstractQueryTest;
 import org.babyfish.jimmer.sql.dialect.MySqlDialect;
 import org.babyfish.jimmer.sql.dialect.OracleDialect;
 import org.babyfish.jimmer.sql.dialect.SqlServerDialect;
+import org.babyfish.jimmer.sql.model.AuthorDraft;
 import org.babyfish.jimmer.sql.model.Book;
+import org.babyfish.jimmer.sql.model.BookDraft;
 import org.babyfish.jimmer.sql.model.BookStore;
+import org.babyfish.jimmer.sql.model.BookStoreTable;
 import org.babyfish.jimmer.sql.model.BookTable;
+import org.babyfish.jimmer.sql.runtime.ConnectionManager;
+import org.babyfish.jimmer.sql.runtime.DefaultExecutor;
+import org.babyfish.jimmer.sql.runtime.ExecutionException;
+import org.babyfish.jimmer.sql.runtime.Executor;
+import org.babyfish.jimmer.sql.runtime.SqlFunction;
+import org.babyfish.jimmer.sql.runtime.StatementFactory;
+import org.babyfish.jimmer.sql.runtime.TotalRowCountCache;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.babyfish.jimmer.sql.common.Constants.*;
 
 public class PagingTest extends AbstractQueryTest {
 
@@ -333,4 +354,222 @@ public class PagingTest extends AbstractQueryTest {
                 }
         );
     }
+
+    @Test
+    public void testFetchPage() {
+        ConfigurableRootQuery<BookTable, Integer> query = getSqlClient().createQuery(BookTable.class, (q, book) -> {
+            q.where(book.name().like("GraphQL"));
+            q.orderBy(book.store(JoinType.LEFT).name());
+            q.orderBy(book.name());
+            q.orderBy(book.edition().desc());
+            return q.select(book.edition());
+        });
+        connectAndExpect(
+                con -> query.fetchPage(1, 4, con),
+                ctx -> {
+                    ctx.statement(0).sql(
+                            "select count(tb_1_.ID) " +
+                                    "from BOOK as tb_1_ " +
+                                    "where tb_1_.NAME like ?"
+                    ).variables("%GraphQL%");
+                    ctx.statement(1).sql(
+                            "select tb_1_.EDITION " +
+                                    "from BOOK as tb_1_ " +
+                                    "left join BOOK_STORE as tb_2_ on tb_1_.STORE_ID = tb_2_.ID " +
+                                    "where tb_1_.NAME like ? " +
+                                    "order by tb_2_.NAME asc, tb_1_.NAME asc, tb_1_.EDITION desc " +
+                                    "limit ? offset ?"
+                    ).variables("%GraphQL%", 4, 4);
+                    ctx.rows(Collections.singletonList(new Page<>(Arrays.asList(2, 1), 6, 1, 4)));
+                }
+        );
+        connectAndExpect(
+                con -> query.fetchPage(2, 4, con),
+                ctx -> {
+                    ctx.statement(0).sql(
+                            "select count(tb_1_.ID) " +
+                                    "from BOOK as tb_1_ " +
+                                    "where tb_1_.NAME like ?"
+                    ).variables("%GraphQL%");
+                    ctx.rows(Collections.singletonList(new Page<>(Collections.emptyList(), 6, 2, 4)));
+                }
+        );
+    }
+
+    @Test
+    public void testFetchPageOfDistinctRowsJoinedByOneToMany() {
+        ConfigurableRootQuery<BookStoreTable, String> query = getSqlClient().createQuery(BookStoreTable.class, (q, store) -> {
+            q.where(store.asTableEx().books().name().like("GraphQL"));
+            q.orderBy(store.name());
+            return q.select(store.name());
+        }).distinct();
+        connectAndExpect(
+                con -> query.fetchPage(0, 1, con),
+                ctx -> {
+                    ctx.statement(0).sql(
+                            "select count(1) from (" +
+                                    "select distinct tb_1_.NAME " +
+                                    "from BOOK_STORE as tb_1_ " +
+                                    "inner join BOOK as tb_2_ on tb_1_.ID = tb_2_.STORE_ID " +
+                                    "where tb_2_.NAME like ?" +
+                                    ") tb_count__"
+                    ).variables("%GraphQL%");
+                    ctx.statement(1).sql(
+                            "select distinct tb_1_.NAME " +
+                                    "from BOOK_STORE as tb_1_ " +
+                                    "inner join BOOK as tb_2_ on tb_1_.ID = tb_2_.STORE_ID " +
+                                    "where tb_2_.NAME like ? " +
+                                    "order by tb_1_.NAME asc " +
+                                    "limit ?"
+                    ).variables("%GraphQL%", 1);
+                    ctx.rows(Collections.singletonList(new Page<>(Collections.singletonList("MANNING"), 2, 0, 1)));
+                }
+        );
+    }
+
+    @Test
+    public void testFetchPageOfReselectedQuery() {
+        ConfigurableRootQuery<BookTable, String> query = getSqlClient().createQuery(BookTable.class, (q, book) -> {
+            q.where(book.name().like("GraphQL"));
+            q.orderBy(book.name());
+            q.orderBy(book.edition().desc());
+            return q.select(book);
+        }).reselect((q, book) -> q.select(book.name()));
+        connectAndExpect(
+                con -> query.fetchPage(1, 4, con),
+                ctx -> {
+                    ctx.statement(0).sql(
+                            "select count(1) from (" +
+                                    "select tb_1_.NAME " +
+                                    "from BOOK as tb_1_ " +
+                                    "where tb_1_.NAME like ?" +
+                                    ") tb_count__"
+                    ).variables("%GraphQL%");
+                    ctx.statement(1).sql(
+                            "select tb_1_.NAME " +
+                                    "from BOOK as tb_1_ " +
+                                    "where tb_1_.NAME like ? " +
+                                    "order by tb_1_.NAME asc, tb_1_.EDITION desc " +
+                                    "limit ? offset ?"
+                    ).variables("%GraphQL%", 4, 4);
+                    ctx.rows(
+                            Collections.singletonList(
+                                    new Page<>(Arrays.asList("Learning GraphQL", "Learning GraphQL"), 6, 1, 4)
+                            )
+                    );
+                }
+        );
+    }
+
+    @Test
+    public void testFetchPageConcurrently() {
+        JSqlClient sqlClient = getSqlClient(it -> {
+            it.setExecutor(DefaultExecutor.INSTANCE);
+            it.setConnectionManager(new ConnectionManager() {
+                @Override
+                public <R> R execute(Function<Connection, R> block) {
+                    try (Connection con = newConnection()) {
+                        return block.apply(con);
+                    } catch (SQLException ex) {
+                        throw new ExecutionException(ex.getMessage(), ex);
+                    }
+                }
+            });
+        });
+        Page<String> page = sqlClient.createQuery(BookTable.class, (q, book) -> {
+            q.where(book.store().name().eq("O'REILLY"));
+            q.orderBy(book.name());
+            q.orderBy(book.edition());
+            return q.select(book.name());
+        }).fetchPage(0, 4);
+        Assertions.assertEquals(
+                Arrays.asList("Effective TypeScript", "Effective TypeScript", "Effective TypeScript", "Learning GraphQL"),
+                page.getRows()
+        );
+        Assertions.assertEquals(9, page.getTotalRowCount());
+        Assertions.assertEquals(3, page.getTotalPageCount());
+    }
+
+    @Test
+    public void testFetchPageWithTotalRowCountCache() {
+        AtomicInteger countQueryCount = new AtomicInteger();
+        JSqlClient sqlClient = getSqlClient(it -> {
+            it.setTotalRowCountCache(new TotalRowCountCache(60_000L, 16));
+            it.setExecutor(new Executor() {
+                @Override
+                public <R> R execute(
+                        Connection con,
+                        String sql,
+                        List<Object> variables,
+                        StatementFactory statementFactory,
+                        SqlFunction<PreparedStatement, R> block
+                ) {
+                    // The count query is executed by another thread
+                    if (sql.startsWith("select count(")) {
+                        countQueryCount.incrementAndGet();
+                    }
+                    return DefaultExecutor.INSTANCE.execute(con, sql, variables, statementFactory, block);
+                }
+            });
+            it.setConnectionManager(new ConnectionManager() {
+                @Override
+                public <R> R execute(Function<Connection, R> block) {
+                    try (Connection con = newConnection()) {
+                        return block.apply(con);
+                    } catch (SQLException ex) {
+                        throw new ExecutionException(ex.getMessage(), ex);
+                    }
+                }
+            });
+        });
+        ConfigurableRootQuery<BookTable, Integer> query = sqlClient.createQuery(BookTable.class, (q, book) -> {
+            q.where(book.name().like("GraphQL"));
+            q.orderBy(book.name());
+            q.orderBy(book.edition().desc());
+            return q.select(book.edition());
+        });
+        Assertions.assertEquals(new Page<>(Arrays.asList(3, 2, 1, 3), 6, 0, 4), query.fetchPage(0, 4));
+        Assertions.assertEquals(1, countQueryCount.get());
+
+        Assertions.assertEquals(new Page<>(Arrays.asList(2, 1), 6, 1, 4), query.fetchPage(1, 4));
+        Assertions.assertEquals(1, countQueryCount.get());
+
+        // The count query does not read AUTHOR
+        sqlClient.getTriggers().fireEntityTableChange(
+                AuthorDraft.$.produce(author -> author.setId(danId).setFirstName("Old")),
+                AuthorDraft.$.produce(author -> author.setId(danId).setFirstName("New"))
+        );
+        query.fetchPage(1, 4);
+        Assertions.assertEquals(1, countQueryCount.get());
+
+        sqlClient.getTriggers().fireEntityTableChange(
+                BookDraft.$.produce(book -> book.setId(learningGraphQLId1).setName("Old")),
+                BookDraft.$.produce(book -> book.setId(learningGraphQLId1).setName("New"))
+        );
+        query.fetchPage(1, 4);
+        Assertions.assertEquals(2, countQueryCount.get());
+    }
+
+    @Test
+    public void testFetchPageByCallerConnectionWithoutTotalRowCountCache() {
+        JSqlClient sqlClient = getSqlClient(it -> {
+            it.setTotalRowCountCache(new TotalRowCountCache(60_000L, 16));
+        });
+        ConfigurableRootQuery<BookTable, Integer> query = sqlClient.createQuery(BookTable.class, (q, book) -> {
+            q.where(book.name().like("GraphQL"));
+            q.orderBy(book.name());
+            q.orderBy(book.edition().desc());
+            return q.select(book.edition());
+        });
+        jdbc(con -> {
+            clearExecutions();
+            Assertions.assertEquals(new Page<>(Arrays.asList(3, 2, 1, 3), 6, 0, 4), query.fetchPage(0, 4, con));
+            Assertions.assertEquals(2, getExecutions().size());
+
+            // The connection of caller may be in a transaction
+            clearExecutions();
+            Assertions.assertEquals(new Page<>(Arrays.asList(2, 1), 6, 1, 4), query.fetchPage(1, 4, con));
+            Assertions.assertEquals(2, getExecutions().size());
+        });
+    }
 }
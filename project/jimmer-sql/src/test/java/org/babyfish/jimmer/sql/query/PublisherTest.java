@@ -0,0 +1,181 @@
+package org.babyfish.jimmer.sql.query;
+
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.ast.query.ConfigurableRootQuery;
+import org.babyfish.jimmer.sql.common.AbstractTest;
+import org.babyfish.jimmer.sql.model.*;
+import org.babyfish.jimmer.sql.runtime.ConnectionManager;
+import org.babyfish.jimmer.sql.runtime.ExecutionException;
+import org.babyfish.jimmer.sql.runtime.Flow;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+public class PublisherTest extends AbstractTest {
+
+    private final List<Connection> openedConnections = Collections.synchronizedList(new ArrayList<>());
+
+    private final JSqlClient sqlClient = getSqlClient(it -> {
+        it.setConnectionManager(new ConnectionManager() {
+            @Override
+            public <R> R execute(Function<Connection, R> block) {
+                throw new AssertionError("Publisher must open its own connection");
+            }
+            @Override
+            public Connection openConnection() {
+                try {
+                    Connection con = newConnection();
+                    openedConnections.add(con);
+                    return con;
+                } catch (SQLException ex) {
+                    throw new ExecutionException(ex.getMessage(), ex);
+                }
+            }
+        });
+    });
+
+    @Test
+    public void testDemand() throws Exception {
+        RecordingSubscriber<Book> subscriber = new RecordingSubscriber<>(2, (subscription, count) -> {
+            if (count == 2) {
+                subscription.request(10);
+            }
+        });
+        bookQuery().publisher().subscribe(subscriber);
+        Assertions.assertTrue(subscriber.completed.get(1, TimeUnit.MINUTES));
+        Assertions.assertEquals(
+                Arrays.asList(
+                        "Effective TypeScript",
+                        "GraphQL in Action",
+                        "Learning GraphQL",
+                        "Programming TypeScript"
+                ),
+                subscriber.names()
+        );
+        for (Book book : subscriber.items) {
+            Assertions.assertNotNull(book.store().name());
+            Assertions.assertFalse(book.authors().isEmpty());
+        }
+        // Query, then store and authors for each of the 2 demanded chunks
+        Assertions.assertEquals(5, getExecutions().size());
+        Assertions.assertEquals(
+                "select tb_2_.BOOK_ID, tb_1_.ID, tb_1_.FIRST_NAME, tb_1_.LAST_NAME, tb_1_.GENDER " +
+                        "from AUTHOR as tb_1_ " +
+                        "inner join BOOK_AUTHOR_MAPPING as tb_2_ on tb_1_.ID = tb_2_.AUTHOR_ID " +
+                        "where tb_2_.BOOK_ID in (?, ?)",
+                getExecutions().get(2).getSql()
+        );
+        Assertions.assertTrue(openedConnections.get(0).isClosed());
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+        RecordingSubscriber<Book> subscriber = new RecordingSubscriber<>(1, (subscription, count) -> {
+            subscription.cancel();
+        });
+        bookQuery().publisher().subscribe(subscriber);
+        Assertions.assertTrue(subscriber.cancelled.get(1, TimeUnit.MINUTES));
+        long deadline = System.currentTimeMillis() + 60_000L;
+        while (!openedConnections.get(0).isClosed() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assertions.assertTrue(openedConnections.get(0).isClosed());
+        Assertions.assertEquals(Collections.singletonList("Effective TypeScript"), subscriber.names());
+        Assertions.assertFalse(subscriber.completed.isDone());
+    }
+
+    @Test
+    public void testIllegalRequest() throws Exception {
+        RecordingSubscriber<Book> subscriber = new RecordingSubscriber<>(0, null);
+        bookQuery().publisher().subscribe(subscriber);
+        subscriber.subscription.request(-1);
+        try {
+            subscriber.completed.get(1, TimeUnit.MINUTES);
+            Assertions.fail("Illegal request must be signaled as error");
+        } catch (java.util.concurrent.ExecutionException ex) {
+            Assertions.assertTrue(ex.getCause() instanceof IllegalArgumentException);
+        }
+        Assertions.assertTrue(subscriber.items.isEmpty());
+    }
+
+    private ConfigurableRootQuery<BookTable, Book> bookQuery() {
+        return sqlClient.createQuery(BookTable.class, (q, book) -> {
+            return q
+                    .where(book.edition().eq(3))
+                    .orderBy(book.name().asc())
+                    .select(
+                            book.fetch(
+                                    BookFetcher.$.allScalarFields()
+                                            .store(
+                                                    BookStoreFetcher.$.allScalarFields()
+                                            )
+                                            .authors(
+                                                    AuthorFetcher.$.allScalarFields()
+                                            )
+                            )
+                    );
+        });
+    }
+
+    private static class RecordingSubscriber<T> implements Flow.Subscriber<T> {
+
+        final int initialRequest;
+
+        final BiConsumer<Flow.Subscription, Integer> onItem;
+
+        final List<T> items = new ArrayList<>();
+
+        final CompletableFuture<Boolean> completed = new CompletableFuture<>();
+
+        final CompletableFuture<Boolean> cancelled = new CompletableFuture<>();
+
+        volatile Flow.Subscription subscription;
+
+        RecordingSubscriber(int initialRequest, BiConsumer<Flow.Subscription, Integer> onItem) {
+            this.initialRequest = initialRequest;
+            this.onItem = onItem;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (initialRequest > 0) {
+                subscription.request(initialRequest);
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            items.add(item);
+            onItem.accept(subscription, items.size());
+            if (items.size() == 1 && initialRequest == 1) {
+                cancelled.complete(true);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            completed.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            completed.complete(true);
+        }
+
+        List<String> names() {
+            List<String> names = new ArrayList<>();
+            for (T item : items) {
+                names.add(((Book) item).name());
+            }
+            return names;
+        }
+    }
+}
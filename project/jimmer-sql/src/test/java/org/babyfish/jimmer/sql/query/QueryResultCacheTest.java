@@ -0,0 +1,189 @@
+package org.babyfish.jimmer.sql.query;
+
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.ast.query.ConfigurableRootQuery;
+import org.babyfish.jimmer.sql.common.AbstractQueryTest;
+import org.babyfish.jimmer.sql.model.AuthorDraft;
+import org.babyfish.jimmer.sql.model.AuthorFetcher;
+import org.babyfish.jimmer.sql.model.Book;
+import org.babyfish.jimmer.sql.model.BookFetcher;
+import org.babyfish.jimmer.sql.model.BookProps;
+import org.babyfish.jimmer.sql.model.BookStoreDraft;
+import org.babyfish.jimmer.sql.model.BookStoreTable;
+import org.babyfish.jimmer.sql.model.BookTable;
+import org.babyfish.jimmer.sql.runtime.ConnectionManager;
+import org.babyfish.jimmer.sql.runtime.ExecutionException;
+import org.babyfish.jimmer.sql.runtime.QueryResultCache;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.babyfish.jimmer.sql.common.Constants.*;
+
+public class QueryResultCacheTest extends AbstractQueryTest {
+
+    @Test
+    public void testEvictByJoinedTable() {
+        JSqlClient sqlClient = cachedSqlClient(60_000L);
+        ConfigurableRootQuery<BookTable, Book> query = sqlClient.createQuery(BookTable.class, (q, book) -> {
+            q.where(book.store().name().eq("MANNING"));
+            q.orderBy(book.name(), book.edition());
+            return q.select(book);
+        });
+
+        clearExecutions();
+        List<Book> books = query.execute();
+        Assertions.assertEquals(3, books.size());
+        Assertions.assertEquals(1, getExecutions().size());
+
+        clearExecutions();
+        Assertions.assertEquals(books, query.execute());
+        Assertions.assertEquals(0, getExecutions().size());
+
+        // Other variables, other entry
+        clearExecutions();
+        query.limit(1, 1).execute();
+        Assertions.assertEquals(1, getExecutions().size());
+
+        // The query does not read AUTHOR
+        sqlClient.getTriggers().fireEntityTableChange(
+                AuthorDraft.$.produce(author -> author.setId(danId).setFirstName("Old")),
+                AuthorDraft.$.produce(author -> author.setId(danId).setFirstName("New"))
+        );
+        clearExecutions();
+        query.execute();
+        Assertions.assertEquals(0, getExecutions().size());
+
+        sqlClient.getTriggers().fireEntityTableChange(
+                BookStoreDraft.$.produce(store -> store.setId(manningId).setName("Old")),
+                BookStoreDraft.$.produce(store -> store.setId(manningId).setName("New"))
+        );
+        clearExecutions();
+        Assertions.assertEquals(books, query.execute());
+        Assertions.assertEquals(1, getExecutions().size());
+    }
+
+    @Test
+    public void testEvictByMiddleTable() {
+        JSqlClient sqlClient = cachedSqlClient(60_000L);
+        ConfigurableRootQuery<BookTable, String> query = sqlClient.createQuery(BookTable.class, (q, book) -> {
+            q.where(book.asTableEx().authors().firstName().eq("Dan"));
+            return q.select(book.name()).distinct();
+        });
+
+        query.execute();
+        clearExecutions();
+        query.execute();
+        Assertions.assertEquals(0, getExecutions().size());
+
+        sqlClient.getTriggers().fireMiddleTableInsert(BookProps.AUTHORS, graphQLInActionId3, danId);
+        clearExecutions();
+        query.execute();
+        Assertions.assertEquals(1, getExecutions().size());
+
+        sqlClient.getQueryResultCache().evictByTableName("book_author_mapping");
+        clearExecutions();
+        query.execute();
+        Assertions.assertEquals(1, getExecutions().size());
+    }
+
+    @Test
+    public void testEvictByLocalMutation() {
+        JSqlClient sqlClient = cachedSqlClient(60_000L);
+        ConfigurableRootQuery<BookTable, String> query = sqlClient.createQuery(BookTable.class, (q, book) -> {
+            q.where(book.store().name().eq("MANNING"));
+            return q.select(book.name());
+        });
+
+        query.execute();
+        clearExecutions();
+        query.execute();
+        Assertions.assertEquals(0, getExecutions().size());
+
+        jdbc(null, true, con -> {
+            int affectedRowCount = sqlClient.createUpdate(BookStoreTable.class, (u, store) -> {
+                u.set(store.website(), "https://www.manning.com");
+                u.where(store.name().eq("MANNING"));
+            }).execute(con);
+            Assertions.assertEquals(1, affectedRowCount);
+        });
+        clearExecutions();
+        query.execute();
+        Assertions.assertEquals(1, getExecutions().size());
+    }
+
+    @Test
+    public void testCallerConnectionIsNotCached() {
+        JSqlClient sqlClient = cachedSqlClient(60_000L);
+        ConfigurableRootQuery<BookTable, Book> query = sqlClient.createQuery(BookTable.class, (q, book) -> {
+            q.where(book.id().eq(learningGraphQLId1));
+            return q.select(book);
+        });
+        jdbc(con -> {
+            query.execute(con);
+            clearExecutions();
+            query.execute(con);
+            Assertions.assertEquals(1, getExecutions().size());
+        });
+
+        // The rows read by the connection of caller were not put into cache
+        clearExecutions();
+        query.execute();
+        Assertions.assertEquals(1, getExecutions().size());
+        clearExecutions();
+        query.execute().clear();
+        Assertions.assertEquals(0, getExecutions().size());
+        Assertions.assertEquals(1, query.execute().size());
+    }
+
+    @Test
+    public void testAssociationFetcherIsNotCached() {
+        JSqlClient sqlClient = cachedSqlClient(60_000L);
+        ConfigurableRootQuery<BookTable, Book> query = sqlClient.createQuery(BookTable.class, (q, book) -> {
+            q.where(book.name().eq("GraphQL in Action"));
+            return q.select(
+                    book.fetch(
+                            BookFetcher.$.name().authors(AuthorFetcher.$.firstName())
+                    )
+            );
+        });
+        query.execute();
+        clearExecutions();
+        query.execute();
+        Assertions.assertEquals(2, getExecutions().size());
+    }
+
+    @Test
+    public void testExpiration() throws InterruptedException {
+        JSqlClient sqlClient = cachedSqlClient(1L);
+        ConfigurableRootQuery<BookTable, Book> query = sqlClient.createQuery(BookTable.class, (q, book) -> {
+            q.where(book.id().eq(learningGraphQLId1));
+            return q.select(book);
+        });
+        query.execute();
+        Thread.sleep(5L);
+        clearExecutions();
+        query.execute();
+        Assertions.assertEquals(1, getExecutions().size());
+    }
+
+    private JSqlClient cachedSqlClient(long ttl) {
+        return getSqlClient(it -> {
+            it.setQueryResultCache(new QueryResultCache(ttl, 16));
+            it.setConnectionManager(new ConnectionManager() {
+                @Override
+                public <R> R execute(Function<Connection, R> block) {
+                    try (Connection con = newConnection()) {
+                        return block.apply(con);
+                    } catch (SQLException ex) {
+                        throw new ExecutionException(ex.getMessage(), ex);
+                    }
+                }
+            });
+        });
+    }
+}
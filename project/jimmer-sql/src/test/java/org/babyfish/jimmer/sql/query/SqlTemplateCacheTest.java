@@ -0,0 +1,130 @@
+package org.babyfish.jimmer.sql.query;
+
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.ast.query.ConfigurableRootQuery;
+import org.babyfish.jimmer.sql.common.AbstractTest;
+import org.babyfish.jimmer.sql.model.BookTable;
+import org.babyfish.jimmer.sql.runtime.SqlTemplateCache;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+
+public class SqlTemplateCacheTest extends AbstractTest {
+
+    private final JSqlClient sqlClient = getSqlClient(it -> it.setSqlTemplateCacheSize(512));
+
+    @Test
+    public void testSameShape() {
+        jdbc(con -> {
+            SqlTemplateCache cache = sqlClient.getSqlTemplateCache();
+            Assertions.assertEquals(
+                    Collections.singletonList("Learning GraphQL"),
+                    nameQuery("GraphQL", 1, "O'REILLY", 0).execute(con)
+            );
+            Assertions.assertEquals(
+                    Arrays.asList("Effective TypeScript", "Programming TypeScript"),
+                    nameQuery("TypeScript", 3, "O'REILLY", 0).execute(con)
+            );
+            Assertions.assertEquals(
+                    Collections.singletonList("GraphQL in Action"),
+                    nameQuery("graphql", 3, "MANNING", 0).execute(con)
+            );
+            Assertions.assertEquals(1, cache.getMissCount());
+            Assertions.assertEquals(2, cache.getHitCount());
+            Assertions.assertEquals(
+                    "select tb_1_.NAME " +
+                            "from BOOK as tb_1_ " +
+                            "inner join BOOK_STORE as tb_2_ on tb_1_.STORE_ID = tb_2_.ID " +
+                            "where lower(tb_1_.NAME) like ? and tb_1_.EDITION = ? and tb_2_.NAME = ? " +
+                            "order by tb_1_.NAME asc " +
+                            "limit ?",
+                    getExecutions().get(2).getSql()
+            );
+            Assertions.assertEquals(getExecutions().get(0).getSql(), getExecutions().get(2).getSql());
+            Assertions.assertEquals(
+                    Arrays.asList("%typescript%", 3, "O'REILLY", 10),
+                    getExecutions().get(1).getVariables()
+            );
+            Assertions.assertEquals(
+                    Arrays.asList("%graphql%", 3, "MANNING", 10),
+                    getExecutions().get(2).getVariables()
+            );
+
+            // Offset changes the SQL of pagination
+            Assertions.assertEquals(
+                    Collections.singletonList("Programming TypeScript"),
+                    nameQuery("TypeScript", 3, "O'REILLY", 1).execute(con)
+            );
+            Assertions.assertEquals(2, cache.getMissCount());
+            Assertions.assertTrue(getExecutions().get(3).getSql().endsWith(" limit ? offset ?"));
+            Assertions.assertEquals(
+                    Arrays.asList("%typescript%", 3, "O'REILLY", 10, 1),
+                    getExecutions().get(3).getVariables()
+            );
+        });
+    }
+
+    @Test
+    public void testDifferentShape() {
+        jdbc(con -> {
+            SqlTemplateCache cache = sqlClient.getSqlTemplateCache();
+            Assertions.assertEquals(8L, editionQuery(Arrays.asList(1, 2)).execute(con).get(0));
+            Assertions.assertEquals(4L, editionQuery(Collections.singletonList(3)).execute(con).get(0));
+            Assertions.assertEquals(0L, editionQuery(Collections.emptyList()).execute(con).get(0));
+            Assertions.assertEquals(8L, editionQuery(Arrays.asList(2, 3)).execute(con).get(0));
+            Assertions.assertEquals(3, cache.getMissCount());
+            Assertions.assertEquals(1, cache.getHitCount());
+            Assertions.assertEquals(
+                    "select count(tb_1_.ID) from BOOK as tb_1_ where tb_1_.EDITION in (?)",
+                    getExecutions().get(1).getSql()
+            );
+            Assertions.assertEquals(
+                    "select count(tb_1_.ID) from BOOK as tb_1_ where 1 = 0",
+                    getExecutions().get(2).getSql()
+            );
+            Assertions.assertEquals(Arrays.asList(2, 3), getExecutions().get(3).getVariables());
+        });
+    }
+
+    @Test
+    public void testDisabled() {
+        jdbc(con -> {
+            JSqlClient sqlClient = getSqlClient();
+            Assertions.assertNull(sqlClient.getSqlTemplateCache());
+            Assertions.assertEquals(
+                    Collections.singletonList(2),
+                    sqlClient.createQuery(BookTable.class, (q, book) -> {
+                        q.where(book.name().eq("Learning GraphQL"), book.edition().eq(2));
+                        return q.select(book.edition());
+                    }).execute(con)
+            );
+        });
+    }
+
+    private ConfigurableRootQuery<BookTable, String> nameQuery(
+            String name,
+            int edition,
+            String storeName,
+            int offset
+    ) {
+        return sqlClient.createQuery(BookTable.class, (q, book) -> {
+            q.where(
+                    book.name().ilike(name),
+                    book.edition().eq(edition),
+                    book.store().name().eq(storeName)
+            );
+            q.orderBy(book.name());
+            return q.select(book.name());
+        }).limit(10, offset);
+    }
+
+    private ConfigurableRootQuery<BookTable, Long> editionQuery(Collection<Integer> editions) {
+        return sqlClient.createQuery(BookTable.class, (q, book) -> {
+            q.where(book.edition().in(editions));
+            return q.select(book.count());
+        });
+    }
+}
@@ -0,0 +1,51 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.UUID;
+
+public class ConvertersTest {
+
+    @Test
+    public void testResolveOnce() {
+        Assertions.assertSame(
+                Converters.converter(BigDecimal.class, long.class),
+                Converters.converter(BigDecimal.class, long.class)
+        );
+    }
+
+    @Test
+    public void testConvert() {
+        Assertions.assertEquals(
+                3L,
+                Converters.converter(BigDecimal.class, Long.class).apply(new BigDecimal("3"))
+        );
+        Assertions.assertEquals(
+                BigInteger.TEN,
+                Converters.tryConvert(BigDecimal.TEN, BigInteger.class)
+        );
+        Assertions.assertEquals(
+                true,
+                Converters.tryConvert(1, boolean.class)
+        );
+        Assertions.assertEquals(
+                Instant.ofEpochMilli(1000L),
+                Converters.tryConvert(new Timestamp(1000L), Instant.class)
+        );
+    }
+
+    @Test
+    public void testUnconvertible() {
+        Assertions.assertNull(
+                Converters.tryConvert(UUID.randomUUID(), Long.class)
+        );
+        Assertions.assertNull(
+                Converters.converter(String.class, Long.class).apply("1")
+        );
+    }
+}
@@ -0,0 +1,196 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.common.AbstractTest;
+import org.babyfish.jimmer.sql.model.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+public class ExecutionMonitorTest extends AbstractTest {
+
+    @Test
+    public void testQueryAndFetchers() {
+        List<StatementMetrics> metricsList = Collections.synchronizedList(new ArrayList<>());
+        JSqlClient sqlClient = getSqlClient(it -> it.setExecutionMonitor(metricsList::add));
+        jdbc(con -> {
+            List<Book> books = sqlClient.createQuery(BookTable.class, (q, book) -> {
+                q.where(book.edition().eq(3));
+                return q.select(
+                        book.fetch(
+                                BookFetcher.$.allScalarFields()
+                                        .store(BookStoreFetcher.$.name())
+                                        .authors(AuthorFetcher.$.firstName())
+                        )
+                );
+            }).execute(con);
+            Assertions.assertEquals(4, books.size());
+        });
+        Assertions.assertEquals(3, metricsList.size());
+
+        // Statements of fetchers are reported before the query which includes their time
+        StatementMetrics storeMetrics = metricsList.get(0);
+        Assertions.assertEquals(ExecutionPurpose.FETCHER, storeMetrics.getPurpose());
+        Assertions.assertEquals("store", storeMetrics.getProp().getName());
+        StatementMetrics authorsMetrics = metricsList.get(1);
+        Assertions.assertEquals(ExecutionPurpose.FETCHER, authorsMetrics.getPurpose());
+        Assertions.assertEquals("authors", authorsMetrics.getProp().getName());
+        Assertions.assertTrue(authorsMetrics.getFingerprint().endsWith("in (?...)"));
+
+        StatementMetrics queryMetrics = metricsList.get(2);
+        Assertions.assertEquals(ExecutionPurpose.QUERY, queryMetrics.getPurpose());
+        Assertions.assertNull(queryMetrics.getProp());
+        Assertions.assertEquals(4, queryMetrics.getRowCount());
+        Assertions.assertEquals(1, queryMetrics.getBatchSize());
+        Assertions.assertTrue(queryMetrics.getBuildNanos() > 0);
+        Assertions.assertTrue(queryMetrics.getMappingNanos() > 0);
+        Assertions.assertTrue(
+                queryMetrics.getFetchNanos() >=
+                        storeMetrics.getTotalNanos() + authorsMetrics.getTotalNanos() -
+                                storeMetrics.getBuildNanos() - authorsMetrics.getBuildNanos()
+        );
+    }
+
+    @Test
+    public void testFailedFetcher() {
+        List<StatementMetrics> metricsList = Collections.synchronizedList(new ArrayList<>());
+        JSqlClient sqlClient = getSqlClient(it -> {
+            it.setExecutor(new Executor() {
+                @Override
+                public <R> R execute(
+                        Connection con,
+                        String sql,
+                        List<Object> variables,
+                        StatementFactory statementFactory,
+                        SqlFunction<PreparedStatement, R> block
+                ) {
+                    if (sql.contains("from BOOK_STORE")) {
+                        throw new ExecutionException("Store cannot be fetched");
+                    }
+                    return DefaultExecutor.INSTANCE.execute(con, sql, variables, statementFactory, block);
+                }
+            });
+            it.setExecutionMonitor(metricsList::add);
+        });
+        jdbc(con -> {
+            ExecutionException ex = Assertions.assertThrows(ExecutionException.class, () -> {
+                sqlClient.createQuery(BookTable.class, (q, book) -> {
+                    q.where(book.edition().eq(3));
+                    return q.select(
+                            book.fetch(BookFetcher.$.name().store(BookStoreFetcher.$.name()))
+                    );
+                }).execute(con);
+            });
+            Assertions.assertEquals("Store cannot be fetched", ex.getMessage());
+        });
+        Assertions.assertEquals(2, metricsList.size());
+        Assertions.assertEquals(ExecutionPurpose.FETCHER, metricsList.get(0).getPurpose());
+        Assertions.assertTrue(metricsList.get(0).isFailed());
+        Assertions.assertEquals(ExecutionPurpose.QUERY, metricsList.get(1).getPurpose());
+        Assertions.assertEquals(4, metricsList.get(1).getRowCount());
+        Assertions.assertTrue(metricsList.get(1).isFailed());
+    }
+
+    @Test
+    public void testBuildTimeOfUnexecutedStatement() {
+        List<StatementMetrics> metricsList = Collections.synchronizedList(new ArrayList<>());
+        JSqlClient sqlClient = getSqlClient(it -> it.setExecutionMonitor(metricsList::add));
+        jdbc(con -> {
+            // Built but never executed, such as the statement whose rows are cached
+            new SqlBuilder(sqlClient).sql("select 1").build();
+            sqlClient.getExecutor().execute(
+                    con,
+                    "select 2",
+                    Collections.emptyList(),
+                    null,
+                    PreparedStatement::execute
+            );
+        });
+        Assertions.assertEquals(1, metricsList.size());
+        Assertions.assertEquals(0L, metricsList.get(0).getBuildNanos());
+    }
+
+    @Test
+    public void testThreadBoundStateIsRemoved() throws ReflectiveOperationException {
+        JSqlClient sqlClient = getSqlClient(it -> it.setExecutionMonitor(metrics -> {}));
+        jdbc(con -> {
+            sqlClient.createQuery(BookTable.class, (q, book) -> {
+                q.where(book.edition().eq(3));
+                return q.select(book.fetch(BookFetcher.$.name().store(BookStoreFetcher.$.name())));
+            }).execute(con);
+        });
+        Field field = ExecutionMonitors.class.getDeclaredField("CONTEXT_LOCAL");
+        field.setAccessible(true);
+        Assertions.assertNull(((ThreadLocal<?>) field.get(null)).get());
+    }
+
+    @Test
+    public void testUpdate() {
+        List<StatementMetrics> metricsList = Collections.synchronizedList(new ArrayList<>());
+        JSqlClient sqlClient = getSqlClient(it -> it.setExecutionMonitor(metricsList::add));
+        jdbc(null, true, con -> {
+            int affectedRowCount = sqlClient.createUpdate(BookTable.class, (u, book) -> {
+                u.set(book.price(), book.price().plus(new BigDecimal(1)));
+                u.where(book.edition().eq(3));
+            }).execute(con);
+            Assertions.assertEquals(4, affectedRowCount);
+        });
+        Assertions.assertEquals(1, metricsList.size());
+        Assertions.assertEquals(ExecutionPurpose.UPDATE, metricsList.get(0).getPurpose());
+        Assertions.assertEquals(4, metricsList.get(0).getRowCount());
+    }
+
+    @Test
+    public void testInMemoryAggregation() {
+        InMemoryExecutionMonitor monitor = new InMemoryExecutionMonitor(2);
+        JSqlClient sqlClient = getSqlClient(it -> it.setExecutionMonitor(monitor));
+        UUID id1 = UUID.fromString("9eded40f-6d2e-41de-b4e7-33a28b11c8b6");
+        UUID id2 = UUID.fromString("e110c564-23cc-4811-9e81-d587a13db634");
+        UUID id3 = UUID.fromString("b649b11b-1161-4ad2-b261-af0112fdd7c8");
+        List<List<UUID>> idLists = Arrays.asList(
+                Arrays.asList(id1, id2),
+                Arrays.asList(id1, id2, id3),
+                Arrays.asList(id2, id3)
+        );
+        for (List<UUID> ids : idLists) {
+            jdbc(con -> {
+                sqlClient.getEntities().forConnection(con).findByIds(Book.class, ids);
+            });
+        }
+        List<InMemoryExecutionMonitor.Statistics> statisticsList = monitor.getStatistics();
+        Assertions.assertEquals(1, statisticsList.size());
+        InMemoryExecutionMonitor.Statistics statistics = statisticsList.get(0);
+        Assertions.assertEquals(ExecutionPurpose.QUERY, statistics.getPurpose());
+        Assertions.assertEquals(3L, statistics.getCount());
+        Assertions.assertEquals(7L, statistics.getRowCount());
+        Assertions.assertTrue(statistics.getPercentileNanos(50) <= statistics.getPercentileNanos(99));
+        Assertions.assertTrue(statistics.getPercentileNanos(99) <= statistics.getMaxNanos());
+        monitor.clear();
+        Assertions.assertTrue(monitor.getStatistics().isEmpty());
+    }
+
+    @Test
+    public void testFingerprint() {
+        Assertions.assertEquals(
+                "select tb_1_.ID from BOOK as tb_1_ where tb_1_.ID in (?...) and tb_1_.EDITION = ?",
+                StatementMetrics.fingerprint(
+                        "select tb_1_.ID from BOOK as tb_1_ where tb_1_.ID in (?, ?, ?) and tb_1_.EDITION = ?"
+                )
+        );
+        Assertions.assertEquals(
+                "insert into BOOK_AUTHOR_MAPPING(BOOK_ID, AUTHOR_ID) values(?...)...",
+                StatementMetrics.fingerprint(
+                        "insert into BOOK_AUTHOR_MAPPING(BOOK_ID, AUTHOR_ID) values(?, ?), (?, ?), (?, ?)"
+                )
+        );
+    }
+}
@@ -0,0 +1,57 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.common.AbstractTest;
+import org.babyfish.jimmer.sql.model.AuthorProps;
+import org.babyfish.jimmer.sql.model.BookProps;
+import org.babyfish.jimmer.sql.model.Gender;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.Types;
+import java.util.UUID;
+
+public class PropBindingTest extends AbstractTest {
+
+    @Test
+    public void testScalarProp() {
+        JSqlClient sqlClient = getSqlClient();
+        PropBinding binding = sqlClient.getPropBinding(AuthorProps.GENDER.unwrap());
+        Assertions.assertSame(binding, sqlClient.getPropBinding(AuthorProps.GENDER.unwrap()));
+        Assertions.assertEquals(Gender.class, binding.getScalarType());
+        Assertions.assertEquals(String.class, binding.getSqlType());
+        Assertions.assertEquals(Types.VARCHAR, binding.getJdbcType());
+        Assertions.assertEquals("M", binding.toSql(Gender.MALE));
+        Assertions.assertEquals(Gender.FEMALE, binding.toScalar("F"));
+        Assertions.assertTrue(binding.accepts(Gender.MALE));
+        Assertions.assertFalse(binding.accepts("M"));
+
+        PropBinding priceBinding = sqlClient.getPropBinding(BookProps.PRICE.unwrap());
+        Assertions.assertNull(priceBinding.getScalarProvider());
+        Assertions.assertEquals(Types.DECIMAL, priceBinding.getJdbcType());
+        Assertions.assertEquals(new BigDecimal("1.5"), priceBinding.toSql(new BigDecimal("1.5")));
+    }
+
+    @Test
+    public void testForeignKeyProp() {
+        PropBinding binding = getSqlClient().getPropBinding(BookProps.STORE.unwrap());
+        Assertions.assertEquals(UUID.class, binding.getScalarType());
+        Assertions.assertEquals(new DbNull(UUID.class), binding.getDbNull());
+        Assertions.assertEquals(Types.VARCHAR, binding.getJdbcType());
+    }
+
+    @Test
+    public void testNonColumnProp() {
+        Assertions.assertThrows(
+                IllegalArgumentException.class,
+                () -> getSqlClient().getPropBinding(BookProps.AUTHORS.unwrap())
+        );
+    }
+
+    @Test
+    public void testUnknownJdbcType() {
+        DbNull dbNull = new DbNull(Object.class);
+        Assertions.assertThrows(IllegalArgumentException.class, dbNull::getJdbcType);
+    }
+}
@@ -0,0 +1,98 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.common.AbstractTest;
+import org.babyfish.jimmer.sql.model.*;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+public class RepeatedQueryDetectorTest extends AbstractTest {
+
+    private final List<RepeatedQueryDetector.Report> reports = new ArrayList<>();
+
+    private final RepeatedQueryDetector detector = new RepeatedQueryDetector(2, reports::add);
+
+    private final JSqlClient sqlClient = getSqlClient(it -> it.setExecutionMonitor(detector));
+
+    @Test
+    public void testFindByIdInLoop() {
+        List<UUID> ids = Arrays.asList(
+                UUID.fromString("9eded40f-6d2e-41de-b4e7-33a28b11c8b6"),
+                UUID.fromString("e110c564-23cc-4811-9e81-d587a13db634"),
+                UUID.fromString("b649b11b-1161-4ad2-b261-af0112fdd7c8"),
+                UUID.fromString("9eded40f-6d2e-41de-b4e7-33a28b11c8b6")
+        );
+        jdbc(con -> {
+            try (RepeatedQueryDetector.Scope scope = detector.begin()) {
+                for (UUID id : ids) {
+                    sqlClient.getEntities().forConnection(con).findById(Book.class, id);
+                }
+                Assertions.assertTrue(reports.isEmpty());
+            }
+        });
+        Assertions.assertEquals(1, reports.size());
+        RepeatedQueryDetector.Report report = reports.get(0);
+        Assertions.assertEquals(ExecutionPurpose.QUERY, report.getPurpose());
+        Assertions.assertNull(report.getProp());
+        Assertions.assertEquals(4, report.getCount());
+        Assertions.assertEquals(3, report.getDistinctVariablesCount());
+        Assertions.assertTrue(
+                Arrays.stream(report.getStackTrace()).anyMatch(it ->
+                        it.getClassName().equals(RepeatedQueryDetectorTest.class.getName())
+                )
+        );
+    }
+
+    @Test
+    public void testBelowThresholdOrOutsideUnitOfWork() {
+        UUID id = UUID.fromString("9eded40f-6d2e-41de-b4e7-33a28b11c8b6");
+        jdbc(con -> {
+            try (RepeatedQueryDetector.Scope scope = detector.begin()) {
+                sqlClient.getEntities().forConnection(con).findById(Book.class, id);
+                sqlClient.getEntities().forConnection(con).findById(Book.class, id);
+            }
+            for (int i = 0; i < 3; i++) {
+                sqlClient.getEntities().forConnection(con).findById(Book.class, id);
+            }
+        });
+        Assertions.assertTrue(reports.isEmpty());
+    }
+
+    @Test
+    public void testFetcherWithBatchSizeOne() {
+        jdbc(con -> {
+            sqlClient.createQuery(BookStoreTable.class, (q, store) ->
+                    q.select(
+                            store.fetch(
+                                    BookStoreFetcher.$
+                                            .name()
+                                            .books(BookFetcher.$.name(), it -> it.batch(1).limit(1))
+                            )
+                    )
+            ).execute(con);
+        });
+        Assertions.assertTrue(reports.isEmpty());
+
+        RepeatedQueryDetector detector = new RepeatedQueryDetector(1, reports::add);
+        JSqlClient sqlClient = getSqlClient(it -> it.setExecutionMonitor(detector));
+        jdbc(con -> {
+            sqlClient.createQuery(BookStoreTable.class, (q, store) ->
+                    q.select(
+                            store.fetch(
+                                    BookStoreFetcher.$
+                                            .name()
+                                            .books(BookFetcher.$.name(), it -> it.batch(1).limit(1))
+                            )
+                    )
+            ).execute(con);
+        });
+        Assertions.assertEquals(1, reports.size());
+        RepeatedQueryDetector.Report report = reports.get(0);
+        Assertions.assertEquals(ExecutionPurpose.FETCHER, report.getPurpose());
+        Assertions.assertEquals("books", report.getProp().getName());
+        Assertions.assertEquals(2, report.getCount());
+        Assertions.assertEquals(2, report.getDistinctVariablesCount());
+    }
+}
@@ -0,0 +1,199 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+public class ReplicaSetConnectionManagerTest {
+
+    private static final ConnectionManager MASTER = database("master");
+
+    private static final ConnectionManager R1 = database("r1");
+
+    private static final ConnectionManager R2 = database("r2");
+
+    private static final ConnectionManager R3 = database("r3");
+
+    private static final ConnectionManager R4 = database("r4");
+
+    private static final ConnectionManager UNAVAILABLE = ConnectionManager.simpleConnectionManager(
+            dataSource("jdbc:h2:mem:unavailable_replica;IFEXISTS=TRUE")
+    );
+
+    @BeforeAll
+    public static void initialize() {
+        for (String name : Arrays.asList("master", "r1", "r2", "r3", "r4")) {
+            database(name).execute(con -> {
+                try (Statement stmt = con.createStatement()) {
+                    stmt.execute("drop table if exists REPLICA_NAME");
+                    stmt.execute("create table REPLICA_NAME(NAME varchar(10))");
+                    stmt.execute("insert into REPLICA_NAME values('" + name + "')");
+                } catch (SQLException ex) {
+                    throw new ExecutionException(ex.getMessage(), ex);
+                }
+                return null;
+            });
+        }
+    }
+
+    @Test
+    public void testRoundRobin() {
+        ReplicaSetConnectionManager manager = ReplicaSetConnectionManager
+                .newBuilder(MASTER)
+                .addReplica(R1)
+                .addReplica(R2)
+                .addReplica(R3)
+                .addReplica(R4)
+                .build();
+        Assertions.assertEquals(
+                Arrays.asList("r1", "r2", "r3", "r4", "r1", "r2", "r3", "r4"),
+                names(manager, 8)
+        );
+    }
+
+    @Test
+    public void testWeighted() {
+        ReplicaSetConnectionManager manager = ReplicaSetConnectionManager
+                .newBuilder(MASTER)
+                .addReplica(R1, 3)
+                .addReplica(R2, 1)
+                .setStrategy(ReplicaSetConnectionManager.Strategy.WEIGHTED)
+                .build();
+        Assertions.assertEquals(
+                Arrays.asList("r1", "r1", "r2", "r1", "r1", "r1", "r2", "r1"),
+                names(manager, 8)
+        );
+    }
+
+    @Test
+    public void testLeastOutstandingRequests() {
+        ReplicaSetConnectionManager manager = ReplicaSetConnectionManager
+                .newBuilder(MASTER)
+                .addReplica(R1)
+                .addReplica(R2)
+                .addReplica(R3)
+                .setStrategy(ReplicaSetConnectionManager.Strategy.LEAST_OUTSTANDING_REQUESTS)
+                .build();
+        List<String> names = manager.execute(con -> {
+            List<String> list = new ArrayList<>();
+            list.add(name(con));
+            list.addAll(names(manager, 3));
+            return list;
+        });
+        // r1 is still used by the outer block when the third nested block is executed
+        Assertions.assertEquals(Arrays.asList("r1", "r2", "r3", "r2"), names);
+    }
+
+    @Test
+    public void testLatencyEwma() {
+        ConnectionManager slowReplica = new ConnectionManager() {
+            @Override
+            public <R> R execute(Function<Connection, R> block) {
+                return R1.execute(con -> {
+                    try {
+                        Thread.sleep(20);
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return block.apply(con);
+                });
+            }
+        };
+        ReplicaSetConnectionManager manager = ReplicaSetConnectionManager
+                .newBuilder(MASTER)
+                .addReplica(slowReplica)
+                .addReplica(R2)
+                .setStrategy(ReplicaSetConnectionManager.Strategy.LATENCY_EWMA)
+                .build();
+        Assertions.assertEquals(
+                Arrays.asList("r1", "r2", "r2", "r2"),
+                names(manager, 4)
+        );
+    }
+
+    @Test
+    public void testEjectAndReadmit() throws InterruptedException {
+        ReplicaSetConnectionManager manager = ReplicaSetConnectionManager
+                .newBuilder(MASTER)
+                .addReplica(UNAVAILABLE)
+                .addReplica(R1)
+                .setFailureThreshold(1)
+                .setEjectionMillis(50)
+                .build();
+        Assertions.assertEquals(Arrays.asList("r1", "r1", "r1"), names(manager, 3));
+        Assertions.assertTrue(manager.isEjected(0));
+        Assertions.assertFalse(manager.isEjected(1));
+        Thread.sleep(60);
+        Assertions.assertFalse(manager.isEjected(0));
+        // The re-admitted replica is ejected again by its first failure
+        Assertions.assertEquals(Arrays.asList("r1", "r1"), names(manager, 2));
+        Assertions.assertTrue(manager.isEjected(0));
+    }
+
+    @Test
+    public void testFallbackToMaster() {
+        ReplicaSetConnectionManager manager = ReplicaSetConnectionManager
+                .newBuilder(MASTER)
+                .addReplica(UNAVAILABLE)
+                .setFailureThreshold(2)
+                .build();
+        Assertions.assertEquals(Arrays.asList("master", "master"), names(manager, 2));
+        Assertions.assertTrue(manager.isEjected(0));
+    }
+
+    @Test
+    public void testFailureOfBlock() {
+        ReplicaSetConnectionManager manager = ReplicaSetConnectionManager
+                .newBuilder(MASTER)
+                .addReplica(R1)
+                .setFailureThreshold(1)
+                .build();
+        Assertions.assertThrows(IllegalStateException.class, () -> {
+            manager.execute(con -> {
+                throw new IllegalStateException("Business error");
+            });
+        });
+        Assertions.assertFalse(manager.isEjected(0));
+    }
+
+    private static List<String> names(ConnectionManager manager, int count) {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            names.add(manager.execute(ReplicaSetConnectionManagerTest::name));
+        }
+        return names;
+    }
+
+    private static String name(Connection con) {
+        try (Statement stmt = con.createStatement();
+             ResultSet rs = stmt.executeQuery("select NAME from REPLICA_NAME")
+        ) {
+            rs.next();
+            return rs.getString(1);
+        } catch (SQLException ex) {
+            throw new ExecutionException(ex.getMessage(), ex);
+        }
+    }
+
+    private static ConnectionManager database(String name) {
+        return ConnectionManager.simpleConnectionManager(
+                dataSource("jdbc:h2:mem:replica_" + name + ";DB_CLOSE_DELAY=-1")
+        );
+    }
+
+    private static JdbcDataSource dataSource(String url) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL(url);
+        return dataSource;
+    }
+}
@@ -0,0 +1,22 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import org.babyfish.jimmer.sql.common.AbstractTest;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+public class SqlShapeTest extends AbstractTest {
+
+    @Test
+    public void testNullValue() {
+        SqlShape nullShape = new SqlShape(getSqlClient()).variable(null).variable("a");
+        SqlShape stringShape = new SqlShape(getSqlClient()).variable("b").variable("a");
+        Assertions.assertNotEquals(nullShape.getTokens(), stringShape.getTokens());
+        Assertions.assertEquals(
+                nullShape.getTokens(),
+                new SqlShape(getSqlClient()).variable(null).variable("c").getTokens()
+        );
+        Assertions.assertEquals(Arrays.asList(null, "a"), nullShape.getValues());
+    }
+}
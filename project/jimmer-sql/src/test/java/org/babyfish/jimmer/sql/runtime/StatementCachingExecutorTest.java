@@ -0,0 +1,109 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.ast.query.ConfigurableRootQuery;
+import org.babyfish.jimmer.sql.common.AbstractTest;
+import org.babyfish.jimmer.sql.model.BookStoreTable;
+import org.babyfish.jimmer.sql.model.BookTable;
+import org.babyfish.jimmer.sql.model.TreeNodeFetcher;
+import org.babyfish.jimmer.sql.model.TreeNodeTable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.util.function.Function;
+
+public class StatementCachingExecutorTest extends AbstractTest {
+
+    @Test
+    public void testReuseInsideConnection() {
+        StatementCachingExecutor executor = new StatementCachingExecutor();
+        JSqlClient sqlClient = sqlClient(executor);
+        sqlClient.getConnectionManager().execute(con -> {
+            for (int i = 0; i < 3; i++) {
+                Assertions.assertEquals(
+                        2,
+                        bookQuery(sqlClient, i + 1).execute(con).size()
+                );
+            }
+            return null;
+        });
+        Assertions.assertEquals(1L, executor.getMissCount());
+        Assertions.assertEquals(2L, executor.getHitCount());
+
+        sqlClient.getConnectionManager().execute(con ->
+                bookQuery(sqlClient, 1).execute(con)
+        );
+        Assertions.assertEquals(2L, executor.getMissCount());
+        Assertions.assertEquals(2L, executor.getHitCount());
+    }
+
+    @Test
+    public void testEviction() {
+        StatementCachingExecutor executor = new StatementCachingExecutor(1);
+        JSqlClient sqlClient = sqlClient(executor);
+        sqlClient.getConnectionManager().execute(con -> {
+            bookQuery(sqlClient, 1).execute(con);
+            storeQuery(sqlClient).execute(con);
+            bookQuery(sqlClient, 2).execute(con);
+            return null;
+        });
+        Assertions.assertEquals(3L, executor.getMissCount());
+        Assertions.assertEquals(0L, executor.getHitCount());
+        Assertions.assertEquals(2L, executor.getEvictionCount());
+    }
+
+    @Test
+    public void testNestedExecutionOfSameSql() {
+        StatementCachingExecutor executor = new StatementCachingExecutor();
+        JSqlClient sqlClient = sqlClient(executor);
+        int count = sqlClient.getConnectionManager().execute(con -> {
+            int[] counter = new int[1];
+            sqlClient.createQuery(TreeNodeTable.class, (q, node) -> {
+                q.where(node.parent().isNull());
+                return q.select(
+                        node.fetch(
+                                TreeNodeFetcher.$.name().childNodes(
+                                        TreeNodeFetcher.$.name(),
+                                        it -> it.batch(1).depth(2)
+                                )
+                        )
+                );
+            }).forEach(con, 1, node -> counter[0]++);
+            return counter[0];
+        });
+        Assertions.assertEquals(1, count);
+        Assertions.assertTrue(executor.getHitCount() > 0);
+    }
+
+    private static JSqlClient sqlClient(StatementCachingExecutor executor) {
+        return JSqlClient
+                .newBuilder()
+                .setExecutor(executor)
+                .setConnectionManager(new ConnectionManager() {
+                    @Override
+                    public <R> R execute(Function<Connection, R> block) {
+                        Object[] box = new Object[1];
+                        jdbc(con -> box[0] = block.apply(con));
+                        @SuppressWarnings("unchecked")
+                        R result = (R) box[0];
+                        return result;
+                    }
+                })
+                .build();
+    }
+
+    private static ConfigurableRootQuery<BookTable, String> bookQuery(JSqlClient sqlClient, int edition) {
+        return sqlClient.createQuery(BookTable.class, (q, book) -> {
+            q.where(book.edition().eq(edition));
+            q.where(book.name().like("GraphQL"));
+            return q.select(book.name());
+        });
+    }
+
+    private static ConfigurableRootQuery<BookStoreTable, String> storeQuery(JSqlClient sqlClient) {
+        return sqlClient.createQuery(BookStoreTable.class, (q, store) -> {
+            return q.select(store.name());
+        });
+    }
+}
@@ -0,0 +1,104 @@
+package org.babyfish.jimmer.sql.runtime;
+
+import org.babyfish.jimmer.sql.JSqlClient;
+import org.babyfish.jimmer.sql.common.AbstractTest;
+import org.babyfish.jimmer.sql.model.BookStoreTable;
+import org.babyfish.jimmer.sql.model.BookTable;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+public class WriteTrackerTest extends AbstractTest {
+
+    @Test
+    public void testReadYourWrites() {
+        List<String> usedConnectionManagers = new ArrayList<>();
+        jdbc(null, true, con -> {
+            JSqlClient sqlClient = getSqlClient(it -> {
+                it.setConnectionManager(connectionManager("master", con, usedConnectionManagers));
+                it.setSlaveConnectionManager(connectionManager("slave", con, usedConnectionManagers));
+                it.setWriteTracker(new WriteTracker(60_000L));
+            });
+            sqlClient.createQuery(BookTable.class, (q, book) -> {
+                q.where(book.store().name().eq("MANNING"));
+                return q.select(book.name());
+            }).execute();
+            int affectedRowCount = sqlClient.createUpdate(BookStoreTable.class, (u, store) -> {
+                u.set(store.website(), "https://www.manning.com");
+                u.where(store.name().eq("MANNING"));
+            }).execute();
+            Assertions.assertEquals(1, affectedRowCount);
+
+            // BOOK_STORE is not read
+            sqlClient.createQuery(BookTable.class, (q, book) -> {
+                q.where(book.edition().eq(3));
+                return q.select(book.name());
+            }).execute();
+
+            // BOOK_STORE is joined
+            Assertions.assertEquals(
+                    Collections.singletonList("https://www.manning.com"),
+                    sqlClient.createQuery(BookTable.class, (q, book) -> {
+                        q.where(book.name().eq("GraphQL in Action"), book.edition().eq(3));
+                        return q.select(book.store().website());
+                    }).execute()
+            );
+
+            // Other sessions are not affected
+            CompletableFuture.runAsync(() -> {
+                sqlClient.createQuery(BookStoreTable.class, (q, store) -> q.select(store)).execute();
+            }).join();
+        });
+        Assertions.assertEquals(
+                Arrays.asList("slave", "master", "slave", "master", "slave"),
+                usedConnectionManagers
+        );
+    }
+
+    @Test
+    public void testWindow() throws InterruptedException {
+        Object[] sessionKey = new Object[] { "alex" };
+        WriteTracker writeTracker = new WriteTracker(50L, () -> sessionKey[0]);
+        writeTracker.record("book_store");
+        Assertions.assertTrue(writeTracker.isWritten(Arrays.asList("BOOK", "BOOK_STORE")));
+        Assertions.assertFalse(writeTracker.isWritten(Collections.singletonList("BOOK")));
+        sessionKey[0] = "bob";
+        Assertions.assertFalse(writeTracker.isWritten(Collections.singletonList("BOOK_STORE")));
+        sessionKey[0] = "alex";
+        Thread.sleep(60L);
+        Assertions.assertFalse(writeTracker.isWritten(Collections.singletonList("BOOK_STORE")));
+    }
+
+    @Test
+    public void testExpiredSessionsArePurgedByReading() throws InterruptedException {
+        WriteTracker writeTracker = new WriteTracker(20L);
+        CompletableFuture.runAsync(() -> writeTracker.record("book_store")).join();
+        Assertions.assertEquals(1, writeTracker.getSessionCount());
+        Thread.sleep(30L);
+        Assertions.assertFalse(writeTracker.isWritten(Collections.singletonList("BOOK_STORE")));
+        Assertions.assertEquals(0, writeTracker.getSessionCount());
+    }
+
+    private static ConnectionManager connectionManager(
+            String name,
+            Connection con,
+            List<String> usedConnectionManagers
+    ) {
+        return new ConnectionManager() {
+            @Override
+            public <R> R execute(Function<Connection, R> block) {
+                synchronized (usedConnectionManagers) {
+                    usedConnectionManagers.add(name);
+                }
+                return block.apply(con);
+            }
+        };
+    }
+}